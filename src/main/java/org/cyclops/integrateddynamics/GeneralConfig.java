@@ -100,6 +100,78 @@ public class GeneralConfig extends DummyConfig {
      */
     @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "When enabled, networks will stop ticking and values will not be shown and evaluated again. This can be used to fix crashing networks by temporarily enabling this option.", isCommandable = true)
     public static boolean safeMode = false;
+
+    /**
+     * If networks should be incrementally split and merged when cables are added or removed, instead of being fully rebuilt.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "If networks should be incrementally split and merged when cables are added or removed, instead of being fully rebuilt.", isCommandable = true)
+    public static boolean incrementalNetworkTopology = true;
+
+    /**
+     * The maximum time in milliseconds that can be spent on updating networks in a single tick, 0 for unlimited.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "The maximum time in milliseconds that can be spent on updating networks in a single tick, 0 for unlimited. When exceeded, the remaining updates are deferred to the next tick.", isCommandable = true, minimalValue = 0)
+    public static int networkTickBudget = 0;
+
+    /**
+     * If the expressions of different networks should be evaluated in parallel before the networks are updated.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "If the expressions of different networks should be evaluated in parallel before the networks are updated. Only expressions with pure operators are evaluated in parallel, after their input has been read on the server thread. This requires compileExpressions.", isCommandable = true)
+    public static boolean parallelNetworkEvaluation = false;
+
+    /**
+     * If the update durations of parts and aspects should always be recorded.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "If the update durations of parts and aspects should always be recorded, so that they can be inspected with the profiler command.", isCommandable = true)
+    public static boolean networkProfiler = true;
+
+    /**
+     * If networks without any loaded elements should stop updating until one of their chunks is loaded again.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "If networks without any loaded elements should stop updating until one of their chunks is loaded again.", isCommandable = true)
+    public static boolean networkSleeping = true;
+
+    /**
+     * The maximum time in milliseconds that can be spent on loading networks in a single tick after the server has started.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "The maximum time in milliseconds that can be spent on loading networks in a single tick after the server has started, 0 for loading all networks in the first tick. Networks near players are loaded first, networks in unloaded chunks are only loaded once one of their chunks is loaded.", isCommandable = true, minimalValue = 0)
+    public static int networkLoadBudget = 10;
+
+    /**
+     * If operator expressions should be compiled, so that shared and constant parts are only evaluated once.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "If operator expressions should be compiled, so that shared and constant parts are only evaluated once.", isCommandable = true)
+    public static boolean compileExpressions = true;
+
+    /**
+     * The maximum weight of cached pure operator applications, roughly the number of cached values.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "The maximum weight of cached pure operator applications with list, NBT or string input, roughly the number of cached values, 0 disables the cache.", isCommandable = true, minimalValue = 0)
+    public static int operatorCacheCapacity = 10000;
+
+    /**
+     * The number of nested append and concat lists after which lists are flattened.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "The number of nested append, concat, tail and slice lists after which lists are flattened into a vector list, which has faster element access.", isCommandable = true, minimalValue = 1)
+    public static int listProxyMaxDepth = 8;
+
+    /**
+     * The minimal list length for which pure operators are applied to the elements in parallel.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "The minimal length of materialized lists for which pure operators in map, filter, count_p and reduce are applied to the elements in parallel, 0 disables parallel evaluation.", isCommandable = true, minimalValue = 0)
+    public static int parallelListThreshold = 2048;
+
+    /**
+     * The maximum number of operator applications in the evaluation of a single variable.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "The maximum number of operator applications in the evaluation of a single variable, after which the evaluation is aborted with an error, 0 for no limit.", isCommandable = true, minimalValue = 0)
+    public static int evaluationMaxApplications = 1000000;
+
+    /**
+     * The maximum duration in milliseconds of the evaluation of a single variable.
+     */
+    @ConfigurableProperty(category = ConfigurableTypeCategory.CORE, comment = "The maximum time in milliseconds that can be spent on the evaluation of a single variable, after which the evaluation is aborted with an error, 0 for no limit.", isCommandable = true, minimalValue = 0)
+    public static int evaluationMaxDuration = 100;
     
     /**
      * Create a new instance.
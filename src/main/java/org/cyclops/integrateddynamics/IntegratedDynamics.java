@@ -51,7 +51,10 @@ import org.cyclops.integrateddynamics.client.render.valuetype.ValueTypeWorldRend
 import org.cyclops.integrateddynamics.client.render.valuetype.ValueTypeWorldRenderers;
 import org.cyclops.integrateddynamics.command.CommandCrash;
 import org.cyclops.integrateddynamics.command.CommandNetworkDiagnostics;
+import org.cyclops.integrateddynamics.command.CommandProfiler;
 import org.cyclops.integrateddynamics.command.CommandTest;
+import org.cyclops.integrateddynamics.core.NetworkChunkHandler;
+import org.cyclops.integrateddynamics.core.NetworkLoader;
 import org.cyclops.integrateddynamics.core.NoteBlockEventReceiver;
 import org.cyclops.integrateddynamics.core.TickHandler;
 import org.cyclops.integrateddynamics.core.client.gui.ExtendedGuiHandler;
@@ -61,6 +64,7 @@ import org.cyclops.integrateddynamics.core.evaluate.DelayVariableFacadeHandler;
 import org.cyclops.integrateddynamics.core.evaluate.ProxyVariableFacadeHandler;
 import org.cyclops.integrateddynamics.core.evaluate.operator.OperatorRegistry;
 import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+import org.cyclops.integrateddynamics.core.evaluate.operator.PureOperatorCache;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueCastMappings;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueCastRegistry;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeLightLevelRegistry;
@@ -169,6 +173,7 @@ public class IntegratedDynamics extends ModBaseVersionable {
         }
         commands.put(CommandNetworkDiagnostics.NAME, new CommandNetworkDiagnostics(this));
         commands.put(CommandCrash.NAME, new CommandCrash(this));
+        commands.put(CommandProfiler.NAME, new CommandProfiler(this));
         return new CommandMod(this, commands);
     }
 
@@ -223,6 +228,7 @@ public class IntegratedDynamics extends ModBaseVersionable {
                 OnTheDynamicsOfIntegrationBook.getInstance(), "/assets/" + Reference.MOD_ID + "/info/on_the_dynamics_of_integration.xml");
 
         MinecraftForge.EVENT_BUS.register(TickHandler.getInstance());
+        MinecraftForge.EVENT_BUS.register(NetworkChunkHandler.getInstance());
         MinecraftForge.EVENT_BUS.register(NoteBlockEventReceiver.getInstance());
         MinecraftForge.EVENT_BUS.register(new NetworkCapabilityConstructors());
         if (MinecraftHelpers.isClientSide()) {
@@ -255,6 +261,8 @@ public class IntegratedDynamics extends ModBaseVersionable {
     @Override
     public void onServerStopping(FMLServerStoppingEvent event) {
         super.onServerStopping(event);
+        NetworkLoader.getInstance().reset();
+        PureOperatorCache.getInstance().clear();
     }
 
     @Override
@@ -14,4 +14,11 @@ public interface ILazyExpressionValueCache {
     public IValue getValue(int id);
     public void removeValue(int id);
 
+    /**
+     * @return The current expression version, compiled expressions are rebuilt once this changes.
+     */
+    public default int getExpressionVersion() {
+        return 0;
+    }
+
 }
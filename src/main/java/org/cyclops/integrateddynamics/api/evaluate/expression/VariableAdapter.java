@@ -1,18 +1,23 @@
 package org.cyclops.integrateddynamics.api.evaluate.expression;
 
-import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
 
-import java.util.List;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * A basic variable implementation.
+ *
+ * Dependents are kept after invalidation, so they only have to be added once.
+ * They are weakly referenced by identity, so that dependents that are not used anymore can be garbage collected.
  * @author rubensworks
  */
 public abstract class VariableAdapter<V extends IValue> implements IVariable<V> {
 
-    private List<IVariable<?>> dependents = Lists.newLinkedList();
+    private Set<IVariable<?>> dependents = null;
+    private boolean invalidating = false;
 
     @Override
     public boolean canInvalidate() {
@@ -21,16 +26,26 @@ public abstract class VariableAdapter<V extends IValue> implements IVariable<V>
 
     @Override
     public void invalidate() {
-        for (IVariable<?> dependent : dependents) {
-            if (dependent.canInvalidate()) {
-                dependent.invalidate();
+        // Dependents that are invalidated again while invalidating are skipped, so cycles can not recurse infinitely.
+        if (dependents != null && !invalidating) {
+            invalidating = true;
+            try {
+                for (IVariable<?> dependent : dependents) {
+                    if (dependent.canInvalidate()) {
+                        dependent.invalidate();
+                    }
+                }
+            } finally {
+                invalidating = false;
             }
         }
-        dependents.clear();
     }
 
     @Override
     public void addDependent(IVariable<?> dependent) {
+        if (dependents == null) {
+            dependents = Collections.newSetFromMap(new MapMaker().weakKeys().<IVariable<?>, Boolean>makeMap());
+        }
         dependents.add(dependent);
     }
 }
@@ -6,6 +6,7 @@ import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
 import org.cyclops.integrateddynamics.api.logicprogrammer.IConfigRenderPattern;
+import org.cyclops.integrateddynamics.core.evaluate.variable.Variable;
 
 import java.util.List;
 
@@ -72,6 +73,40 @@ public interface IOperator {
      */
     public IValue evaluate(IVariable... input) throws EvaluationException;
 
+    /**
+     * Evaluate the given input values for this operator.
+     * By default, the values are wrapped in variables for {@link #evaluate(IVariable...)}.
+     * Operators can override this to use the values directly,
+     * so that higher-order operators can apply them without wrapping each value.
+     * The given array is not retained after evaluation.
+     * @param input The ordered input values.
+     * @return The output value.
+     * @throws EvaluationException When something went wrong while evaluating.
+     */
+    public default IValue evaluate(IValue... input) throws EvaluationException {
+        IVariable[] variables = new IVariable[input.length];
+        for (int i = 0; i < input.length; i++) {
+            variables[i] = new Variable<>(input[i].getType(), input[i]);
+        }
+        return evaluate(variables);
+    }
+
+    /**
+     * @return If the output of this operator only depends on the values of its input,
+     *         so that it can be evaluated ahead of time when its input is constant.
+     */
+    public default boolean isPure() {
+        return false;
+    }
+
+    /**
+     * @return If this operator has two inputs and is associative,
+     *         so that a list can be reduced with it in separate parts that are combined afterwards.
+     */
+    public default boolean isAssociative() {
+        return false;
+    }
+
     /**
      * @return The required input length.
      */
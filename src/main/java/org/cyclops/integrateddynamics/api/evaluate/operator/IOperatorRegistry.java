@@ -1,5 +1,6 @@
 package org.cyclops.integrateddynamics.api.evaluate.operator;
 
+import net.minecraft.nbt.NBTBase;
 import org.cyclops.cyclopscore.init.IRegistry;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
@@ -76,4 +77,21 @@ public interface IOperatorRegistry extends IRegistry, IVariableFacadeHandler<IOp
      */
     public IOperator deserialize(String value) throws EvaluationException;
 
+    /**
+     * Serialize the given operator to an NBT tag,
+     * in which nested operators and values are stored as tags instead of escaped strings.
+     * @param value The operator to serialize.
+     * @return The serialized NBT tag.
+     */
+    public NBTBase serializeNbt(IOperator value);
+
+    /**
+     * Deserialize the given NBT tag.
+     * String tags are deserialized with {@link #deserialize(String)}.
+     * @param value The NBT tag to deserialize.
+     * @return The deserialized operator.
+     * @throws EvaluationException If an error occurs while deserializing.
+     */
+    public IOperator deserializeNbt(NBTBase value) throws EvaluationException;
+
 }
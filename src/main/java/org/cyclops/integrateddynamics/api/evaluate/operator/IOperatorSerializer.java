@@ -1,5 +1,7 @@
 package org.cyclops.integrateddynamics.api.evaluate.operator;
 
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagString;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 
 /**
@@ -10,6 +12,8 @@ import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 public interface IOperatorSerializer<O extends IOperator> {
 
     /**
+     * The result is cached per operator class, and per function class for combined operators,
+     * so it must only depend on those classes.
      * @param operator The operator to test.
      * @return If this can serialize the given operator.
      */
@@ -35,4 +39,26 @@ public interface IOperatorSerializer<O extends IOperator> {
      */
     public O deserialize(String value) throws EvaluationException;
 
+    /**
+     * Serialize the given operator to an NBT tag.
+     * By default, this is a string tag containing {@link #serialize(IOperator)},
+     * serializers can override this to store nested operators and values natively.
+     * @param operator The operator to serialize.
+     * @return The serialized NBT tag.
+     */
+    default public NBTBase serializeNbt(O operator) {
+        return new NBTTagString(serialize(operator));
+    }
+
+    /**
+     * Deserialize the given NBT tag.
+     * String tags must always be accepted, as they are produced by the default {@link #serializeNbt(IOperator)}.
+     * @param value The NBT tag to deserialize.
+     * @return The deserialized operator, null if deserialization failed.
+     * @throws EvaluationException If something goes wrong while deserializing
+     */
+    default public O deserializeNbt(NBTBase value) throws EvaluationException {
+        return deserialize(value instanceof NBTTagString ? ((NBTTagString) value).getString() : value.toString());
+    }
+
 }
@@ -1,6 +1,8 @@
 package org.cyclops.integrateddynamics.api.evaluate.variable;
 
 import com.google.gson.JsonObject;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagString;
 import org.cyclops.cyclopscore.helper.L10NHelpers;
 import org.cyclops.integrateddynamics.api.advancement.criterion.ValuePredicate;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
@@ -95,6 +97,28 @@ public interface IValueType<V extends IValue> {
      */
     public V deserialize(String value);
 
+    /**
+     * Serialize the given value to an NBT tag.
+     * By default, this is a string tag containing {@link #serialize(IValue)},
+     * value types can override this to store their values natively.
+     * @param value The value to serialize.
+     * @return The serialized NBT tag.
+     */
+    default public NBTBase serializeNbt(V value) {
+        return new NBTTagString(serialize(value));
+    }
+
+    /**
+     * Deserialize the given NBT tag.
+     * String tags must always be accepted,
+     * as values that were stored before {@link #serializeNbt(IValue)} existed are string tags.
+     * @param value The NBT tag to deserialize.
+     * @return The deserialized value.
+     */
+    default public V deserializeNbt(NBTBase value) {
+        return deserialize(value instanceof NBTTagString ? ((NBTTagString) value).getString() : value.toString());
+    }
+
     /**
      * Materialize the given value so that it can exist without any external references.
      * @param value The value to materialize.
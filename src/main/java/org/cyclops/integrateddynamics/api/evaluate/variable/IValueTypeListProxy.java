@@ -23,6 +23,17 @@ public interface IValueTypeListProxy<T extends IValueType<V>, V extends IValue>
      */
     public V get(int index) throws EvaluationException;
 
+    /**
+     * Check if the element at the given index exists.
+     * Lazy lists can override this to avoid determining their full length.
+     * @param index The index.
+     * @return If the index is within the bounds of this list.
+     * @throws EvaluationException If something went wrong wile getting an element.
+     */
+    public default boolean hasElementAt(int index) throws EvaluationException {
+        return index >= 0 && index < getLength();
+    }
+
     /**
      * @return The list element value type.
      */
@@ -28,4 +28,15 @@ public interface INetworkEventListener<E> {
      */
     public void onEvent(INetworkEvent event, E networkElement);
 
+    /**
+     * If this listener only needs to receive the last of multiple events of the given type
+     * when these events are posted in a single batch.
+     * This is the case when the event is only used as a trigger, and its contents are ignored.
+     * @param eventType The event type.
+     * @return If events of the given type can be coalesced.
+     */
+    default public boolean isCoalescable(Class<? extends INetworkEvent> eventType) {
+        return false;
+    }
+
 }
@@ -125,4 +125,10 @@ public interface IPartNetwork extends ILazyExpressionValueCache {
      */
     public void notifyPartsChanged();
 
+    /**
+     * Tell the network that its variables were updated,
+     * so that the compiled expressions in this network are rebuilt.
+     */
+    public void notifyVariableContentsUpdated();
+
 }
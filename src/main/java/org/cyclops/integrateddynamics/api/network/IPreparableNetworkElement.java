@@ -0,0 +1,24 @@
+package org.cyclops.integrateddynamics.api.network;
+
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+
+import javax.annotation.Nullable;
+
+/**
+ * A network element that evaluates a variable during its update.
+ * This variable can be evaluated in advance, before the element is updated,
+ * possibly in parallel with the variables of other networks.
+ * @author rubensworks
+ */
+public interface IPreparableNetworkElement extends INetworkElement {
+
+    /**
+     * Get the variable that will be evaluated in the next update of this element.
+     * This is always called on the server thread.
+     * @param network The network.
+     * @return The variable, or null if nothing has to be evaluated.
+     */
+    @Nullable
+    public IVariable<?> getPreparableVariable(INetwork network);
+
+}
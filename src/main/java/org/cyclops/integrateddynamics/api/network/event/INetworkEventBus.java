@@ -44,4 +44,18 @@ public interface INetworkEventBus {
      */
     public boolean postCancelable(ICancelableNetworkEvent event);
 
+    /**
+     * Start batching posted events.
+     * Until {@link #endBatch()} is called, non-cancelable events are queued instead of being posted directly.
+     * Batches can be nested, the events are only posted when the outermost batch ends.
+     */
+    public void startBatch();
+
+    /**
+     * End the current batch and post all queued events in order if this was the outermost batch.
+     * These events are delivered to the listeners that are registered at that moment.
+     * Listeners that are coalescable for an event type only receive the last queued event of that type.
+     */
+    public void endBatch();
+
 }
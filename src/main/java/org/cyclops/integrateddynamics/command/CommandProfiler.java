@@ -0,0 +1,155 @@
+package org.cyclops.integrateddynamics.command;
+
+import com.google.common.collect.Lists;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraftforge.common.DimensionManager;
+import org.apache.logging.log4j.Level;
+import org.cyclops.cyclopscore.command.CommandMod;
+import org.cyclops.cyclopscore.init.ModBase;
+import org.cyclops.integrateddynamics.IntegratedDynamics;
+import org.cyclops.integrateddynamics.Reference;
+import org.cyclops.integrateddynamics.core.NetworkLoader;
+import org.cyclops.integrateddynamics.core.NetworkTickScheduler;
+import org.cyclops.integrateddynamics.core.evaluate.expression.EvaluationCosts;
+import org.cyclops.integrateddynamics.core.evaluate.operator.PureOperatorCache;
+import org.cyclops.integrateddynamics.core.network.diagnostics.LatencyHistogram;
+import org.cyclops.integrateddynamics.core.network.diagnostics.NetworkProfiler;
+import org.cyclops.integrateddynamics.core.network.event.NetworkEventBus;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command for inspecting the network profiler.
+ * Usage:
+ *  profiler [1s|1m|10m] [part|aspect|element]: Show the most expensive entries in the given window.
+ *  profiler expressions: Show the variables with the most expensive evaluations.
+ *  profiler dump: Write all profiler data to a CSV file in the world directory.
+ *  profiler reset: Remove all profiler data.
+ * @author rubensworks
+ *
+ */
+public class CommandProfiler extends CommandMod {
+
+    public static final String NAME = "profiler";
+    public static final int MAX_ENTRIES = 10;
+
+    public CommandProfiler(ModBase mod) {
+        super(mod, NAME);
+    }
+
+    @Override
+    public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] parts, BlockPos blockPos) {
+        List<String> options = Lists.newArrayList();
+        if (parts.length == 1) {
+            options.add("expressions");
+            options.add("dump");
+            options.add("reset");
+            for (LatencyHistogram.Window window : LatencyHistogram.Window.values()) {
+                options.add(window.getName());
+            }
+        } else if (parts.length == 2 && LatencyHistogram.Window.getByName(parts[0]) != null) {
+            for (NetworkProfiler.Category category : NetworkProfiler.Category.values()) {
+                options.add(category.getName());
+            }
+        }
+        List<String> completions = Lists.newArrayList();
+        String lastPart = parts.length > 0 ? parts[parts.length - 1] : "";
+        for (String option : options) {
+            if (option.startsWith(lastPart)) {
+                completions.add(option);
+            }
+        }
+        return completions;
+    }
+
+    @Override
+    public void execute(MinecraftServer server, ICommandSender sender, String[] parts) {
+        if (parts.length == 1 && "dump".equals(parts[0])) {
+            dump(sender);
+        } else if (parts.length == 1 && "expressions".equals(parts[0])) {
+            showExpressions(sender);
+        } else if (parts.length == 1 && "reset".equals(parts[0])) {
+            NetworkProfiler.getInstance().reset();
+            EvaluationCosts.getInstance().reset();
+            sender.sendMessage(new TextComponentString("The profiler data was reset."));
+        } else {
+            LatencyHistogram.Window window = parts.length > 0
+                    ? LatencyHistogram.Window.getByName(parts[0]) : LatencyHistogram.Window.MINUTE;
+            NetworkProfiler.Category category = parts.length > 1 ? NetworkProfiler.Category.getByName(parts[1]) : null;
+            if (window == null || (parts.length > 1 && category == null) || parts.length > 2) {
+                sender.sendMessage(new TextComponentString("Usage: profiler [1s|1m|10m] [part|aspect|element], profiler expressions, profiler dump or profiler reset"));
+            } else {
+                show(sender, window, category);
+            }
+        }
+    }
+
+    protected void show(ICommandSender sender, LatencyHistogram.Window window, NetworkProfiler.Category category) {
+        if (!NetworkProfiler.isEnabled()) {
+            sender.sendMessage(new TextComponentString("The network profiler is disabled in the config."));
+        }
+        List<NetworkProfiler.Entry> entries = NetworkProfiler.getInstance().getEntries(window, category);
+        sender.sendMessage(new TextComponentString(String.format("Most expensive in the last %s (%s of %s):",
+                window.getName(), Math.min(MAX_ENTRIES, entries.size()), entries.size())));
+        for (NetworkProfiler.Entry entry : entries.subList(0, Math.min(MAX_ENTRIES, entries.size()))) {
+            LatencyHistogram.Snapshot snapshot = entry.getSnapshot();
+            sender.sendMessage(new TextComponentString(String.format(Locale.ROOT,
+                    "%s %s: %.2f ms total, %s calls, mean %.1f us, p99 < %.1f us",
+                    entry.getCategory().getName(), entry.getName(),
+                    snapshot.getTotalNanos() / 1000000D, snapshot.getCount(),
+                    snapshot.getMeanNanos() / 1000D, snapshot.getPercentileNanos(0.99D) / 1000D)));
+        }
+        PureOperatorCache operatorCache = PureOperatorCache.getInstance();
+        sender.sendMessage(new TextComponentString(String.format(Locale.ROOT,
+                "Operator cache: %s hits, %s misses, %.1f%% hit rate, %s entries, weight %s, %s evictions",
+                operatorCache.getHits(), operatorCache.getMisses(), operatorCache.getHitRate() * 100D,
+                operatorCache.getSize(), operatorCache.getWeight(), operatorCache.getEvictions())));
+        sender.sendMessage(new TextComponentString(String.format("Network events in the last tick: %s posted, %s listener invocations",
+                NetworkEventBus.getLastTickPostedEvents(), NetworkEventBus.getLastTickInvokedListeners())));
+        NetworkTickScheduler scheduler = NetworkTickScheduler.getInstance();
+        sender.sendMessage(new TextComponentString(String.format("Network updates deferred in the last tick: %s networks, %s elements",
+                scheduler.getLastDeferredNetworks(), scheduler.getLastDeferredElements())));
+        NetworkLoader loader = NetworkLoader.getInstance();
+        sender.sendMessage(new TextComponentString(String.format("Networks not loaded yet: %s pending, of which %s queued",
+                loader.getPendingNetworkCount(), loader.getQueuedNetworkCount())));
+    }
+
+    protected void showExpressions(ICommandSender sender) {
+        List<EvaluationCosts.Entry> entries = EvaluationCosts.getInstance().getEntries();
+        sender.sendMessage(new TextComponentString(String.format("Most expensive variable evaluations (%s of %s):",
+                Math.min(MAX_ENTRIES, entries.size()), entries.size())));
+        for (EvaluationCosts.Entry entry : entries.subList(0, Math.min(MAX_ENTRIES, entries.size()))) {
+            sender.sendMessage(new TextComponentString(String.format(Locale.ROOT,
+                    "variable %s: %.2f ms total, %s evaluations, %s aborted, max %.2f ms, last %s operator applications in %.2f ms",
+                    entry.getVariableId(), entry.getTotalNanos() / 1000000D, entry.getEvaluations(), entry.getAborts(),
+                    entry.getMaxNanos() / 1000000D, entry.getLastApplications(), entry.getLastNanos() / 1000000D)));
+        }
+    }
+
+    protected void dump(ICommandSender sender) {
+        File directory = DimensionManager.getCurrentSaveRootDirectory();
+        if (directory == null) {
+            sender.sendMessage(new TextComponentString("Could not find the world directory."));
+            return;
+        }
+        File file = new File(directory, String.format("%s-profiler-%s.csv", Reference.MOD_ID,
+                new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date())));
+        try {
+            NetworkProfiler.getInstance().dumpCsv(file);
+        } catch (IOException e) {
+            IntegratedDynamics.clog(Level.ERROR, "Could not write the profiler data to " + file + ": " + e.getMessage());
+            sender.sendMessage(new TextComponentString("Could not write the profiler data, see the server log for details."));
+            return;
+        }
+        sender.sendMessage(new TextComponentString("The profiler data was written to " + file.getPath()));
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.cyclops.integrateddynamics.core;
+
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import org.cyclops.integrateddynamics.IntegratedDynamics;
+import org.cyclops.integrateddynamics.core.network.NetworkChunkIndex;
+import org.cyclops.integrateddynamics.core.persist.world.NetworkWorldStorage;
+
+/**
+ * Wakes up sleeping networks when one of their chunks is loaded.
+ * @author rubensworks
+ */
+public final class NetworkChunkHandler {
+
+    private static NetworkChunkHandler INSTANCE;
+
+    private NetworkChunkHandler() {
+
+    }
+
+    public static NetworkChunkHandler getInstance() {
+        if(INSTANCE == null) {
+            INSTANCE = new NetworkChunkHandler();
+        }
+        return INSTANCE;
+    }
+
+    @SubscribeEvent
+    public void onChunkLoad(ChunkEvent.Load event) {
+        if (!event.getWorld().isRemote) {
+            NetworkWorldStorage.getInstance(IntegratedDynamics._instance).wakeNetworks(
+                    event.getWorld().provider.getDimension(),
+                    NetworkChunkIndex.getChunkKey(event.getChunk().x, event.getChunk().z));
+        }
+    }
+
+}
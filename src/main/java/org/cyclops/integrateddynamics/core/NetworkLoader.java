@@ -0,0 +1,292 @@
+package org.cyclops.integrateddynamics.core;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import org.apache.logging.log4j.Level;
+import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.IntegratedDynamics;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
+import org.cyclops.integrateddynamics.core.network.Network;
+import org.cyclops.integrateddynamics.core.network.NetworkChunkIndex;
+import org.cyclops.integrateddynamics.core.persist.world.NetworkWorldStorage;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads the networks that were read from NBT within a configurable time budget per tick.
+ *
+ * Networks of which at least one chunk is loaded are queued for loading, where networks near players go first.
+ * All other networks are put to sleep, and are only queued once one of their chunks is loaded.
+ * Networks that are not loaded yet will not update.
+ * Networks are tracked by identity, because networks that are not loaded yet have no elements to compare.
+ *
+ * Networks that are not loaded yet do not own their path elements,
+ * so the positions of their path elements are indexed separately.
+ * Before a new network is formed over path elements,
+ * {@link #loadPendingNetworks(Iterable)} must be called to load the pending networks that would claim them.
+ *
+ * @author rubensworks
+ */
+public final class NetworkLoader {
+
+    /**
+     * The number of ticks after which the queued networks are ordered again by their distance to players.
+     */
+    public static final int PRIORITY_UPDATE_TICKS = MinecraftHelpers.SECOND_IN_TICKS;
+    /**
+     * The number of ticks after which the loading progress is reported in the log.
+     */
+    public static final int PROGRESS_REPORT_TICKS = MinecraftHelpers.SECOND_IN_TICKS * 5;
+
+    private static NetworkLoader INSTANCE;
+
+    private int lastNetworkSnapshotVersion = -1;
+    private final Map<Network, NetworkChunkIndex> pendingNetworks = Maps.newIdentityHashMap();
+    private final TIntObjectMap<TLongObjectMap<Network>> pendingPositions = new TIntObjectHashMap<>();
+    // Sorted by descending priority, so that the next network to load is at the end.
+    private final List<Network> queuedNetworks = Lists.newArrayList();
+    private final Set<Network> queuedNetworksSet = Sets.newIdentityHashSet();
+    private boolean queueSorted = false;
+    private int tick = 0;
+
+    private int loadedNetworks = 0;
+    private long loadDuration = 0;
+    private int loadTicks = 0;
+
+    private NetworkLoader() {
+
+    }
+
+    public static NetworkLoader getInstance() {
+        if(INSTANCE == null) {
+            INSTANCE = new NetworkLoader();
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @return The time budget for loading networks in a single tick in nanoseconds,
+     *         or {@link Long#MAX_VALUE} if there is no budget.
+     */
+    public static long getLoadBudget() {
+        return GeneralConfig.networkLoadBudget > 0 ? GeneralConfig.networkLoadBudget * 1000000L : Long.MAX_VALUE;
+    }
+
+    /**
+     * Discover new networks that must be loaded, and load queued networks within the budget.
+     * This must be called each tick before the networks are updated.
+     */
+    public void update() {
+        discoverPendingNetworks();
+        if (queuedNetworks.isEmpty()) {
+            return;
+        }
+
+        if (!queueSorted || ++tick % PRIORITY_UPDATE_TICKS == 0) {
+            sortQueue();
+        }
+        long budget = getLoadBudget();
+        long deadline = budget == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + budget;
+        // At least one network is loaded in each tick.
+        do {
+            Network network = queuedNetworks.remove(queuedNetworks.size() - 1);
+            queuedNetworksSet.remove(network);
+            load(network);
+        } while (!queuedNetworks.isEmpty() && System.nanoTime() < deadline);
+        loadTicks++;
+
+        if (queuedNetworks.isEmpty()) {
+            IntegratedDynamics.clog(Level.INFO, String.format("Loaded %s networks in %s ms over %s ticks, " +
+                    "%s networks will be loaded once their chunks are loaded.",
+                    loadedNetworks, loadDuration / 1000000L, loadTicks, pendingNetworks.size()));
+            loadedNetworks = 0;
+            loadDuration = 0;
+            loadTicks = 0;
+        } else if (loadTicks % PROGRESS_REPORT_TICKS == 0) {
+            IntegratedDynamics.clog(Level.INFO, String.format("Loading networks: loaded %s networks in %s ms, " +
+                    "%s networks are queued.", loadedNetworks, loadDuration / 1000000L, queuedNetworks.size()));
+        }
+    }
+
+    protected void discoverPendingNetworks() {
+        NetworkWorldStorage storage = NetworkWorldStorage.getInstance(IntegratedDynamics._instance);
+        if (storage.getNetworkSnapshotVersion() == lastNetworkSnapshotVersion) {
+            return;
+        }
+        lastNetworkSnapshotVersion = storage.getNetworkSnapshotVersion();
+        boolean loadAll = getLoadBudget() == Long.MAX_VALUE;
+        int queued = 0;
+        int sleeping = 0;
+        for (INetwork network : storage.getNetworkSnapshot()) {
+            if (network instanceof Network && ((Network) network).isPendingLoad()
+                    && !pendingNetworks.containsKey(network)) {
+                NetworkChunkIndex chunkIndex = ((Network) network).createPendingChunkIndex();
+                pendingNetworks.put((Network) network, chunkIndex);
+                ((Network) network).readPendingPositions((pos, dimension) -> {
+                    TLongObjectMap<Network> dimensionPositions = pendingPositions.get(dimension);
+                    if (dimensionPositions == null) {
+                        dimensionPositions = new TLongObjectHashMap<>();
+                        pendingPositions.put(dimension, dimensionPositions);
+                    }
+                    dimensionPositions.put(pos.toLong(), (Network) network);
+                });
+                if (loadAll || isAnyChunkLoaded(chunkIndex)) {
+                    activate((Network) network);
+                    queued++;
+                } else {
+                    // The network is queued when it is woken up by a chunk load.
+                    storage.sleepNetwork(network, chunkIndex);
+                    sleeping++;
+                }
+            }
+        }
+        if (queued + sleeping > 0) {
+            IntegratedDynamics.clog(Level.INFO, String.format("Found %s networks to load, " +
+                    "%s of them are in unloaded chunks.", queued + sleeping, sleeping));
+        }
+    }
+
+    protected static boolean isAnyChunkLoaded(NetworkChunkIndex chunkIndex) {
+        for (int dimension : chunkIndex.getDimensions()) {
+            WorldServer world = DimensionManager.getWorld(dimension);
+            if (world != null) {
+                for (long chunk : chunkIndex.getChunks(dimension)) {
+                    if (world.getChunkProvider().getLoadedChunk(NetworkChunkIndex.getChunkX(chunk),
+                            NetworkChunkIndex.getChunkZ(chunk)) != null) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queue the given network for loading if it was not loaded yet.
+     * @param network The network.
+     */
+    public void activate(Network network) {
+        if (pendingNetworks.containsKey(network) && queuedNetworksSet.add(network)) {
+            queuedNetworks.add(network);
+            queueSorted = false;
+        }
+    }
+
+    /**
+     * Immediately load the pending networks that contain any of the given path elements.
+     * This must be called before a new network is formed over path elements,
+     * because a pending network would otherwise claim these path elements again once it is loaded,
+     * which would make two networks contain the same path elements.
+     * @param pathElements The path elements.
+     */
+    public void loadPendingNetworks(Iterable<ISidedPathElement> pathElements) {
+        discoverPendingNetworks();
+        if (pendingNetworks.isEmpty()) {
+            return;
+        }
+        for (ISidedPathElement pathElement : pathElements) {
+            DimPos position = pathElement.getPathElement().getPosition();
+            TLongObjectMap<Network> dimensionPositions = pendingPositions.get(position.getDimensionId());
+            Network network = dimensionPositions == null ? null : dimensionPositions.get(position.getBlockPos().toLong());
+            if (network != null) {
+                if (queuedNetworksSet.remove(network)) {
+                    queuedNetworks.removeIf(queuedNetwork -> queuedNetwork == network);
+                }
+                NetworkWorldStorage.getInstance(IntegratedDynamics._instance).wakeNetwork(network);
+                load(network);
+            }
+        }
+    }
+
+    protected void load(Network network) {
+        pendingNetworks.remove(network);
+        network.readPendingPositions((pos, dimension) -> {
+            TLongObjectMap<Network> dimensionPositions = pendingPositions.get(dimension);
+            if (dimensionPositions != null && dimensionPositions.get(pos.toLong()) == network) {
+                dimensionPositions.remove(pos.toLong());
+                if (dimensionPositions.isEmpty()) {
+                    pendingPositions.remove(dimension);
+                }
+            }
+        });
+        long startTime = System.nanoTime();
+        try {
+            network.loadPending();
+        } catch (Throwable e) {
+            network.setCrashed(true);
+            throw e;
+        }
+        loadDuration += System.nanoTime() - startTime;
+        loadedNetworks++;
+    }
+
+    protected void sortQueue() {
+        MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+        List<EntityPlayerMP> players = server == null ? Collections.<EntityPlayerMP>emptyList() : server.getPlayerList().getPlayers();
+        Map<Network, Double> distances = Maps.newIdentityHashMap();
+        for (Network network : queuedNetworks) {
+            distances.put(network, getDistanceSq(pendingNetworks.get(network), players));
+        }
+        queuedNetworks.sort((a, b) -> Double.compare(distances.get(b), distances.get(a)));
+        queueSorted = true;
+    }
+
+    protected static double getDistanceSq(NetworkChunkIndex chunkIndex, List<EntityPlayerMP> players) {
+        double distance = Double.MAX_VALUE;
+        for (EntityPlayerMP player : players) {
+            for (long chunk : chunkIndex.getChunks(player.dimension)) {
+                double x = (NetworkChunkIndex.getChunkX(chunk) << 4) + 8 - player.posX;
+                double z = (NetworkChunkIndex.getChunkZ(chunk) << 4) + 8 - player.posZ;
+                distance = Math.min(distance, x * x + z * z);
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * @return The number of networks that have not been loaded yet, including the ones in unloaded chunks.
+     */
+    public int getPendingNetworkCount() {
+        return pendingNetworks.size();
+    }
+
+    /**
+     * @return The number of networks that are queued for loading.
+     */
+    public int getQueuedNetworkCount() {
+        return queuedNetworks.size();
+    }
+
+    /**
+     * Forget all pending networks, this should be called when the server stops.
+     */
+    public void reset() {
+        lastNetworkSnapshotVersion = -1;
+        pendingNetworks.clear();
+        pendingPositions.clear();
+        queuedNetworks.clear();
+        queuedNetworksSet.clear();
+        queueSorted = false;
+        tick = 0;
+        loadedNetworks = 0;
+        loadDuration = 0;
+        loadTicks = 0;
+    }
+
+}
@@ -0,0 +1,197 @@
+package org.cyclops.integrateddynamics.core;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.logging.log4j.Level;
+import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.IntegratedDynamics;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.cyclops.integrateddynamics.core.network.Network;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Updates networks within a configurable time budget per tick.
+ *
+ * When the budget runs out, the remaining network element updates are deferred to the next tick.
+ * Networks that were deferred are updated first in the next tick.
+ * Among those, the networks that could not update any element go before the networks that were partially updated,
+ * so that the start of the order rotates and every network gets its turn within a bounded number of ticks.
+ * Networks that are deferred for a long time are reported in the log.
+ *
+ * If enabled, the expressions of all networks are first evaluated in parallel by {@link ParallelNetworkEvaluator}.
+ *
+ * Networks are tracked by identity, and the lists that are needed for ordering
+ * the networks are reused across ticks, so that no allocations are needed in a regular tick.
+ *
+ * @author rubensworks
+ */
+public final class NetworkTickScheduler {
+
+    /**
+     * The number of consecutive deferred ticks after which a network is reported.
+     */
+    public static final int STARVATION_REPORT_TICKS = MinecraftHelpers.SECOND_IN_TICKS * 5;
+    /**
+     * The maximum number of elements to mention when reporting a network.
+     */
+    public static final int STARVATION_REPORT_ELEMENTS = 10;
+
+    private static NetworkTickScheduler INSTANCE;
+
+    private INetwork[] lastNetworks = null;
+    private final Set<INetwork> lastNetworksSet = Sets.newIdentityHashSet();
+    private final List<INetwork> orderedNetworks = Lists.newArrayList();
+    private List<INetwork> deferredNetworks = Lists.newArrayList();
+    private Set<INetwork> deferredNetworksSet = Sets.newIdentityHashSet();
+    private List<INetwork> nextDeferredNetworks = Lists.newArrayList();
+    private Set<INetwork> nextDeferredNetworksSet = Sets.newIdentityHashSet();
+    private final List<INetwork> partiallyUpdatedNetworks = Lists.newArrayList();
+    private final Map<INetwork, Integer> deferredNetworkTicks = Maps.newIdentityHashMap();
+    private int lastDeferredNetworks = 0;
+    private int lastDeferredElements = 0;
+
+    private NetworkTickScheduler() {
+
+    }
+
+    public static NetworkTickScheduler getInstance() {
+        if(INSTANCE == null) {
+            INSTANCE = new NetworkTickScheduler();
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @return The time budget for updating networks in a single tick in nanoseconds,
+     *         or {@link Long#MAX_VALUE} if there is no budget.
+     */
+    public static long getTickBudget() {
+        return GeneralConfig.networkTickBudget > 0 ? GeneralConfig.networkTickBudget * 1000000L : Long.MAX_VALUE;
+    }
+
+    /**
+     * Update the given networks within the tick budget.
+     * @param networks A snapshot of the networks to update, which is expected to be the same array
+     *                 as long as the networks do not change.
+     */
+    public void update(INetwork[] networks) {
+        long budget = getTickBudget();
+        long deadline = budget == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + budget;
+
+        if (networks != lastNetworks) {
+            lastNetworksSet.clear();
+            Collections.addAll(lastNetworksSet, networks);
+            lastNetworks = networks;
+        }
+
+        // Networks that were deferred in the previous tick go first.
+        orderedNetworks.clear();
+        for (INetwork network : deferredNetworks) {
+            if (lastNetworksSet.contains(network)) {
+                orderedNetworks.add(network);
+            }
+        }
+        for (INetwork network : networks) {
+            if (!deferredNetworksSet.contains(network)) {
+                orderedNetworks.add(network);
+            }
+        }
+
+        if (GeneralConfig.parallelNetworkEvaluation) {
+            List<Network> evaluatedNetworks = Lists.newArrayListWithCapacity(orderedNetworks.size());
+            for (INetwork network : orderedNetworks) {
+                if (network instanceof Network && !network.isCrashed()) {
+                    evaluatedNetworks.add((Network) network);
+                }
+            }
+            ParallelNetworkEvaluator.getInstance().evaluate(evaluatedNetworks);
+        }
+
+        nextDeferredNetworks.clear();
+        nextDeferredNetworksSet.clear();
+        int deferredElements = 0;
+        for (INetwork network : orderedNetworks) {
+            if (network.isCrashed()) {
+                continue;
+            }
+            boolean started = System.nanoTime() <= deadline;
+            if (started && updateNetwork(network, deadline)) {
+                deferredNetworkTicks.remove(network);
+            } else {
+                // Networks that did not get a turn in this tick go first in the next tick.
+                if (started) {
+                    partiallyUpdatedNetworks.add(network);
+                } else {
+                    nextDeferredNetworks.add(network);
+                }
+                nextDeferredNetworksSet.add(network);
+                if (network instanceof Network) {
+                    deferredElements += onNetworkDeferred((Network) network);
+                }
+            }
+        }
+        nextDeferredNetworks.addAll(partiallyUpdatedNetworks);
+        partiallyUpdatedNetworks.clear();
+        deferredNetworkTicks.keySet().retainAll(nextDeferredNetworksSet);
+        orderedNetworks.clear();
+
+        // Swap the deferred buffers, so that they can be reused in the next tick.
+        List<INetwork> deferredNetworksOld = deferredNetworks;
+        Set<INetwork> deferredNetworksSetOld = deferredNetworksSet;
+        deferredNetworks = nextDeferredNetworks;
+        deferredNetworksSet = nextDeferredNetworksSet;
+        nextDeferredNetworks = deferredNetworksOld;
+        nextDeferredNetworksSet = deferredNetworksSetOld;
+        lastDeferredNetworks = deferredNetworks.size();
+        lastDeferredElements = deferredElements;
+    }
+
+    protected boolean updateNetwork(INetwork network, long deadline) {
+        try {
+            if (network instanceof Network) {
+                return ((Network) network).update(deadline);
+            }
+            network.update();
+            return true;
+        } catch (Throwable e) {
+            network.setCrashed(true);
+            throw e;
+        }
+    }
+
+    protected int onNetworkDeferred(Network network) {
+        List<INetworkElement> elements = network.getDeferredElements();
+        Integer ticks = deferredNetworkTicks.get(network);
+        ticks = ticks == null ? 1 : ticks + 1;
+        deferredNetworkTicks.put(network, ticks);
+        if (ticks == STARVATION_REPORT_TICKS) {
+            IntegratedDynamics.clog(Level.WARN, String.format("A network with %s cables could not finish updating " +
+                    "within the tick budget of %s ms for %s consecutive ticks. %s element updates were deferred, " +
+                    "including: %s", network.getCablesCount(), GeneralConfig.networkTickBudget, ticks,
+                    elements.size(), elements.subList(0, Math.min(elements.size(), STARVATION_REPORT_ELEMENTS))));
+        }
+        return elements.size();
+    }
+
+    /**
+     * @return The number of networks that were deferred in the last tick.
+     */
+    public int getLastDeferredNetworks() {
+        return lastDeferredNetworks;
+    }
+
+    /**
+     * @return The number of network element updates that were deferred in the last tick.
+     */
+    public int getLastDeferredElements() {
+        return lastDeferredElements;
+    }
+
+}
@@ -0,0 +1,125 @@
+package org.cyclops.integrateddynamics.core;
+
+import com.google.common.collect.Lists;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.expression.LazyExpression;
+import org.cyclops.integrateddynamics.core.network.Network;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates the expressions of different networks in parallel, before these networks are updated.
+ *
+ * This happens in two phases.
+ * First, on the server thread, each network starts its update round and collects the variables
+ * that its due elements will evaluate.
+ * For each expression among these, all input variables it depends on are read, which is where the world is accessed.
+ * Only expressions of which all operators are pure, and of which all input values are cacheable, are kept.
+ * Second, the kept expressions are evaluated in the common fork-join pool, with one task per network,
+ * so that the compiled expressions and the value cache of a network are only used by one thread at a time.
+ * The evaluated values are stored in the regular expression caches,
+ * which are then used when the network elements are updated serially on the server thread.
+ *
+ * As the input is read before any network is updated,
+ * values that are written in a tick are only read by other networks in the next tick.
+ *
+ * @author rubensworks
+ */
+public final class ParallelNetworkEvaluator {
+
+    private static ParallelNetworkEvaluator INSTANCE;
+
+    private ParallelNetworkEvaluator() {
+
+    }
+
+    public static ParallelNetworkEvaluator getInstance() {
+        if(INSTANCE == null) {
+            INSTANCE = new ParallelNetworkEvaluator();
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Prepare the update of the given networks on the server thread,
+     * and evaluate the expressions of the elements that will be updated in parallel.
+     * This blocks until all expressions have been evaluated.
+     * @param networks The networks to prepare.
+     */
+    public void evaluate(Collection<Network> networks) {
+        List<NetworkEvaluation> evaluations = Lists.newArrayListWithCapacity(networks.size());
+        for (Network network : networks) {
+            List<LazyExpression<?>> expressions;
+            try {
+                expressions = prepareExpressions(network);
+            } catch (Throwable e) {
+                network.setCrashed(true);
+                throw e;
+            }
+            if (!expressions.isEmpty()) {
+                evaluations.add(new NetworkEvaluation(expressions));
+            }
+        }
+
+        // Forking is only worth it if there is more than one network to evaluate.
+        if (evaluations.size() > 1) {
+            ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(evaluations);
+                }
+            });
+        }
+    }
+
+    /**
+     * @param network A network.
+     * @return The expressions of the network that can be evaluated in parallel.
+     */
+    protected List<LazyExpression<?>> prepareExpressions(Network network) {
+        List<LazyExpression<?>> expressions = Lists.newArrayList();
+        if (!GeneralConfig.compileExpressions) {
+            // Without compiled expressions, the input can not be read in advance.
+            return expressions;
+        }
+        for (IVariable<?> variable : network.prepareVariables()) {
+            if (variable instanceof LazyExpression) {
+                LazyExpression<?> expression = (LazyExpression<?>) variable;
+                if (expression.getCompiledExpression().prepareParallel(expression)) {
+                    expressions.add(expression);
+                }
+            }
+        }
+        return expressions;
+    }
+
+    /**
+     * Evaluates the expressions of a single network, in order.
+     */
+    protected static class NetworkEvaluation extends RecursiveAction {
+
+        private final List<LazyExpression<?>> expressions;
+
+        public NetworkEvaluation(List<LazyExpression<?>> expressions) {
+            this.expressions = expressions;
+        }
+
+        @Override
+        protected void compute() {
+            for (LazyExpression<?> expression : expressions) {
+                try {
+                    expression.getValue();
+                } catch (EvaluationException | RuntimeException e) {
+                    // This expression will be evaluated again during the serial update,
+                    // which will handle the error as usual.
+                }
+            }
+        }
+    }
+
+}
@@ -3,10 +3,13 @@ package org.cyclops.integrateddynamics.core;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
 import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
 import org.cyclops.integrateddynamics.core.network.diagnostics.NetworkDiagnostics;
+import org.cyclops.integrateddynamics.core.network.diagnostics.NetworkProfiler;
+import org.cyclops.integrateddynamics.core.network.event.NetworkEventBus;
 import org.cyclops.integrateddynamics.core.persist.world.NetworkWorldStorage;
 
 /**
@@ -45,20 +48,23 @@ public final class TickHandler {
                 tick = (tick + 1) % MinecraftHelpers.SECOND_IN_TICKS;
             }
             boolean shouldSendTickDurationInfo = isBeingDiagnozed && tick == 0;
-            for(INetwork network : NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworks()) {
-                if (isBeingDiagnozed && (shouldSendTickDurationInfo || network.hasChanged())) {
-                    NetworkDiagnostics.getInstance().sendNetworkUpdate(network);
-                    network.resetLastSecondDurations();
-                }
-                try {
-                    if (!network.isCrashed()) {
-                        network.update();
+            NetworkWorldStorage storage = NetworkWorldStorage.getInstance(IntegratedDynamics._instance);
+            if (!GeneralConfig.networkSleeping && storage.getSleepingNetworkCount() > 0) {
+                storage.wakeAllNetworks();
+            }
+            INetwork[] networks = storage.getNetworkSnapshot();
+            if (isBeingDiagnozed) {
+                for (INetwork network : networks) {
+                    if (shouldSendTickDurationInfo || network.hasChanged()) {
+                        NetworkDiagnostics.getInstance().sendNetworkUpdate(network);
+                        network.resetLastSecondDurations();
                     }
-                } catch (Throwable e) {
-                    network.setCrashed(true);
-                    throw e;
                 }
             }
+            NetworkLoader.getInstance().update();
+            NetworkTickScheduler.getInstance().update(storage.getAwakeNetworkSnapshot());
+            NetworkEventBus.onTickEnd();
+            NetworkProfiler.getInstance().onTick();
         }
     }
 
@@ -40,7 +40,7 @@ import java.util.Arrays;
 public class OperatorBuilders {
 
     // --------------- Logical builders ---------------
-    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> LOGICAL = OperatorBuilder.forType(ValueTypes.BOOLEAN).appendKind("logical");
+    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> LOGICAL = OperatorBuilder.forType(ValueTypes.BOOLEAN).appendKind("logical").pure(true);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> LOGICAL_1_PREFIX = LOGICAL.inputTypes(1, ValueTypes.BOOLEAN).renderPattern(IConfigRenderPattern.PREFIX_1);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> LOGICAL_2 = LOGICAL.inputTypes(2, ValueTypes.BOOLEAN).renderPattern(IConfigRenderPattern.INFIX);
 
@@ -64,7 +64,7 @@ public class OperatorBuilders {
     };
 
     // --------------- Arithmetic builders ---------------
-    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> ARITHMETIC = OperatorBuilder.forType(ValueTypes.CATEGORY_NUMBER).appendKind("arithmetic").conditionalOutputTypeDeriver((operator, input) -> {
+    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> ARITHMETIC = OperatorBuilder.forType(ValueTypes.CATEGORY_NUMBER).appendKind("arithmetic").pure(true).conditionalOutputTypeDeriver((operator, input) -> {
         IValueType[] original = ValueHelpers.from(input);
         IValueTypeNumber[] types = new IValueTypeNumber[original.length];
         for(int i = 0; i < original.length; i++) {
@@ -79,27 +79,59 @@ public class OperatorBuilders {
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> ARITHMETIC_2 = ARITHMETIC.inputTypes(2, ValueTypes.CATEGORY_NUMBER).renderPattern(IConfigRenderPattern.INFIX);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> ARITHMETIC_2_PREFIX = ARITHMETIC.inputTypes(2, ValueTypes.CATEGORY_NUMBER).renderPattern(IConfigRenderPattern.PREFIX_2);
 
+    /**
+     * Create a function for two number inputs that directly works on the raw values
+     * if both inputs are integers, longs or doubles,
+     * which avoids the type casting and dispatching of {@link ValueTypeCategoryNumber}.
+     * @param intFunction The function for two integers.
+     * @param longFunction The function for two longs.
+     * @param doubleFunction The function for two doubles.
+     * @param fallback The function for all other inputs, such as inputs of different number types.
+     * @return The function.
+     */
+    public static OperatorBase.IFunction createNumberFunction(IIntFunction intFunction, ILongFunction longFunction,
+                                                              IDoubleFunction doubleFunction, OperatorBase.IFunction fallback) {
+        return variables -> {
+            IValue a = variables.getValue(0);
+            IValue b = variables.getValue(1);
+            IValueType type = a.getType();
+            if (type == b.getType()) {
+                if (type == ValueTypes.INTEGER) {
+                    return intFunction.evaluate(((ValueTypeInteger.ValueInteger) a).getRawValue(),
+                            ((ValueTypeInteger.ValueInteger) b).getRawValue());
+                } else if (type == ValueTypes.LONG) {
+                    return longFunction.evaluate(((ValueTypeLong.ValueLong) a).getRawValue(),
+                            ((ValueTypeLong.ValueLong) b).getRawValue());
+                } else if (type == ValueTypes.DOUBLE) {
+                    return doubleFunction.evaluate(((ValueTypeDouble.ValueDouble) a).getRawValue(),
+                            ((ValueTypeDouble.ValueDouble) b).getRawValue());
+                }
+            }
+            return fallback.evaluate(variables);
+        };
+    }
+
     // --------------- Integer builders ---------------
-    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> INTEGER = OperatorBuilder.forType(ValueTypes.INTEGER).appendKind("integer");
+    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> INTEGER = OperatorBuilder.forType(ValueTypes.INTEGER).appendKind("integer").pure(true);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> INTEGER_1_SUFFIX = INTEGER.inputTypes(1, ValueTypes.INTEGER).renderPattern(IConfigRenderPattern.SUFFIX_1);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> INTEGER_2 = INTEGER.inputTypes(2, ValueTypes.INTEGER).renderPattern(IConfigRenderPattern.INFIX);
 
     // --------------- Relational builders ---------------
-    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> RELATIONAL = OperatorBuilder.forType(ValueTypes.BOOLEAN).appendKind("relational");
+    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> RELATIONAL = OperatorBuilder.forType(ValueTypes.BOOLEAN).appendKind("relational").pure(true);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> RELATIONAL_2 = RELATIONAL.inputTypes(2, ValueTypes.INTEGER).renderPattern(IConfigRenderPattern.INFIX);
 
     // --------------- Binary builders ---------------
-    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> BINARY = OperatorBuilder.forType(ValueTypes.INTEGER).appendKind("binary");
+    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> BINARY = OperatorBuilder.forType(ValueTypes.INTEGER).appendKind("binary").pure(true);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> BINARY_1_PREFIX = BINARY.inputTypes(1, ValueTypes.INTEGER).renderPattern(IConfigRenderPattern.PREFIX_1);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> BINARY_2 = BINARY.inputTypes(2, ValueTypes.INTEGER).renderPattern(IConfigRenderPattern.INFIX);
 
     // --------------- String builders ---------------
-    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> STRING = OperatorBuilder.forType(ValueTypes.STRING).appendKind("string");
+    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> STRING = OperatorBuilder.forType(ValueTypes.STRING).appendKind("string").pure(true);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> STRING_1_PREFIX = STRING.inputTypes(1, ValueTypes.STRING).renderPattern(IConfigRenderPattern.PREFIX_1);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> STRING_2 = STRING.inputTypes(2, ValueTypes.STRING).renderPattern(IConfigRenderPattern.INFIX);
 
     // --------------- Double builders ---------------
-    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> DOUBLE = OperatorBuilder.forType(ValueTypes.DOUBLE).appendKind("double");
+    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> DOUBLE = OperatorBuilder.forType(ValueTypes.DOUBLE).appendKind("double").pure(true);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> DOUBLE_1_PREFIX = DOUBLE.inputTypes(1, ValueTypes.DOUBLE).renderPattern(IConfigRenderPattern.PREFIX_1);
 
     // --------------- Nullable builders ---------------
@@ -107,7 +139,7 @@ public class OperatorBuilders {
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> NULLABLE_1_PREFIX = NULLABLE.inputTypes(1, ValueTypes.CATEGORY_NULLABLE).renderPattern(IConfigRenderPattern.PREFIX_1);
 
     // --------------- List builders ---------------
-    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> LIST = OperatorBuilder.forType(ValueTypes.LIST).appendKind("list");
+    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> LIST = OperatorBuilder.forType(ValueTypes.LIST).appendKind("list").pure(true);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> LIST_1_PREFIX = LIST.inputTypes(1, ValueTypes.LIST).renderPattern(IConfigRenderPattern.PREFIX_1);
 
     // --------------- Block builders ---------------
@@ -379,7 +411,7 @@ public class OperatorBuilders {
     }
 
     // --------------- NBT builders ---------------
-    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> NBT = OperatorBuilder.forType(ValueTypes.NBT).appendKind("nbt");
+    public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> NBT = OperatorBuilder.forType(ValueTypes.NBT).appendKind("nbt").pure(true);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> NBT_1_SUFFIX_LONG = NBT.inputTypes(ValueTypes.NBT).renderPattern(IConfigRenderPattern.SUFFIX_1_LONG);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> NBT_2 = NBT.inputTypes(ValueTypes.NBT, ValueTypes.STRING).renderPattern(IConfigRenderPattern.INFIX);
     public static final OperatorBuilder<OperatorBase.SafeVariablesGetter> NBT_2_NBT = NBT.inputTypes(ValueTypes.NBT, ValueTypes.NBT).renderPattern(IConfigRenderPattern.INFIX);
@@ -435,4 +467,16 @@ public class OperatorBuilders {
         public Capability<T> getReference();
     }
 
+    public static interface IIntFunction {
+        public IValue evaluate(int a, int b) throws EvaluationException;
+    }
+
+    public static interface ILongFunction {
+        public IValue evaluate(long a, long b) throws EvaluationException;
+    }
+
+    public static interface IDoubleFunction {
+        public IValue evaluate(double a, double b) throws EvaluationException;
+    }
+
 }
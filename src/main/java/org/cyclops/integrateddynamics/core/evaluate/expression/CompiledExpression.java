@@ -0,0 +1,501 @@
+package org.cyclops.integrateddynamics.core.evaluate.expression;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.expression.ILazyExpressionValueCache;
+import org.cyclops.integrateddynamics.api.evaluate.expression.VariableAdapter;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.operator.PureOperatorCache;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeList;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeOperator;
+import org.cyclops.integrateddynamics.core.evaluate.variable.Variable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A flattened form of all {@link LazyExpression}s that share a value cache, which is typically a part network.
+ *
+ * The expressions are ordered so that each expression comes after its input,
+ * and the value of each expression is stored in a register.
+ * Expressions with the same operator and the same input share a register, so they are only evaluated once,
+ * also when they are part of different root expressions, such as the variables of different cards in a network.
+ * Expressions are compiled when they are evaluated for the first time,
+ * and registers of pure operators with only constant input are evaluated once while compiling.
+ * Only one expression is kept per expression id, so an expression that is recreated after an error
+ * replaces the previous expression with that id.
+ *
+ * All other registers are evaluated lazily, so that operators can still skip evaluating part of their input.
+ * Once a variable that is not a lazy expression is invalidated,
+ * only the registers and expressions that depend on it are marked as dirty.
+ *
+ * Each register and input variable has a version that is incremented when its value changes.
+ * Registers remember which input they read in which order, and at which version.
+ * A dirty register is only evaluated again if one of these inputs has a different version,
+ * which is checked in the same order as the inputs were read.
+ *
+ * @author rubensworks
+ */
+public class CompiledExpression {
+
+    // The compiled expressions refer to their value cache, so they are only kept alive by the expressions in them.
+    private static final Map<ILazyExpressionValueCache, CompiledExpression> COMPILED_EXPRESSIONS =
+            new MapMaker().weakKeys().weakValues().makeMap();
+
+    private final int version;
+    private final List<Register> registers = Lists.newArrayList();
+    private final Map<List<Object>, Register> registersByKey = Maps.newHashMap();
+    private final Map<LazyExpression<?>, Register> registersByExpression = Maps.newIdentityHashMap();
+    private final Map<Integer, LazyExpression<?>> expressionsById = Maps.newHashMap();
+    private final Map<IVariable<?>, InputVariable> inputVariables = Maps.newIdentityHashMap();
+    private final List<InputVariable> inputVariableList = Lists.newArrayList();
+    private long evaluations = 0;
+
+    public CompiledExpression(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Get the compiled expressions of the given value cache,
+     * which are rebuilt once the expression version of the value cache changes.
+     * @param valueCache A value cache.
+     * @return The compiled expressions of the value cache.
+     */
+    public static CompiledExpression get(ILazyExpressionValueCache valueCache) {
+        int version = valueCache.getExpressionVersion();
+        CompiledExpression compiledExpression = COMPILED_EXPRESSIONS.get(valueCache);
+        if (compiledExpression == null || compiledExpression.getVersion() != version) {
+            compiledExpression = new CompiledExpression(version);
+            COMPILED_EXPRESSIONS.put(valueCache, compiledExpression);
+        }
+        return compiledExpression;
+    }
+
+    /**
+     * Check if a new value can be considered equal to the old value, so that the version does not have to change.
+     * Lists are only compared by reference, as comparing their elements could be expensive.
+     * @param oldValue The old value, can be null.
+     * @param value The new value.
+     * @return If the value is unchanged.
+     */
+    protected static boolean isUnchanged(IValue oldValue, IValue value) {
+        return oldValue == value || (oldValue != null && !(value instanceof ValueTypeList.ValueList)
+                && value.equals(oldValue));
+    }
+
+    protected static boolean isConstant(IVariable<?> variable) {
+        if (!(variable instanceof Variable)) {
+            return false;
+        }
+        try {
+            // Operators that are applied by a pure operator must be pure themselves.
+            IValue value = variable.getValue();
+            return !(value instanceof ValueTypeOperator.ValueOperator)
+                    || ((ValueTypeOperator.ValueOperator) value).getRawValue().isPure();
+        } catch (EvaluationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return The expression version this was compiled for.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The number of registers, which is the number of distinct expressions.
+     */
+    public int getRegisterCount() {
+        return registers.size();
+    }
+
+    /**
+     * @return The number of registers that were evaluated while compiling.
+     */
+    public int getConstantRegisterCount() {
+        int count = 0;
+        for (Register register : registers) {
+            if (register.constant) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of distinct variables that are not lazy expressions.
+     */
+    public int getInputVariableCount() {
+        return inputVariableList.size();
+    }
+
+    /**
+     * @return The number of compiled expressions.
+     */
+    public int getExpressionCount() {
+        return registersByExpression.size();
+    }
+
+    /**
+     * @return The number of expressions that depend on input variables, counted once for each input variable.
+     */
+    public int getDependentExpressionCount() {
+        int count = 0;
+        for (InputVariable inputVariable : inputVariableList) {
+            count += inputVariable.dependentExpressions.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return The number of times an operator was evaluated.
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Evaluate the given expression, after compiling it if that was not done yet.
+     * @param expression An expression that uses the value cache of these compiled expressions.
+     * @return The value of the expression.
+     * @throws EvaluationException If evaluation failed.
+     */
+    public IValue evaluate(LazyExpression<?> expression) throws EvaluationException {
+        return evaluate(compile(expression));
+    }
+
+    protected IValue evaluate(Register register) throws EvaluationException {
+        if (register.dirty) {
+            if (register.value == null || !isUpToDate(register)) {
+                recompute(register);
+            }
+            register.dirty = false;
+            // Make the value available to the expressions that are not evaluated through these compiled expressions.
+            for (LazyExpression<?> expression : register.expressions) {
+                expression.setValue(register.value);
+            }
+        }
+        return register.value;
+    }
+
+    protected boolean isUpToDate(Register register) {
+        for (int i = 0; i < register.readCount; i++) {
+            int slot = register.readOrder[i];
+            try {
+                if (register.slots[slot].getSourceVersion() != register.readVersions[slot]) {
+                    return false;
+                }
+            } catch (EvaluationException e) {
+                // Let the operator handle the error.
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected void recompute(Register register) throws EvaluationException {
+        Arrays.fill(register.readVersions, -1);
+        register.readCount = 0;
+        register.recording = true;
+        IValue value;
+        try {
+            evaluations++;
+            value = register.operator.evaluate(register.slots);
+        } catch (EvaluationException | RuntimeException e) {
+            // Make sure that the old value is not reused with an incomplete set of read input.
+            register.value = null;
+            register.readCount = 0;
+            throw e;
+        } finally {
+            register.recording = false;
+        }
+        if (!isUnchanged(register.value, value)) {
+            register.version++;
+        }
+        register.value = value;
+    }
+
+    protected void invalidate(InputVariable inputVariable) {
+        for (Register register : inputVariable.dependentRegisters) {
+            register.dirty = true;
+        }
+        for (LazyExpression<?> expression : inputVariable.dependentExpressions) {
+            expression.invalidate();
+        }
+    }
+
+    /**
+     * Add the given expression and all lazy expressions it depends on to the registers, if they were not added yet.
+     * @param expression An expression.
+     * @return The register of the expression.
+     */
+    public Register compile(LazyExpression<?> expression) {
+        Register register = registersByExpression.get(expression);
+        if (register == null) {
+            IVariable[] expressionInput = expression.getInput();
+            // Registers are identified by their operator and the sources of their input.
+            List<Object> key = Lists.newArrayListWithCapacity(expressionInput.length + 1);
+            key.add(expression.getOperator());
+            for (IVariable<?> variable : expressionInput) {
+                if (variable instanceof LazyExpression) {
+                    key.add(compile((LazyExpression<?>) variable));
+                } else {
+                    InputVariable inputVariable = inputVariables.get(variable);
+                    if (inputVariable == null) {
+                        inputVariable = new InputVariable(variable, inputVariableList.size());
+                        inputVariables.put(variable, inputVariable);
+                        inputVariableList.add(inputVariable);
+                    }
+                    key.add(inputVariable);
+                }
+            }
+
+            register = registersByKey.get(key);
+            if (register == null) {
+                register = new Register(expression.getOperator(), key.subList(1, key.size()));
+                registers.add(register);
+                registersByKey.put(key, register);
+                for (int i = register.inputVariables.nextSetBit(0); i >= 0; i = register.inputVariables.nextSetBit(i + 1)) {
+                    inputVariableList.get(i).dependentRegisters.add(register);
+                }
+                foldConstant(register);
+            }
+            LazyExpression<?> previousExpression = expressionsById.put(expression.getId(), expression);
+            if (previousExpression != null) {
+                remove(previousExpression);
+            }
+            register.expressions.add(expression);
+            for (int i = register.inputVariables.nextSetBit(0); i >= 0; i = register.inputVariables.nextSetBit(i + 1)) {
+                inputVariableList.get(i).dependentExpressions.add(expression);
+            }
+            registersByExpression.put(expression, register);
+        }
+        return register;
+    }
+
+    /**
+     * Compile the given expression and read all input variables it depends on,
+     * so that it can afterwards be evaluated on another thread without reading anything from the world.
+     * This must be called on the server thread, and the expression must be evaluated before anything is invalidated.
+     * @param expression An expression that uses the value cache of these compiled expressions.
+     * @return If the expression can be evaluated on another thread,
+     *         which requires all its operators to be pure and all its input values to be cacheable.
+     */
+    public boolean prepareParallel(LazyExpression<?> expression) {
+        Register register = compile(expression);
+        if (!isPure(register)) {
+            return false;
+        }
+        for (int i = register.inputVariables.nextSetBit(0); i >= 0; i = register.inputVariables.nextSetBit(i + 1)) {
+            try {
+                if (!PureOperatorCache.isCacheable(inputVariableList.get(i).getValue())) {
+                    return false;
+                }
+            } catch (EvaluationException e) {
+                // The error will be handled when the expression is evaluated on the server thread.
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected static boolean isPure(Register register) {
+        if (!register.operator.isPure()) {
+            return false;
+        }
+        for (Slot slot : register.slots) {
+            if (slot.register != null && !isPure(slot.register)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stop updating and invalidating the given expression.
+     * @param expression A compiled expression.
+     */
+    protected void remove(LazyExpression<?> expression) {
+        Register register = registersByExpression.remove(expression);
+        if (register != null) {
+            register.expressions.remove(expression);
+            for (int i = register.inputVariables.nextSetBit(0); i >= 0; i = register.inputVariables.nextSetBit(i + 1)) {
+                inputVariableList.get(i).dependentExpressions.remove(expression);
+            }
+        }
+    }
+
+    protected void foldConstant(Register register) {
+        if (register.operator.isPure() && isConstant(register.slots)) {
+            try {
+                evaluate(register);
+                register.constant = true;
+            } catch (EvaluationException e) {
+                // The error will be thrown again when this register is evaluated.
+            }
+        }
+    }
+
+    protected boolean isConstant(Slot[] input) {
+        for (Slot slot : input) {
+            if (slot.register != null ? !slot.register.constant : !isConstant(slot.inputVariable.variable)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A distinct expression, with its value and the versions of the input it read.
+     */
+    public class Register {
+
+        private final IOperator operator;
+        private final Slot[] slots;
+        private final Set<LazyExpression<?>> expressions = Sets.newIdentityHashSet();
+        // The input variables this register depends on, directly or via other registers.
+        private final BitSet inputVariables = new BitSet();
+        private final int[] readOrder;
+        private final int[] readVersions;
+        private boolean constant = false;
+        private IValue value = null;
+        private int version = 0;
+        private boolean dirty = true;
+        private boolean recording = false;
+        private int readCount = 0;
+
+        public Register(IOperator operator, List<Object> sources) {
+            this.operator = operator;
+            this.slots = new Slot[sources.size()];
+            for (int i = 0; i < slots.length; i++) {
+                Object source = sources.get(i);
+                if (source instanceof Register) {
+                    slots[i] = new Slot(this, i, (Register) source, null);
+                    inputVariables.or(((Register) source).inputVariables);
+                } else {
+                    slots[i] = new Slot(this, i, null, (InputVariable) source);
+                    inputVariables.set(((InputVariable) source).index);
+                }
+            }
+            this.readOrder = new int[slots.length];
+            this.readVersions = new int[slots.length];
+        }
+    }
+
+    /**
+     * An input of a register, which refers to either another register or an input variable.
+     * Reads are recorded while the owning register is being evaluated.
+     */
+    protected class Slot extends VariableAdapter<IValue> {
+
+        private final Register owner;
+        private final int index;
+        private final Register register;
+        private final InputVariable inputVariable;
+
+        public Slot(Register owner, int index, Register register, InputVariable inputVariable) {
+            this.owner = owner;
+            this.index = index;
+            this.register = register;
+            this.inputVariable = inputVariable;
+        }
+
+        /**
+         * @return The current version of the source of this slot, after making sure it is up to date.
+         * @throws EvaluationException If evaluation of the source failed.
+         */
+        public int getSourceVersion() throws EvaluationException {
+            if (register != null) {
+                evaluate(register);
+                return register.version;
+            }
+            inputVariable.getValue();
+            return inputVariable.version;
+        }
+
+        @Override
+        public IValueType<IValue> getType() {
+            return register != null ? register.operator.getConditionalOutputType(register.slots)
+                    : inputVariable.getType();
+        }
+
+        @Override
+        public IValue getValue() throws EvaluationException {
+            IValue value;
+            int sourceVersion;
+            if (register != null) {
+                value = evaluate(register);
+                sourceVersion = register.version;
+            } else {
+                value = inputVariable.getValue();
+                sourceVersion = inputVariable.version;
+            }
+            if (owner.recording && owner.readVersions[index] < 0) {
+                owner.readVersions[index] = sourceVersion;
+                owner.readOrder[owner.readCount++] = index;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * A variable that is not a lazy expression, which marks its dependent registers as dirty when invalidated.
+     */
+    protected class InputVariable extends VariableAdapter<IValue> {
+
+        private final IVariable<?> variable;
+        private final int index;
+        private final List<Register> dependentRegisters = Lists.newArrayList();
+        private final Set<LazyExpression<?>> dependentExpressions = Sets.newIdentityHashSet();
+        private IValue value = null;
+        private int version = 0;
+        private boolean dirty = true;
+        private boolean dependent = false;
+
+        public InputVariable(IVariable<?> variable, int index) {
+            this.variable = variable;
+            this.index = index;
+        }
+
+        @Override
+        public IValueType<IValue> getType() {
+            return (IValueType<IValue>) variable.getType();
+        }
+
+        @Override
+        public IValue getValue() throws EvaluationException {
+            if (dirty) {
+                IValue newValue = variable.getValue();
+                if (!dependent) {
+                    dependent = true;
+                    variable.addDependent(this);
+                }
+                if (!isUnchanged(value, newValue)) {
+                    version++;
+                }
+                value = newValue;
+                dirty = false;
+            }
+            return value;
+        }
+
+        @Override
+        public void invalidate() {
+            dirty = true;
+            super.invalidate();
+            CompiledExpression.this.invalidate(this);
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+package org.cyclops.integrateddynamics.core.evaluate.expression;
+
+import org.cyclops.cyclopscore.helper.L10NHelpers;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.core.helper.L10NValues;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the operator applications and the elapsed time of the evaluation of a top-level expression,
+ * and aborts the evaluation once it exceeds the budget from the config.
+ *
+ * A context is started when a {@link LazyExpression} is evaluated on a thread that has no context yet.
+ * Expressions that are evaluated as input of that expression are counted in the same context.
+ * The costs of each ended context are recorded in {@link EvaluationCosts}.
+ *
+ * @author rubensworks
+ */
+public final class EvaluationContext {
+
+    private static final ThreadLocal<EvaluationContext> CURRENT = new ThreadLocal<>();
+    // Only check the elapsed time once in this many applications, as reading the time is relatively expensive.
+    private static final int TIME_CHECK_INTERVAL = 64;
+
+    private final int variableId;
+    private final long startNanos;
+    private final long maxApplications;
+    private final long maxNanos;
+    private final AtomicLong applications = new AtomicLong();
+    private volatile boolean aborted = false;
+
+    protected EvaluationContext(int variableId, long maxApplications, long maxNanos) {
+        this.variableId = variableId;
+        this.startNanos = System.nanoTime();
+        this.maxApplications = maxApplications;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * @return The context of the current thread, or null.
+     */
+    @Nullable
+    public static EvaluationContext get() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Start a context for the evaluation of the given variable, if the current thread has no context yet.
+     * @param variableId The id of the variable that is evaluated.
+     * @return The new context, which must be ended by the caller, or null if a context was already active.
+     */
+    @Nullable
+    public static EvaluationContext begin(int variableId) {
+        if (CURRENT.get() != null) {
+            return null;
+        }
+        EvaluationContext context = new EvaluationContext(variableId,
+                GeneralConfig.evaluationMaxApplications, GeneralConfig.evaluationMaxDuration * 1000000L);
+        CURRENT.set(context);
+        return context;
+    }
+
+    /**
+     * Make the given context the context of the current thread,
+     * so that operators that are applied in other threads for a context are counted in it.
+     * @param context A context, or null.
+     * @return The previous context of the current thread, which must be restored afterwards.
+     */
+    @Nullable
+    public static EvaluationContext swap(@Nullable EvaluationContext context) {
+        EvaluationContext previous = CURRENT.get();
+        if (context == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(context);
+        }
+        return previous;
+    }
+
+    /**
+     * Count an operator application in the context of the current thread, if there is one.
+     * @throws EvaluationException If the budget of the context was exceeded.
+     */
+    public static void onOperatorApplication() throws EvaluationException {
+        EvaluationContext context = CURRENT.get();
+        if (context != null) {
+            context.countApplication();
+        }
+    }
+
+    protected void countApplication() throws EvaluationException {
+        // Once aborted, applications in other threads or after a caught exception must fail as well.
+        if (aborted) {
+            throw createBudgetException();
+        }
+        long count = applications.incrementAndGet();
+        if ((maxApplications > 0 && count > maxApplications)
+                || (maxNanos > 0 && count % TIME_CHECK_INTERVAL == 0 && getElapsedNanos() > maxNanos)) {
+            aborted = true;
+            throw createBudgetException();
+        }
+    }
+
+    protected EvaluationException createBudgetException() {
+        return new EvaluationException(new L10NHelpers.UnlocalizedString(L10NValues.OPERATOR_ERROR_EVALUATIONBUDGET,
+                variableId, applications.get(), getElapsedNanos() / 1000000L).localize());
+    }
+
+    /**
+     * End this context, and record its costs.
+     */
+    public void end() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        EvaluationCosts.getInstance().record(variableId, getApplications(), getElapsedNanos(), aborted);
+    }
+
+    public int getVariableId() {
+        return variableId;
+    }
+
+    public long getApplications() {
+        return applications.get();
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public boolean isAborted() {
+        return aborted;
+    }
+
+}
@@ -0,0 +1,165 @@
+package org.cyclops.integrateddynamics.core.evaluate.expression;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the evaluation costs of top-level expressions per variable id,
+ * as recorded by {@link EvaluationContext}.
+ *
+ * Expressions can be evaluated in multiple threads, so all methods are thread-safe.
+ * Variable ids are never released, so the costs of variables that were not evaluated recently are dropped,
+ * and at most {@link EvaluationCosts#CAPACITY} variables are kept.
+ *
+ * @author rubensworks
+ */
+public final class EvaluationCosts {
+
+    private static final EvaluationCosts INSTANCE = new EvaluationCosts();
+    static final int CAPACITY = 1024;
+    private static final int EXPIRE_MINUTES = 10;
+
+    private final Cache<Integer, Entry> entries = CacheBuilder.newBuilder()
+            .maximumSize(CAPACITY)
+            .expireAfterAccess(EXPIRE_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    private EvaluationCosts() {
+
+    }
+
+    /**
+     * @return The unique instance.
+     */
+    public static EvaluationCosts getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record the costs of an evaluation.
+     * @param variableId The id of the evaluated variable.
+     * @param applications The number of operator applications.
+     * @param nanos The duration in nanoseconds.
+     * @param aborted If the evaluation was aborted because it exceeded the budget.
+     */
+    public void record(int variableId, long applications, long nanos, boolean aborted) {
+        entries.asMap().computeIfAbsent(variableId, Entry::new).record(applications, nanos, aborted);
+    }
+
+    /**
+     * @param variableId A variable id.
+     * @return The costs of the given variable, or null if it has not been evaluated recently.
+     */
+    @Nullable
+    public Entry get(int variableId) {
+        return entries.getIfPresent(variableId);
+    }
+
+    /**
+     * @return The number of variables for which costs are kept.
+     */
+    public long getSize() {
+        return entries.size();
+    }
+
+    /**
+     * @return Copies of all entries, sorted by descending total duration.
+     */
+    public List<Entry> getEntries() {
+        List<Entry> sorted = Lists.newArrayList();
+        for (Entry entry : entries.asMap().values()) {
+            sorted.add(entry.copy());
+        }
+        Collections.sort(sorted, (a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        return sorted;
+    }
+
+    /**
+     * Remove all recorded costs.
+     */
+    public void reset() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * The costs of a single variable.
+     */
+    public static class Entry {
+
+        private final int variableId;
+        private long evaluations = 0;
+        private long aborts = 0;
+        private long totalApplications = 0;
+        private long totalNanos = 0;
+        private long lastApplications = 0;
+        private long lastNanos = 0;
+        private long maxNanos = 0;
+
+        public Entry(int variableId) {
+            this.variableId = variableId;
+        }
+
+        protected synchronized void record(long applications, long nanos, boolean aborted) {
+            evaluations++;
+            if (aborted) {
+                aborts++;
+            }
+            totalApplications += applications;
+            totalNanos += nanos;
+            lastApplications = applications;
+            lastNanos = nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        protected synchronized Entry copy() {
+            Entry copy = new Entry(variableId);
+            copy.evaluations = evaluations;
+            copy.aborts = aborts;
+            copy.totalApplications = totalApplications;
+            copy.totalNanos = totalNanos;
+            copy.lastApplications = lastApplications;
+            copy.lastNanos = lastNanos;
+            copy.maxNanos = maxNanos;
+            return copy;
+        }
+
+        public int getVariableId() {
+            return variableId;
+        }
+
+        public synchronized long getEvaluations() {
+            return evaluations;
+        }
+
+        public synchronized long getAborts() {
+            return aborts;
+        }
+
+        public synchronized long getTotalApplications() {
+            return totalApplications;
+        }
+
+        public synchronized long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public synchronized long getLastApplications() {
+            return lastApplications;
+        }
+
+        public synchronized long getLastNanos() {
+            return lastNanos;
+        }
+
+        public synchronized long getMaxNanos() {
+            return maxNanos;
+        }
+    }
+
+}
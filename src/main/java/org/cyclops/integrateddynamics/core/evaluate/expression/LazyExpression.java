@@ -1,5 +1,6 @@
 package org.cyclops.integrateddynamics.core.evaluate.expression;
 
+import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 import org.cyclops.integrateddynamics.api.evaluate.expression.IExpression;
 import org.cyclops.integrateddynamics.api.evaluate.expression.ILazyExpressionValueCache;
@@ -12,6 +13,8 @@ import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
 /**
  * A generic expression with arbitrarily nested binary operations.
  * This is evaluated in a lazy manner.
+ * If enabled, the expression is evaluated through the {@link CompiledExpression} of its value cache,
+ * which is shared by all expressions of that cache, and is reused until the expression version of the cache changes.
  * @author rubensworks
  */
 public class LazyExpression<V extends IValue> extends VariableAdapter<V> implements IExpression<V> {
@@ -21,6 +24,10 @@ public class LazyExpression<V extends IValue> extends VariableAdapter<V> impleme
     private final IVariable[] input;
     private final ILazyExpressionValueCache valueCache;
     private boolean errored = false;
+    // Kept so that the compiled expressions keep invalidating this expression until it is compiled again.
+    private CompiledExpression compiledExpression = null;
+    private boolean dependent = false;
+    private boolean valid = false;
 
     public LazyExpression(int id, IOperator op, IVariable[] input, ILazyExpressionValueCache valueCache) {
         this.id = id;
@@ -32,16 +39,63 @@ public class LazyExpression<V extends IValue> extends VariableAdapter<V> impleme
     @Override
     public IValue evaluate() throws EvaluationException {
         if(valueCache.hasValue(id)) {
+            // The value may have been calculated by another expression with the same id,
+            // so this expression must still be invalidated when its own input changes.
+            addDependencies();
+            valid = true;
             return valueCache.getValue(id);
         }
-        IValue value = op.evaluate(input);
-        for (IVariable inputVariable : input) {
-            inputVariable.addDependent(this);
+        IValue value;
+        // Only top-level expressions start a context, nested expressions are counted in the context of their parent.
+        EvaluationContext context = EvaluationContext.begin(id);
+        try {
+            if (GeneralConfig.compileExpressions) {
+                value = getCompiledExpression().evaluate(this);
+            } else {
+                value = op.evaluate(input);
+                addDependencies();
+            }
+        } finally {
+            if (context != null) {
+                context.end();
+            }
         }
-        valueCache.setValue(id, value);
+        setValue(value);
         return value;
     }
 
+    /**
+     * Store the value of this expression, after which this expression is valid until it is invalidated.
+     * @param value The value.
+     */
+    protected void setValue(IValue value) {
+        valueCache.setValue(id, value);
+        valid = true;
+    }
+
+    protected void addDependencies() {
+        if (GeneralConfig.compileExpressions) {
+            getCompiledExpression();
+        } else if (!dependent) {
+            // Dependents are kept after invalidation, so this only has to happen once.
+            for (IVariable inputVariable : input) {
+                inputVariable.addDependent(this);
+            }
+            dependent = true;
+        }
+    }
+
+    /**
+     * @return The compiled expressions of the value cache, in which this expression is compiled.
+     */
+    public CompiledExpression getCompiledExpression() {
+        if (compiledExpression == null || compiledExpression.getVersion() != valueCache.getExpressionVersion()) {
+            compiledExpression = CompiledExpression.get(valueCache);
+            compiledExpression.compile(this);
+        }
+        return compiledExpression;
+    }
+
     @Override
     public boolean hasErrored() {
         return errored;
@@ -72,8 +126,22 @@ public class LazyExpression<V extends IValue> extends VariableAdapter<V> impleme
 
     @Override
     public void invalidate() {
-        super.invalidate();
-        valueCache.removeValue(id);
+        // If this expression is not valid, its dependents were already invalidated.
+        // The cached value can not be used for this, because it is shared with other expressions that have the same id,
+        // such as the expression that was replaced by this one after an error.
+        if (valid) {
+            valid = false;
+            valueCache.removeValue(id);
+            super.invalidate();
+        }
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public ILazyExpressionValueCache getValueCache() {
+        return valueCache;
     }
 
     public IOperator getOperator() {
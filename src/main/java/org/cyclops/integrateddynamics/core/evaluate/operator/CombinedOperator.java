@@ -1,13 +1,12 @@
 package org.cyclops.integrateddynamics.core.evaluate.operator;
 
 import net.minecraft.nbt.JsonToNBT;
+import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTException;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
-import net.minecraft.nbt.NBTTagString;
 import org.apache.commons.lang3.ArrayUtils;
 import org.cyclops.cyclopscore.helper.L10NHelpers;
-import org.cyclops.cyclopscore.helper.MinecraftHelpers;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
 import org.cyclops.integrateddynamics.api.evaluate.operator.IOperatorSerializer;
@@ -183,7 +182,25 @@ public class CombinedOperator extends OperatorBase {
 
         @Override
         public IValue evaluate(SafeVariablesGetter variables) throws EvaluationException {
-            return pipeVariablesToOperators(variables.getVariables(), getOperators())[0].getValue();
+            IOperator[] operators = getOperators();
+            if (variables.size() == 1 && areUnary(operators)) {
+                // Pass the values along directly, as no inputs have to be forwarded to later operators.
+                IValue value = variables.getValue(0);
+                for (IOperator operator : operators) {
+                    value = operator.evaluate(value);
+                }
+                return value;
+            }
+            return pipeVariablesToOperators(variables.getVariables(), operators)[0].getValue();
+        }
+
+        protected static boolean areUnary(IOperator[] operators) {
+            for (IOperator operator : operators) {
+                if (operator.getRequiredInputLength() != 1) {
+                    return false;
+                }
+            }
+            return true;
         }
 
         protected static IVariable[] pipeVariablesToOperators(IVariable[] allVariables, IOperator[] operators) throws EvaluationException {
@@ -292,7 +309,7 @@ public class CombinedOperator extends OperatorBase {
 
         @Override
         public IValue evaluate(SafeVariablesGetter variables) throws EvaluationException {
-            int size = variables.getVariables().length;
+            int size = variables.size();
             IValue[] values = new IValue[size];
             for (int i = 0; i < size; i++) {
                 int targetI = i < 2 ? 1 - i : i;
@@ -361,30 +378,45 @@ public class CombinedOperator extends OperatorBase {
 
         @Override
         public String serialize(CombinedOperator operator) {
+            return serializeNbt(operator).toString();
+        }
+
+        @Override
+        public CombinedOperator deserialize(String valueOperator) throws EvaluationException {
+            NBTTagCompound tag;
+            try {
+                tag = JsonToNBT.getTagFromJson(valueOperator);
+            } catch (NBTException e) {
+                e.printStackTrace();
+                throw new EvaluationException(e.getMessage());
+            }
+            return deserializeNbt(tag);
+        }
+
+        @Override
+        public NBTBase serializeNbt(CombinedOperator operator) {
             OperatorsFunction function = (OperatorsFunction) operator.getFunction();
             IOperator[] operators = function.getOperators();
             NBTTagCompound tag = new NBTTagCompound();
             NBTTagList list = new NBTTagList();
             for (IOperator functionOperator : operators) {
-                list.appendTag(new NBTTagString(Operators.REGISTRY.serialize(functionOperator)));
+                list.appendTag(Operators.REGISTRY.serializeNbt(functionOperator));
             }
             tag.setTag("operators", list);
-            return tag.toString();
+            return tag;
         }
 
         @Override
-        public CombinedOperator deserialize(String valueOperator) throws EvaluationException {
-            NBTTagList list;
-            try {
-                NBTTagCompound tag = JsonToNBT.getTagFromJson(valueOperator);
-                list = tag.getTagList("operators", MinecraftHelpers.NBTTag_Types.NBTTagString.ordinal());
-            } catch (NBTException e) {
-                e.printStackTrace();
-                throw new EvaluationException(e.getMessage());
+        public CombinedOperator deserializeNbt(NBTBase value) throws EvaluationException {
+            if (!(value instanceof NBTTagCompound)) {
+                return IOperatorSerializer.super.deserializeNbt(value);
             }
+            // Operators are strings in the older serialized form, and native tags otherwise.
+            NBTBase listTag = ((NBTTagCompound) value).getTag("operators");
+            NBTTagList list = listTag instanceof NBTTagList ? (NBTTagList) listTag : new NBTTagList();
             IOperator[] operators = new IOperator[list.tagCount()];
             for (int i = 0; i < list.tagCount(); i++) {
-                operators[i] = Objects.requireNonNull(Operators.REGISTRY.deserialize(list.getStringTagAt(i)));
+                operators[i] = Objects.requireNonNull(Operators.REGISTRY.deserializeNbt(list.get(i)));
             }
             return newFunction(operators);
         }
@@ -1,6 +1,7 @@
 package org.cyclops.integrateddynamics.core.evaluate.operator;
 
 import net.minecraft.nbt.JsonToNBT;
+import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTException;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -120,6 +121,16 @@ public class CurriedOperator implements IOperator {
         return baseOperator.evaluate(deriveFullInputVariables(input));
     }
 
+    @Override
+    public IValue evaluate(IValue... input) throws EvaluationException {
+        IValue[] fullInput = new IValue[Math.min(baseOperator.getRequiredInputLength(), input.length + appliedVariables.length)];
+        for (int i = 0; i < appliedVariables.length; i++) {
+            fullInput[i] = appliedVariables[i].getValue();
+        }
+        System.arraycopy(input, 0, fullInput, appliedVariables.length, fullInput.length - appliedVariables.length);
+        return baseOperator.evaluate(fullInput);
+    }
+
     @Override
     public int getRequiredInputLength() {
         return baseOperator.getRequiredInputLength() - 1;
@@ -163,47 +174,62 @@ public class CurriedOperator implements IOperator {
 
         @Override
         public String serialize(CurriedOperator operator) {
+            return serializeNbt(operator).toString();
+        }
+
+        @Override
+        public CurriedOperator deserialize(String valueOperator) throws EvaluationException {
+            NBTTagCompound tag;
+            try {
+                tag = JsonToNBT.getTagFromJson(valueOperator);
+            } catch (NBTException e) {
+                e.printStackTrace();
+                throw new EvaluationException(e.getMessage());
+            }
+            return deserializeNbt(tag);
+        }
+
+        @Override
+        public NBTBase serializeNbt(CurriedOperator operator) {
             NBTTagList list = new NBTTagList();
-            for (int i = 0; i < operator.appliedVariables.length; i++) {
-                IVariable appliedVariable = operator.appliedVariables[i];
+            for (IVariable appliedVariable : operator.appliedVariables) {
                 IValue value;
                 try {
                     value = appliedVariable.getValue();
                 } catch (EvaluationException e) {
                     value = appliedVariable.getType().getDefault();
                 }
-                i++;
                 NBTTagCompound valueTag = new NBTTagCompound();
                 IValueType valueType = value.getType();
                 valueTag.setString("valueType", valueType.getUnlocalizedName());
-                valueTag.setString("value", ValueHelpers.serializeRaw(value));
+                valueTag.setTag("value", ValueHelpers.serializeRawNbt(value));
                 list.appendTag(valueTag);
             }
 
             NBTTagCompound tag = new NBTTagCompound();
             tag.setTag("values", list);
-            tag.setString("baseOperator", Operators.REGISTRY.serialize(operator.baseOperator));
-            return tag.toString();
+            tag.setTag("baseOperator", Operators.REGISTRY.serializeNbt(operator.baseOperator));
+            return tag;
         }
 
         @Override
-        public CurriedOperator deserialize(String valueOperator) throws EvaluationException {
-            NBTTagCompound tag;
-            try {
-                tag = JsonToNBT.getTagFromJson(valueOperator);
-            } catch (NBTException e) {
-                e.printStackTrace();
-                throw new EvaluationException(e.getMessage());
+        public CurriedOperator deserializeNbt(NBTBase value) throws EvaluationException {
+            if (!(value instanceof NBTTagCompound)) {
+                return IOperatorSerializer.super.deserializeNbt(value);
             }
+            // Values and the base operator are strings in the older serialized form, and native tags otherwise.
+            NBTTagCompound tag = (NBTTagCompound) value;
             NBTTagList list = tag.getTagList("values", MinecraftHelpers.NBTTag_Types.NBTTagCompound.ordinal());
             IVariable[] variables = new IVariable[list.tagCount()];
             for (int i = 0; i < list.tagCount(); i++) {
                 NBTTagCompound valuetag = list.getCompoundTagAt(i);
                 IValueType valueType = ValueTypes.REGISTRY.getValueType(valuetag.getString("valueType"));
-                IValue value = valueType.deserialize(valuetag.getString("value"));
-                variables[i] = new Variable(valueType, value);
+                if (valueType == null) {
+                    throw new EvaluationException(String.format("Could not deserialize the curried operator because the value type by name '%s' was not found.", valuetag.getString("valueType")));
+                }
+                variables[i] = new Variable(valueType, valueType.deserializeNbt(valuetag.getTag("value")));
             }
-            IOperator baseOperator = Objects.requireNonNull(Operators.REGISTRY.deserialize(tag.getString("baseOperator")));
+            IOperator baseOperator = Objects.requireNonNull(Operators.REGISTRY.deserializeNbt(tag.getTag("baseOperator")));
             return new CurriedOperator(baseOperator, variables);
         }
     }
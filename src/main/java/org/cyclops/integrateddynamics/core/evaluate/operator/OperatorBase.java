@@ -8,7 +8,10 @@ import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
 import org.cyclops.integrateddynamics.api.logicprogrammer.IConfigRenderPattern;
+import org.cyclops.integrateddynamics.core.evaluate.expression.EvaluationContext;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueHelpers;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueObjectTypeEntity;
+import org.cyclops.integrateddynamics.core.evaluate.variable.Variable;
 import org.cyclops.integrateddynamics.core.helper.L10NValues;
 
 import java.util.Arrays;
@@ -28,6 +31,8 @@ public abstract class OperatorBase implements IOperator {
     private final IConfigRenderPattern renderPattern;
 
     private String unlocalizedName = null;
+    // The input types of the last evaluation of values that passed validation, so that they are not validated again.
+    private volatile IValueType[] validatedTypes = null;
 
     protected OperatorBase(String symbol, String operatorName, IValueType[] inputTypes, IValueType outputType,
                            IFunction function, IConfigRenderPattern renderPattern) {
@@ -129,11 +134,72 @@ public abstract class OperatorBase implements IOperator {
 
     @Override
     public IValue evaluate(IVariable... input) throws EvaluationException {
-        L10NHelpers.UnlocalizedString error = validateTypes(ValueHelpers.from(input));
+        EvaluationContext.onOperatorApplication();
+        IValueType[] types = ValueHelpers.from(input);
+        L10NHelpers.UnlocalizedString error = validateTypes(types);
         if(error != null) {
             throw new EvaluationException(error.localize());
         }
-        return function.evaluate(new SafeVariablesGetter(input));
+        SafeVariablesGetter variables = new SafeVariablesGetter(input);
+        if(isPure() && PureOperatorCache.isEnabled()) {
+            return PureOperatorCache.getInstance().evaluate(this, types, variables, function);
+        }
+        return function.evaluate(variables);
+    }
+
+    @Override
+    public IValue evaluate(IValue... input) throws EvaluationException {
+        EvaluationContext.onOperatorApplication();
+        IValueType[] types = validateValueTypes(input);
+        SafeVariablesGetter variables = new SafeVariablesGetter.Values(input);
+        if(isPure() && PureOperatorCache.isEnabled()) {
+            return PureOperatorCache.getInstance().evaluate(this, types, variables, function);
+        }
+        return function.evaluate(variables);
+    }
+
+    /**
+     * Validate the types of the given values.
+     * Validation only depends on the types,
+     * so types that are identical to the last valid types are not validated again.
+     * @param input The input values.
+     * @return The input types.
+     * @throws EvaluationException If the types are invalid.
+     */
+    protected IValueType[] validateValueTypes(IValue[] input) throws EvaluationException {
+        IValueType[] types = validatedTypes;
+        if(types != null && types.length == input.length) {
+            boolean identical = true;
+            for(int i = 0; i < input.length; i++) {
+                if(input[i] == null || input[i].getType() != types[i]) {
+                    identical = false;
+                    break;
+                }
+            }
+            if(identical) {
+                return types;
+            }
+        }
+        types = new IValueType[input.length];
+        for(int i = 0; i < input.length; i++) {
+            types[i] = input[i] == null ? null : input[i].getType();
+        }
+        L10NHelpers.UnlocalizedString error = validateTypes(types);
+        if(error != null) {
+            throw new EvaluationException(error.localize());
+        }
+        validatedTypes = types;
+        return types;
+    }
+
+    /**
+     * @param valueType A value type.
+     * Item, fluid and block values are snapshots, so only entities are considered to be world-dependent.
+     * Operators that read other world or global state from these values must be marked as impure themselves.
+     * @return If values of the given type refer to something in the world, such as entities.
+     */
+    public static boolean isWorldDependent(IValueType valueType) {
+        return valueType instanceof ValueObjectTypeEntity;
     }
 
     @Override
@@ -199,6 +265,49 @@ public abstract class OperatorBase implements IOperator {
             return this.variables;
         }
 
+        /**
+         * @return The number of inputs.
+         */
+        public int size() {
+            return this.variables.length;
+        }
+
+        /**
+         * Input that consists of values instead of variables.
+         * The values are only wrapped in variables when {@link #getVariables()} is called.
+         */
+        public static class Values extends SafeVariablesGetter {
+
+            private final IValue[] values;
+            private IVariable[] variables = null;
+
+            public Values(IValue... values) {
+                super((IVariable[]) null);
+                this.values = values;
+            }
+
+            @Override
+            public <V extends IValue> V getValue(int i) {
+                return (V) values[i];
+            }
+
+            @Override
+            public IVariable[] getVariables() {
+                if (variables == null) {
+                    variables = new IVariable[values.length];
+                    for (int i = 0; i < values.length; i++) {
+                        variables[i] = new Variable<>(values[i].getType(), values[i]);
+                    }
+                }
+                return variables;
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        }
+
         public static class Shifted extends SafeVariablesGetter {
 
             public Shifted(int start, IVariable... variables) {
@@ -1,15 +1,17 @@
 package org.cyclops.integrateddynamics.core.evaluate.operator;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.*;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 import gnu.trove.map.TIntObjectMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
+import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagString;
 import net.minecraft.util.JsonUtils;
-import org.apache.commons.lang3.ArrayUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.cyclops.cyclopscore.helper.MinecraftHelpers;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
 import org.cyclops.integrateddynamics.api.advancement.criterion.ValuePredicate;
@@ -30,6 +32,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -40,6 +43,7 @@ public class OperatorRegistry implements IOperatorRegistry {
 
     private static OperatorRegistry INSTANCE = new OperatorRegistry();
     private static final IOperatorVariableFacade INVALID_FACADE = new OperatorVariableFacade(false, null, null);
+    private static final int INTERN_CAPACITY = 1024;
 
     private final List<IOperator> operators = Lists.newArrayList();
     private final Map<String, IOperator> namedOperators = Maps.newHashMap();
@@ -49,6 +53,11 @@ public class OperatorRegistry implements IOperatorRegistry {
     private final List<IOperatorSerializer> serializers = Lists.newArrayList();
     private final Map<String, IOperatorSerializer> namedSerializers = Maps.newHashMap();
     private final IOperatorSerializer DEFAULT_SERIALIZER = new OperatorSerializerDefault();
+    // The serializer per operator class, or per function class for combined operators.
+    private final Map<Class<?>, IOperatorSerializer> classSerializers = new ConcurrentHashMap<>();
+    // Deserialized operators are interned, so that equal serialized operators are only deserialized once.
+    private final Cache<String, IOperator> internedOperators = CacheBuilder.newBuilder().maximumSize(INTERN_CAPACITY).build();
+    private final Cache<NBTBase, IOperator> internedNbtOperators = CacheBuilder.newBuilder().maximumSize(INTERN_CAPACITY).build();
 
     private OperatorRegistry() {
         if(MinecraftHelpers.isModdedEnvironment()) {
@@ -102,31 +111,101 @@ public class OperatorRegistry implements IOperatorRegistry {
     public void registerSerializer(IOperatorSerializer serializer) {
         serializers.add(serializer);
         namedSerializers.put(serializer.getUniqueName(), serializer);
+        classSerializers.clear();
+    }
+
+    /**
+     * Get the serializer for the given operator.
+     * The serializer is looked up once per operator class, or per function class for combined operators.
+     * @param operator An operator.
+     * @return The serializer, which is the default serializer if no other serializer can handle the operator.
+     */
+    protected IOperatorSerializer getSerializer(IOperator operator) {
+        Class<?> key = operator instanceof CombinedOperator
+                ? ((CombinedOperator) operator).getFunction().getClass() : operator.getClass();
+        IOperatorSerializer serializer = classSerializers.get(key);
+        if (serializer == null) {
+            serializer = DEFAULT_SERIALIZER;
+            for (IOperatorSerializer candidate : serializers) {
+                if (candidate.canHandle(operator)) {
+                    serializer = candidate;
+                    break;
+                }
+            }
+            classSerializers.put(key, serializer);
+        }
+        return serializer;
     }
 
     @Override
     public String serialize(IOperator value) {
-        for (IOperatorSerializer serializer : serializers) {
-            if (serializer.canHandle(value)) {
-                return serializer.getUniqueName() + ":" + serializer.serialize(value);
-            }
+        IOperatorSerializer serializer = getSerializer(value);
+        if (serializer == DEFAULT_SERIALIZER) {
+            return DEFAULT_SERIALIZER.serialize(value);
         }
-        return DEFAULT_SERIALIZER.serialize(value);
+        return serializer.getUniqueName() + ":" + serializer.serialize(value);
     }
 
     @Override
     public IOperator deserialize(String value) throws EvaluationException {
-        String[] split = value.split(":");
-        if (split.length > 1) {
-            String serializerName = split[0];
-            String subValue = StringUtils.join(ArrayUtils.subarray(split, 1, split.length), ":");
+        IOperator operator = internedOperators.getIfPresent(value);
+        if (operator == null) {
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                // Named operators are found in constant time already.
+                return DEFAULT_SERIALIZER.deserialize(value);
+            }
+            String serializerName = value.substring(0, separator);
             IOperatorSerializer serializer = namedSerializers.get(serializerName);
             if (serializer == null) {
                 throw new EvaluationException(String.format("No serializer was found to deserialize the operator value '%s'", value));
             }
-            return serializer.deserialize(subValue);
+            operator = serializer.deserialize(value.substring(separator + 1));
+            if (operator != null) {
+                internedOperators.put(value, operator);
+            }
         }
-        return DEFAULT_SERIALIZER.deserialize(value);
+        return operator;
+    }
+
+    @Override
+    public NBTBase serializeNbt(IOperator value) {
+        IOperatorSerializer serializer = getSerializer(value);
+        NBTTagCompound tag = new NBTTagCompound();
+        if (serializer == DEFAULT_SERIALIZER) {
+            tag.setString("name", DEFAULT_SERIALIZER.serialize(value));
+        } else {
+            tag.setString("serializer", serializer.getUniqueName());
+            tag.setTag("value", serializer.serializeNbt(value));
+        }
+        return tag;
+    }
+
+    @Override
+    public IOperator deserializeNbt(NBTBase value) throws EvaluationException {
+        if (value instanceof NBTTagString) {
+            return deserialize(((NBTTagString) value).getString());
+        }
+        if (!(value instanceof NBTTagCompound)) {
+            throw new EvaluationException(String.format("Could not deserialize the operator value '%s'", value));
+        }
+        NBTTagCompound tag = (NBTTagCompound) value;
+        if (!tag.hasKey("serializer")) {
+            return DEFAULT_SERIALIZER.deserialize(tag.getString("name"));
+        }
+        IOperator operator = internedNbtOperators.getIfPresent(tag);
+        if (operator == null) {
+            IOperatorSerializer serializer = namedSerializers.get(tag.getString("serializer"));
+            if (serializer == null) {
+                throw new EvaluationException(String.format("No serializer was found to deserialize the operator value '%s'", value));
+            }
+            operator = serializer.deserializeNbt(tag.getTag("value"));
+            if (operator != null) {
+                // Copy the key, as the given tag may be modified afterwards.
+                internedNbtOperators.put(tag.copy(), operator);
+            }
+        }
+        return operator;
     }
 
     @Override
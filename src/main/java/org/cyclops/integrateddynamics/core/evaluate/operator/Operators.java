@@ -3,10 +3,8 @@ package org.cyclops.integrateddynamics.core.evaluate.operator;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
+import com.google.common.collect.Maps;
 import com.google.re2j.Matcher;
-import com.google.re2j.Pattern;
-import com.google.re2j.PatternSyntaxException;
 import lombok.Lombok;
 import net.minecraft.block.Block;
 import net.minecraft.block.SoundType;
@@ -77,10 +75,10 @@ import org.cyclops.integrateddynamics.core.helper.L10NValues;
 import org.cyclops.integrateddynamics.core.helper.NbtHelpers;
 import org.cyclops.integrateddynamics.core.helper.obfuscation.ObfuscationHelpers;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -110,7 +108,7 @@ public final class Operators {
     /**
      * Short-circuit logical AND operator with two input booleans and one output boolean.
      */
-    public static final IOperator LOGICAL_AND = REGISTRY.register(OperatorBuilders.LOGICAL_2.symbol("&&").operatorName("and")
+    public static final IOperator LOGICAL_AND = REGISTRY.register(OperatorBuilders.LOGICAL_2.symbol("&&").operatorName("and").associative(true)
             .function(variables -> {
                 ValueTypeBoolean.ValueBoolean a = variables.getValue(0);
                 if (!a.getRawValue()) {
@@ -123,7 +121,7 @@ public final class Operators {
     /**
      * Short-circuit logical AND operator with two input booleans and one output boolean.
      */
-    public static final IOperator LOGICAL_OR = REGISTRY.register(OperatorBuilders.LOGICAL_2.symbol("||").operatorName("or")
+    public static final IOperator LOGICAL_OR = REGISTRY.register(OperatorBuilders.LOGICAL_2.symbol("||").operatorName("or").associative(true)
             .function(variables -> {
                 ValueTypeBoolean.ValueBoolean a = variables.getValue(0);
                 if (a.getRawValue()) {
@@ -162,50 +160,109 @@ public final class Operators {
     /**
      * Arithmetic ADD operator with two input integers and one output integer.
      */
-    public static final IOperator ARITHMETIC_ADDITION = REGISTRY.register(OperatorBuilders.ARITHMETIC_2.symbol("+").operatorName("addition")
-            .function(
+    public static final IOperator ARITHMETIC_ADDITION = REGISTRY.register(OperatorBuilders.ARITHMETIC_2.symbol("+").operatorName("addition").associative(true)
+            .function(OperatorBuilders.createNumberFunction(
+                (a, b) -> ValueTypeInteger.ValueInteger.of(a + b),
+                (a, b) -> ValueTypeLong.ValueLong.of(a + b),
+                (a, b) -> ValueTypeDouble.ValueDouble.of(a + b),
                 variables -> ValueTypes.CATEGORY_NUMBER.add(variables.getVariables()[0], variables.getVariables()[1])
-            ).build());
+            )).build());
 
     /**
      * Arithmetic MINUS operator with two input integers and one output integer.
      */
     public static final IOperator ARITHMETIC_SUBTRACTION = REGISTRY.register(OperatorBuilders.ARITHMETIC_2.symbol("-").operatorName("subtraction")
-            .function(
+            .function(OperatorBuilders.createNumberFunction(
+                (a, b) -> ValueTypeInteger.ValueInteger.of(a - b),
+                (a, b) -> ValueTypeLong.ValueLong.of(a - b),
+                (a, b) -> ValueTypeDouble.ValueDouble.of(a - b),
                 variables -> ValueTypes.CATEGORY_NUMBER.subtract(variables.getVariables()[0], variables.getVariables()[1])
-            ).build());
+            )).build());
 
     /**
      * Arithmetic MULTIPLY operator with two input integers and one output integer.
      */
-    public static final IOperator ARITHMETIC_MULTIPLICATION = REGISTRY.register(OperatorBuilders.ARITHMETIC_2.symbol("*").operatorName("multiplication")
-            .function(
+    public static final IOperator ARITHMETIC_MULTIPLICATION = REGISTRY.register(OperatorBuilders.ARITHMETIC_2.symbol("*").operatorName("multiplication").associative(true)
+            .function(OperatorBuilders.createNumberFunction(
+                (a, b) -> ValueTypeInteger.ValueInteger.of(a * b),
+                (a, b) -> ValueTypeLong.ValueLong.of(a * b),
+                (a, b) -> ValueTypeDouble.ValueDouble.of(a == 0 ? a : a * b),
                 variables -> ValueTypes.CATEGORY_NUMBER.multiply(variables.getVariables()[0], variables.getVariables()[1])
-            ).build());
+            )).build());
 
     /**
      * Arithmetic DIVIDE operator with two input integers and one output integer.
      */
     public static final IOperator ARITHMETIC_DIVISION = REGISTRY.register(OperatorBuilders.ARITHMETIC_2.symbol("/").operatorName("division")
-            .function(
+            .function(OperatorBuilders.createNumberFunction(
+                (a, b) -> ValueTypeInteger.ValueInteger.of(a / checkDivisor(b)),
+                (a, b) -> ValueTypeLong.ValueLong.of(a / checkDivisor(b)),
+                (a, b) -> ValueTypeDouble.ValueDouble.of(a / checkDivisor(b)),
                 variables -> ValueTypes.CATEGORY_NUMBER.divide(variables.getVariables()[0], variables.getVariables()[1])
-            ).build());
+            )).build());
+
+    /**
+     * Compare two values with a predicate that tests if its first input is smaller than its second input.
+     * @param predicate A predicate with two inputs.
+     * @param a The first value.
+     * @param b The second value.
+     * @return A negative number, zero, or a positive number if the first value is respectively smaller than,
+     *         equal to, or larger than the second value.
+     * @throws EvaluationException If the predicate could not be evaluated.
+     */
+    private static int compareWithPredicate(IOperator predicate, IValue a, IValue b) throws EvaluationException {
+        IValue smaller = ValueHelpers.evaluateOperator(predicate, a, b);
+        ValueHelpers.validatePredicateOutput(predicate, smaller);
+        if (((ValueTypeBoolean.ValueBoolean) smaller).getRawValue()) {
+            return -1;
+        }
+        IValue larger = ValueHelpers.evaluateOperator(predicate, b, a);
+        ValueHelpers.validatePredicateOutput(predicate, larger);
+        return ((ValueTypeBoolean.ValueBoolean) larger).getRawValue() ? 1 : 0;
+    }
+
+    private static int checkDivisor(int b) throws EvaluationException {
+        if (b == 0) { // You can not divide by zero
+            throw new EvaluationException("Division by zero");
+        }
+        return b;
+    }
+
+    private static long checkDivisor(long b) throws EvaluationException {
+        if (b == 0) { // You can not divide by zero
+            throw new EvaluationException("Division by zero");
+        }
+        return b;
+    }
+
+    private static double checkDivisor(double b) throws EvaluationException {
+        if (b == 0) { // You can not divide by zero
+            throw new EvaluationException("Division by zero");
+        }
+        return b;
+    }
 
     /**
      * Arithmetic MAX operator with two input integers and one output integer.
      */
-    public static final IOperator ARITHMETIC_MAXIMUM = REGISTRY.register(OperatorBuilders.ARITHMETIC_2_PREFIX.symbol("max").operatorName("maximum")
-            .function(
+    public static final IOperator ARITHMETIC_MAXIMUM = REGISTRY.register(OperatorBuilders.ARITHMETIC_2_PREFIX.symbol("max").operatorName("maximum").associative(true)
+            .function(OperatorBuilders.createNumberFunction(
+                (a, b) -> ValueTypeInteger.ValueInteger.of(Math.max(a, b)),
+                (a, b) -> ValueTypeLong.ValueLong.of(Math.max(a, b)),
+                (a, b) -> ValueTypeDouble.ValueDouble.of(Math.max(a, b)),
                 variables -> ValueTypes.CATEGORY_NUMBER.max(variables.getVariables()[0], variables.getVariables()[1])
-            ).build());
+            )).build());
 
     /**
      * Arithmetic MIN operator with two input integers and one output integer.
      */
-    public static final IOperator ARITHMETIC_MINIMUM = REGISTRY.register(OperatorBuilders.ARITHMETIC_2_PREFIX.symbol("min").operatorName("minimum")
-            .function(
+    public static final IOperator ARITHMETIC_MINIMUM = REGISTRY.register(OperatorBuilders.ARITHMETIC_2_PREFIX.symbol("min").operatorName("minimum").associative(true)
+            .function(OperatorBuilders.createNumberFunction(
+                (a, b) -> ValueTypeInteger.ValueInteger.of(Math.min(a, b)),
+                (a, b) -> ValueTypeLong.ValueLong.of(Math.min(a, b)),
+                (a, b) -> ValueTypeDouble.ValueDouble.of(Math.min(a, b)),
                 variables -> ValueTypes.CATEGORY_NUMBER.min(variables.getVariables()[0], variables.getVariables()[1])
-            ).build());
+            )).build());
 
 
 
@@ -298,18 +355,24 @@ public final class Operators {
      */
     public static final IOperator RELATIONAL_GT = REGISTRY.register(OperatorBuilders.RELATIONAL_2
             .inputTypes(2, ValueTypes.CATEGORY_NUMBER).symbol(">").operatorName("gt")
-            .function(
+            .function(OperatorBuilders.createNumberFunction(
+                (a, b) -> ValueTypeBoolean.ValueBoolean.of(a > b),
+                (a, b) -> ValueTypeBoolean.ValueBoolean.of(a > b),
+                (a, b) -> ValueTypeBoolean.ValueBoolean.of(a > b),
                 variables -> ValueTypeBoolean.ValueBoolean.of(ValueTypes.CATEGORY_NUMBER.greaterThan(variables.getVariables()[0], variables.getVariables()[1]))
-            ).build());
+            )).build());
 
     /**
      * Relational &gt; operator with two input integers and one output boolean.
      */
     public static final IOperator RELATIONAL_LT = REGISTRY.register(OperatorBuilders.RELATIONAL_2
             .inputTypes(2, ValueTypes.CATEGORY_NUMBER).symbol("<").operatorName("lt")
-            .function(
+            .function(OperatorBuilders.createNumberFunction(
+                (a, b) -> ValueTypeBoolean.ValueBoolean.of(a < b),
+                (a, b) -> ValueTypeBoolean.ValueBoolean.of(a < b),
+                (a, b) -> ValueTypeBoolean.ValueBoolean.of(a < b),
                 variables -> ValueTypeBoolean.ValueBoolean.of(ValueTypes.CATEGORY_NUMBER.lessThan(variables.getVariables()[0], variables.getVariables()[1]))
-            ).build());
+            )).build());
 
     /**
      * Relational != operator with two inputs of any type (but equal) and one output boolean.
@@ -339,7 +402,7 @@ public final class Operators {
     /**
      * Binary AND operator with two input integers and one output integers.
      */
-    public static final IOperator BINARY_AND = REGISTRY.register(OperatorBuilders.BINARY_2.symbol("&").operatorName("and")
+    public static final IOperator BINARY_AND = REGISTRY.register(OperatorBuilders.BINARY_2.symbol("&").operatorName("and").associative(true)
             .function(variables -> {
                 ValueTypeInteger.ValueInteger a = variables.getValue(0);
                 ValueTypeInteger.ValueInteger b = variables.getValue(1);
@@ -349,7 +412,7 @@ public final class Operators {
     /**
      * Binary OR operator with two input integers and one output integers.
      */
-    public static final IOperator BINARY_OR = REGISTRY.register(OperatorBuilders.BINARY_2.symbol("|").operatorName("or")
+    public static final IOperator BINARY_OR = REGISTRY.register(OperatorBuilders.BINARY_2.symbol("|").operatorName("or").associative(true)
             .function(variables -> {
                 ValueTypeInteger.ValueInteger a = variables.getValue(0);
                 ValueTypeInteger.ValueInteger b = variables.getValue(1);
@@ -359,7 +422,7 @@ public final class Operators {
     /**
      * Binary XOR operator with two input integers and one output integers.
      */
-    public static final IOperator BINARY_XOR = REGISTRY.register(OperatorBuilders.BINARY_2.symbol("^").operatorName("xor")
+    public static final IOperator BINARY_XOR = REGISTRY.register(OperatorBuilders.BINARY_2.symbol("^").operatorName("xor").associative(true)
             .function(variables -> {
                 ValueTypeInteger.ValueInteger a = variables.getValue(0);
                 ValueTypeInteger.ValueInteger b = variables.getValue(1);
@@ -415,17 +478,17 @@ public final class Operators {
     public static final IOperator STRING_LENGTH = REGISTRY.register(OperatorBuilders.STRING_1_PREFIX.symbol("len").operatorName("length")
             .output(ValueTypes.INTEGER).function(variables -> {
                 ValueTypeString.ValueString a = variables.getValue(0);
-                return ValueTypeInteger.ValueInteger.of(a.getRawValue().length());
+                return ValueTypeInteger.ValueInteger.of(a.getLength());
             }).build());
 
     /**
      * String concat operator with two input strings and one output string.
      */
-    public static final IOperator STRING_CONCAT = REGISTRY.register(OperatorBuilders.STRING_2.symbol("+").operatorName("concat")
+    public static final IOperator STRING_CONCAT = REGISTRY.register(OperatorBuilders.STRING_2.symbol("+").operatorName("concat").associative(true)
             .function(variables -> {
                 ValueTypeString.ValueString a = variables.getValue(0);
                 ValueTypeString.ValueString b = variables.getValue(1);
-                return ValueTypeString.ValueString.of(a.getRawValue() + b.getRawValue());
+                return ValueTypeString.ValueString.concat(a, b);
             }).build());
 
     /**
@@ -445,12 +508,11 @@ public final class Operators {
         .output(ValueTypes.BOOLEAN).function(variables -> {
                 ValueTypeString.ValueString pattern = variables.getValue(0);
                 ValueTypeString.ValueString str = variables.getValue(1);
-                try {
-                    Matcher m = Pattern.compile(pattern.getRawValue()).matcher(str.getRawValue());
-                    return ValueTypeBoolean.ValueBoolean.of(m.find());
-                } catch (PatternSyntaxException e) {
-                    throw new EvaluationException(e.getMessage());
+                if (RegexPatternCache.isLiteral(pattern.getRawValue())) {
+                    return ValueTypeBoolean.ValueBoolean.of(str.getRawValue().contains(pattern.getRawValue()));
                 }
+                Matcher m = RegexPatternCache.getInstance().getPattern(pattern.getRawValue()).matcher(str.getRawValue());
+                return ValueTypeBoolean.ValueBoolean.of(m.find());
             }).build());
 
     /**
@@ -460,12 +522,11 @@ public final class Operators {
             .output(ValueTypes.BOOLEAN).function(variables -> {
                 ValueTypeString.ValueString pattern = variables.getValue(0);
                 ValueTypeString.ValueString str = variables.getValue(1);
-                try {
-                    Matcher m = Pattern.compile(pattern.getRawValue()).matcher(str.getRawValue());
-                    return ValueTypeBoolean.ValueBoolean.of(m.matches());
-                } catch (PatternSyntaxException e) {
-                    throw new EvaluationException(e.getMessage());
+                if (RegexPatternCache.isLiteral(pattern.getRawValue())) {
+                    return ValueTypeBoolean.ValueBoolean.of(str.getRawValue().equals(pattern.getRawValue()));
                 }
+                Matcher m = RegexPatternCache.getInstance().getPattern(pattern.getRawValue()).matcher(str.getRawValue());
+                return ValueTypeBoolean.ValueBoolean.of(m.matches());
             }).build());
 
     /**
@@ -485,15 +546,14 @@ public final class Operators {
         .output(ValueTypes.INTEGER).function(variables -> {
                 ValueTypeString.ValueString pattern = variables.getValue(0);
                 ValueTypeString.ValueString str = variables.getValue(1);
-                try {
-                    Matcher m = Pattern.compile(pattern.getRawValue()).matcher(str.getRawValue());
-                    if (m.find()) {
-                        return ValueTypeInteger.ValueInteger.of(m.start());
-                    } else {
-                        return ValueTypeInteger.ValueInteger.of(-1);
-                    }
-                } catch (PatternSyntaxException e) {
-                    throw new EvaluationException(e.getMessage());
+                if (RegexPatternCache.isLiteral(pattern.getRawValue())) {
+                    return ValueTypeInteger.ValueInteger.of(str.getRawValue().indexOf(pattern.getRawValue()));
+                }
+                Matcher m = RegexPatternCache.getInstance().getPattern(pattern.getRawValue()).matcher(str.getRawValue());
+                if (m.find()) {
+                    return ValueTypeInteger.ValueInteger.of(m.start());
+                } else {
+                    return ValueTypeInteger.ValueInteger.of(-1);
                 }
             }).build());
 
@@ -524,7 +584,9 @@ public final class Operators {
         .output(ValueTypes.LIST).function(variables -> {
                 ValueTypeString.ValueString search = variables.getValue(0);
                 ValueTypeString.ValueString str = variables.getValue(1);
-                List<String> pieces = Arrays.asList(str.getRawValue().split(java.util.regex.Pattern.quote(search.getRawValue())));
+                List<String> pieces = search.getRawValue().isEmpty()
+                        ? Arrays.asList(str.getRawValue().split(""))
+                        : RegexPatternCache.splitLiteral(str.getRawValue(), search.getRawValue());
                 List<ValueTypeString.ValueString> values = Lists.newArrayList();
                 for (String piece : pieces) {
                     values.add(ValueTypeString.ValueString.of(piece));
@@ -539,16 +601,14 @@ public final class Operators {
         .output(ValueTypes.LIST).function(variables -> {
                 ValueTypeString.ValueString pattern = variables.getValue(0);
                 ValueTypeString.ValueString str = variables.getValue(1);
-                try {
-                    List<String> pieces = Arrays.asList(Pattern.compile(pattern.getRawValue()).split(str.getRawValue()));
-                    List<ValueTypeString.ValueString> values = Lists.newArrayList();
-                    for (String piece : pieces) {
-                        values.add(ValueTypeString.ValueString.of(piece));
-                    }
-                    return ValueTypeList.ValueList.ofList(ValueTypes.STRING, values);
-                } catch (PatternSyntaxException e) {
-                    throw new EvaluationException(e.getMessage());
+                List<String> pieces = RegexPatternCache.isLiteral(pattern.getRawValue())
+                        ? RegexPatternCache.splitLiteral(str.getRawValue(), pattern.getRawValue())
+                        : Arrays.asList(RegexPatternCache.getInstance().getPattern(pattern.getRawValue()).split(str.getRawValue()));
+                List<ValueTypeString.ValueString> values = Lists.newArrayList();
+                for (String piece : pieces) {
+                    values.add(ValueTypeString.ValueString.of(piece));
                 }
+                return ValueTypeList.ValueList.ofList(ValueTypes.STRING, values);
             }).build());
 
     /**
@@ -591,15 +651,13 @@ public final class Operators {
                 throw new EvaluationException("The group index specified in the regex_group operator must not be negative.");
             }
             try {
-                Matcher m = Pattern.compile(pattern.getRawValue()).matcher(str.getRawValue());
+                Matcher m = RegexPatternCache.getInstance().getPattern(pattern.getRawValue()).matcher(str.getRawValue());
                 if (m.find()) {
                     String result = m.group(group.getRawValue());
                     return ValueTypeString.ValueString.of(result);
                 } else {
                     throw new EvaluationException("The regular expression in regex_group must match the given string.");
                 }
-            } catch (PatternSyntaxException e) {
-                throw new EvaluationException(e.getMessage());
             } catch (IndexOutOfBoundsException e) {
                 throw new EvaluationException("The group index specified in the regex_group operator must not be greater than the number of groups matched in the regular expression.");
             }
@@ -614,19 +672,15 @@ public final class Operators {
         .function(variables -> {
             ValueTypeString.ValueString pattern = variables.getValue(0);
             ValueTypeString.ValueString str = variables.getValue(1);
-            try {
-                Matcher m = Pattern.compile(pattern.getRawValue()).matcher(str.getRawValue());
-                if (m.find()) {
-                    List<ValueTypeString.ValueString> values = Lists.newArrayList();
-                    for (int i = 0; i <= m.groupCount(); i++) {
-                        values.add(ValueTypeString.ValueString.of(m.group(i)));
-                    }
-                    return ValueTypeList.ValueList.ofList(ValueTypes.STRING, values);
-                } else {
-                    return ValueTypeList.ValueList.ofList(ValueTypes.STRING, Collections.<ValueTypeString.ValueString>emptyList());
+            Matcher m = RegexPatternCache.getInstance().getPattern(pattern.getRawValue()).matcher(str.getRawValue());
+            if (m.find()) {
+                List<ValueTypeString.ValueString> values = Lists.newArrayList();
+                for (int i = 0; i <= m.groupCount(); i++) {
+                    values.add(ValueTypeString.ValueString.of(m.group(i)));
                 }
-            } catch (PatternSyntaxException e) {
-                throw new EvaluationException(e.getMessage());
+                return ValueTypeList.ValueList.ofList(ValueTypes.STRING, values);
+            } else {
+                return ValueTypeList.ValueList.ofList(ValueTypes.STRING, Collections.<ValueTypeString.ValueString>emptyList());
             }
         }).build()
     );
@@ -646,14 +700,12 @@ public final class Operators {
                 throw new EvaluationException("The group index specified in the regex_scan operator must not be negative.");
             }
             try {
-                Matcher m = Pattern.compile(pattern.getRawValue()).matcher(str.getRawValue());
+                Matcher m = RegexPatternCache.getInstance().getPattern(pattern.getRawValue()).matcher(str.getRawValue());
                 List<ValueTypeString.ValueString> values = Lists.newArrayList();
                 while (m.find()) {
                     values.add(ValueTypeString.ValueString.of(m.group(group.getRawValue())));
                 }
                 return ValueTypeList.ValueList.ofList(ValueTypes.STRING, values);
-            } catch (PatternSyntaxException e) {
-                throw new EvaluationException(e.getMessage());
             } catch (IndexOutOfBoundsException e) {
                 throw new EvaluationException("The group index specified in the regex_scan operator must not be greater than the number of groups matched in the regular expression.");
             }
@@ -671,7 +723,10 @@ public final class Operators {
             ValueTypeString.ValueString search = variables.getValue(0);
             ValueTypeString.ValueString replacement = variables.getValue(1);
             ValueTypeString.ValueString str = variables.getValue(2);
-            return ValueTypeString.ValueString.of(str.getRawValue().replaceAll(java.util.regex.Pattern.quote(search.getRawValue()), java.util.regex.Matcher.quoteReplacement(replacement.getRawValue())));
+            if (search.getRawValue().isEmpty()) {
+                return ValueTypeString.ValueString.of(str.getRawValue().replaceAll("", java.util.regex.Matcher.quoteReplacement(replacement.getRawValue())));
+            }
+            return ValueTypeString.ValueString.of(org.apache.commons.lang3.StringUtils.replace(str.getRawValue(), search.getRawValue(), replacement.getRawValue()));
         }).build()
     );
 
@@ -686,18 +741,20 @@ public final class Operators {
             ValueTypeString.ValueString pattern = variables.getValue(0);
             ValueTypeString.ValueString replacement = variables.getValue(1);
             ValueTypeString.ValueString str = variables.getValue(2);
-            try {
-                return ValueTypeString.ValueString.of(Pattern.compile(pattern.getRawValue()).matcher(str.getRawValue()).replaceAll(replacement.getRawValue()));
-            } catch (PatternSyntaxException e) {
-                throw new EvaluationException(e.getMessage());
+            // Replacements with group references or escapes still need a matcher.
+            if (RegexPatternCache.isLiteral(pattern.getRawValue())
+                    && replacement.getRawValue().indexOf('$') < 0 && replacement.getRawValue().indexOf('\\') < 0) {
+                return ValueTypeString.ValueString.of(org.apache.commons.lang3.StringUtils.replace(str.getRawValue(), pattern.getRawValue(), replacement.getRawValue()));
             }
+            return ValueTypeString.ValueString.of(RegexPatternCache.getInstance().getPattern(pattern.getRawValue())
+                    .matcher(str.getRawValue()).replaceAll(replacement.getRawValue()));
         }).build()
     );
 
     /**
      * Get a name value type name.
      */
-    public static final IOperator NAMED_NAME = REGISTRY.register(OperatorBuilders.STRING_2.symbol("name").operatorName("name")
+    public static final IOperator NAMED_NAME = REGISTRY.register(OperatorBuilders.STRING_2.symbol("name").operatorName("name").pure(false)
             .inputType(ValueTypes.CATEGORY_NAMED).renderPattern(IConfigRenderPattern.SUFFIX_1_LONG)
             .function(
                 variables -> ValueTypeString.ValueString.of(ValueTypes.CATEGORY_NAMED.getName(variables.getVariables()[0]))
@@ -706,7 +763,7 @@ public final class Operators {
     /**
      * Get a unique name value type name.
      */
-    public static final IOperator UNIQUELYNAMED_UNIQUENAME = REGISTRY.register(OperatorBuilders.STRING_2.symbol("uname").operatorName("unique_name")
+    public static final IOperator UNIQUELYNAMED_UNIQUENAME = REGISTRY.register(OperatorBuilders.STRING_2.symbol("uname").operatorName("unique_name").pure(false)
             .inputType(ValueTypes.CATEGORY_UNIQUELY_NAMED).renderPattern(IConfigRenderPattern.SUFFIX_1_LONG)
             .function(
                 variables -> ValueTypeString.ValueString.of(ValueTypes.CATEGORY_UNIQUELY_NAMED.getUniqueName(variables.getVariables()[0]))
@@ -785,7 +842,7 @@ public final class Operators {
     public static final IOperator LIST_EMPTY = REGISTRY.register(OperatorBuilders.LIST_1_PREFIX.output(ValueTypes.BOOLEAN).symbol("∅").operatorName("empty")
             .function(variables -> {
                 IValueTypeListProxy a = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
-                return ValueTypeBoolean.ValueBoolean.of(a.getLength() == 0);
+                return ValueTypeBoolean.ValueBoolean.of(!a.hasElementAt(0));
             }).build());
 
     /**
@@ -804,7 +861,7 @@ public final class Operators {
             .function(variables -> {
                 IValueTypeListProxy a = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
                 ValueTypeInteger.ValueInteger b = variables.getValue(1);
-                if (b.getRawValue() < a.getLength() && b.getRawValue() >= 0) {
+                if (a.hasElementAt(b.getRawValue())) {
                     return a.get(b.getRawValue());
                 } else {
                     throw new EvaluationException("Index out of bounds. Tried to get element " + b.getRawValue()
@@ -829,7 +886,7 @@ public final class Operators {
             .function(variables -> {
                 IValueTypeListProxy a = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
                 ValueTypeInteger.ValueInteger b = variables.getValue(1);
-                if (b.getRawValue() < a.getLength() && b.getRawValue() >= 0) {
+                if (a.hasElementAt(b.getRawValue())) {
                     return a.get(b.getRawValue());
                 } else {
                     if (!ValueHelpers.correspondsTo(a.getValueType(), variables.getVariables()[2].getType())) {
@@ -852,8 +909,14 @@ public final class Operators {
             .renderPattern(IConfigRenderPattern.PREFIX_2_LONG)
             .output(ValueTypes.BOOLEAN).symbolOperator("contains")
             .function(variables -> {
-                IValueTypeListProxy<IValueType<IValue>, IValue> list = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
+                ValueTypeList.ValueList<IValueType<IValue>, IValue> valueList = variables.getValue(0);
+                IValueTypeListProxy<IValueType<IValue>, IValue> list = valueList.getRawValue();
                 IValue input = variables.getValue(1);
+                // Only index immutable lists, as the index is only reused for those.
+                // Other lists are scanned until the first match, which also avoids pulling all elements of a pipeline.
+                if (!list.isInfinite() && ValueTypeListProxyBase.isImmutable(list)) {
+                    return ValueTypeBoolean.ValueBoolean.of(valueList.getIndex().contains(input));
+                }
                 for (IValue value : list) {
                     if (value.equals(input)) {
                         return ValueTypeBoolean.ValueBoolean.of(true);
@@ -872,8 +935,10 @@ public final class Operators {
             .function(variables -> {
                 IValueTypeListProxy<IValueType<IValue>, IValue> list = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
                 IOperator operator = OperatorBuilders.getSafePredictate((ValueTypeOperator.ValueOperator) variables.getValue(1));
+                IValue[] input = new IValue[1];
                 for (IValue value : list) {
-                    IValue result = operator.evaluate(new IVariable[]{new Variable<>(value.getType(), value)});
+                    input[0] = value;
+                    IValue result = operator.evaluate(input);
                     ValueHelpers.validatePredicateOutput(operator, result);
                     if (((ValueTypeBoolean.ValueBoolean) result).getRawValue()) {
                         return ValueTypeBoolean.ValueBoolean.of(true);
@@ -890,8 +955,12 @@ public final class Operators {
             .renderPattern(IConfigRenderPattern.INFIX).output(ValueTypes.INTEGER)
             .symbolOperator("count")
             .function(variables -> {
-                IValueTypeListProxy<IValueType<IValue>, IValue> list = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
+                ValueTypeList.ValueList<IValueType<IValue>, IValue> valueList = variables.getValue(0);
+                IValueTypeListProxy<IValueType<IValue>, IValue> list = valueList.getRawValue();
                 IValue value = variables.getValue(1);
+                if (!list.isInfinite() && ValueTypeListProxyBase.isImmutable(list)) {
+                    return ValueTypeInteger.ValueInteger.of(valueList.getIndex().getCount(value));
+                }
                 int count = 0;
                 for (IValue listValue : list) {
                     if (listValue.equals(value)) {
@@ -912,8 +981,18 @@ public final class Operators {
                 IValueTypeListProxy<IValueType<IValue>, IValue> list = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
                 IOperator operator = OperatorBuilders.getSafePredictate((ValueTypeOperator.ValueOperator) variables.getValue(1));
                 int count = 0;
+                if (ParallelListEvaluator.canParallelize(operator, list)) {
+                    for (boolean result : ParallelListEvaluator.test(operator, ParallelListEvaluator.toArray(list))) {
+                        if (result) {
+                            count++;
+                        }
+                    }
+                    return ValueTypeInteger.ValueInteger.of(count);
+                }
+                IValue[] input = new IValue[1];
                 for (IValue listValue : list) {
-                    IValue result = operator.evaluate(new IVariable[]{new Variable<>(listValue.getType(), listValue)});
+                    input[0] = listValue;
+                    IValue result = operator.evaluate(input);
                     ValueHelpers.validatePredicateOutput(operator, result);
                     if (((ValueTypeBoolean.ValueBoolean) result).getRawValue()) {
                         count++;
@@ -938,6 +1017,9 @@ public final class Operators {
                             a.getValueType(), value.getType());
                     throw new EvaluationException(error.localize());
                 }
+                if (ValueTypeListProxyVector.shouldFlatten(a)) {
+                    return ValueTypeList.ValueList.ofFactory(ValueTypeListProxyVector.of(a).append(value));
+                }
                 return ValueTypeList.ValueList.ofFactory(new ValueTypeListProxyAppend(a, value));
             }).build());
 
@@ -947,7 +1029,7 @@ public final class Operators {
     public static final IOperator LIST_CONCAT = REGISTRY.register(OperatorBuilders.LIST
             .inputTypes(new IValueType[]{ValueTypes.LIST, ValueTypes.LIST})
             .renderPattern(IConfigRenderPattern.INFIX).output(ValueTypes.LIST)
-            .symbolOperator("concat")
+            .symbolOperator("concat").associative(true)
             .function(variables -> {
                 IValueTypeListProxy a = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
                 IValueTypeListProxy b = ((ValueTypeList.ValueList) variables.getValue(1)).getRawValue();
@@ -957,6 +1039,10 @@ public final class Operators {
                             a.getValueType(), b.getValueType());
                     throw new EvaluationException(error.localize());
                 }
+                if ((ValueTypeListProxyVector.shouldFlatten(a) || ValueTypeListProxyVector.shouldFlatten(b))
+                        && !a.isInfinite() && !b.isInfinite()) {
+                    return ValueTypeList.ValueList.ofFactory(ValueTypeListProxyVector.of(a).concat(ValueTypeListProxyVector.of(b)));
+                }
                 return ValueTypeList.ValueList.ofFactory(new ValueTypeListProxyConcat(a, b));
             }).build());
 
@@ -981,7 +1067,7 @@ public final class Operators {
             .renderPattern(IConfigRenderPattern.PREFIX_1_LONG).symbolOperator("head")
             .function(variables -> {
                 IValueTypeListProxy a = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
-                if (a.getLength() > 0) {
+                if (a.hasElementAt(0)) {
                     return a.get(0);
                 } else {
                     throw new EvaluationException("Index out of bounds. Tried to get the head of a list of length "
@@ -1006,6 +1092,13 @@ public final class Operators {
             .symbolOperator("tail")
             .function(variables -> {
                 IValueTypeListProxy a = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
+                if (a instanceof ValueTypeListProxyPipeline) {
+                    return ValueTypeList.ValueList.ofFactory(ValueTypeListProxyPipeline.of(a.getValueType(), a,
+                            ValueTypeListProxyPipeline.Stage.skip(1)));
+                }
+                if (ValueTypeListProxyVector.shouldFlatten(a)) {
+                    return ValueTypeList.ValueList.ofFactory(ValueTypeListProxyVector.of(a).slice(1, a.getLength()));
+                }
                 return ValueTypeList.ValueList.ofFactory(new ValueTypeListProxyTail(a));
             }).build());
 
@@ -1019,22 +1112,10 @@ public final class Operators {
             .function(variables -> {
                 IValueTypeListProxy<IValueType<IValue>, IValue> list = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
                 final IOperator operator = OperatorBuilders.getSafePredictate((ValueTypeOperator.ValueOperator) variables.getValue(1));
-                List<IValue> values = new ArrayList<>();
-                outerLoop:
-                for(IValue value : list) {
-                    for(IValue existing : values) {
-                        IValue result;
-                        try {
-                            result = operator.evaluate(new Variable(value), new Variable(existing));
-                            ValueHelpers.validatePredicateOutput(operator, result);
-                        } catch (EvaluationException e) {
-                            throw Lombok.sneakyThrow(e);
-                        }
-                        if(((ValueTypeBoolean.ValueBoolean) result).getRawValue()) continue outerLoop;
-                    }
-                    values.add(value);
-                }
-                return ValueTypeList.ValueList.ofList(list.getValueType(), values);
+                // Deduplicating with the equals operator can use hashing instead of comparing all pairs.
+                ValueTypeListProxyPipeline.Stage stage = operator == RELATIONAL_EQUALS
+                        ? ValueTypeListProxyPipeline.Stage.uniq() : ValueTypeListProxyPipeline.Stage.uniq(operator);
+                return ValueTypeList.ValueList.ofFactory(ValueTypeListProxyPipeline.of(list.getValueType(), list, stage));
             }).build());
 
     /**
@@ -1046,7 +1127,8 @@ public final class Operators {
             .symbolOperator("uniq")
             .function(variables -> {
                 IValueTypeListProxy<IValueType<IValue>, IValue> list = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
-                return ValueTypeList.ValueList.ofList(list.getValueType(), new ArrayList<>(Sets.newLinkedHashSet(list)));
+                return ValueTypeList.ValueList.ofFactory(ValueTypeListProxyPipeline.of(list.getValueType(), list,
+                        ValueTypeListProxyPipeline.Stage.uniq()));
             }).build());
 
     /**
@@ -1066,9 +1148,88 @@ public final class Operators {
                 if (from.getRawValue() < 0 || to.getRawValue() < 0){
                     throw new EvaluationException("The 'from' and 'to' values in the slice operator must not be negative.");
                 }
+                if (list instanceof ValueTypeListProxyPipeline) {
+                    ValueTypeListProxyPipeline<IValueType<IValue>, IValue> skipped = ValueTypeListProxyPipeline.of(list.getValueType(), list,
+                            ValueTypeListProxyPipeline.Stage.skip(from.getRawValue()));
+                    return ValueTypeList.ValueList.ofFactory(ValueTypeListProxyPipeline.of(list.getValueType(), skipped,
+                            ValueTypeListProxyPipeline.Stage.limit(to.getRawValue() - from.getRawValue())));
+                }
+                if (ValueTypeListProxyVector.shouldFlatten(list)) {
+                    return ValueTypeList.ValueList.ofFactory(ValueTypeListProxyVector.of(list)
+                            .slice(from.getRawValue(), to.getRawValue()));
+                }
                 return ValueTypeList.ValueList.ofFactory(new ValueTypeListProxySlice<>(list, from.getRawValue(), to.getRawValue()));
             }).build());
 
+    /**
+     * Sort the given list elements based on the given comparator predicate.
+     */
+    public static final IOperator LIST_SORT = REGISTRY.register(OperatorBuilders.LIST
+            .inputTypes(new IValueType[]{ValueTypes.LIST, ValueTypes.OPERATOR})
+            .renderPattern(IConfigRenderPattern.INFIX).output(ValueTypes.LIST)
+            .symbolOperator("sort")
+            .function(variables -> {
+                ValueTypeList.ValueList<IValueType<IValue>, IValue> valueList = variables.getValue(0);
+                IValueTypeListProxy<IValueType<IValue>, IValue> list = valueList.getRawValue();
+                final IOperator operator = OperatorBuilders.getSafePredictate((ValueTypeOperator.ValueOperator) variables.getValue(1));
+                if (list.isInfinite()) {
+                    throw new EvaluationException("Infinite lists can not be sorted.");
+                }
+                // Only sort the distinct elements, and repeat them afterwards.
+                ValueTypeListIndex index = valueList.getIndex();
+                List<IValue> distinct = Lists.newArrayList(index.getValues());
+                try {
+                    distinct.sort((a, b) -> {
+                        try {
+                            return compareWithPredicate(operator, a, b);
+                        } catch (EvaluationException e) {
+                            throw Lombok.sneakyThrow(e);
+                        }
+                    });
+                } catch (IllegalArgumentException e) {
+                    throw new EvaluationException("The comparator predicate of the sort operator is inconsistent.");
+                }
+                List<IValue> sorted = Lists.newArrayListWithExpectedSize(list.getLength());
+                for (IValue value : distinct) {
+                    for (int i = index.getCount(value); i > 0; i--) {
+                        sorted.add(value);
+                    }
+                }
+                return ValueTypeList.ValueList.ofList(list.getValueType(), sorted);
+            }).build());
+
+    /**
+     * Group the given list elements into lists by the output of the given operator.
+     */
+    public static final IOperator LIST_GROUP_BY = REGISTRY.register(OperatorBuilders.LIST
+            .inputTypes(new IValueType[]{ValueTypes.LIST, ValueTypes.OPERATOR})
+            .renderPattern(IConfigRenderPattern.INFIX).output(ValueTypes.LIST)
+            .symbolOperator("group_by")
+            .function(variables -> {
+                IValueTypeListProxy<IValueType<IValue>, IValue> list = ((ValueTypeList.ValueList) variables.getValue(0)).getRawValue();
+                IOperator operator = OperatorBuilders.getSafeOperator((ValueTypeOperator.ValueOperator) variables.getValue(1),
+                        ValueTypes.CATEGORY_ANY);
+                if (list.isInfinite()) {
+                    throw new EvaluationException("Infinite lists can not be grouped.");
+                }
+                // The operator is only applied once for each distinct element.
+                Map<IValue, IValue> keys = Maps.newHashMap();
+                Map<IValue, List<IValue>> groups = Maps.newLinkedHashMap();
+                for (IValue value : list) {
+                    IValue key = keys.get(value);
+                    if (key == null) {
+                        key = ValueHelpers.evaluateOperator(operator, value);
+                        keys.put(value, key);
+                    }
+                    groups.computeIfAbsent(key, k -> Lists.newArrayList()).add(value);
+                }
+                List<ValueTypeList.ValueList> groupLists = Lists.newArrayListWithExpectedSize(groups.size());
+                for (List<IValue> group : groups.values()) {
+                    groupLists.add(ValueTypeList.ValueList.ofList(list.getValueType(), group));
+                }
+                return ValueTypeList.ValueList.ofList(ValueTypes.LIST, groupLists);
+            }).build());
+
     /**
      * ----------------------------------- BLOCK OBJECT OPERATORS -----------------------------------
      */
@@ -1134,7 +1295,7 @@ public final class Operators {
     /**
      * If the block is shearable
      */
-    public static final IOperator OBJECT_BLOCK_ISSHEARABLE = REGISTRY.register(OperatorBuilders.BLOCK_1_SUFFIX_LONG.output(ValueTypes.BOOLEAN).symbolOperator("isshearable")
+    public static final IOperator OBJECT_BLOCK_ISSHEARABLE = REGISTRY.register(OperatorBuilders.BLOCK_1_SUFFIX_LONG.output(ValueTypes.BOOLEAN).symbolOperator("isshearable").pure(false)
             .function(variables -> {
                 ValueObjectTypeBlock.ValueBlock a = variables.getValue(0);
                 return ValueTypeBoolean.ValueBoolean.of(a.getRawValue().isPresent()
@@ -1155,7 +1316,7 @@ public final class Operators {
     /**
      * The block plant type
      */
-    public static final IOperator OBJECT_BLOCK_PLANTTYPE = REGISTRY.register(OperatorBuilders.BLOCK_1_SUFFIX_LONG.output(ValueTypes.STRING).symbolOperator("planttype")
+    public static final IOperator OBJECT_BLOCK_PLANTTYPE = REGISTRY.register(OperatorBuilders.BLOCK_1_SUFFIX_LONG.output(ValueTypes.STRING).symbolOperator("planttype").pure(false)
             .function(variables -> {
                 ValueObjectTypeBlock.ValueBlock a = variables.getValue(0);
                 String type = "None";
@@ -1169,7 +1330,7 @@ public final class Operators {
      * The block when this block is planted
      */
     public static final IOperator OBJECT_BLOCK_PLANT = REGISTRY.register(OperatorBuilders.BLOCK_1_SUFFIX_LONG
-            .output(ValueTypes.OBJECT_BLOCK).symbolOperator("plant")
+            .output(ValueTypes.OBJECT_BLOCK).symbolOperator("plant").pure(false)
             .function(variables -> {
                 ValueObjectTypeBlock.ValueBlock a = variables.getValue(0);
                 IBlockState plant = null;
@@ -1345,7 +1506,7 @@ public final class Operators {
      * If the given stack has a fluid.
      */
     public static final IOperator OBJECT_ITEMSTACK_ISFLUIDSTACK = REGISTRY.register(OperatorBuilders.ITEMSTACK_1_SUFFIX_LONG
-            .output(ValueTypes.BOOLEAN).symbolOperator("isfluidstack")
+            .output(ValueTypes.BOOLEAN).symbolOperator("isfluidstack").pure(false)
             .function(OperatorBuilders.FUNCTION_ITEMSTACK_TO_BOOLEAN.build(
                 itemStack -> !itemStack.isEmpty() && Helpers.getFluidStack(itemStack) != null
             )).build());
@@ -1354,7 +1515,7 @@ public final class Operators {
      * The fluidstack from the stack
      */
     public static final IOperator OBJECT_ITEMSTACK_FLUIDSTACK = REGISTRY.register(OperatorBuilders.ITEMSTACK_1_SUFFIX_LONG
-            .output(ValueTypes.OBJECT_FLUIDSTACK).symbolOperator("fluidstack")
+            .output(ValueTypes.OBJECT_FLUIDSTACK).symbolOperator("fluidstack").pure(false)
             .function(variables -> {
                 ValueObjectTypeItemStack.ValueItemStack a = variables.getValue(0);
                 return ValueObjectTypeFluidStack.ValueFluidStack.of(!a.getRawValue().isEmpty() ? Helpers.getFluidStack(a.getRawValue()) : null);
@@ -1364,7 +1525,7 @@ public final class Operators {
      * The capacity of the fluidstack from the stack.
      */
     public static final IOperator OBJECT_ITEMSTACK_FLUIDSTACKCAPACITY = REGISTRY.register(OperatorBuilders.ITEMSTACK_1_SUFFIX_LONG
-            .output(ValueTypes.INTEGER).symbolOperator("fluidstackcapacity")
+            .output(ValueTypes.INTEGER).symbolOperator("fluidstackcapacity").pure(false)
             .function(OperatorBuilders.FUNCTION_ITEMSTACK_TO_INT.build(
                 itemStack -> !itemStack.isEmpty() ? Helpers.getFluidStackCapacity(itemStack) : 0
             )).build());
@@ -1436,7 +1597,7 @@ public final class Operators {
      * The fuel burn time of the given item
      */
     public static final IOperator OBJECT_ITEMSTACK_FUELBURNTIME = REGISTRY.register(OperatorBuilders.ITEMSTACK_1_SUFFIX_LONG
-            .output(ValueTypes.INTEGER).symbolOperator("burntime")
+            .output(ValueTypes.INTEGER).symbolOperator("burntime").pure(false)
             .function(OperatorBuilders.FUNCTION_ITEMSTACK_TO_INT.build(
                 itemStack -> !itemStack.isEmpty() ? TileEntityFurnace.getItemBurnTime(itemStack) : 0
             )).build());
@@ -1445,7 +1606,7 @@ public final class Operators {
      * If the given item can be used as fuel
      */
     public static final IOperator OBJECT_ITEMSTACK_CANBURN = REGISTRY.register(OperatorBuilders.ITEMSTACK_1_SUFFIX_LONG
-            .output(ValueTypes.BOOLEAN).symbolOperator("canburn")
+            .output(ValueTypes.BOOLEAN).symbolOperator("canburn").pure(false)
             .function(OperatorBuilders.FUNCTION_ITEMSTACK_TO_BOOLEAN.build(
                 itemStack -> itemStack != null && TileEntityFurnace.getItemBurnTime(itemStack) > 0
             )).build());
@@ -1454,7 +1615,7 @@ public final class Operators {
      * If the given item can be smelted
      */
     public static final IOperator OBJECT_ITEMSTACK_CANSMELT = REGISTRY.register(OperatorBuilders.ITEMSTACK_1_SUFFIX_LONG
-            .output(ValueTypes.BOOLEAN).symbolOperator("cansmelt")
+            .output(ValueTypes.BOOLEAN).symbolOperator("cansmelt").pure(false)
             .function(OperatorBuilders.FUNCTION_ITEMSTACK_TO_BOOLEAN.build(
                 itemStack -> itemStack != null && !FurnaceRecipes.instance().getSmeltingResult(itemStack).isEmpty()
             )).build());
@@ -1479,7 +1640,7 @@ public final class Operators {
      * Get a list of items that correspond to the given oredict key.
      */
     public static final IOperator OBJECT_ITEMSTACK_OREDICT_STACKS = REGISTRY.register(OperatorBuilders.STRING_1_PREFIX
-            .output(ValueTypes.LIST).symbolOperator("oredict")
+            .output(ValueTypes.LIST).symbolOperator("oredict").pure(false)
             .inputType(ValueTypes.STRING).renderPattern(IConfigRenderPattern.SUFFIX_1_LONG)
             .function(variables -> {
                 ValueTypeString.ValueString a = variables.getValue(0);
@@ -1512,7 +1673,7 @@ public final class Operators {
      * Check if the item is an RF container item
      */
     public static final IOperator OBJECT_ITEMSTACK_ISFECONTAINER = Operators.REGISTRY.register(OperatorBuilders.ITEMSTACK_1_SUFFIX_LONG
-            .output(ValueTypes.BOOLEAN).symbolOperator("isfecontainer")
+            .output(ValueTypes.BOOLEAN).symbolOperator("isfecontainer").pure(false)
             .function(OperatorBuilders.FUNCTION_CONTAINERITEM_TO_BOOLEAN.build(
                 Objects::nonNull
             )).build());
@@ -1521,7 +1682,7 @@ public final class Operators {
      * Get the storage energy
      */
     public static final IOperator OBJECT_ITEMSTACK_STOREDFE = Operators.REGISTRY.register(OperatorBuilders.ITEMSTACK_1_SUFFIX_LONG
-            .output(ValueTypes.INTEGER).symbolOperator("storedfe")
+            .output(ValueTypes.INTEGER).symbolOperator("storedfe").pure(false)
             .function(OperatorBuilders.FUNCTION_CONTAINERITEM_TO_INT.build(
                 input -> input != null ? input.getEnergyStored() : 0
             )).build());
@@ -1530,7 +1691,7 @@ public final class Operators {
      * Get the energy capacity
      */
     public static final IOperator OBJECT_ITEMSTACK_FECAPACITY = Operators.REGISTRY.register(OperatorBuilders.ITEMSTACK_1_SUFFIX_LONG
-            .output(ValueTypes.INTEGER).symbolOperator("fecapacity")
+            .output(ValueTypes.INTEGER).symbolOperator("fecapacity").pure(false)
             .function(OperatorBuilders.FUNCTION_CONTAINERITEM_TO_INT.build(
                 input -> input != null ? input.getMaxEnergyStored() : 0
             )).build());
@@ -1540,7 +1701,7 @@ public final class Operators {
      * If the given item has an inventory.
      */
     public static final IOperator OBJECT_ITEMSTACK_HASINVENTORY = REGISTRY.register(OperatorBuilders.ITEMSTACK_1_SUFFIX_LONG
-            .output(ValueTypes.BOOLEAN).symbolOperator("hasinventory")
+            .output(ValueTypes.BOOLEAN).symbolOperator("hasinventory").pure(false)
             .function(variables -> {
                 ValueObjectTypeItemStack.ValueItemStack a = variables.getValue(0);
                 return ValueTypeBoolean.ValueBoolean.of(!a.getRawValue().isEmpty() && a.getRawValue().hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, null));
@@ -1564,7 +1725,7 @@ public final class Operators {
      * Retrieve the inventory size of the given item handler contents.
      */
     public static final IOperator OBJECT_ITEMSTACK_INVENTORYSIZE = REGISTRY.register(OperatorBuilders.ITEMSTACK_1_SUFFIX_LONG
-            .output(ValueTypes.INTEGER).symbolOperator("inventorysize")
+            .output(ValueTypes.INTEGER).symbolOperator("inventorysize").pure(false)
             .function(variables -> {
                 ValueObjectTypeItemStack.ValueItemStack a = variables.getValue(0);
                 int size = 0;
@@ -1580,7 +1741,7 @@ public final class Operators {
      * The item plant type
      */
     public static final IOperator OBJECT_ITEMSTACK_PLANTTYPE = REGISTRY.register(OperatorBuilders.ITEMSTACK_1_SUFFIX_LONG
-            .output(ValueTypes.STRING).symbolOperator("planttype")
+            .output(ValueTypes.STRING).symbolOperator("planttype").pure(false)
             .function(variables -> {
                 ValueObjectTypeItemStack.ValueItemStack a = variables.getValue(0);
                 String type = "None";
@@ -1594,7 +1755,7 @@ public final class Operators {
      * Retrieve the inventory of the given item handler contents.
      */
     public static final IOperator OBJECT_ITEMSTACK_INVENTORY = REGISTRY.register(OperatorBuilders.ITEMSTACK_1_SUFFIX_LONG
-            .output(ValueTypes.LIST).symbolOperator("inventory")
+            .output(ValueTypes.LIST).symbolOperator("inventory").pure(false)
             .function(variables -> {
                 ValueObjectTypeItemStack.ValueItemStack a = variables.getValue(0);
                 if (!a.getRawValue().isEmpty()
@@ -1613,7 +1774,7 @@ public final class Operators {
      * The item when this item is planted
      */
     public static final IOperator OBJECT_ITEMSTACK_PLANT = REGISTRY.register(OperatorBuilders.ITEMSTACK_1_SUFFIX_LONG
-            .output(ValueTypes.OBJECT_BLOCK).symbolOperator("plant")
+            .output(ValueTypes.OBJECT_BLOCK).symbolOperator("plant").pure(false)
             .function(variables -> {
                 ValueObjectTypeItemStack.ValueItemStack a = variables.getValue(0);
                 IBlockState plant = null;
@@ -1681,7 +1842,9 @@ public final class Operators {
             .output(ValueTypes.NBT).symbol("NBT()").operatorName("nbt")
             .function(input -> {
                 ValueObjectTypeItemStack.ValueItemStack itemStack = input.getValue(0);
-                return ValueTypeNbt.ValueNbt.of(itemStack.getRawValue().getTagCompound());
+                // Copy the tag, so that the output does not change with the item stack.
+                NBTTagCompound tag = itemStack.getRawValue().getTagCompound();
+                return ValueTypeNbt.ValueNbt.of(tag != null ? tag.copy() : null);
             }).build());
 
     /**
@@ -2336,7 +2499,8 @@ public final class Operators {
             .function(input -> {
                 ValueObjectTypeFluidStack.ValueFluidStack fluidStack = input.getValue(0);
                 if (fluidStack.getRawValue().isPresent()) {
-                    return ValueTypeNbt.ValueNbt.of(fluidStack.getRawValue().get().tag);
+                    NBTTagCompound tag = fluidStack.getRawValue().get().tag;
+                    return ValueTypeNbt.ValueNbt.of(tag != null ? tag.copy() : null);
                 }
                 return ValueTypes.NBT.getDefault();
             }).build());
@@ -2350,7 +2514,7 @@ public final class Operators {
      */
     public static final IOperator OPERATOR_APPLY = REGISTRY.register(OperatorBuilders.OPERATOR_2_INFIX_LONG
             .conditionalOutputTypeDeriver(OperatorBuilders.newOperatorConditionalOutputDeriver(1))
-            .output(ValueTypes.CATEGORY_ANY).symbolOperator("apply")
+            .output(ValueTypes.CATEGORY_ANY).symbolOperator("apply").pure(true)
             .typeValidator(OperatorBuilders.createOperatorTypeValidator(ValueTypes.CATEGORY_ANY))
             .function(OperatorBuilders.FUNCTION_OPERATOR_TAKE_OPERATOR.build(
                     input -> {
@@ -2405,12 +2569,20 @@ public final class Operators {
      */
     public static final IOperator OPERATOR_MAP = REGISTRY.register(OperatorBuilders.OPERATOR_2_INFIX_LONG
             .inputTypes(new IValueType[]{ValueTypes.OPERATOR, ValueTypes.LIST})
-            .output(ValueTypes.LIST).symbolOperator("map")
+            .output(ValueTypes.LIST).symbolOperator("map").pure(true)
             .function(OperatorBuilders.FUNCTION_OPERATOR_TAKE_OPERATOR_LIST.build(
                     input -> {
                         final IOperator innerOperator = input.getLeft();
                         OperatorBase.SafeVariablesGetter variables = input.getRight();
                         ValueTypeList.ValueList inputList = variables.getValue(0);
+                        if (ParallelListEvaluator.canParallelize(innerOperator, inputList.getRawValue())) {
+                            return ValueTypeList.ValueList.ofList(innerOperator.getOutputType(), Arrays.asList(
+                                    ParallelListEvaluator.map(innerOperator, ParallelListEvaluator.toArray(inputList.getRawValue()))));
+                        }
+                        if (inputList.getRawValue() instanceof ValueTypeListProxyPipeline) {
+                            return ValueTypeList.ValueList.ofFactory(ValueTypeListProxyPipeline.of(innerOperator.getOutputType(),
+                                    inputList.getRawValue(), ValueTypeListProxyPipeline.Stage.map(innerOperator)));
+                        }
                         return ValueTypeList.ValueList.ofFactory(
                                 new ValueTypeListProxyOperatorMapped(innerOperator, inputList.getRawValue()));
                     })).build());
@@ -2420,7 +2592,7 @@ public final class Operators {
      */
     public static final IOperator OPERATOR_FILTER = REGISTRY.register(OperatorBuilders.OPERATOR_2_INFIX_LONG
             .inputTypes(new IValueType[]{ValueTypes.OPERATOR, ValueTypes.LIST})
-            .output(ValueTypes.LIST).symbolOperator("filter")
+            .output(ValueTypes.LIST).symbolOperator("filter").pure(true)
             .function(OperatorBuilders.FUNCTION_OPERATOR_TAKE_OPERATOR_LIST.build(
                     new IOperatorValuePropagator<Pair<IOperator, OperatorBase.SafeVariablesGetter>, IValue>() {
                         @Override
@@ -2428,16 +2600,20 @@ public final class Operators {
                             final IOperator innerOperator = input.getLeft();
                             OperatorBase.SafeVariablesGetter variables = input.getRight();
                             ValueTypeList.ValueList<?, ?> inputList = variables.getValue(0);
-                            List<IValue> filtered = Lists.newArrayList();
-                            for (IValue value : inputList.getRawValue()) {
-                                IValue result = ValueHelpers.evaluateOperator(innerOperator, value);
-                                ValueHelpers.validatePredicateOutput(innerOperator, result);
-                                if (((ValueTypeBoolean.ValueBoolean) result).getRawValue()) {
-                                    filtered.add(value);
+                            IValueType valueType = inputList.getRawValue().getValueType();
+                            if (ParallelListEvaluator.canParallelize(innerOperator, inputList.getRawValue())) {
+                                IValue[] values = ParallelListEvaluator.toArray(inputList.getRawValue());
+                                boolean[] results = ParallelListEvaluator.test(innerOperator, values);
+                                List<IValue> filtered = Lists.newArrayList();
+                                for (int i = 0; i < values.length; i++) {
+                                    if (results[i]) {
+                                        filtered.add(values[i]);
+                                    }
                                 }
+                                return ValueTypeList.ValueList.ofList(valueType, filtered);
                             }
-                            IValueType valueType = inputList.getRawValue().getValueType();
-                            return ValueTypeList.ValueList.ofList(valueType, filtered);
+                            return ValueTypeList.ValueList.ofFactory(ValueTypeListProxyPipeline.of(valueType,
+                                    inputList.getRawValue(), ValueTypeListProxyPipeline.Stage.filter(innerOperator)));
                         }
                     })).build());
 
@@ -2526,17 +2702,21 @@ public final class Operators {
     public static final IOperator OPERATOR_REDUCE = REGISTRY.register(OperatorBuilders.OPERATOR
             .inputTypes(new IValueType[]{ValueTypes.OPERATOR, ValueTypes.LIST, ValueTypes.CATEGORY_ANY})
             .renderPattern(IConfigRenderPattern.PREFIX_3_LONG)
-            .output(ValueTypes.CATEGORY_ANY).symbolOperator("reduce")
+            .output(ValueTypes.CATEGORY_ANY).symbolOperator("reduce").pure(true)
             .conditionalOutputTypeDeriver((operator, input) -> input[2].getType())
             .function(variables -> {
                 IValue accumulator = variables.getValue(2);
                 final IOperator innerOperator = OperatorBuilders.getSafeOperator((ValueTypeOperator.ValueOperator)
                         variables.getValue(0), accumulator.getType());
                 ValueTypeList.ValueList<IValueType<IValue>, IValue> inputList = variables.getValue(1);
+                if (ParallelListEvaluator.canParallelizeReduce(innerOperator, inputList.getRawValue(), accumulator)) {
+                    return ParallelListEvaluator.reduce(innerOperator, ParallelListEvaluator.toArray(inputList.getRawValue()), accumulator);
+                }
+                IValue[] input = new IValue[2];
                 for (IValue listValue : inputList.getRawValue()) {
-                    accumulator = innerOperator.evaluate(new IVariable[]{
-                            new Variable<>(accumulator.getType(), accumulator),
-                            new Variable<>(listValue.getType(), listValue)});
+                    input[0] = accumulator;
+                    input[1] = listValue;
+                    accumulator = innerOperator.evaluate(input);
                 }
                 return accumulator;
             }).build());
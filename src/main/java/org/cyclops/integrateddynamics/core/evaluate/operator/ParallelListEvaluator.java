@@ -0,0 +1,297 @@
+package org.cyclops.integrateddynamics.core.evaluate.operator;
+
+import com.google.common.collect.Iterables;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
+import org.cyclops.integrateddynamics.core.evaluate.expression.EvaluationContext;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueHelpers;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeBoolean;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeList;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyBase;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Evaluates pure operators over the elements of large lists in parallel,
+ * by splitting the list in parts that are evaluated in the common fork-join pool.
+ * Lists that are not immutable, such as inventory lists, are first copied on the calling thread.
+ *
+ * Lists that are shorter than {@link GeneralConfig#parallelListThreshold} are evaluated sequentially,
+ * as for these the overhead of splitting is larger than the gain.
+ * @author rubensworks
+ */
+public final class ParallelListEvaluator {
+
+    private static final int MIN_PART_SIZE = 64;
+
+    private ParallelListEvaluator() {
+
+    }
+
+    /**
+     * @param operator An operator that will be applied to the list elements.
+     * @param list A list.
+     * @return If the operator can be applied to the list elements in parallel.
+     * @throws EvaluationException If the list length could not be determined.
+     */
+    public static boolean canParallelize(IOperator operator, IValueTypeListProxy<?, ?> list) throws EvaluationException {
+        return GeneralConfig.parallelListThreshold > 0
+                && operator.isPure()
+                && !list.isInfinite()
+                && list.getLength() >= GeneralConfig.parallelListThreshold
+                && isThreadSafe(list);
+    }
+
+    /**
+     * Check if the elements of the given list can be read from other threads.
+     * No element may refer to something in the world.
+     * Lists that are not immutable can only be evaluated if they have no nested lists,
+     * as only their top-level elements are copied in {@link #toArray(IValueTypeListProxy)}.
+     * @param list A finite list.
+     * @return If the list elements can be evaluated in parallel.
+     */
+    protected static boolean isThreadSafe(IValueTypeListProxy<?, ?> list) {
+        if (OperatorBase.isWorldDependent(list.getValueType())) {
+            return false;
+        }
+        if (!ValueTypeListProxyBase.isImmutable(list)) {
+            return list.getValueType() != ValueTypes.LIST && !list.getValueType().isCategory();
+        }
+        // Elements of lists of lists and of lists of any type may have other types than the list itself.
+        if (list.getValueType() == ValueTypes.LIST || list.getValueType().isCategory()) {
+            for (IValue value : list) {
+                if (value instanceof ValueTypeList.ValueList) {
+                    IValueTypeListProxy<?, ?> subList = ((ValueTypeList.ValueList) value).getRawValue();
+                    if (subList.isInfinite() || !isThreadSafe(subList)) {
+                        return false;
+                    }
+                } else if (OperatorBase.isWorldDependent(value.getType())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param operator An operator with two inputs.
+     * @param list A list.
+     * @param initial The initial value of the reduction.
+     * @return If the list can be reduced with the operator in parallel.
+     * @throws EvaluationException If the list length could not be determined.
+     */
+    public static boolean canParallelizeReduce(IOperator operator, IValueTypeListProxy<?, ?> list, IValue initial) throws EvaluationException {
+        // Floating point arithmetic is only approximately associative, so the result could depend on the split.
+        return operator.isAssociative()
+                && list.getValueType() != ValueTypes.DOUBLE
+                && initial.getType() != ValueTypes.DOUBLE
+                && canParallelize(operator, list);
+    }
+
+    /**
+     * Read the elements of the list, which must happen on the thread that owns the list.
+     * If the list is not immutable, its elements are copied, so that they can be read from other threads.
+     * @param list A finite list.
+     * @return The elements of the list.
+     */
+    public static IValue[] toArray(IValueTypeListProxy<?, ?> list) {
+        IValue[] values = Iterables.toArray(list, IValue.class);
+        if (!ValueTypeListProxyBase.isImmutable(list)) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = ValueHelpers.snapshot(values[i]);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Apply an operator to all values.
+     * @param operator An operator with one input.
+     * @param values The values.
+     * @return The outputs, in the same order as the values.
+     * @throws EvaluationException If the operator failed for any of the values.
+     */
+    public static IValue[] map(IOperator operator, IValue[] values) throws EvaluationException {
+        IValue[] outputs = new IValue[values.length];
+        invoke(new PartAction(values.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                outputs[i] = ValueHelpers.evaluateOperator(operator, values[i]);
+            }
+        }, 0, values.length));
+        return outputs;
+    }
+
+    /**
+     * Test a predicate for all values.
+     * @param predicate A predicate with one input.
+     * @param values The values.
+     * @return The predicate outputs, in the same order as the values.
+     * @throws EvaluationException If the predicate failed or did not return a boolean for any of the values.
+     */
+    public static boolean[] test(IOperator predicate, IValue[] values) throws EvaluationException {
+        boolean[] outputs = new boolean[values.length];
+        invoke(new PartAction(values.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                IValue result = ValueHelpers.evaluateOperator(predicate, values[i]);
+                ValueHelpers.validatePredicateOutput(predicate, result);
+                outputs[i] = ((ValueTypeBoolean.ValueBoolean) result).getRawValue();
+            }
+        }, 0, values.length));
+        return outputs;
+    }
+
+    /**
+     * Reduce the values with an associative operator.
+     * Each part of the values is reduced separately, after which the part results are combined.
+     * @param operator An associative operator with two inputs.
+     * @param values The values.
+     * @param initial The initial value.
+     * @return The reduced value.
+     * @throws EvaluationException If the operator failed.
+     */
+    public static IValue reduce(IOperator operator, IValue[] values, IValue initial) throws EvaluationException {
+        if (values.length == 0) {
+            return initial;
+        }
+        IValue reduced = invoke(new ReduceTask(operator, values, 0, values.length, getPartSize(values.length)));
+        return ValueHelpers.evaluateOperator(operator, initial, reduced);
+    }
+
+    protected static int getPartSize(int length) {
+        return Math.max(MIN_PART_SIZE, length / (ForkJoinPool.getCommonPoolParallelism() * 4));
+    }
+
+    protected static <T> T invoke(RecursiveTask<T> task) throws EvaluationException {
+        try {
+            return ForkJoinPool.commonPool().invoke(task);
+        } catch (EvaluationFailure e) {
+            throw e.getCause();
+        }
+    }
+
+    protected static void invoke(RecursiveAction action) throws EvaluationException {
+        try {
+            ForkJoinPool.commonPool().invoke(action);
+        } catch (EvaluationFailure e) {
+            throw e.getCause();
+        }
+    }
+
+    public static interface IPartFunction {
+        public void evaluate(int from, int to) throws EvaluationException;
+    }
+
+    /**
+     * Evaluates a function for a range of indexes, split in parts.
+     * The parts are evaluated in the evaluation context of the thread that created the action.
+     */
+    protected static class PartAction extends RecursiveAction {
+
+        private final int partSize;
+        private final IPartFunction function;
+        private final int from;
+        private final int to;
+        private final EvaluationContext context;
+
+        protected PartAction(int length, IPartFunction function, int from, int to) {
+            this(function, from, to, getPartSize(length), EvaluationContext.get());
+        }
+
+        private PartAction(IPartFunction function, int from, int to, int partSize, EvaluationContext context) {
+            this.partSize = partSize;
+            this.function = function;
+            this.from = from;
+            this.to = to;
+            this.context = context;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= partSize) {
+                EvaluationContext previousContext = EvaluationContext.swap(context);
+                try {
+                    function.evaluate(from, to);
+                } catch (EvaluationException e) {
+                    throw new EvaluationFailure(e);
+                } finally {
+                    EvaluationContext.swap(previousContext);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PartAction(function, from, middle, partSize, context),
+                        new PartAction(function, middle, to, partSize, context));
+            }
+        }
+    }
+
+    /**
+     * Reduces a non-empty range of values.
+     */
+    protected static class ReduceTask extends RecursiveTask<IValue> {
+
+        private final IOperator operator;
+        private final IValue[] values;
+        private final int from;
+        private final int to;
+        private final int partSize;
+        private final EvaluationContext context;
+
+        protected ReduceTask(IOperator operator, IValue[] values, int from, int to, int partSize) {
+            this(operator, values, from, to, partSize, EvaluationContext.get());
+        }
+
+        private ReduceTask(IOperator operator, IValue[] values, int from, int to, int partSize, EvaluationContext context) {
+            this.operator = operator;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.partSize = partSize;
+            this.context = context;
+        }
+
+        @Override
+        protected IValue compute() {
+            EvaluationContext previousContext = EvaluationContext.swap(context);
+            try {
+                if (to - from <= partSize) {
+                    IValue accumulator = values[from];
+                    for (int i = from + 1; i < to; i++) {
+                        accumulator = ValueHelpers.evaluateOperator(operator, accumulator, values[i]);
+                    }
+                    return accumulator;
+                }
+                int middle = (from + to) >>> 1;
+                ReduceTask right = new ReduceTask(operator, values, middle, to, partSize, context);
+                right.fork();
+                IValue left = new ReduceTask(operator, values, from, middle, partSize, context).compute();
+                return ValueHelpers.evaluateOperator(operator, left, right.join());
+            } catch (EvaluationException e) {
+                throw new EvaluationFailure(e);
+            } finally {
+                EvaluationContext.swap(previousContext);
+            }
+        }
+    }
+
+    /**
+     * Carries an evaluation exception out of the fork-join pool.
+     */
+    protected static class EvaluationFailure extends RuntimeException {
+
+        public EvaluationFailure(EvaluationException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized EvaluationException getCause() {
+            return (EvaluationException) super.getCause();
+        }
+    }
+
+}
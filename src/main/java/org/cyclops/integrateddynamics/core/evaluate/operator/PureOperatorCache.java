@@ -0,0 +1,277 @@
+package org.cyclops.integrateddynamics.core.evaluate.operator;
+
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueHelpers;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeList;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyBase;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeNbt;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeOperator;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeString;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * A bounded least-recently-used cache for the output of pure operators.
+ *
+ * Only applications with a list, NBT, string, item or fluid input are cached,
+ * as other applications are cheaper to evaluate again than to look up.
+ * The input values must be materialized lists, pure operators or values that do not refer to the world,
+ * and are evaluated before the operator is applied.
+ * Item and fluid stacks may still be changed by their inventory or tank, so they are copied before they are cached.
+ * Each entry is weighted by the size of its input and output values,
+ * and the least recently used entries are removed once the total weight exceeds the configured capacity.
+ *
+ * @author rubensworks
+ */
+public final class PureOperatorCache {
+
+    private static PureOperatorCache INSTANCE;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75F, true);
+    private long weight = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    private PureOperatorCache() {
+
+    }
+
+    public static PureOperatorCache getInstance() {
+        if(INSTANCE == null) {
+            INSTANCE = new PureOperatorCache();
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @return If the cache is enabled.
+     */
+    public static boolean isEnabled() {
+        return GeneralConfig.operatorCacheCapacity > 0;
+    }
+
+    /**
+     * Evaluate the given pure operator, or take its output from the cache.
+     * @param operator A pure operator.
+     * @param types The types of the input.
+     * @param input The input.
+     * @param function The function of the operator.
+     * @return The output value.
+     * @throws EvaluationException If evaluation failed.
+     */
+    public IValue evaluate(IOperator operator, IValueType[] types, OperatorBase.SafeVariablesGetter input,
+                           OperatorBase.IFunction function) throws EvaluationException {
+        IValue[] values = getCacheableValues(types, input);
+        if (values == null) {
+            return function.evaluate(input);
+        }
+        IValue value = get(new Key(operator, values));
+        if (value == null) {
+            value = function.evaluate(input);
+            long entryWeight = getWeight(value);
+            for (int i = 0; i < values.length; i++) {
+                entryWeight += getWeight(values[i]);
+                values[i] = ValueHelpers.snapshot(values[i]);
+            }
+            put(new Key(operator, values), ValueHelpers.snapshot(value), entryWeight);
+        }
+        return value;
+    }
+
+    /**
+     * Get the input values if the application can be cached.
+     * @param types The types of the input.
+     * @param input The input.
+     * @return The input values, or null if the application should not be cached.
+     */
+    @Nullable
+    protected static IValue[] getCacheableValues(IValueType[] types, OperatorBase.SafeVariablesGetter input) {
+        boolean expensive = false;
+        for (IValueType type : types) {
+            if (type == ValueTypes.LIST || type == ValueTypes.NBT || type == ValueTypes.STRING
+                    || type == ValueTypes.OBJECT_ITEMSTACK || type == ValueTypes.OBJECT_FLUIDSTACK) {
+                expensive = true;
+                break;
+            }
+        }
+        if (!expensive) {
+            return null;
+        }
+        IValue[] values = new IValue[input.size()];
+        for (int i = 0; i < values.length; i++) {
+            try {
+                values[i] = input.getValue(i);
+            } catch (EvaluationException e) {
+                // The operator may not need this input, so let it decide how to handle the error.
+                return null;
+            }
+            if (!isCacheable(values[i])) {
+                return null;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @param value A value.
+     * @return If the value can be used as cache key.
+     */
+    public static boolean isCacheable(IValue value) {
+        if (value instanceof ValueTypeList.ValueList) {
+            return ValueTypeListProxyBase.isImmutable(((ValueTypeList.ValueList) value).getRawValue());
+        }
+        if (value instanceof ValueTypeOperator.ValueOperator) {
+            return ((ValueTypeOperator.ValueOperator) value).getRawValue().isPure();
+        }
+        return !OperatorBase.isWorldDependent(value.getType());
+    }
+
+    /**
+     * @param value A value.
+     * @return The weight of the value in the cache.
+     */
+    public static long getWeight(IValue value) {
+        try {
+            if (value instanceof ValueTypeList.ValueList
+                    && ValueTypeListProxyBase.isImmutable(((ValueTypeList.ValueList) value).getRawValue())) {
+                return 1 + ((ValueTypeList.ValueList) value).getRawValue().getLength();
+            }
+        } catch (EvaluationException e) {
+            // Immutable lists never fail.
+        }
+        if (value instanceof ValueTypeString.ValueString) {
+            return 1 + ((ValueTypeString.ValueString) value).getLength() / 64;
+        }
+        if (value instanceof ValueTypeNbt.ValueNbt) {
+            return 1 + ((ValueTypeNbt.ValueNbt) value).getRawValue().getSize();
+        }
+        return 1;
+    }
+
+    @Nullable
+    protected synchronized IValue get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    protected synchronized void put(Key key, IValue value, long entryWeight) {
+        long capacity = GeneralConfig.operatorCacheCapacity;
+        if (entryWeight > capacity) {
+            return;
+        }
+        Entry oldEntry = entries.put(key, new Entry(value, entryWeight));
+        if (oldEntry != null) {
+            weight -= oldEntry.weight;
+        }
+        weight += entryWeight;
+        Iterator<Entry> it = entries.values().iterator();
+        while (weight > capacity && it.hasNext()) {
+            weight -= it.next().weight;
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * @return The number of cached applications.
+     */
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * @return The total weight of all cached applications.
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return The number of cache hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of cache misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The number of removed applications because the capacity was exceeded.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return The ratio of lookups that were a hit.
+     */
+    public synchronized double getHitRate() {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    /**
+     * Remove all cached applications and reset the metrics.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    protected static class Key {
+
+        private final IOperator operator;
+        private final IValue[] values;
+        private final int hash;
+
+        public Key(IOperator operator, IValue[] values) {
+            this.operator = operator;
+            this.values = values;
+            this.hash = 31 * System.identityHashCode(operator) + Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && ((Key) obj).operator == this.operator && ((Key) obj).hash == this.hash
+                    && Arrays.equals(((Key) obj).values, this.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    protected static class Entry {
+
+        private final IValue value;
+        private final long weight;
+
+        public Entry(IValue value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+package org.cyclops.integrateddynamics.core.evaluate.operator;
+
+import com.google.common.collect.Lists;
+import com.google.re2j.Pattern;
+import com.google.re2j.PatternSyntaxException;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded least-recently-used cache of compiled regular expressions for the string operators,
+ * as their patterns are usually constant.
+ *
+ * Patterns without special characters are literal, so these can be handled with plain string methods
+ * instead of a compiled pattern.
+ *
+ * @author rubensworks
+ */
+public final class RegexPatternCache {
+
+    private static final int CAPACITY = 256;
+    private static final String SPECIAL_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private static RegexPatternCache INSTANCE;
+
+    private final LinkedHashMap<String, Pattern> patterns = new LinkedHashMap<String, Pattern>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+
+    private RegexPatternCache() {
+
+    }
+
+    public static RegexPatternCache getInstance() {
+        if(INSTANCE == null) {
+            INSTANCE = new RegexPatternCache();
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Get the compiled pattern for the given regular expression.
+     * @param regex A regular expression.
+     * @return The compiled pattern.
+     * @throws EvaluationException If the regular expression is invalid.
+     */
+    public Pattern getPattern(String regex) throws EvaluationException {
+        Pattern pattern;
+        synchronized (this) {
+            pattern = patterns.get(regex);
+        }
+        if (pattern == null) {
+            try {
+                pattern = Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                throw new EvaluationException(e.getMessage());
+            }
+            synchronized (this) {
+                patterns.put(regex, pattern);
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * @return The number of cached patterns.
+     */
+    public synchronized int getSize() {
+        return patterns.size();
+    }
+
+    /**
+     * Remove all cached patterns.
+     */
+    public synchronized void clear() {
+        patterns.clear();
+    }
+
+    /**
+     * @param regex A regular expression.
+     * @return If the regular expression only matches itself.
+     */
+    public static boolean isLiteral(String regex) {
+        if (regex.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < regex.length(); i++) {
+            if (SPECIAL_CHARACTERS.indexOf(regex.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Split the given string on a literal delimiter,
+     * in the same way as {@link Pattern#split(String)}, so trailing empty strings are removed.
+     * @param str The string to split.
+     * @param delimiter A non-empty delimiter.
+     * @return The pieces.
+     */
+    public static List<String> splitLiteral(String str, String delimiter) {
+        List<String> pieces = Lists.newArrayList();
+        int start = 0;
+        int index = str.indexOf(delimiter);
+        if (index < 0) {
+            pieces.add(str);
+            return pieces;
+        }
+        while (index >= 0) {
+            pieces.add(str.substring(start, index));
+            start = index + delimiter.length();
+            index = str.indexOf(delimiter, start);
+        }
+        pieces.add(str.substring(start));
+        int size = pieces.size();
+        while (size > 0 && pieces.get(size - 1).isEmpty()) {
+            pieces.remove(--size);
+        }
+        return pieces;
+    }
+
+}
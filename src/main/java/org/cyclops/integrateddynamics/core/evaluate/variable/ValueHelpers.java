@@ -1,6 +1,10 @@
 package org.cyclops.integrateddynamics.core.evaluate.variable;
 
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTPrimitive;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagString;
 import org.cyclops.cyclopscore.helper.L10NHelpers;
 import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
@@ -13,6 +17,9 @@ import org.cyclops.integrateddynamics.core.evaluate.operator.CurriedOperator;
 import org.cyclops.integrateddynamics.core.helper.L10NValues;
 
 import javax.annotation.Nullable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * A collection of helpers for variables, values and value types.
@@ -20,6 +27,12 @@ import javax.annotation.Nullable;
  */
 public class ValueHelpers {
 
+    /**
+     * The version of the NBT format of {@link #serialize(IValue)}.
+     * Version 0 stored values as strings, version 1 stores them as native NBT tags.
+     */
+    public static final int SERIALIZATION_VERSION = 1;
+
     /**
      * Create a new value type array from the given variable array element-wise.
      * If a variable would be null, that corresponding value type would be null as well.
@@ -72,7 +85,23 @@ public class ValueHelpers {
      * @return If they are equal.
      */
     public static boolean areValuesEqual(@Nullable IValue v1, @Nullable IValue v2) {
-        return v1 == null && v2 == null || (!(v1 == null || v2 == null) && v1.equals(v2));
+        return v1 == v2 || (!(v1 == null || v2 == null) && v1.equals(v2));
+    }
+
+    /**
+     * Copy a value that refers to a stack that may still be changed, such as a stack in an inventory.
+     * @param value A value.
+     * @return A value that is equal to the given value, and that does not change afterwards.
+     */
+    public static IValue snapshot(IValue value) {
+        if (value instanceof ValueObjectTypeItemStack.ValueItemStack) {
+            return ValueObjectTypeItemStack.ValueItemStack.of(((ValueObjectTypeItemStack.ValueItemStack) value).getRawValue().copy());
+        }
+        if (value instanceof ValueObjectTypeFluidStack.ValueFluidStack
+                && ((ValueObjectTypeFluidStack.ValueFluidStack) value).getRawValue().isPresent()) {
+            return ValueObjectTypeFluidStack.ValueFluidStack.of(((ValueObjectTypeFluidStack.ValueFluidStack) value).getRawValue().get().copy());
+        }
+        return value;
     }
 
     /**
@@ -93,6 +122,9 @@ public class ValueHelpers {
      * @throws EvaluationException If something went wrong during operator evaluation.
      */
     public static IValue evaluateOperator(IOperator operator, IValue... values) throws EvaluationException {
+        if (operator.getRequiredInputLength() == values.length) {
+            return operator.evaluate(values);
+        }
         IVariable[] variables = new IVariable[values.length];
         for (int i = 0; i < variables.length; i++) {
             IValue value = values[i];
@@ -129,6 +161,42 @@ public class ValueHelpers {
         return raw;
     }
 
+    /**
+     * Serialize the given value to a raw NBT tag, without its value type.
+     * @param value The value.
+     * @return The NBT tag.
+     */
+    public static NBTBase serializeRawNbt(IValue value) {
+        NBTBase raw = value.getType().serializeNbt(value);
+        if (raw instanceof NBTTagString) {
+            if (((NBTTagString) raw).getString().length() >= GeneralConfig.maxValueByteSize) {
+                return new NBTTagString("TOO LONG");
+            }
+        } else if (!(raw instanceof NBTPrimitive) && isTooLong(raw, GeneralConfig.maxValueByteSize)) {
+            return new NBTTagString("TOO LONG");
+        }
+        return raw;
+    }
+
+    /**
+     * Check if the given tag would be written in at least the given number of bytes.
+     * Writing stops as soon as the limit is reached.
+     * @param tag An NBT tag.
+     * @param maxBytes The maximum number of bytes.
+     * @return If the tag is too long.
+     */
+    protected static boolean isTooLong(NBTBase tag, int maxBytes) {
+        NBTTagCompound wrapper = new NBTTagCompound();
+        wrapper.setTag("value", tag);
+        try {
+            CompressedStreamTools.write(wrapper, new DataOutputStream(new LimitedOutputStream(maxBytes)));
+            return false;
+        } catch (IOException e) {
+            // Also thrown for strings inside the tag that are too long to be written.
+            return true;
+        }
+    }
+
     /**
      * Serialize the given value to NBT.
      * @param value The value.
@@ -137,7 +205,8 @@ public class ValueHelpers {
     public static NBTTagCompound serialize(IValue value) {
         NBTTagCompound tag = new NBTTagCompound();
         tag.setString("valueType", value.getType().getUnlocalizedName());
-        tag.setString("value", serializeRaw(value));
+        tag.setTag("value", serializeRawNbt(value));
+        tag.setInteger("version", SERIALIZATION_VERSION);
         return tag;
     }
 
@@ -151,7 +220,9 @@ public class ValueHelpers {
         if (valueType == null) {
             return null;
         }
-        return valueType.deserialize(tag.getString("value"));
+        // Values from before version 1 are always stored as string tags, which deserializeNbt also accepts.
+        NBTBase value = tag.getTag("value");
+        return valueType.deserializeNbt(value == null ? new NBTTagString("") : value);
     }
 
     /**
@@ -170,4 +241,34 @@ public class ValueHelpers {
         }
     }
 
+    /**
+     * An output stream that discards all bytes, and fails once the given number of bytes has been written.
+     */
+    private static class LimitedOutputStream extends OutputStream {
+
+        private final int maxBytes;
+        private int bytes = 0;
+
+        private LimitedOutputStream(int maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            count(len);
+        }
+
+        private void count(int length) throws IOException {
+            bytes += length;
+            if (bytes >= maxBytes) {
+                throw new IOException("The maximum number of bytes was reached.");
+            }
+        }
+    }
+
 }
@@ -6,6 +6,7 @@ import lombok.ToString;
 import net.minecraft.advancements.critereon.ItemPredicate;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.JsonToNBT;
+import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTException;
 import net.minecraft.nbt.NBTTagCompound;
 import org.cyclops.cyclopscore.helper.ItemStackHelpers;
@@ -62,27 +63,40 @@ public class ValueObjectTypeItemStack extends ValueObjectTypeBase<ValueObjectTyp
 
     @Override
     public String serialize(ValueItemStack value) {
+        return serializeNbt(value).toString();
+    }
+
+    @Override
+    public ValueItemStack deserialize(String value) {
+        try {
+            return deserializeNbt(JsonToNBT.getTagFromJson(value));
+        } catch (NBTException e) {
+            return ValueItemStack.of(ItemStack.EMPTY);
+        }
+    }
+
+    @Override
+    public NBTTagCompound serializeNbt(ValueItemStack value) {
         NBTTagCompound tag = new NBTTagCompound();
         ItemStack itemStack = value.getRawValue();
         if(!itemStack.isEmpty()) {
             itemStack.writeToNBT(tag);
             tag.setInteger("Count", itemStack.getCount());
         }
-        return tag.toString();
+        return tag;
     }
 
     @Override
-    public ValueItemStack deserialize(String value) {
-        try {
-            NBTTagCompound tag = JsonToNBT.getTagFromJson(value);
-            ItemStack itemStack = new ItemStack(tag);
-            if (!itemStack.isEmpty()) {
-                itemStack.setCount(tag.getInteger("Count"));
-            }
-            return ValueItemStack.of(itemStack);
-        } catch (NBTException e) {
-            return ValueItemStack.of(ItemStack.EMPTY);
+    public ValueItemStack deserializeNbt(NBTBase value) {
+        if (!(value instanceof NBTTagCompound)) {
+            return super.deserializeNbt(value);
+        }
+        NBTTagCompound tag = (NBTTagCompound) value;
+        ItemStack itemStack = new ItemStack(tag);
+        if (!itemStack.isEmpty()) {
+            itemStack.setCount(tag.getInteger("Count"));
         }
+        return ValueItemStack.of(itemStack);
     }
 
     @Override
@@ -1,6 +1,9 @@
 package org.cyclops.integrateddynamics.core.evaluate.variable;
 
 import lombok.ToString;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTPrimitive;
+import net.minecraft.nbt.NBTTagByte;
 import net.minecraft.util.text.TextFormatting;
 import org.cyclops.cyclopscore.helper.Helpers;
 
@@ -42,6 +45,19 @@ public class ValueTypeBoolean extends ValueTypeBase<ValueTypeBoolean.ValueBoolea
         return ValueBoolean.of(b);
     }
 
+    @Override
+    public NBTBase serializeNbt(ValueBoolean value) {
+        return new NBTTagByte((byte) (value.getRawValue() ? 1 : 0));
+    }
+
+    @Override
+    public ValueBoolean deserializeNbt(NBTBase value) {
+        if (value instanceof NBTPrimitive) {
+            return ValueBoolean.of(((NBTPrimitive) value).getByte() != 0);
+        }
+        return super.deserializeNbt(value);
+    }
+
     @ToString
     public static class ValueBoolean extends ValueBase {
 
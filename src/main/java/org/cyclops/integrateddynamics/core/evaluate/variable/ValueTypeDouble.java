@@ -1,6 +1,9 @@
 package org.cyclops.integrateddynamics.core.evaluate.variable;
 
 import lombok.ToString;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTPrimitive;
+import net.minecraft.nbt.NBTTagDouble;
 import net.minecraft.util.text.TextFormatting;
 import org.cyclops.cyclopscore.helper.Helpers;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeNumber;
@@ -35,6 +38,19 @@ public class ValueTypeDouble extends ValueTypeBase<ValueTypeDouble.ValueDouble>
         return ValueDouble.of(Double.parseDouble(value));
     }
 
+    @Override
+    public NBTBase serializeNbt(ValueDouble value) {
+        return new NBTTagDouble(value.getRawValue());
+    }
+
+    @Override
+    public ValueDouble deserializeNbt(NBTBase value) {
+        if (value instanceof NBTPrimitive) {
+            return ValueDouble.of(((NBTPrimitive) value).getDouble());
+        }
+        return super.deserializeNbt(value);
+    }
+
     @Override
     public boolean isZero(ValueDouble a) {
         return a.getRawValue() == 0D;
@@ -108,6 +124,15 @@ public class ValueTypeDouble extends ValueTypeBase<ValueTypeDouble.ValueDouble>
     @ToString
     public static class ValueDouble extends ValueBase {
 
+        private static final int CACHE_LOW = -128;
+        private static final int CACHE_HIGH = 1024;
+        private static final ValueDouble[] CACHE = new ValueDouble[CACHE_HIGH - CACHE_LOW];
+        static {
+            for (int i = 0; i < CACHE.length; i++) {
+                CACHE[i] = new ValueDouble(CACHE_LOW + i);
+            }
+        }
+
         private final double value;
 
         private ValueDouble(double value) {
@@ -116,6 +141,12 @@ public class ValueTypeDouble extends ValueTypeBase<ValueTypeDouble.ValueDouble>
         }
 
         public static ValueDouble of(double value) {
+            int intValue = (int) value;
+            // Only whole numbers are cached, and negative zero is kept distinct.
+            if (intValue >= CACHE_LOW && intValue < CACHE_HIGH
+                    && Double.doubleToRawLongBits(value) == Double.doubleToRawLongBits(intValue)) {
+                return CACHE[intValue - CACHE_LOW];
+            }
             return new ValueDouble(value);
         }
 
@@ -1,6 +1,9 @@
 package org.cyclops.integrateddynamics.core.evaluate.variable;
 
 import lombok.ToString;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTPrimitive;
+import net.minecraft.nbt.NBTTagInt;
 import net.minecraft.util.text.TextFormatting;
 import org.cyclops.cyclopscore.helper.Helpers;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeNumber;
@@ -36,6 +39,19 @@ public class ValueTypeInteger extends ValueTypeBase<ValueTypeInteger.ValueIntege
         return ValueInteger.of(Integer.parseInt(value));
     }
 
+    @Override
+    public NBTBase serializeNbt(ValueInteger value) {
+        return new NBTTagInt(value.getRawValue());
+    }
+
+    @Override
+    public ValueInteger deserializeNbt(NBTBase value) {
+        if (value instanceof NBTPrimitive) {
+            return ValueInteger.of(((NBTPrimitive) value).getInt());
+        }
+        return super.deserializeNbt(value);
+    }
+
     @Override
     public boolean isZero(ValueInteger a) {
         return a.getRawValue() == 0;
@@ -109,6 +125,15 @@ public class ValueTypeInteger extends ValueTypeBase<ValueTypeInteger.ValueIntege
     @ToString
     public static class ValueInteger extends ValueBase {
 
+        private static final int CACHE_LOW = -128;
+        private static final int CACHE_HIGH = 1024;
+        private static final ValueInteger[] CACHE = new ValueInteger[CACHE_HIGH - CACHE_LOW];
+        static {
+            for (int i = 0; i < CACHE.length; i++) {
+                CACHE[i] = new ValueInteger(CACHE_LOW + i);
+            }
+        }
+
         private final int value;
 
         private ValueInteger(int value) {
@@ -117,6 +142,9 @@ public class ValueTypeInteger extends ValueTypeBase<ValueTypeInteger.ValueIntege
         }
 
         public static ValueInteger of(int value) {
+            if (value >= CACHE_LOW && value < CACHE_HIGH) {
+                return CACHE[value - CACHE_LOW];
+            }
             return new ValueInteger(value);
         }
 
@@ -5,6 +5,8 @@ import com.google.common.collect.Lists;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import lombok.ToString;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.JsonUtils;
 import net.minecraft.util.text.TextFormatting;
 import org.cyclops.cyclopscore.helper.Helpers;
@@ -74,12 +76,38 @@ public class ValueTypeList extends ValueObjectTypeBase<ValueTypeList.ValueList>
         return getDefault();
     }
 
+    @Override
+    public NBTBase serializeNbt(ValueList value) {
+        try {
+            return ValueTypeListProxyFactories.REGISTRY.serializeNbt(value.getRawValue());
+        } catch (IValueTypeListProxyFactoryTypeRegistry.SerializationException e) {
+            e.printStackTrace();
+        }
+        return new NBTTagCompound();
+    }
+
+    @Override
+    public ValueList deserializeNbt(NBTBase value) {
+        try {
+            IValueTypeListProxy<IValueType<IValue>, IValue> proxy = ValueTypeListProxyFactories.REGISTRY.deserializeNbt(value);
+            return ValueList.ofFactory(proxy);
+        } catch (IValueTypeListProxyFactoryTypeRegistry.SerializationException e) {
+            e.printStackTrace();
+        }
+        return getDefault();
+    }
+
     @Override
     public ValueList materialize(ValueList value) throws EvaluationException {
         IValueTypeListProxy<IValueType<IValue>, IValue> list = value.getRawValue();
         if (list.isInfinite()) {
             return ValueList.ofList(list.getValueType(), Lists.newArrayList(list.get(0)));
         }
+        // Flat immutable lists are materialized already, keeping the same instance makes later equality checks trivial.
+        if ((list instanceof ValueTypeListProxyMaterialized || list instanceof ValueTypeListProxyVector)
+                && ValueTypeListProxyBase.isImmutable(list)) {
+            return value;
+        }
         List<IValue> values = ImmutableList.copyOf(list);
         return ValueList.ofList(list.getValueType(), values);
     }
@@ -99,10 +127,11 @@ public class ValueTypeList extends ValueObjectTypeBase<ValueTypeList.ValueList>
         return new ValueListPredicate(this, value, infinite);
     }
 
-    @ToString
+    @ToString(exclude = "index")
     public static class ValueList<T extends IValueType<V>, V extends IValue> extends ValueBase {
 
         private final IValueTypeListProxy<T, V> value;
+        private volatile ValueTypeListIndex index = null;
 
         private ValueList(IValueTypeListProxy<T, V> value) {
             super(ValueTypes.LIST);
@@ -125,9 +154,33 @@ public class ValueTypeList extends ValueObjectTypeBase<ValueTypeList.ValueList>
             return value;
         }
 
+        /**
+         * Get the hash index of the elements in this list.
+         * The index is only cached on this value if the list is immutable,
+         * otherwise it is built again on each call, as the elements may have changed.
+         * @return The index.
+         * @throws EvaluationException If the list is infinite or could not be iterated.
+         */
+        public ValueTypeListIndex getIndex() throws EvaluationException {
+            if (!ValueTypeListProxyBase.isImmutable(value)) {
+                return ValueTypeListIndex.of(value);
+            }
+            ValueTypeListIndex index = this.index;
+            if (index == null) {
+                synchronized (this) {
+                    index = this.index;
+                    if (index == null) {
+                        index = ValueTypeListIndex.of(value);
+                        this.index = index;
+                    }
+                }
+            }
+            return index;
+        }
+
         @Override
         public boolean equals(Object o) {
-            return o instanceof ValueList && ((ValueList) o).value.equals(this.value);
+            return o == this || (o instanceof ValueList && ((ValueList) o).value.equals(this.value));
         }
 
         @Override
@@ -0,0 +1,69 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import com.google.common.collect.Maps;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A hash index over the elements of a finite list,
+ * which maps each distinct element to the number of times it occurs.
+ *
+ * Indexes are built lazily by {@link ValueTypeList.ValueList#getIndex()} and cached on immutable list values,
+ * so that repeated membership and count queries on the same list don't have to scan it again.
+ * @author rubensworks
+ */
+public class ValueTypeListIndex {
+
+    private final Map<IValue, Integer> counts;
+
+    protected ValueTypeListIndex(Map<IValue, Integer> counts) {
+        this.counts = counts;
+    }
+
+    /**
+     * Build the index of the given list.
+     * @param list A finite list.
+     * @return The index.
+     * @throws EvaluationException If the list is infinite or could not be iterated.
+     */
+    public static ValueTypeListIndex of(IValueTypeListProxy<?, ?> list) throws EvaluationException {
+        if (list.isInfinite()) {
+            throw new EvaluationException("Infinite lists can not be indexed.");
+        }
+        Map<IValue, Integer> counts = Maps.newLinkedHashMap();
+        for (IValue value : list) {
+            counts.merge(value, 1, Integer::sum);
+        }
+        return new ValueTypeListIndex(counts);
+    }
+
+    /**
+     * @param value A value.
+     * @return If the list contains the given value.
+     */
+    public boolean contains(IValue value) {
+        return counts.containsKey(value);
+    }
+
+    /**
+     * @param value A value.
+     * @return The number of times the given value occurs in the list.
+     */
+    public int getCount(IValue value) {
+        Integer count = counts.get(value);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * @return The distinct elements of the list, in the order of their first occurrence.
+     */
+    public Set<IValue> getValues() {
+        return Collections.unmodifiableSet(counts.keySet());
+    }
+
+}
@@ -16,11 +16,18 @@ public class ValueTypeListProxyAppend<T extends IValueType<V>, V extends IValue>
 
     private final IValueTypeListProxy<T, V> list;
     private final V value;
+    private final int depth;
 
     public ValueTypeListProxyAppend(IValueTypeListProxy<T, V> list, V value) {
         super(ValueTypeListProxyFactories.APPEND.getName(), list.getValueType());
         this.list = list;
         this.value = value;
+        this.depth = ValueTypeListProxyVector.getDepth(list) + 1;
+    }
+
+    @Override
+    public int getDepth() {
+        return depth;
     }
 
     @Override
@@ -39,6 +46,20 @@ public class ValueTypeListProxyAppend<T extends IValueType<V>, V extends IValue>
         return null;
     }
 
+    @Override
+    public boolean isImmutable() {
+        return isImmutable(list) && isImmutable(value);
+    }
+
+    @Override
+    protected int computeHashCode() {
+        if (isImmutable()) {
+            // Extend the cached hash of the immutable list, which has the same value type.
+            return 37 * list.hashCode() + (value != null ? value.hashCode() : 0);
+        }
+        return super.computeHashCode();
+    }
+
     public static class Factory extends ValueTypeListProxyNBTFactorySimple<IValueType<IValue>, IValue, ValueTypeListProxyAppend<IValueType<IValue>, IValue>> {
 
         @Override
@@ -49,15 +70,15 @@ public class ValueTypeListProxyAppend<T extends IValueType<V>, V extends IValue>
         @Override
         protected void serializeNbt(ValueTypeListProxyAppend<IValueType<IValue>, IValue> value, NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
             tag.setString("valueType", value.value.getType().getUnlocalizedName());
-            tag.setString("value", ValueHelpers.serializeRaw(value.value));
-            tag.setString("sublist", ValueTypeListProxyFactories.REGISTRY.serialize(value.list));
+            tag.setTag("value", ValueHelpers.serializeRawNbt(value.value));
+            tag.setTag("sublist", ValueTypeListProxyFactories.REGISTRY.serializeNbt(value.list));
         }
 
         @Override
         protected ValueTypeListProxyAppend<IValueType<IValue>, IValue> deserializeNbt(NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
             IValueType valueType = ValueTypes.REGISTRY.getValueType(tag.getString("valueType"));
-            IValue value = valueType.deserialize(tag.getString("value"));
-            IValueTypeListProxy<IValueType<IValue>, IValue> list = ValueTypeListProxyFactories.REGISTRY.deserialize(tag.getString("sublist"));
+            IValue value = valueType.deserializeNbt(tag.getTag("value"));
+            IValueTypeListProxy<IValueType<IValue>, IValue> list = ValueTypeListProxyFactories.REGISTRY.deserializeNbt(tag.getTag("sublist"));
             return new ValueTypeListProxyAppend<>(list, value);
         }
     }
@@ -1,12 +1,11 @@
 package org.cyclops.integrateddynamics.core.evaluate.variable;
 
-import com.google.common.collect.Iterables;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
 
-import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Objects;
 
 /**
  * A list proxy base implementation.
@@ -17,6 +16,8 @@ public abstract class ValueTypeListProxyBase<T extends IValueType<V>, V extends
 
     private final String name;
     private final T valueType;
+    // The hash of an immutable list, 0 if it was not calculated yet.
+    private int hash = 0;
 
     public ValueTypeListProxyBase(String name, T valueType) {
         this.name = name;
@@ -67,7 +68,9 @@ public abstract class ValueTypeListProxyBase<T extends IValueType<V>, V extends
             return false;
         }
         ValueTypeListProxyBase<?, ?> other = (ValueTypeListProxyBase<?, ?>) obj;
-        if(!getName().equals(other.getName()) || !getValueType().equals(other.getValueType())) {
+        // Lists of different proxy types are equal if their elements are equal,
+        // so that lazy lists are equal to their materialized counterparts.
+        if(!getValueType().equals(other.getValueType())) {
             return false;
         }
         // Avoid infinite iteration
@@ -75,16 +78,41 @@ public abstract class ValueTypeListProxyBase<T extends IValueType<V>, V extends
             return false;
         }
 
-        Object[] o = Iterables.toArray(this, Object.class);
-        Object[] o2 = Iterables.toArray(other, Object.class);
-        return Arrays.equals(o, o2);
+        // Immutable lists cache their hash, so different lists are mostly detected without iterating them.
+        if (this.isImmutable() && other.isImmutable() && this.hashCode() != other.hashCode()) {
+            return false;
+        }
+
+        Iterator<V> it = this.iterator();
+        Iterator<?> itOther = other.iterator();
+        while (it.hasNext() && itOther.hasNext()) {
+            if (!Objects.equals(it.next(), itOther.next())) {
+                return false;
+            }
+        }
+        return !it.hasNext() && !itOther.hasNext();
     }
 
     @Override
     public int hashCode() {
         if(this.isInfinite()) return System.identityHashCode(this);
+        if(!this.isImmutable()) return computeHashCode();
+        int result = hash;
+        if(result == 0) {
+            result = computeHashCode();
+            hash = result;
+        }
+        return result;
+    }
+
+    /**
+     * Calculate the hash of this finite list.
+     * Implementations that override this must return the same hash as this default implementation,
+     * so that lists with equal elements have an equal hash, regardless of their proxy type.
+     * @return The hash.
+     */
+    protected int computeHashCode() {
         int result = 1;
-        result = 37 * result + getName().hashCode();
         result = 37 * result + getValueType().hashCode();
         for(Object obj : this) {
             result = 37 * result + (obj != null ? obj.hashCode() : 0);
@@ -92,6 +120,68 @@ public abstract class ValueTypeListProxyBase<T extends IValueType<V>, V extends
         return result;
     }
 
+    /**
+     * @return The number of nested lists that are wrapped by this list, including this one,
+     *         or zero if this list does not wrap another list.
+     */
+    public int getDepth() {
+        return 0;
+    }
+
+    /**
+     * @return If the elements of this list can never change, so that its hash can be cached.
+     *         This must be false for infinite lists and for lists that depend on the world.
+     */
+    public boolean isImmutable() {
+        return false;
+    }
+
+    /**
+     * @param list A list.
+     * @return If the elements of the given list can never change.
+     */
+    public static boolean isImmutable(IValueTypeListProxy<?, ?> list) {
+        return list instanceof ValueTypeListProxyBase && ((ValueTypeListProxyBase<?, ?>) list).isImmutable();
+    }
+
+    /**
+     * @param value A value.
+     * @return If the given value can never change, which only does not hold for lists that are not immutable.
+     */
+    public static boolean isImmutable(IValue value) {
+        return !(value instanceof ValueTypeList.ValueList) || isImmutable(((ValueTypeList.ValueList) value).getRawValue());
+    }
+
+    /**
+     * @param values Values.
+     * @return If none of the given values can change.
+     */
+    protected static boolean areImmutable(Iterable<? extends IValue> values) {
+        for (IValue value : values) {
+            if (!isImmutable(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param exponent A non-negative exponent.
+     * @return 37 to the power of the given exponent, with the same overflow as the list hash.
+     */
+    protected static int pow37(int exponent) {
+        int result = 1;
+        int base = 37;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result *= base;
+            }
+            base *= base;
+            exponent >>= 1;
+        }
+        return result;
+    }
+
     @Override
     public boolean isInfinite() {
         return false;
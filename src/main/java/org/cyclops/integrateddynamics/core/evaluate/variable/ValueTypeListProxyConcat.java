@@ -2,8 +2,6 @@ package org.cyclops.integrateddynamics.core.evaluate.variable;
 
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
-import net.minecraft.nbt.NBTTagString;
-import org.cyclops.cyclopscore.helper.MinecraftHelpers;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
@@ -18,10 +16,21 @@ import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxyF
 public class ValueTypeListProxyConcat<T extends IValueType<V>, V extends IValue> extends ValueTypeListProxyBase<T, V> {
 
     private final IValueTypeListProxy<T, V>[] lists;
+    private final int depth;
 
     public ValueTypeListProxyConcat(IValueTypeListProxy<T, V>... lists) {
         super(ValueTypeListProxyFactories.CONCAT.getName(), lists[0].getValueType());
         this.lists = lists;
+        int depth = 0;
+        for (IValueTypeListProxy<T, V> list : lists) {
+            depth = Math.max(depth, ValueTypeListProxyVector.getDepth(list));
+        }
+        this.depth = depth + 1;
+    }
+
+    @Override
+    public int getDepth() {
+        return depth;
     }
 
     @Override
@@ -45,6 +54,39 @@ public class ValueTypeListProxyConcat<T extends IValueType<V>, V extends IValue>
         return null;
     }
 
+    @Override
+    public boolean isImmutable() {
+        for (IValueTypeListProxy<T, V> list : lists) {
+            if (!isImmutable(list)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected int computeHashCode() {
+        if (isImmutable()) {
+            // Combine the cached hashes of the immutable lists.
+            // A list hash is the hash of the empty list times 37^length plus the weighted element hashes.
+            try {
+                int emptyHash = 37 + getValueType().hashCode();
+                int result = emptyHash;
+                for (IValueTypeListProxy<T, V> list : lists) {
+                    if (!list.getValueType().equals(getValueType())) {
+                        return super.computeHashCode();
+                    }
+                    int power = pow37(list.getLength());
+                    result = result * power + (list.hashCode() - emptyHash * power);
+                }
+                return result;
+            } catch (EvaluationException e) {
+                // Fallback to iterating the elements
+            }
+        }
+        return super.computeHashCode();
+    }
+
     public static class Factory extends ValueTypeListProxyNBTFactorySimple<IValueType<IValue>, IValue, ValueTypeListProxyConcat<IValueType<IValue>, IValue>> {
 
         @Override
@@ -56,17 +98,18 @@ public class ValueTypeListProxyConcat<T extends IValueType<V>, V extends IValue>
         protected void serializeNbt(ValueTypeListProxyConcat<IValueType<IValue>, IValue> value, NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
             NBTTagList list = new NBTTagList();
             for (IValueTypeListProxy<IValueType<IValue>, IValue> listProxy : value.lists) {
-                list.appendTag(new NBTTagString(ValueTypeListProxyFactories.REGISTRY.serialize(listProxy)));
+                list.appendTag(ValueTypeListProxyFactories.REGISTRY.serializeNbt(listProxy));
             }
             tag.setTag("sublists", list);
         }
 
         @Override
         protected ValueTypeListProxyConcat<IValueType<IValue>, IValue> deserializeNbt(NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
-            NBTTagList list = tag.getTagList("sublists", MinecraftHelpers.NBTTag_Types.NBTTagString.ordinal());
+            // Sublists are string tags in lists that were stored before they were stored as NBT.
+            NBTTagList list = tag.getTag("sublists") instanceof NBTTagList ? (NBTTagList) tag.getTag("sublists") : new NBTTagList();
             IValueTypeListProxy<IValueType<IValue>, IValue>[] listProxies = new IValueTypeListProxy[list.tagCount()];
             for (int i = 0; i < list.tagCount(); i++) {
-                listProxies[i] = ValueTypeListProxyFactories.REGISTRY.deserialize(list.getStringTagAt(i));
+                listProxies[i] = ValueTypeListProxyFactories.REGISTRY.deserializeNbt(list.get(i));
             }
             return new ValueTypeListProxyConcat<>(listProxies);
         }
@@ -34,6 +34,8 @@ public class ValueTypeListProxyFactories {
     public static ValueTypeListProxyLazyBuilt.Factory LAZY_BUILT;
     public static ValueTypeListProxyTail.Factory TAIL;
     public static ValueTypeListProxySlice.Factory SLICE;
+    public static ValueTypeListProxyPipeline.Factory PIPELINE;
+    public static ValueTypeListProxyVector.Factory VECTOR;
     public static ValueTypeListProxyNbtKeys.Factory NBT_KEYS;
     public static ValueTypeListProxyNbtValueListTag.Factory NBT_VALUE_LIST_TAG;
     public static ValueTypeListProxyNbtValueListByte.Factory NBT_VALUE_LIST_BYTE;
@@ -54,6 +56,8 @@ public class ValueTypeListProxyFactories {
             LAZY_BUILT = REGISTRY.register(new ValueTypeListProxyLazyBuilt.Factory());
             TAIL = REGISTRY.register(new ValueTypeListProxyTail.Factory());
             SLICE = REGISTRY.register(new ValueTypeListProxySlice.Factory());
+            PIPELINE = REGISTRY.register(new ValueTypeListProxyPipeline.Factory());
+            VECTOR = REGISTRY.register(new ValueTypeListProxyVector.Factory());
             NBT_KEYS = REGISTRY.register(new ValueTypeListProxyNbtKeys.Factory());
             NBT_VALUE_LIST_TAG = REGISTRY.register(new ValueTypeListProxyNbtValueListTag.Factory());
             NBT_VALUE_LIST_BYTE = REGISTRY.register(new ValueTypeListProxyNbtValueListByte.Factory());
@@ -1,30 +1,43 @@
 package org.cyclops.integrateddynamics.core.evaluate.variable;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
 import net.minecraft.nbt.NBTTagCompound;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxyFactoryTypeRegistry;
-import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
 import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
 
-import java.util.concurrent.TimeUnit;
+import java.lang.ref.SoftReference;
+import java.util.List;
 
 /**
  * A list that is built lazily from a start value and an operator.
+ *
+ * Elements are generated iteratively and memoized in chunks.
+ * The chunks are softly referenced, so they are only removed when memory runs low.
+ * The first element of each chunk and the last generated element are always kept,
+ * so a removed chunk can be regenerated from its first element,
+ * and new elements are generated from the last generated element.
  * @param <T> The value type type.
  * @param <V> The value type.
  */
 public class ValueTypeListProxyLazyBuilt<T extends IValueType<V>, V extends IValue> extends ValueTypeListProxyBase<T, V> {
 
-    private Cache<Integer, V> cache_values = CacheBuilder.newBuilder().expireAfterAccess(10, TimeUnit.SECONDS).maximumSize(100).build();
+    protected static final int CHUNK_SIZE = 256;
 
     private final V value;
     private final IOperator operator;
 
+    // The first element of each chunk.
+    private final List<V> chunkStarts = Lists.newArrayList();
+    private final List<SoftReference<IValue[]>> chunks = Lists.newArrayList();
+    // The chunk that is being generated, which must not be removed.
+    private IValue[] lastChunk = null;
+    private V last = null;
+    private int generated = 0;
+
     public ValueTypeListProxyLazyBuilt(V value, IOperator operator) {
         super(ValueTypeListProxyFactories.LAZY_BUILT.getName(), (T) value.getType());
         this.value = value;
@@ -37,18 +50,53 @@ public class ValueTypeListProxyLazyBuilt<T extends IValueType<V>, V extends IVal
     }
 
     @Override
-    public V get(int index) throws EvaluationException {
+    public synchronized V get(int index) throws EvaluationException {
+        if (index < 0) {
+            return null;
+        }
         if (index == 0) {
             return value;
         }
-        V current = cache_values.getIfPresent(index);
-        if (current != null) {
-            return current;
+        // Resume from the last generated element.
+        while (generated <= index) {
+            V next = generated == 0 ? value : apply(last);
+            if (generated % CHUNK_SIZE == 0) {
+                lastChunk = new IValue[CHUNK_SIZE];
+                chunkStarts.add(next);
+                chunks.add(new SoftReference<>(lastChunk));
+            }
+            lastChunk[generated % CHUNK_SIZE] = next;
+            last = next;
+            generated++;
+        }
+        int chunkIndex = index / CHUNK_SIZE;
+        IValue[] chunk = chunks.get(chunkIndex).get();
+        if (chunk == null) {
+            chunk = regenerateChunk(chunkIndex);
+        }
+        return (V) chunk[index % CHUNK_SIZE];
+    }
+
+    /**
+     * Regenerate a full chunk that was removed, starting from its first element.
+     * @param chunkIndex The chunk index.
+     * @return The chunk.
+     * @throws EvaluationException If the operator failed.
+     */
+    protected IValue[] regenerateChunk(int chunkIndex) throws EvaluationException {
+        IValue[] chunk = new IValue[CHUNK_SIZE];
+        V current = chunkStarts.get(chunkIndex);
+        chunk[0] = current;
+        for (int i = 1; i < CHUNK_SIZE; i++) {
+            current = apply(current);
+            chunk[i] = current;
         }
-        V previous = get(index - 1);
-        current = (V) operator.evaluate(new IVariable[]{new Variable(previous.getType(), previous)});
-        cache_values.put(index, current);
-        return current;
+        chunks.set(chunkIndex, new SoftReference<>(chunk));
+        return chunk;
+    }
+
+    protected V apply(V previous) throws EvaluationException {
+        return (V) operator.evaluate(previous);
     }
 
     @Override
@@ -66,15 +114,15 @@ public class ValueTypeListProxyLazyBuilt<T extends IValueType<V>, V extends IVal
         @Override
         protected void serializeNbt(ValueTypeListProxyLazyBuilt<IValueType<IValue>, IValue> value, NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
             tag.setString("valueType", value.value.getType().getUnlocalizedName());
-            tag.setString("value", ValueHelpers.serializeRaw(value.value));
-            tag.setString("operator", Operators.REGISTRY.serialize(value.operator));
+            tag.setTag("value", ValueHelpers.serializeRawNbt(value.value));
+            tag.setTag("operator", Operators.REGISTRY.serializeNbt(value.operator));
         }
 
         @Override
         protected ValueTypeListProxyLazyBuilt<IValueType<IValue>, IValue> deserializeNbt(NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException, EvaluationException {
             IValueType valueType = ValueTypes.REGISTRY.getValueType(tag.getString("valueType"));
-            IValue value = valueType.deserialize(tag.getString("value"));
-            IOperator operator = Operators.REGISTRY.deserialize(tag.getString("operator"));
+            IValue value = valueType.deserializeNbt(tag.getTag("value"));
+            IOperator operator = Operators.REGISTRY.deserializeNbt(tag.getTag("operator"));
             return new ValueTypeListProxyLazyBuilt<>(value, operator);
         }
     }
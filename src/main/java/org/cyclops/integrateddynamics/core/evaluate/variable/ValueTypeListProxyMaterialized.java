@@ -14,6 +14,8 @@ import java.util.List;
 public class ValueTypeListProxyMaterialized<T extends IValueType<V>, V extends IValue> extends ValueTypeListProxyBase<T, V> {
 
     private final List<V> list;
+    // Null if it was not determined yet.
+    private Boolean immutable = null;
 
     public ValueTypeListProxyMaterialized(T valueType, List<V> list) {
         super(ValueTypeListProxyFactories.MATERIALIZED.getName(), valueType);
@@ -29,4 +31,14 @@ public class ValueTypeListProxyMaterialized<T extends IValueType<V>, V extends I
     public V get(int index) throws EvaluationException {
         return list.get(index);
     }
+
+    @Override
+    public boolean isImmutable() {
+        Boolean immutable = this.immutable;
+        if (immutable == null) {
+            immutable = areImmutable(list);
+            this.immutable = immutable;
+        }
+        return immutable;
+    }
 }
@@ -1,6 +1,9 @@
 package org.cyclops.integrateddynamics.core.evaluate.variable;
 
 import com.google.common.collect.ImmutableList;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
@@ -24,6 +27,16 @@ public class ValueTypeListProxyMaterializedFactory implements IValueTypeListProx
     @Override
     public String serialize(ValueTypeListProxyMaterialized<IValueType<IValue>, IValue> values) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
         StringBuilder sb = new StringBuilder();
+        IValueType<IValue> valueType = getSerializedValueType(values);
+        sb.append(valueType.getUnlocalizedName());
+        for (IValue value : values) {
+            sb.append(ELEMENT_DELIMITER);
+            sb.append(ValueHelpers.serializeRaw(value).replaceAll(ELEMENT_DELIMITER, ELEMENT_DELIMITER_ESCAPED));
+        }
+        return sb.toString();
+    }
+
+    protected IValueType<IValue> getSerializedValueType(ValueTypeListProxyMaterialized<IValueType<IValue>, IValue> values) {
         IValueType<IValue> valueType = values.getValueType();
         try {
             // Hack to avoid issue where categories are sometimes used to serialize/deserialize,
@@ -32,12 +45,7 @@ public class ValueTypeListProxyMaterializedFactory implements IValueTypeListProx
                 valueType = values.get(0).getType();
             }
         } catch (EvaluationException e) {}
-        sb.append(valueType.getUnlocalizedName());
-        for (IValue value : values) {
-            sb.append(ELEMENT_DELIMITER);
-            sb.append(ValueHelpers.serializeRaw(value).replaceAll(ELEMENT_DELIMITER, ELEMENT_DELIMITER_ESCAPED));
-        }
-        return sb.toString();
+        return valueType;
     }
 
     @Override
@@ -63,4 +71,36 @@ public class ValueTypeListProxyMaterializedFactory implements IValueTypeListProx
 
         return new ValueTypeListProxyMaterialized<>(valueType, builder.build());
     }
+
+    @Override
+    public NBTBase serializeNbt(ValueTypeListProxyMaterialized<IValueType<IValue>, IValue> values) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
+        NBTTagCompound tag = new NBTTagCompound();
+        tag.setString("valueType", getSerializedValueType(values).getUnlocalizedName());
+        NBTTagList list = new NBTTagList();
+        for (IValue value : values) {
+            list.appendTag(ValueHelpers.serializeRawNbt(value));
+        }
+        tag.setTag("values", list);
+        return tag;
+    }
+
+    @Override
+    public ValueTypeListProxyMaterialized<IValueType<IValue>, IValue> deserializeNbt(NBTBase value) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
+        if (!(value instanceof NBTTagCompound)) {
+            return IValueTypeListProxyFactoryTypeRegistry.IProxyFactory.super.deserializeNbt(value);
+        }
+        NBTTagCompound tag = (NBTTagCompound) value;
+        IValueType<IValue> valueType = ValueTypes.REGISTRY.getValueType(tag.getString("valueType"));
+        if (valueType == null) {
+            throw new IValueTypeListProxyFactoryTypeRegistry.SerializationException(String.format("Could not deserialize the serialized materialized list proxy value because the value type by name '%s' was not found.", tag.getString("valueType")));
+        }
+        ImmutableList.Builder<IValue> builder = ImmutableList.builder();
+        NBTBase list = tag.getTag("values");
+        if (list instanceof NBTTagList) {
+            for (int i = 0; i < ((NBTTagList) list).tagCount(); i++) {
+                builder.add(valueType.deserializeNbt(((NBTTagList) list).get(i)));
+            }
+        }
+        return new ValueTypeListProxyMaterialized<>(valueType, builder.build());
+    }
 }
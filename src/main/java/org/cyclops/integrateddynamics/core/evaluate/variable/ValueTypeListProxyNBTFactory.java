@@ -1,6 +1,7 @@
 package org.cyclops.integrateddynamics.core.evaluate.variable;
 
 import net.minecraft.nbt.JsonToNBT;
+import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTException;
 import net.minecraft.nbt.NBTTagCompound;
 import org.cyclops.cyclopscore.persist.nbt.INBTProvider;
@@ -55,4 +56,27 @@ public class ValueTypeListProxyNBTFactory<T extends IValueType<V>, V extends IVa
             throw new IValueTypeListProxyFactoryTypeRegistry.SerializationException(e.getMessage());
         }
     }
+
+    @Override
+    public NBTBase serializeNbt(P values) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
+        NBTTagCompound tag = new NBTTagCompound();
+        values.writeGeneratedFieldsToNBT(tag);
+        return tag;
+    }
+
+    @Override
+    public P deserializeNbt(NBTBase value) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
+        if (!(value instanceof NBTTagCompound)) {
+            return IValueTypeListProxyFactoryTypeRegistry.IProxyFactory.super.deserializeNbt(value);
+        }
+        try {
+            Constructor<P> constructor = getProxyClass().getConstructor();
+            P proxy = constructor.newInstance();
+            proxy.readGeneratedFieldsFromNBT((NBTTagCompound) value);
+            return proxy;
+        } catch (NoSuchMethodException | InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            e.printStackTrace();
+            throw new IValueTypeListProxyFactoryTypeRegistry.SerializationException(e.getMessage());
+        }
+    }
 }
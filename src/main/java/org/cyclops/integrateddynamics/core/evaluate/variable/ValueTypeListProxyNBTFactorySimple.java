@@ -1,6 +1,7 @@
 package org.cyclops.integrateddynamics.core.evaluate.variable;
 
 import net.minecraft.nbt.JsonToNBT;
+import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTException;
 import net.minecraft.nbt.NBTTagCompound;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
@@ -33,6 +34,26 @@ public abstract class ValueTypeListProxyNBTFactorySimple<T extends IValueType<V>
         }
     }
 
+    @Override
+    public NBTBase serializeNbt(P value) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
+        NBTTagCompound tag = new NBTTagCompound();
+        serializeNbt(value, tag);
+        return tag;
+    }
+
+    @Override
+    public P deserializeNbt(NBTBase value) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
+        if (!(value instanceof NBTTagCompound)) {
+            return IValueTypeListProxyFactoryTypeRegistry.IProxyFactory.super.deserializeNbt(value);
+        }
+        try {
+            return deserializeNbt((NBTTagCompound) value);
+        } catch (EvaluationException e) {
+            e.printStackTrace();
+            throw new IValueTypeListProxyFactoryTypeRegistry.SerializationException(e.getMessage());
+        }
+    }
+
     protected abstract void serializeNbt(P value, NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException;
     protected abstract P deserializeNbt(NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException, EvaluationException;
 }
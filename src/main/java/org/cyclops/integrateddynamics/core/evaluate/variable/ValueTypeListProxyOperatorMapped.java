@@ -13,11 +13,26 @@ public class ValueTypeListProxyOperatorMapped extends ValueTypeListProxyBase<IVa
 
     private final IOperator operator;
     private final IValueTypeListProxy listProxy;
+    private final int depth;
 
     public ValueTypeListProxyOperatorMapped(IOperator operator, IValueTypeListProxy listProxy) {
         super(ValueTypeListProxyFactories.MATERIALIZED.getName(), operator.getOutputType());
         this.operator = operator;
         this.listProxy = listProxy;
+        this.depth = ValueTypeListProxyVector.getDepth(listProxy) + 1;
+    }
+
+    public IOperator getOperator() {
+        return operator;
+    }
+
+    public IValueTypeListProxy getListProxy() {
+        return listProxy;
+    }
+
+    @Override
+    public int getDepth() {
+        return depth;
     }
 
     @Override
@@ -0,0 +1,337 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import lombok.Lombok;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxyFactoryTypeRegistry;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A list that lazily passes the elements of another list through a sequence of stages,
+ * such as mapping, filtering, slicing and deduplicating.
+ *
+ * Elements are only pulled from the source list when they are needed,
+ * so that taking the head of a filtered list stops at the first matching element.
+ * Stages that are applied to a pipeline are fused into a new pipeline over the same source list.
+ * @param <T> The value type type.
+ * @param <V> The value type.
+ */
+public class ValueTypeListProxyPipeline<T extends IValueType<V>, V extends IValue> extends ValueTypeListProxyBase<T, V> {
+
+    private final IValueTypeListProxy<IValueType<IValue>, IValue> source;
+    private final Stage[] stages;
+    // Stages are fused, so only the source list adds to the depth.
+    private final int depth;
+
+    private final List<V> elements = Lists.newArrayList();
+    private Iterator<IValue> sourceIterator = null;
+    private boolean done = false;
+    private int[] counters;
+    private Object[] seen;
+
+    protected ValueTypeListProxyPipeline(T valueType, IValueTypeListProxy<IValueType<IValue>, IValue> source, Stage[] stages) {
+        super(ValueTypeListProxyFactories.PIPELINE.getName(), valueType);
+        this.source = source;
+        this.stages = stages;
+        this.depth = ValueTypeListProxyVector.getDepth(source) + 1;
+    }
+
+    /**
+     * Create a list with the given stage applied to the given list.
+     * If the list is a pipeline, the stage will be fused into it.
+     * @param valueType The value type of the resulting elements.
+     * @param list The list.
+     * @param stage The stage to apply.
+     * @return The resulting list.
+     */
+    public static ValueTypeListProxyPipeline<IValueType<IValue>, IValue> of(IValueType<IValue> valueType,
+                                                                             IValueTypeListProxy list, Stage stage) {
+        IValueTypeListProxy<IValueType<IValue>, IValue> source = list;
+        Stage[] stages = new Stage[0];
+        if (list instanceof ValueTypeListProxyPipeline) {
+            source = ((ValueTypeListProxyPipeline) list).source;
+            stages = ((ValueTypeListProxyPipeline) list).stages;
+        } else if (list instanceof ValueTypeListProxyOperatorMapped) {
+            source = ((ValueTypeListProxyOperatorMapped) list).getListProxy();
+            stages = new Stage[]{Stage.map(((ValueTypeListProxyOperatorMapped) list).getOperator())};
+        }
+        stages = Arrays.copyOf(stages, stages.length + 1);
+        stages[stages.length - 1] = stage;
+        return new ValueTypeListProxyPipeline<>(valueType, source, stages);
+    }
+
+    /**
+     * Pull elements from the source list until the element at the given index is available.
+     * @param index An element index.
+     * @return If an element at the given index exists.
+     * @throws EvaluationException If a stage could not be applied.
+     */
+    protected synchronized boolean pull(int index) throws EvaluationException {
+        if (sourceIterator == null) {
+            sourceIterator = source.iterator();
+            counters = new int[stages.length];
+            seen = new Object[stages.length];
+        }
+        while (elements.size() <= index && !done) {
+            if (!sourceIterator.hasNext()) {
+                done = true;
+                break;
+            }
+            IValue value = apply(sourceIterator.next());
+            if (value != null) {
+                elements.add((V) value);
+            }
+        }
+        return index < elements.size();
+    }
+
+    /**
+     * Pass a source element through all stages.
+     * @param value A source element.
+     * @return The resulting element, or null if it was dropped by a stage.
+     * @throws EvaluationException If a stage could not be applied.
+     */
+    @SuppressWarnings("unchecked")
+    protected IValue apply(IValue value) throws EvaluationException {
+        for (int i = 0; i < stages.length; i++) {
+            Stage stage = stages[i];
+            switch (stage.type) {
+                case MAP:
+                    value = ValueHelpers.evaluateOperator(stage.operator, value);
+                    break;
+                case FILTER:
+                    IValue result = ValueHelpers.evaluateOperator(stage.operator, value);
+                    ValueHelpers.validatePredicateOutput(stage.operator, result);
+                    if (!((ValueTypeBoolean.ValueBoolean) result).getRawValue()) {
+                        return null;
+                    }
+                    break;
+                case SKIP:
+                    if (counters[i] < stage.count) {
+                        counters[i]++;
+                        return null;
+                    }
+                    break;
+                case LIMIT:
+                    if (counters[i] >= stage.count) {
+                        // No element can pass this stage anymore.
+                        done = true;
+                        return null;
+                    }
+                    if (++counters[i] >= stage.count) {
+                        // This is the last element that can pass this stage.
+                        done = true;
+                    }
+                    break;
+                case UNIQ:
+                    if (seen[i] == null) {
+                        seen[i] = Sets.newHashSet();
+                    }
+                    if (!((Set<IValue>) seen[i]).add(value)) {
+                        return null;
+                    }
+                    break;
+                case UNIQ_PREDICATE:
+                    if (seen[i] == null) {
+                        seen[i] = Lists.newArrayList();
+                    }
+                    for (IValue existing : (List<IValue>) seen[i]) {
+                        IValue equal = stage.operator.evaluate(value, existing);
+                        ValueHelpers.validatePredicateOutput(stage.operator, equal);
+                        if (((ValueTypeBoolean.ValueBoolean) equal).getRawValue()) {
+                            return null;
+                        }
+                    }
+                    ((List<IValue>) seen[i]).add(value);
+                    break;
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public int getLength() throws EvaluationException {
+        if (isInfinite()) {
+            return Integer.MAX_VALUE;
+        }
+        pull(Integer.MAX_VALUE);
+        synchronized (this) {
+            return elements.size();
+        }
+    }
+
+    @Override
+    public V get(int index) throws EvaluationException {
+        if (index >= 0 && pull(index)) {
+            synchronized (this) {
+                return elements.get(index);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasElementAt(int index) throws EvaluationException {
+        return index >= 0 && pull(index);
+    }
+
+    @Override
+    public int getDepth() {
+        return depth;
+    }
+
+    @Override
+    public boolean isInfinite() {
+        if (!source.isInfinite()) {
+            return false;
+        }
+        for (Stage stage : stages) {
+            if (stage.type == StageType.LIMIT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    return pull(index);
+                } catch (EvaluationException e) {
+                    throw Lombok.sneakyThrow(e);
+                }
+            }
+
+            @Override
+            public V next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                synchronized (ValueTypeListProxyPipeline.this) {
+                    return elements.get(index++);
+                }
+            }
+        };
+    }
+
+    public static enum StageType {
+        MAP,
+        FILTER,
+        SKIP,
+        LIMIT,
+        UNIQ,
+        UNIQ_PREDICATE
+    }
+
+    /**
+     * A step in a pipeline.
+     */
+    public static class Stage {
+
+        private final StageType type;
+        private final IOperator operator;
+        private final int count;
+
+        protected Stage(StageType type, IOperator operator, int count) {
+            this.type = type;
+            this.operator = operator;
+            this.count = count;
+        }
+
+        public static Stage map(IOperator operator) {
+            return new Stage(StageType.MAP, operator, 0);
+        }
+
+        public static Stage filter(IOperator predicate) {
+            return new Stage(StageType.FILTER, predicate, 0);
+        }
+
+        public static Stage skip(int count) {
+            return new Stage(StageType.SKIP, null, count);
+        }
+
+        public static Stage limit(int count) {
+            return new Stage(StageType.LIMIT, null, count);
+        }
+
+        public static Stage uniq() {
+            return new Stage(StageType.UNIQ, null, 0);
+        }
+
+        public static Stage uniq(IOperator predicate) {
+            return new Stage(StageType.UNIQ_PREDICATE, predicate, 0);
+        }
+
+        public StageType getType() {
+            return type;
+        }
+    }
+
+    public static class Factory extends ValueTypeListProxyNBTFactorySimple<IValueType<IValue>, IValue, ValueTypeListProxyPipeline<IValueType<IValue>, IValue>> {
+
+        @Override
+        public String getName() {
+            return "pipeline";
+        }
+
+        @Override
+        protected void serializeNbt(ValueTypeListProxyPipeline<IValueType<IValue>, IValue> value, NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
+            tag.setString("valueType", value.getValueType().getUnlocalizedName());
+            tag.setTag("source", ValueTypeListProxyFactories.REGISTRY.serializeNbt(value.source));
+            NBTTagList list = new NBTTagList();
+            for (Stage stage : value.stages) {
+                NBTTagCompound stageTag = new NBTTagCompound();
+                stageTag.setString("type", stage.type.name());
+                if (stage.operator != null) {
+                    stageTag.setTag("operator", Operators.REGISTRY.serializeNbt(stage.operator));
+                }
+                stageTag.setInteger("count", stage.count);
+                list.appendTag(stageTag);
+            }
+            tag.setTag("stages", list);
+        }
+
+        @Override
+        protected ValueTypeListProxyPipeline<IValueType<IValue>, IValue> deserializeNbt(NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException, EvaluationException {
+            IValueType<IValue> valueType = ValueTypes.REGISTRY.getValueType(tag.getString("valueType"));
+            if (valueType == null) {
+                throw new IValueTypeListProxyFactoryTypeRegistry.SerializationException(String.format("Could not deserialize the serialized pipeline list proxy value because the value type by name '%s' was not found.", tag.getString("valueType")));
+            }
+            IValueTypeListProxy<IValueType<IValue>, IValue> source = ValueTypeListProxyFactories.REGISTRY.deserializeNbt(tag.getTag("source"));
+            NBTTagList list = tag.getTagList("stages", MinecraftHelpers.NBTTag_Types.NBTTagCompound.ordinal());
+            Stage[] stages = new Stage[list.tagCount()];
+            for (int i = 0; i < list.tagCount(); i++) {
+                NBTTagCompound stageTag = list.getCompoundTagAt(i);
+                StageType type;
+                try {
+                    type = StageType.valueOf(stageTag.getString("type"));
+                } catch (IllegalArgumentException e) {
+                    throw new IValueTypeListProxyFactoryTypeRegistry.SerializationException(String.format("Could not deserialize the pipeline stage type '%s'.", stageTag.getString("type")));
+                }
+                IOperator operator = stageTag.hasKey("operator") ? Operators.REGISTRY.deserializeNbt(stageTag.getTag("operator")) : null;
+                stages[i] = new Stage(type, operator, stageTag.getInteger("count"));
+            }
+            return new ValueTypeListProxyPipeline<>(valueType, source, stages);
+        }
+    }
+}
@@ -17,12 +17,19 @@ public class ValueTypeListProxySlice<T extends IValueType<V>, V extends IValue>
     private final IValueTypeListProxy<T, V> list;
     private final int from;
     private final int to;
+    private final int depth;
 
     public ValueTypeListProxySlice(IValueTypeListProxy<T, V> list, int from, int to) {
         super(ValueTypeListProxyFactories.SLICE.getName(), list.getValueType());
         this.list = list;
         this.from = from;
         this.to = to;
+        this.depth = ValueTypeListProxyVector.getDepth(list) + 1;
+    }
+
+    @Override
+    public int getDepth() {
+        return depth;
     }
 
     @Override
@@ -38,6 +45,11 @@ public class ValueTypeListProxySlice<T extends IValueType<V>, V extends IValue>
         return null;
     }
 
+    @Override
+    public boolean isImmutable() {
+        return isImmutable(list);
+    }
+
     public static class Factory extends ValueTypeListProxyNBTFactorySimple<IValueType<IValue>, IValue, ValueTypeListProxySlice<IValueType<IValue>, IValue>> {
 
         @Override
@@ -47,14 +59,14 @@ public class ValueTypeListProxySlice<T extends IValueType<V>, V extends IValue>
 
         @Override
         protected void serializeNbt(ValueTypeListProxySlice<IValueType<IValue>, IValue> value, NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
-            tag.setString("sublist", ValueTypeListProxyFactories.REGISTRY.serialize(value.list));
+            tag.setTag("sublist", ValueTypeListProxyFactories.REGISTRY.serializeNbt(value.list));
             tag.setInteger("from", value.from);
             tag.setInteger("to", value.to);
         }
 
         @Override
         protected ValueTypeListProxySlice<IValueType<IValue>, IValue> deserializeNbt(NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
-            IValueTypeListProxy<IValueType<IValue>, IValue> list = ValueTypeListProxyFactories.REGISTRY.deserialize(tag.getString("sublist"));
+            IValueTypeListProxy<IValueType<IValue>, IValue> list = ValueTypeListProxyFactories.REGISTRY.deserializeNbt(tag.getTag("sublist"));
             return new ValueTypeListProxySlice<>(list, tag.getInteger("from"), tag.getInteger("to"));
         }
     }
@@ -15,10 +15,17 @@ import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxyF
 public class ValueTypeListProxyTail<T extends IValueType<V>, V extends IValue> extends ValueTypeListProxyBase<T, V> {
 
     private final IValueTypeListProxy<T, V> list;
+    private final int depth;
 
     public ValueTypeListProxyTail(IValueTypeListProxy<T, V> list) {
         super(ValueTypeListProxyFactories.TAIL.getName(), list.getValueType());
         this.list = list;
+        this.depth = ValueTypeListProxyVector.getDepth(list) + 1;
+    }
+
+    @Override
+    public int getDepth() {
+        return depth;
     }
 
     @Override
@@ -35,6 +42,11 @@ public class ValueTypeListProxyTail<T extends IValueType<V>, V extends IValue> e
         return null;
     }
 
+    @Override
+    public boolean isImmutable() {
+        return isImmutable(list);
+    }
+
     public static class Factory extends ValueTypeListProxyNBTFactorySimple<IValueType<IValue>, IValue, ValueTypeListProxyTail<IValueType<IValue>, IValue>> {
 
         @Override
@@ -44,12 +56,12 @@ public class ValueTypeListProxyTail<T extends IValueType<V>, V extends IValue> e
 
         @Override
         protected void serializeNbt(ValueTypeListProxyTail<IValueType<IValue>, IValue> value, NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
-            tag.setString("sublist", ValueTypeListProxyFactories.REGISTRY.serialize(value.list));
+            tag.setTag("sublist", ValueTypeListProxyFactories.REGISTRY.serializeNbt(value.list));
         }
 
         @Override
         protected ValueTypeListProxyTail<IValueType<IValue>, IValue> deserializeNbt(NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException, EvaluationException {
-            IValueTypeListProxy<IValueType<IValue>, IValue> list = ValueTypeListProxyFactories.REGISTRY.deserialize(tag.getString("sublist"));
+            IValueTypeListProxy<IValueType<IValue>, IValue> list = ValueTypeListProxyFactories.REGISTRY.deserializeNbt(tag.getTag("sublist"));
             return new ValueTypeListProxyTail<>(list);
         }
     }
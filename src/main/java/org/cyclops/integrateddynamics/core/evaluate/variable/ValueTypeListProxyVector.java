@@ -0,0 +1,375 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxyFactoryTypeRegistry;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A persistent list that stores its elements in chunks at the leaves of a balanced tree.
+ *
+ * Appending, concatenating, slicing and getting elements take logarithmic time,
+ * and share all unchanged parts of the tree with the original list.
+ * Chains of append, concat, tail and slice lists are flattened into this list once they become deeper
+ * than {@link GeneralConfig#listProxyMaxDepth}.
+ * @param <T> The value type type.
+ * @param <V> The value type.
+ */
+public class ValueTypeListProxyVector<T extends IValueType<V>, V extends IValue> extends ValueTypeListProxyBase<T, V> {
+
+    protected static final int CHUNK_SIZE = 32;
+
+    private final Node root;
+    // Null if it was not determined yet.
+    private Boolean immutable = null;
+
+    protected ValueTypeListProxyVector(T valueType, Node root) {
+        super(ValueTypeListProxyFactories.VECTOR.getName(), valueType);
+        this.root = root;
+    }
+
+    /**
+     * Create a vector with the elements of the given finite list.
+     * @param list A list.
+     * @param <T> The value type type.
+     * @param <V> The value type.
+     * @return The vector.
+     * @throws EvaluationException If the list is infinite or could not be iterated.
+     */
+    public static <T extends IValueType<V>, V extends IValue> ValueTypeListProxyVector<T, V> of(IValueTypeListProxy<T, V> list) throws EvaluationException {
+        if (list instanceof ValueTypeListProxyVector) {
+            return (ValueTypeListProxyVector<T, V>) list;
+        }
+        if (list.isInfinite()) {
+            throw new EvaluationException("Infinite lists can not be converted to a vector.");
+        }
+        IValue[] elements = new IValue[list.getLength()];
+        int i = 0;
+        for (V value : list) {
+            elements[i++] = value;
+        }
+        return new ValueTypeListProxyVector<>(list.getValueType(), Node.of(elements));
+    }
+
+    /**
+     * @param list A list.
+     * @return The number of nested append, concat, tail, slice, mapped and pipeline lists in the given list.
+     */
+    public static int getDepth(IValueTypeListProxy<?, ?> list) {
+        return list instanceof ValueTypeListProxyBase ? ((ValueTypeListProxyBase<?, ?>) list).getDepth() : 0;
+    }
+
+    /**
+     * @param list A list.
+     * @return If the given list should be flattened into a vector before nesting it further.
+     */
+    public static boolean shouldFlatten(IValueTypeListProxy<?, ?> list) {
+        return list instanceof ValueTypeListProxyVector
+                || (!list.isInfinite() && getDepth(list) >= GeneralConfig.listProxyMaxDepth);
+    }
+
+    /**
+     * @param value A value.
+     * @return A new vector with the given value appended.
+     */
+    public ValueTypeListProxyVector<T, V> append(V value) {
+        ValueTypeListProxyVector<T, V> vector = new ValueTypeListProxyVector<>(getValueType(), Node.append(root, value));
+        if (this.immutable != null) {
+            vector.immutable = this.immutable && isImmutable(value);
+        }
+        return vector;
+    }
+
+    /**
+     * @param list A vector.
+     * @return A new vector with the given vector appended.
+     */
+    public ValueTypeListProxyVector<T, V> concat(ValueTypeListProxyVector<T, V> list) {
+        ValueTypeListProxyVector<T, V> vector = new ValueTypeListProxyVector<>(getValueType(), Node.join(root, list.root));
+        if (this.immutable != null && list.immutable != null) {
+            vector.immutable = this.immutable && list.immutable;
+        }
+        return vector;
+    }
+
+    /**
+     * @param from The start index, inclusive.
+     * @param to The end index, exclusive.
+     * @return A new vector with the elements between the given indexes.
+     */
+    public ValueTypeListProxyVector<T, V> slice(int from, int to) {
+        from = Math.max(0, Math.min(from, root.size));
+        to = Math.max(from, Math.min(to, root.size));
+        Node node = Node.split(Node.split(root, to)[0], from)[1];
+        ValueTypeListProxyVector<T, V> vector = new ValueTypeListProxyVector<>(getValueType(), node);
+        if (Boolean.TRUE.equals(this.immutable)) {
+            vector.immutable = true;
+        }
+        return vector;
+    }
+
+    @Override
+    public int getLength() {
+        return root.size;
+    }
+
+    @Override
+    public boolean isImmutable() {
+        Boolean immutable = this.immutable;
+        if (immutable == null) {
+            immutable = areImmutable(this);
+            this.immutable = immutable;
+        }
+        return immutable;
+    }
+
+    @Override
+    public V get(int index) {
+        if (index < 0 || index >= root.size) {
+            return null;
+        }
+        Node node = root;
+        while (node.elements == null) {
+            if (index < node.left.size) {
+                node = node.left;
+            } else {
+                index -= node.left.size;
+                node = node.right;
+            }
+        }
+        return (V) node.elements[index];
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+
+            private final Deque<Node> stack = new ArrayDeque<>();
+            private IValue[] elements = null;
+            private int index = 0;
+
+            {
+                stack.push(root);
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (elements == null || index >= elements.length) {
+                    if (stack.isEmpty()) {
+                        return false;
+                    }
+                    Node node = stack.pop();
+                    if (node.elements == null) {
+                        stack.push(node.right);
+                        stack.push(node.left);
+                    } else {
+                        elements = node.elements;
+                        index = 0;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public V next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (V) elements[index++];
+            }
+        };
+    }
+
+    /**
+     * An immutable node in the tree, which either holds a chunk of elements, or two child nodes.
+     */
+    protected static final class Node {
+
+        private static final Node EMPTY = new Node(new IValue[0]);
+
+        private final IValue[] elements;
+        private final Node left;
+        private final Node right;
+        private final int size;
+        private final int height;
+
+        private Node(IValue[] elements) {
+            this.elements = elements;
+            this.left = null;
+            this.right = null;
+            this.size = elements.length;
+            this.height = 0;
+        }
+
+        private Node(Node left, Node right) {
+            this.elements = null;
+            this.left = left;
+            this.right = right;
+            this.size = left.size + right.size;
+            this.height = Math.max(left.height, right.height) + 1;
+        }
+
+        /**
+         * Build a balanced tree over the given elements.
+         * @param elements The elements, which will not be modified afterwards.
+         * @return The root node.
+         */
+        protected static Node of(IValue[] elements) {
+            if (elements.length <= CHUNK_SIZE) {
+                return elements.length == 0 ? EMPTY : new Node(elements);
+            }
+            return of(elements, 0, (elements.length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        }
+
+        private static Node of(IValue[] elements, int fromChunk, int toChunk) {
+            if (toChunk - fromChunk == 1) {
+                int from = fromChunk * CHUNK_SIZE;
+                return new Node(Arrays.copyOfRange(elements, from, Math.min(elements.length, from + CHUNK_SIZE)));
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            return new Node(of(elements, fromChunk, middle), of(elements, middle, toChunk));
+        }
+
+        /**
+         * Append a value by copying the path to the last chunk.
+         * @param node A node.
+         * @param value A value.
+         * @return The new node.
+         */
+        protected static Node append(Node node, IValue value) {
+            if (node.elements != null) {
+                if (node.elements.length < CHUNK_SIZE) {
+                    IValue[] elements = Arrays.copyOf(node.elements, node.elements.length + 1);
+                    elements[node.elements.length] = value;
+                    return new Node(elements);
+                }
+                return new Node(node, new Node(new IValue[]{value}));
+            }
+            return balance(node.left, append(node.right, value));
+        }
+
+        /**
+         * Concatenate two trees, descending along the spine of the highest tree.
+         * @param left The left node.
+         * @param right The right node.
+         * @return The new node.
+         */
+        protected static Node join(Node left, Node right) {
+            if (left.size == 0) {
+                return right;
+            }
+            if (right.size == 0) {
+                return left;
+            }
+            if (left.elements != null && right.elements != null && left.size + right.size <= CHUNK_SIZE) {
+                IValue[] elements = Arrays.copyOf(left.elements, left.size + right.size);
+                System.arraycopy(right.elements, 0, elements, left.size, right.size);
+                return new Node(elements);
+            }
+            if (left.height > right.height + 1) {
+                return balance(left.left, join(left.right, right));
+            }
+            if (right.height > left.height + 1) {
+                return balance(join(left, right.left), right.right);
+            }
+            return new Node(left, right);
+        }
+
+        /**
+         * Split a tree at the given index.
+         * @param node A node.
+         * @param index An index between zero and the node size, inclusive.
+         * @return The node before the index and the node starting at the index.
+         */
+        protected static Node[] split(Node node, int index) {
+            if (index <= 0) {
+                return new Node[]{EMPTY, node};
+            }
+            if (index >= node.size) {
+                return new Node[]{node, EMPTY};
+            }
+            if (node.elements != null) {
+                return new Node[]{
+                        new Node(Arrays.copyOfRange(node.elements, 0, index)),
+                        new Node(Arrays.copyOfRange(node.elements, index, node.size))
+                };
+            }
+            if (index < node.left.size) {
+                Node[] parts = split(node.left, index);
+                return new Node[]{parts[0], join(parts[1], node.right)};
+            }
+            Node[] parts = split(node.right, index - node.left.size);
+            return new Node[]{join(node.left, parts[0]), parts[1]};
+        }
+
+        /**
+         * Create a node with the given children, which may differ at most two in height,
+         * and rotate it if they differ more than one.
+         * @param left The left node.
+         * @param right The right node.
+         * @return The balanced node.
+         */
+        private static Node balance(Node left, Node right) {
+            if (left.height > right.height + 1) {
+                if (left.left.height >= left.right.height) {
+                    return new Node(left.left, new Node(left.right, right));
+                }
+                return new Node(new Node(left.left, left.right.left), new Node(left.right.right, right));
+            }
+            if (right.height > left.height + 1) {
+                if (right.right.height >= right.left.height) {
+                    return new Node(new Node(left, right.left), right.right);
+                }
+                return new Node(new Node(left, right.left.left), new Node(right.left.right, right.right));
+            }
+            return new Node(left, right);
+        }
+    }
+
+    public static class Factory extends ValueTypeListProxyNBTFactorySimple<IValueType<IValue>, IValue, ValueTypeListProxyVector<IValueType<IValue>, IValue>> {
+
+        @Override
+        public String getName() {
+            return "vector";
+        }
+
+        @Override
+        protected void serializeNbt(ValueTypeListProxyVector<IValueType<IValue>, IValue> value, NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
+            IValueType<IValue> valueType = value.getValueType();
+            // Categories can not be deserialized, so use the type of the elements instead.
+            if (valueType.isCategory() && value.getLength() > 0) {
+                valueType = value.get(0).getType();
+            }
+            tag.setString("valueType", valueType.getUnlocalizedName());
+            NBTTagList list = new NBTTagList();
+            for (IValue element : value) {
+                list.appendTag(ValueHelpers.serializeRawNbt(element));
+            }
+            tag.setTag("values", list);
+        }
+
+        @Override
+        protected ValueTypeListProxyVector<IValueType<IValue>, IValue> deserializeNbt(NBTTagCompound tag) throws IValueTypeListProxyFactoryTypeRegistry.SerializationException {
+            IValueType<IValue> valueType = ValueTypes.REGISTRY.getValueType(tag.getString("valueType"));
+            if (valueType == null) {
+                throw new IValueTypeListProxyFactoryTypeRegistry.SerializationException(String.format("Could not deserialize the serialized vector list proxy value because the value type by name '%s' was not found.", tag.getString("valueType")));
+            }
+            NBTTagList list = tag.getTag("values") instanceof NBTTagList ? (NBTTagList) tag.getTag("values") : new NBTTagList();
+            IValue[] elements = new IValue[list.tagCount()];
+            for (int i = 0; i < list.tagCount(); i++) {
+                elements[i] = valueType.deserializeNbt(list.get(i));
+            }
+            return new ValueTypeListProxyVector<>(valueType, Node.of(elements));
+        }
+    }
+}
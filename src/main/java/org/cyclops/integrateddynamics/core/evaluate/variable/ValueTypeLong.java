@@ -1,6 +1,9 @@
 package org.cyclops.integrateddynamics.core.evaluate.variable;
 
 import lombok.ToString;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTPrimitive;
+import net.minecraft.nbt.NBTTagLong;
 import net.minecraft.util.text.TextFormatting;
 import org.cyclops.cyclopscore.helper.Helpers;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeNumber;
@@ -35,6 +38,19 @@ public class ValueTypeLong extends ValueTypeBase<ValueTypeLong.ValueLong> implem
         return ValueLong.of(Long.parseLong(value));
     }
 
+    @Override
+    public NBTBase serializeNbt(ValueLong value) {
+        return new NBTTagLong(value.getRawValue());
+    }
+
+    @Override
+    public ValueLong deserializeNbt(NBTBase value) {
+        if (value instanceof NBTPrimitive) {
+            return ValueLong.of(((NBTPrimitive) value).getLong());
+        }
+        return super.deserializeNbt(value);
+    }
+
     @Override
     public boolean isZero(ValueLong a) {
         return a.getRawValue() == 0L;
@@ -108,6 +124,15 @@ public class ValueTypeLong extends ValueTypeBase<ValueTypeLong.ValueLong> implem
     @ToString
     public static class ValueLong extends ValueBase {
 
+        private static final int CACHE_LOW = -128;
+        private static final int CACHE_HIGH = 1024;
+        private static final ValueLong[] CACHE = new ValueLong[CACHE_HIGH - CACHE_LOW];
+        static {
+            for (int i = 0; i < CACHE.length; i++) {
+                CACHE[i] = new ValueLong(CACHE_LOW + i);
+            }
+        }
+
         private final long value;
 
         private ValueLong(long value) {
@@ -116,6 +141,9 @@ public class ValueTypeLong extends ValueTypeBase<ValueTypeLong.ValueLong> implem
         }
 
         public static ValueLong of(long value) {
+            if (value >= CACHE_LOW && value < CACHE_HIGH) {
+                return CACHE[(int) value - CACHE_LOW];
+            }
             return new ValueLong(value);
         }
 
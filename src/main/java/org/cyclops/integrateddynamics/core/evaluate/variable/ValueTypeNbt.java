@@ -3,6 +3,7 @@ package org.cyclops.integrateddynamics.core.evaluate.variable;
 import com.google.common.collect.Sets;
 import lombok.ToString;
 import net.minecraft.nbt.JsonToNBT;
+import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTException;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.text.TextFormatting;
@@ -49,6 +50,19 @@ public class ValueTypeNbt extends ValueTypeBase<ValueTypeNbt.ValueNbt> implement
         }
     }
 
+    @Override
+    public NBTBase serializeNbt(ValueNbt value) {
+        return isNull(value) ? new NBTTagCompound() : value.getRawValue().copy();
+    }
+
+    @Override
+    public ValueNbt deserializeNbt(NBTBase value) {
+        if (value instanceof NBTTagCompound) {
+            return ValueNbt.of(((NBTTagCompound) value).copy());
+        }
+        return super.deserializeNbt(value);
+    }
+
     @Override
     public boolean isNull(ValueNbt a) {
         return a.getRawValue().getSize() == 0;
@@ -2,6 +2,7 @@ package org.cyclops.integrateddynamics.core.evaluate.variable;
 
 import com.google.common.collect.Lists;
 import lombok.ToString;
+import net.minecraft.nbt.NBTBase;
 import net.minecraft.util.text.TextFormatting;
 import org.apache.commons.lang3.StringUtils;
 import org.cyclops.cyclopscore.helper.Helpers;
@@ -61,6 +62,25 @@ public class ValueTypeOperator extends ValueTypeBase<ValueTypeOperator.ValueOper
         throw new IllegalArgumentException(String.format("Value \"%s\" could not be parsed to an operator.", value));
     }
 
+    @Override
+    public NBTBase serializeNbt(ValueOperator value) {
+        return Operators.REGISTRY.serializeNbt(value.getRawValue());
+    }
+
+    @Override
+    public ValueOperator deserializeNbt(NBTBase value) {
+        IOperator operator;
+        try {
+            operator = Operators.REGISTRY.deserializeNbt(value);
+        } catch (EvaluationException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+        if (operator != null) {
+            return ValueOperator.of(operator);
+        }
+        throw new IllegalArgumentException(String.format("Value \"%s\" could not be parsed to an operator.", value));
+    }
+
     @Override
     public void loadTooltip(List<String> lines, boolean appendOptionalInfo, @Nullable ValueOperator value) {
         super.loadTooltip(lines, appendOptionalInfo, value);
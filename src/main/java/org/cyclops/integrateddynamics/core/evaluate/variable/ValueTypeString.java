@@ -1,9 +1,11 @@
 package org.cyclops.integrateddynamics.core.evaluate.variable;
 
-import lombok.ToString;
 import net.minecraft.util.text.TextFormatting;
 import org.cyclops.cyclopscore.helper.Helpers;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 /**
  * Value type with values that are strings.
  * @author rubensworks
@@ -34,32 +36,107 @@ public class ValueTypeString extends ValueTypeBase<ValueTypeString.ValueString>
         return ValueString.of(value);
     }
 
-    @ToString
+    /**
+     * A string value.
+     * Concatenations are kept as a tree of their parts until the raw value is needed,
+     * so that chained concatenations only copy each character once.
+     */
     public static class ValueString extends ValueBase {
 
-        private final String value;
+        private volatile String value;
+        private volatile ValueString left;
+        private volatile ValueString right;
+        private final int length;
 
         private ValueString(String value) {
             super(ValueTypes.STRING);
             this.value = value;
+            this.length = value.length();
+        }
+
+        private ValueString(ValueString left, ValueString right) {
+            super(ValueTypes.STRING);
+            this.left = left;
+            this.right = right;
+            this.length = left.length + right.length;
         }
 
         public static ValueString of(String value) {
             return new ValueString(value);
         }
 
+        /**
+         * Concatenate two string values without copying them.
+         * @param left The first string value.
+         * @param right The second string value.
+         * @return The concatenated string value.
+         */
+        public static ValueString concat(ValueString left, ValueString right) {
+            if (right.length == 0) {
+                return left;
+            }
+            if (left.length == 0) {
+                return right;
+            }
+            return new ValueString(left, right);
+        }
+
         public String getRawValue() {
+            String value = this.value;
+            if (value == null) {
+                synchronized (this) {
+                    value = this.value;
+                    if (value == null) {
+                        value = flatten();
+                        this.value = value;
+                        this.left = null;
+                        this.right = null;
+                    }
+                }
+            }
             return value;
         }
 
+        /**
+         * @return The length of the string value, without flattening concatenations.
+         */
+        public int getLength() {
+            return length;
+        }
+
+        protected String flatten() {
+            StringBuilder sb = new StringBuilder(length);
+            Deque<ValueString> parts = new ArrayDeque<>();
+            parts.push(this);
+            while (!parts.isEmpty()) {
+                ValueString part = parts.pop();
+                // Read the parts before the value, as they are cleared after the value is set.
+                ValueString left = part.left;
+                ValueString right = part.right;
+                String value = part.value;
+                if (value != null) {
+                    sb.append(value);
+                } else {
+                    parts.push(right);
+                    parts.push(left);
+                }
+            }
+            return sb.toString();
+        }
+
         @Override
         public boolean equals(Object o) {
-            return o instanceof ValueString && ((ValueString) o).value.equals(this.value);
+            return o instanceof ValueString && ((ValueString) o).getRawValue().equals(this.getRawValue());
         }
 
         @Override
         public int hashCode() {
-            return getType().hashCode() + value.hashCode();
+            return getType().hashCode() + getRawValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ValueTypeString.ValueString(value=" + getRawValue() + ")";
         }
     }
 
@@ -24,10 +24,13 @@ import org.cyclops.integrateddynamics.api.network.INetworkElementProvider;
 import org.cyclops.integrateddynamics.api.part.IPartContainer;
 import org.cyclops.integrateddynamics.api.part.IPartType;
 import org.cyclops.integrateddynamics.api.path.IPathElement;
+import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
 import org.cyclops.integrateddynamics.capability.cable.CableConfig;
 import org.cyclops.integrateddynamics.capability.cable.CableFakeableConfig;
 import org.cyclops.integrateddynamics.capability.facadeable.FacadeableConfig;
 import org.cyclops.integrateddynamics.capability.path.PathElementConfig;
+import org.cyclops.integrateddynamics.capability.path.SidedPathElement;
+import org.cyclops.integrateddynamics.core.network.NetworkTopology;
 import org.cyclops.integrateddynamics.core.network.event.NetworkInitializedEvent;
 import org.cyclops.integrateddynamics.item.ItemBlockCable;
 
@@ -186,9 +189,11 @@ public class CableHelpers {
                 sidesToUpdate.add(cableConnectionHit);
                 CableHelpers.updateConnectionsNeighbours(world, pos, sidesToUpdate);
 
-                // Reinit the networks for this block and the disconnected neighbour.
-                NetworkHelpers.initNetwork(world, pos, side);
-                NetworkHelpers.initNetwork(world, pos.offset(cableConnectionHit), side.getOpposite());
+                // Split the networks for this block and the disconnected neighbour if they are not connected anymore.
+                List<ISidedPathElement> heads = Lists.newArrayList();
+                addSidedPathElement(heads, world, pos, side);
+                addSidedPathElement(heads, world, pos.offset(cableConnectionHit), side.getOpposite());
+                NetworkTopology.onPathElementsDisconnected(heads);
                 return true;
             } else if (cableConnectionHit == null) {
                 // Reconnect cable side
@@ -208,9 +213,8 @@ public class CableHelpers {
                     sidesToUpdate.add(side);
                     CableHelpers.updateConnectionsNeighbours(world, pos, sidesToUpdate);
 
-                    // Reinit the networks for this block and the connected neighbour.
-                    NetworkHelpers.initNetwork(world, pos, side);
-                    NetworkHelpers.initNetwork(world, neighbourPos, side.getOpposite());
+                    // Merge the networks for this block and the connected neighbour.
+                    NetworkTopology.onPathElementConnected(world, pos, side);
                 }
                 return true;
             }
@@ -229,7 +233,7 @@ public class CableHelpers {
     public static void onCableAdded(World world, BlockPos pos) {
         CableHelpers.updateConnectionsNeighbours(world, pos, CableHelpers.ALL_SIDES);
         if(!world.isRemote) {
-            INetwork network = NetworkHelpers.initNetwork(world, pos, null);
+            INetwork network = NetworkTopology.onPathElementConnected(world, pos, null);
             MinecraftForge.EVENT_BUS.post(new NetworkInitializedEvent(network, world, pos, null));
         }
     }
@@ -296,11 +300,12 @@ public class CableHelpers {
     public static boolean onCableRemoved(World world, BlockPos pos, Collection<EnumFacing> sides) {
         updateConnectionsNeighbours(world, pos, sides);
         if (!world.isRemote) {
-            // Reinit neighbouring networks.
+            // Split neighbouring networks if they are not connected anymore.
+            List<ISidedPathElement> heads = Lists.newArrayList();
             for(EnumFacing side : sides) {
-                BlockPos sidePos = pos.offset(side);
-                NetworkHelpers.initNetwork(world, sidePos, side.getOpposite());
+                addSidedPathElement(heads, world, pos.offset(side), side.getOpposite());
             }
+            NetworkTopology.onPathElementsDisconnected(heads);
         }
         return true;
     }
@@ -338,6 +343,21 @@ public class CableHelpers {
         ItemBlockCable.playBreakSound(world, pos, blockState);
     }
 
+    /**
+     * Add the path element at the given position to the given list, if it exists.
+     * @param pathElements The list to add to.
+     * @param world The world.
+     * @param pos The position.
+     * @param side The side.
+     */
+    protected static void addSidedPathElement(List<ISidedPathElement> pathElements, World world, BlockPos pos,
+                                              @Nullable EnumFacing side) {
+        IPathElement pathElement = getPathElement(world, pos, side);
+        if (pathElement != null) {
+            pathElements.add(SidedPathElement.of(pathElement, side));
+        }
+    }
+
     /**
      * Check if the target has a facade.
      * @param world The world.
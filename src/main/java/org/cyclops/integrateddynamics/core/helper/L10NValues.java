@@ -79,6 +79,8 @@ public class L10NValues {
     public static final String OPERATOR_TOOLTIP_VARIABLEIDS = "operator." + NS + ".tooltip.variable_ids";
     public static final String OPERATOR_ERROR_VARIABLENOTINNETWORK = "operator." + NS + ".error.variable_not_in_network";
     public static final String OPERATOR_ERROR_CYCLICREFERENCE = "operator." + NS + ".error.cyclic_reference";
+    // 0: variable-id, 1: applications, 2: duration-ms
+    public static final String OPERATOR_ERROR_EVALUATIONBUDGET = "operator." + NS + ".error.evaluation_budget";
     // 0: operator, 1: given-length, 2: actual-length
     public static final String OPERATOR_ERROR_WRONGINPUTLENGTH = "operator." + NS + ".error.wrong_input_length";
     public static final String OPERATOR_ERROR_NULLTYPE = "operator." + NS + ".error.null_type";
@@ -22,7 +22,11 @@ import org.cyclops.integrateddynamics.capability.network.PartNetworkConfig;
 import org.cyclops.integrateddynamics.capability.networkelementprovider.NetworkElementProviderConfig;
 import org.cyclops.integrateddynamics.capability.path.PathElementConfig;
 import org.cyclops.integrateddynamics.capability.path.SidedPathElement;
+import org.cyclops.integrateddynamics.core.NetworkLoader;
 import org.cyclops.integrateddynamics.core.network.Network;
+import org.cyclops.integrateddynamics.core.network.event.VariableContentsUpdatedEvent;
+import org.cyclops.integrateddynamics.core.path.Cluster;
+import org.cyclops.integrateddynamics.core.path.PathFinder;
 import org.cyclops.integrateddynamics.core.persist.world.NetworkWorldStorage;
 
 import javax.annotation.Nullable;
@@ -90,11 +94,25 @@ public class NetworkHelpers {
                 ? network.getCapability(EnergyNetworkConfig.CAPABILITY) : null;
     }
 
+    /**
+     * Signal that the variables inside the given network were updated.
+     * This invalidates the compiled expressions of the network and posts a {@link VariableContentsUpdatedEvent}.
+     * @param network The network.
+     */
+    public static void postVariableContentsUpdated(INetwork network) {
+        IPartNetwork partNetwork = getPartNetwork(network);
+        if (partNetwork != null) {
+            partNetwork.notifyVariableContentsUpdated();
+        }
+        network.getEventBus().post(new VariableContentsUpdatedEvent(network));
+    }
+
     /**
      * Form a new network starting from the given position.
      * This position should have a {@link IPathElement} capability,
      * otherwise this method will fail silently.
      * This will correctly transfer all passed network elements to this new network.
+     * Networks that were read from NBT but not loaded yet are loaded first if they contain any of these positions.
      * @param world The world.
      * @param pos The starting position.
      * @param side The side.
@@ -104,7 +122,9 @@ public class NetworkHelpers {
     public static @Nullable INetwork initNetwork(World world, BlockPos pos, @Nullable EnumFacing side) {
         IPathElement pathElement = TileHelpers.getCapability(world, pos, side, PathElementConfig.CAPABILITY);
         if (pathElement != null) {
-            Network network = Network.initiateNetworkSetup(SidedPathElement.of(pathElement, side));
+            Cluster cluster = PathFinder.getConnectedCluster(SidedPathElement.of(pathElement, side));
+            NetworkLoader.getInstance().loadPendingNetworks(cluster);
+            Network network = Network.initiateNetworkSetup(cluster);
             network.initialize();
             return network;
         }
@@ -173,13 +193,12 @@ public class NetworkHelpers {
             INetworkElementProvider networkElementProvider = TileHelpers.getCapability(world, pos, NetworkElementProviderConfig.CAPABILITY);
             if (networkElementProvider != null) {
                 // Attempt to revalidate the network elements in this provider
-                for (INetwork network : NetworkWorldStorage.getInstance(IntegratedDynamics._instance).getNetworks()) {
-                    if (network.containsSidedPathElement(SidedPathElement.of(pathElement, null))) {
-                        // Revalidate all network elements
-                        for (INetworkElement networkElement : networkElementProvider.createNetworkElements(world, pos)) {
-                            networkElement.revalidate(network);
-                        }
-                        break; // No need to check the other networks anymore
+                INetwork network = NetworkWorldStorage.getInstance(IntegratedDynamics._instance)
+                        .getNetwork(SidedPathElement.of(pathElement, null));
+                if (network != null) {
+                    // Revalidate all network elements
+                    for (INetworkElement networkElement : networkElementProvider.createNetworkElements(world, pos)) {
+                        networkElement.revalidate(network);
                     }
                 }
             }
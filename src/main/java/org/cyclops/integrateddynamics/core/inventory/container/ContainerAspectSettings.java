@@ -28,7 +28,6 @@ import org.cyclops.integrateddynamics.core.client.gui.ExtendedGuiHandler;
 import org.cyclops.integrateddynamics.core.client.gui.container.GuiAspectSettings;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueHelpers;
 import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
-import org.cyclops.integrateddynamics.core.network.event.VariableContentsUpdatedEvent;
 
 /**
  * Container for aspect settings.
@@ -137,7 +136,7 @@ public class ContainerAspectSettings extends ExtendedInventoryContainer {
                 // Changing the properties might cause some erroring variables to become valid again, so trigger an update.
                 INetwork network = NetworkHelpers.getNetwork(getTarget().getCenter().getPos().getWorld(), getTarget().getCenter().getPos().getBlockPos(), getTarget().getCenter().getSide());
                 if (network != null) {
-                    network.getEventBus().post(new VariableContentsUpdatedEvent(network));
+                    NetworkHelpers.postVariableContentsUpdated(network);
                 }
             }
         }
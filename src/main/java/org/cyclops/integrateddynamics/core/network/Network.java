@@ -7,14 +7,18 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.CapabilityDispatcher;
 import org.apache.logging.log4j.Level;
 import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.helper.TileHelpers;
+import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
 import org.cyclops.integrateddynamics.api.PartStateException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
 import org.cyclops.integrateddynamics.api.network.AttachCapabilitiesEventNetwork;
 import org.cyclops.integrateddynamics.api.network.IEventListenableNetworkElement;
 import org.cyclops.integrateddynamics.api.network.IFullNetworkListener;
@@ -23,6 +27,8 @@ import org.cyclops.integrateddynamics.api.network.INetworkCarrier;
 import org.cyclops.integrateddynamics.api.network.INetworkElement;
 import org.cyclops.integrateddynamics.api.network.INetworkElementProvider;
 import org.cyclops.integrateddynamics.api.network.INetworkEventListener;
+import org.cyclops.integrateddynamics.api.network.IPositionedNetworkElement;
+import org.cyclops.integrateddynamics.api.network.IPreparableNetworkElement;
 import org.cyclops.integrateddynamics.api.network.event.INetworkEvent;
 import org.cyclops.integrateddynamics.api.network.event.INetworkEventBus;
 import org.cyclops.integrateddynamics.api.path.IPathElement;
@@ -30,7 +36,9 @@ import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
 import org.cyclops.integrateddynamics.capability.network.NetworkCarrierConfig;
 import org.cyclops.integrateddynamics.capability.networkelementprovider.NetworkElementProviderConfig;
 import org.cyclops.integrateddynamics.capability.path.SidedPathElement;
+import org.cyclops.integrateddynamics.core.NetworkLoader;
 import org.cyclops.integrateddynamics.core.network.diagnostics.NetworkDiagnostics;
+import org.cyclops.integrateddynamics.core.network.diagnostics.NetworkProfiler;
 import org.cyclops.integrateddynamics.core.network.event.NetworkElementAddEvent;
 import org.cyclops.integrateddynamics.core.network.event.NetworkElementRemoveEvent;
 import org.cyclops.integrateddynamics.core.network.event.NetworkEventBus;
@@ -38,12 +46,13 @@ import org.cyclops.integrateddynamics.core.path.Cluster;
 import org.cyclops.integrateddynamics.core.path.PathFinder;
 import org.cyclops.integrateddynamics.core.persist.world.NetworkWorldStorage;
 
+import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.ObjIntConsumer;
 
 /**
  * A network instance that can hold a set of {@link INetworkElement}s.
@@ -56,10 +65,13 @@ public class Network implements INetwork {
 
     private final INetworkEventBus eventBus = new NetworkEventBus();
     private final TreeSet<INetworkElement> elements = Sets.newTreeSet();
-    private TreeSet<INetworkElement> updateableElements = null;
-    private TreeMap<INetworkElement, Integer> updateableElementsTicks = null;
+    private NetworkElementTimingWheel updateableElements = null;
     private TreeSet<INetworkElement> invalidatedElements = Sets.newTreeSet();
+    private final NetworkChunkIndex chunkIndex = new NetworkChunkIndex();
     private Map<INetworkElement, Long> lastSecondDurations = Maps.newHashMap();
+    private INetworkElement[] pendingUpdateElements = null;
+    private int pendingUpdateIndex = 0;
+    private long pendingUpdateTick = 0;
 
     private final CapabilityDispatcher capabilityDispatcher;
     private IFullNetworkListener[] fullNetworkListeners;
@@ -76,8 +88,19 @@ public class Network implements INetwork {
      * @return The newly formed network.
      */
     public static Network initiateNetworkSetup(ISidedPathElement sidedPathElement) {
-        Network network = new Network(PathFinder.getConnectedCluster(sidedPathElement));
+        return initiateNetworkSetup(PathFinder.getConnectedCluster(sidedPathElement));
+    }
+
+    /**
+     * Initiate a full network for the given cluster.
+     * The path elements in this cluster will be moved from their current network to the new one.
+     * @param cluster The cluster of connected path elements.
+     * @return The newly formed network.
+     */
+    public static Network initiateNetworkSetup(Cluster cluster) {
+        Network network = new Network(cluster);
         NetworkWorldStorage.getInstance(IntegratedDynamics._instance).addNewNetwork(network);
+        NetworkWorldStorage.getInstance(IntegratedDynamics._instance).onPathElementsAdded(network, cluster);
         return network;
     }
 
@@ -136,34 +159,78 @@ public class Network implements INetwork {
 
     private void deriveNetworkElements(Cluster pathElements) {
         if(!killIfEmpty()) {
-            for (ISidedPathElement sidedPathElement : pathElements) {
-                World world = sidedPathElement.getPathElement().getPosition().getWorld();
-                BlockPos pos = sidedPathElement.getPathElement().getPosition().getBlockPos();
-                EnumFacing side = sidedPathElement.getSide();
-                INetworkCarrier networkCarrier = TileHelpers.getCapability(
-                        world, pos, side, NetworkCarrierConfig.CAPABILITY);
-                if (networkCarrier != null) {
-                    // Correctly remove any previously saved network in this carrier
-                    // and set the new network to this.
-                    INetwork network = networkCarrier.getNetwork();
-                    if (network != null) {
-                        network.removePathElement(sidedPathElement.getPathElement(), side);
-                    }
-                    networkCarrier.setNetwork(null);
-                    networkCarrier.setNetwork(this);
+            deriveNetworkElements(pathElements, null);
+            onNetworkChanged();
+        }
+    }
+
+    private void deriveNetworkElements(Collection<ISidedPathElement> pathElements,
+                                       @Nullable Collection<INetworkElement> addedElements) {
+        // Batch the events of all added elements, so that listeners are not triggered for each addition separately.
+        getEventBus().startBatch();
+        try {
+            deriveNetworkElementsBatched(pathElements, addedElements);
+        } finally {
+            getEventBus().endBatch();
+        }
+    }
+
+    private void deriveNetworkElementsBatched(Collection<ISidedPathElement> pathElements,
+                                              @Nullable Collection<INetworkElement> addedElements) {
+        for (ISidedPathElement sidedPathElement : pathElements) {
+            World world = sidedPathElement.getPathElement().getPosition().getWorld();
+            BlockPos pos = sidedPathElement.getPathElement().getPosition().getBlockPos();
+            EnumFacing side = sidedPathElement.getSide();
+            INetworkCarrier networkCarrier = TileHelpers.getCapability(
+                    world, pos, side, NetworkCarrierConfig.CAPABILITY);
+            if (networkCarrier != null) {
+                // Correctly remove any previously saved network in this carrier
+                // and set the new network to this.
+                INetwork network = networkCarrier.getNetwork();
+                if (network != null && network != this) {
+                    network.removePathElement(sidedPathElement.getPathElement(), side);
                 }
-                INetworkElementProvider networkElementProvider = TileHelpers.getCapability(
-                        world, pos, side, NetworkElementProviderConfig.CAPABILITY);
-                if (networkElementProvider != null) {
-                    for(INetworkElement element : networkElementProvider.createNetworkElements(world, pos)) {
-                        addNetworkElement(element, true);
+                networkCarrier.setNetwork(null);
+                networkCarrier.setNetwork(this);
+            }
+            INetworkElementProvider networkElementProvider = TileHelpers.getCapability(
+                    world, pos, side, NetworkElementProviderConfig.CAPABILITY);
+            if (networkElementProvider != null) {
+                for(INetworkElement element : networkElementProvider.createNetworkElements(world, pos)) {
+                    if (addNetworkElement(element, true) && addedElements != null) {
+                        addedElements.add(element);
                     }
                 }
             }
-            onNetworkChanged();
         }
     }
 
+    /**
+     * Add the given path elements to this already initialized network.
+     * The path elements will be moved from their current network to this one,
+     * and their network elements will be added and made alive in this network.
+     * @param pathElements The path elements to add.
+     */
+    public synchronized void addPathElements(Collection<ISidedPathElement> pathElements) {
+        baseCluster.addAll(pathElements);
+        NetworkWorldStorage.getInstance(IntegratedDynamics._instance).onPathElementsAdded(this, pathElements);
+        List<INetworkElement> addedElements = Lists.newArrayList();
+        deriveNetworkElements(pathElements, addedElements);
+        for (INetworkElement element : addedElements) {
+            addNetworkElementUpdateable(element);
+            element.afterNetworkAlive(this);
+            element.afterNetworkReAlive(this);
+        }
+        onNetworkChanged();
+    }
+
+    /**
+     * @return The cluster of path elements that make up this network.
+     */
+    protected Cluster getBaseCluster() {
+        return baseCluster;
+    }
+
     @Override
     public boolean isInitialized() {
         return updateableElements != null;
@@ -188,6 +255,10 @@ public class Network implements INetwork {
 
     @Override
     public NBTTagCompound toNBT() {
+        if (this.toRead != null) {
+            // This network has not been loaded yet, so its original data must be kept.
+            return this.toRead;
+        }
         NBTTagCompound tag = new NBTTagCompound();
         tag.setTag("baseCluster", this.baseCluster.toNBT());
         tag.setBoolean("crashed", this.crashed);
@@ -205,8 +276,56 @@ public class Network implements INetwork {
         this.toRead = tag;
     }
 
+    /**
+     * @return If this network was read from NBT, but its elements have not been loaded yet.
+     */
+    public boolean isPendingLoad() {
+        return this.toRead != null;
+    }
+
+    /**
+     * Create an index of the chunks of the path elements of this network,
+     * based on the NBT data from which this network has not been loaded yet.
+     * All entries in this index are unloaded.
+     * @return The chunk index, or null if this network is not pending to be loaded.
+     */
+    @Nullable
+    public NetworkChunkIndex createPendingChunkIndex() {
+        if (this.toRead == null) {
+            return null;
+        }
+        NetworkChunkIndex index = new NetworkChunkIndex();
+        readPendingPositions((pos, dimension)
+                -> index.add(dimension, NetworkChunkIndex.getChunkKey(pos.getX() >> 4, pos.getZ() >> 4), false));
+        return index;
+    }
+
+    /**
+     * Read the positions of the path elements of this network,
+     * based on the NBT data from which this network has not been loaded yet.
+     * Nothing is read if this network is not pending to be loaded.
+     * @param consumer A consumer for each position and its dimension id.
+     */
+    public void readPendingPositions(ObjIntConsumer<BlockPos> consumer) {
+        NBTTagCompound toRead = this.toRead;
+        if (toRead != null) {
+            Cluster.readPositions(toRead.getCompoundTag("baseCluster"), consumer);
+        }
+    }
+
+    /**
+     * Load the path elements and network elements of this network if it was read from NBT and is not loaded yet.
+     */
+    public synchronized void loadPending() {
+        if (this.toRead != null) {
+            this.fromNBTEffective(this.toRead);
+            this.toRead = null;
+        }
+    }
+
     public void fromNBTEffective(NBTTagCompound tag) {
         this.baseCluster.fromNBT(tag.getCompoundTag("baseCluster"));
+        NetworkWorldStorage.getInstance(IntegratedDynamics._instance).onPathElementsAdded(this, baseCluster);
         this.crashed = tag.getBoolean("crashed");
         if (this.capabilityDispatcher != null && tag.hasKey("ForgeCaps")) {
             this.capabilityDispatcher.deserializeNBT(tag.getCompoundTag("ForgeCaps"));
@@ -229,6 +348,7 @@ public class Network implements INetwork {
                 elements.remove(element);
                 return false;
             }
+            indexElement(element, true, !invalidatedElements.contains(element));
             if (!networkPreinit) {
                 addNetworkElementUpdateable(element);
             }
@@ -251,8 +371,7 @@ public class Network implements INetwork {
     @Override
     public void addNetworkElementUpdateable(INetworkElement element) {
         if(element.isUpdate()) {
-            updateableElements.add(element);
-            updateableElementsTicks.put(element, 0);
+            updateableElements.add(element, updateableElements.getCurrentTick());
         }
     }
 
@@ -269,10 +388,10 @@ public class Network implements INetwork {
     @Override
     public synchronized void setPriorityAndChannel(INetworkElement element, int priority, int channel) {
         elements.remove(element);
-        Integer oldTickValue = null;
+        Long dueTick = null;
         if (element.isUpdate()) {
+            dueTick = updateableElements.getDueTick(element);
             updateableElements.remove(element);
-            oldTickValue = updateableElementsTicks.remove(element);
         }
 
         //noinspection deprecation
@@ -280,10 +399,7 @@ public class Network implements INetwork {
 
         elements.add(element);
         if (element.isUpdate()) {
-            updateableElements.add(element);
-            if (oldTickValue != null) {
-                updateableElementsTicks.put(element, oldTickValue);
-            }
+            updateableElements.add(element, dueTick != null ? dueTick : updateableElements.getCurrentTick());
         }
     }
 
@@ -301,7 +417,9 @@ public class Network implements INetwork {
         }
         element.beforeNetworkKill(this);
         element.onNetworkRemoval(this);
-        elements.remove(element);
+        if (elements.remove(element)) {
+            indexElement(element, false, !invalidatedElements.contains(element));
+        }
         removeNetworkElementUpdateable(element);
         invalidatedElements.remove(element); // The element may be invalidated (like in an unloaded chunk) when it is being removed.
         getEventBus().post(new NetworkElementRemoveEvent.Post(this, element));
@@ -311,7 +429,6 @@ public class Network implements INetwork {
     @Override
     public synchronized void removeNetworkElementUpdateable(INetworkElement element) {
         updateableElements.remove(element);
-        updateableElementsTicks.remove(element);
     }
 
     /**
@@ -319,8 +436,7 @@ public class Network implements INetwork {
      * @param silent If the element should not be notified for the network becoming alive.
      */
     protected void initialize(boolean silent) {
-        updateableElements = Sets.newTreeSet();
-        updateableElementsTicks = Maps.newTreeMap();
+        updateableElements = new NetworkElementTimingWheel();
         for(INetworkElement element : elements) {
             addNetworkElementUpdateable(element);
             if(!silent) {
@@ -376,62 +492,165 @@ public class Network implements INetwork {
     }
 
     @Override
-    public final synchronized void update() {
+    public final void update() {
+        update(Long.MAX_VALUE);
+    }
+
+    /**
+     * Update this network until the given deadline has passed.
+     * If not all network elements could be updated before the deadline,
+     * the remaining elements will be updated in the next call, before a new update round is started.
+     * At least one element is updated in each call, even if the deadline has already passed,
+     * so that each call makes progress.
+     * Networks that are not called in a tick are not updated at all,
+     * {@link org.cyclops.integrateddynamics.core.NetworkTickScheduler} makes sure that they go first in the next tick.
+     * @param deadline The {@link System#nanoTime()} after which no more elements should be updated.
+     * @return If all network elements of this round were updated, false if some updates were deferred.
+     */
+    public final synchronized boolean update(long deadline) {
+        if (pendingUpdateElements == null && !prepareUpdate()) {
+            return true;
+        }
+
+        // Update updateable network elements
+        boolean isBeingDiagnozed = NetworkDiagnostics.getInstance().isBeingDiagnozed();
+        while (pendingUpdateIndex < pendingUpdateElements.length) {
+            INetworkElement element = pendingUpdateElements[pendingUpdateIndex];
+            pendingUpdateElements[pendingUpdateIndex++] = null;
+            // The element may have been removed while its update was deferred.
+            if (updateableElements.contains(element)) {
+                updateElement(element, pendingUpdateTick, isBeingDiagnozed);
+            }
+            if (pendingUpdateIndex < pendingUpdateElements.length && System.nanoTime() > deadline) {
+                return false;
+            }
+        }
+        pendingUpdateElements = null;
+        return true;
+    }
+
+    /**
+     * Start a new update round if none is pending,
+     * and collect the variables that the remaining elements of this round will evaluate.
+     * These variables can be evaluated in advance,
+     * after which {@link #update(long)} must be called to actually update the elements.
+     * @return The variables to evaluate, this is empty if the network will not update its elements.
+     */
+    public synchronized List<IVariable<?>> prepareVariables() {
+        List<IVariable<?>> variables = Lists.newArrayList();
+        if (pendingUpdateElements == null && !prepareUpdate()) {
+            // Make sure the next update call does not try to start another round.
+            pendingUpdateElements = new INetworkElement[0];
+            pendingUpdateIndex = 0;
+            return variables;
+        }
+        for (int i = pendingUpdateIndex; i < pendingUpdateElements.length; i++) {
+            INetworkElement element = pendingUpdateElements[i];
+            if (element instanceof IPreparableNetworkElement && updateableElements.contains(element)
+                    && !invalidatedElements.contains(element)) {
+                try {
+                    IVariable<?> variable = ((IPreparableNetworkElement) element).getPreparableVariable(this);
+                    if (variable != null) {
+                        variables.add(variable);
+                    }
+                } catch (RuntimeException e) {
+                    // Any problems with this element will be handled during its actual update.
+                }
+            }
+        }
+        return variables;
+    }
+
+    /**
+     * Start a new update round.
+     * @return If the network elements should be updated, false if the network was killed or put to sleep.
+     */
+    protected boolean prepareUpdate() {
         if (this.toRead != null) {
-            this.fromNBTEffective(this.toRead);
-            this.toRead = null;
+            // Loading from NBT is spread over multiple ticks by the network loader.
+            NetworkLoader.getInstance().activate(this);
+            return false;
         }
 
         this.changed = false;
         if(killIfEmpty() || killed) {
             NetworkWorldStorage.getInstance(IntegratedDynamics._instance).removeInvalidatedNetwork(this);
-        } else {
-            onUpdate();
+            return false;
+        }
 
-            // Update updateable network elements
-            boolean isBeingDiagnozed = NetworkDiagnostics.getInstance().isBeingDiagnozed();
-            if (!isBeingDiagnozed && !lastSecondDurations.isEmpty()) {
-                // Make sure we aren't using any unnecessary memory.
-                lastSecondDurations.clear();
-            }
-            for (INetworkElement element : updateableElements) {
-                try {
-                    if (isValid(element)) {
-                        long startTime = 0;
-                        if (isBeingDiagnozed) {
-                            startTime = System.nanoTime();
-                        }
-                        int lastElementTick = updateableElementsTicks.getOrDefault(element, 0);
-                        if (canUpdate(element)) {
-                            if (lastElementTick <= 0) {
-                                updateableElementsTicks.put(element, element.getUpdateInterval() - 1);
-                                element.update(this);
-                                postUpdate(element);
-                            } else {
-                                updateableElementsTicks.put(element, lastElementTick - 1);
-                            }
-                        } else {
-                            onSkipUpdate(element);
-                            updateableElementsTicks.put(element, lastElementTick - 1);
-                        }
-                        if (isBeingDiagnozed) {
-                            long duration = System.nanoTime() - startTime;
-                            Long lastDuration = lastSecondDurations.get(element);
-                            if (lastDuration != null) {
-                                duration = duration + lastDuration;
-                            }
-                            lastSecondDurations.put(element, duration);
-                        }
+        if (canSleep()) {
+            // This network will not be updated anymore until one of its chunks is loaded.
+            NetworkWorldStorage.getInstance(IntegratedDynamics._instance).sleepNetwork(this, chunkIndex);
+            return false;
+        }
+
+        onUpdate();
+
+        boolean isBeingDiagnozed = NetworkDiagnostics.getInstance().isBeingDiagnozed();
+        if (!isBeingDiagnozed && !lastSecondDurations.isEmpty()) {
+            // Make sure we aren't using any unnecessary memory.
+            lastSecondDurations.clear();
+        }
+        // Only the elements that are due in this round are updated.
+        pendingUpdateTick = updateableElements.getCurrentTick();
+        pendingUpdateElements = updateableElements.pollDue();
+        pendingUpdateIndex = 0;
+        return true;
+    }
+
+    protected void updateElement(INetworkElement element, long tick, boolean isBeingDiagnozed) {
+        // Unless the element is updated, it is checked again in the next round.
+        long nextTick = tick + 1;
+        try {
+            if (isValid(element)) {
+                boolean isProfiled = NetworkProfiler.isEnabled();
+                long startTime = 0;
+                if (isBeingDiagnozed || isProfiled) {
+                    startTime = System.nanoTime();
+                }
+                if (canUpdate(element)) {
+                    nextTick = tick + element.getUpdateInterval();
+                    element.update(this);
+                    postUpdate(element);
+                    if (isProfiled) {
+                        NetworkProfiler.getInstance().recordElement(element, System.nanoTime() - startTime);
+                    }
+                } else {
+                    onSkipUpdate(element);
+                }
+                if (isBeingDiagnozed) {
+                    long duration = System.nanoTime() - startTime;
+                    Long lastDuration = lastSecondDurations.get(element);
+                    if (lastDuration != null) {
+                        duration = duration + lastDuration;
                     }
-                } catch (PartStateException e) {
-                    IntegratedDynamics.clog(Level.WARN, "Attempted to tick a part that was not properly unloaded. " +
-                            "Report this to the Integrated Dynamics issue tracker with details on what you did " +
-                            "leading up to this stacktrace. The part was forcefully unloaded");
-                    e.printStackTrace();
-                    element.invalidate(this);
+                    lastSecondDurations.put(element, duration);
                 }
             }
+        } catch (PartStateException e) {
+            IntegratedDynamics.clog(Level.WARN, "Attempted to tick a part that was not properly unloaded. " +
+                    "Report this to the Integrated Dynamics issue tracker with details on what you did " +
+                    "leading up to this stacktrace. The part was forcefully unloaded");
+            e.printStackTrace();
+            element.invalidate(this);
+        }
+        // The element may have been removed during its update.
+        if (updateableElements.contains(element)) {
+            updateableElements.add(element, nextTick);
+        }
+    }
+
+    /**
+     * @return The network elements of which the update was deferred to the next tick.
+     */
+    public synchronized List<INetworkElement> getDeferredElements() {
+        List<INetworkElement> deferredElements = Lists.newArrayList();
+        if (pendingUpdateElements != null) {
+            for (int i = pendingUpdateIndex; i < pendingUpdateElements.length; i++) {
+                deferredElements.add(pendingUpdateElements[i]);
+            }
         }
+        return deferredElements;
     }
 
     protected void onUpdate() {
@@ -447,7 +666,9 @@ public class Network implements INetwork {
                 return false;
             }
         }
-        if(baseCluster.remove(SidedPathElement.of(pathElement, null))) {
+        ISidedPathElement sidedPathElement = SidedPathElement.of(pathElement, null);
+        if(baseCluster.remove(sidedPathElement)) {
+            NetworkWorldStorage.getInstance(IntegratedDynamics._instance).onPathElementRemoved(this, sidedPathElement);
             DimPos position = pathElement.getPosition();
             INetworkElementProvider networkElementProvider = (INetworkElementProvider) TileHelpers.getCapability(
                     position, side, NetworkElementProviderConfig.CAPABILITY);
@@ -505,6 +726,67 @@ public class Network implements INetwork {
 
     protected void onNetworkChanged() {
         this.changed = true;
+        wakeUp();
+    }
+
+    /**
+     * Check if this network can be put to sleep.
+     * This is the case if all of its elements are unloaded and none of the chunks of its elements are loaded.
+     * @return If this network can sleep.
+     */
+    protected boolean canSleep() {
+        if (!GeneralConfig.networkSleeping || chunkIndex.getElementCount() == 0 || chunkIndex.hasLoadedElements()) {
+            return false;
+        }
+        // Elements in loaded chunks can still be revalidated during the next update.
+        for (int dimension : chunkIndex.getDimensions()) {
+            WorldServer world = DimensionManager.getWorld(dimension);
+            if (world != null) {
+                for (long chunk : chunkIndex.getChunks(dimension)) {
+                    if (world.getChunkProvider().getLoadedChunk(NetworkChunkIndex.getChunkX(chunk),
+                            NetworkChunkIndex.getChunkZ(chunk)) != null) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Wake up this network if it is sleeping.
+     */
+    public void wakeUp() {
+        NetworkWorldStorage.getInstance(IntegratedDynamics._instance).wakeNetwork(this);
+    }
+
+    /**
+     * @return The number of elements per chunk.
+     */
+    public NetworkChunkIndex getChunkIndex() {
+        return chunkIndex;
+    }
+
+    protected void indexElement(INetworkElement element, boolean add, boolean loaded) {
+        if (element instanceof IPositionedNetworkElement) {
+            DimPos pos = ((IPositionedNetworkElement) element).getPosition();
+            if (add) {
+                chunkIndex.add(pos.getDimensionId(), NetworkChunkIndex.getChunkKey(pos), loaded);
+            } else {
+                chunkIndex.remove(pos.getDimensionId(), NetworkChunkIndex.getChunkKey(pos), loaded);
+            }
+        } else if (add) {
+            chunkIndex.addUnpositioned();
+        } else {
+            chunkIndex.removeUnpositioned();
+        }
+    }
+
+    protected void indexElementLoaded(INetworkElement element, boolean loaded) {
+        if (element instanceof IPositionedNetworkElement && elements.contains(element)) {
+            DimPos pos = ((IPositionedNetworkElement) element).getPosition();
+            chunkIndex.setLoaded(pos.getDimensionId(), NetworkChunkIndex.getChunkKey(pos), loaded);
+        }
     }
 
     @Override
@@ -550,12 +832,17 @@ public class Network implements INetwork {
 
     @Override
     public void invalidateElement(INetworkElement element) {
-        invalidatedElements.add(element);
+        if (invalidatedElements.add(element)) {
+            indexElementLoaded(element, false);
+        }
     }
 
     @Override
     public void revalidateElement(INetworkElement element) {
-        invalidatedElements.remove(element);
+        if (invalidatedElements.remove(element)) {
+            indexElementLoaded(element, true);
+            wakeUp();
+        }
     }
 
     @Override
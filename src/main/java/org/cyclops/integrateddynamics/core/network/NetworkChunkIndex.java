@@ -0,0 +1,200 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+
+/**
+ * Counts the network elements of a network per chunk, and how many of them are loaded.
+ *
+ * An element is loaded as long as it is not invalidated by its network.
+ * Elements without a position can not be unloaded, so they are only counted.
+ *
+ * @author rubensworks
+ */
+public class NetworkChunkIndex {
+
+    private final TIntObjectMap<TLongIntMap> elements = new TIntObjectHashMap<>();
+    private final TIntObjectMap<TLongIntMap> loadedElements = new TIntObjectHashMap<>();
+    private int elementCount = 0;
+    private int loadedElementCount = 0;
+    private int unpositionedElementCount = 0;
+
+    /**
+     * @param chunkX A chunk x coordinate.
+     * @param chunkZ A chunk z coordinate.
+     * @return The key of the chunk, which is the same as {@link net.minecraft.util.math.ChunkPos#asLong(int, int)}.
+     */
+    public static long getChunkKey(int chunkX, int chunkZ) {
+        return (long) chunkX & 4294967295L | ((long) chunkZ & 4294967295L) << 32;
+    }
+
+    /**
+     * @param chunkKey A chunk key.
+     * @return The chunk x coordinate.
+     */
+    public static int getChunkX(long chunkKey) {
+        return (int) chunkKey;
+    }
+
+    /**
+     * @param chunkKey A chunk key.
+     * @return The chunk z coordinate.
+     */
+    public static int getChunkZ(long chunkKey) {
+        return (int) (chunkKey >> 32);
+    }
+
+    /**
+     * @param pos A position.
+     * @return The key of the chunk the position is in.
+     */
+    public static long getChunkKey(DimPos pos) {
+        return getChunkKey(pos.getBlockPos().getX() >> 4, pos.getBlockPos().getZ() >> 4);
+    }
+
+    protected static int change(TIntObjectMap<TLongIntMap> counts, int dimension, long chunkKey, int delta) {
+        TLongIntMap dimensionCounts = counts.get(dimension);
+        if (dimensionCounts == null) {
+            dimensionCounts = new TLongIntHashMap();
+            counts.put(dimension, dimensionCounts);
+        }
+        int count = dimensionCounts.adjustOrPutValue(chunkKey, delta, delta);
+        if (count <= 0) {
+            dimensionCounts.remove(chunkKey);
+            if (dimensionCounts.isEmpty()) {
+                counts.remove(dimension);
+            }
+        }
+        return count;
+    }
+
+    protected static int get(TIntObjectMap<TLongIntMap> counts, int dimension, long chunkKey) {
+        TLongIntMap dimensionCounts = counts.get(dimension);
+        return dimensionCounts == null ? 0 : dimensionCounts.get(chunkKey);
+    }
+
+    /**
+     * Add an element.
+     * @param dimension The dimension of the element.
+     * @param chunkKey The chunk key of the element.
+     * @param loaded If the element is loaded.
+     */
+    public void add(int dimension, long chunkKey, boolean loaded) {
+        change(elements, dimension, chunkKey, 1);
+        elementCount++;
+        if (loaded) {
+            change(loadedElements, dimension, chunkKey, 1);
+            loadedElementCount++;
+        }
+    }
+
+    /**
+     * Remove an element.
+     * @param dimension The dimension of the element.
+     * @param chunkKey The chunk key of the element.
+     * @param loaded If the element was loaded.
+     */
+    public void remove(int dimension, long chunkKey, boolean loaded) {
+        change(elements, dimension, chunkKey, -1);
+        elementCount--;
+        if (loaded) {
+            change(loadedElements, dimension, chunkKey, -1);
+            loadedElementCount--;
+        }
+    }
+
+    /**
+     * Mark an element as loaded or unloaded.
+     * @param dimension The dimension of the element.
+     * @param chunkKey The chunk key of the element.
+     * @param loaded If the element is now loaded.
+     */
+    public void setLoaded(int dimension, long chunkKey, boolean loaded) {
+        change(loadedElements, dimension, chunkKey, loaded ? 1 : -1);
+        loadedElementCount += loaded ? 1 : -1;
+    }
+
+    /**
+     * Add an element without a position.
+     */
+    public void addUnpositioned() {
+        unpositionedElementCount++;
+    }
+
+    /**
+     * Remove an element without a position.
+     */
+    public void removeUnpositioned() {
+        unpositionedElementCount--;
+    }
+
+    /**
+     * @param dimension A dimension.
+     * @param chunkKey A chunk key.
+     * @return The number of elements in the given chunk.
+     */
+    public int getElements(int dimension, long chunkKey) {
+        return get(elements, dimension, chunkKey);
+    }
+
+    /**
+     * @param dimension A dimension.
+     * @param chunkKey A chunk key.
+     * @return The number of loaded elements in the given chunk.
+     */
+    public int getLoadedElements(int dimension, long chunkKey) {
+        return get(loadedElements, dimension, chunkKey);
+    }
+
+    /**
+     * @return The number of positioned elements.
+     */
+    public int getElementCount() {
+        return elementCount;
+    }
+
+    /**
+     * @return The number of loaded positioned elements.
+     */
+    public int getLoadedElementCount() {
+        return loadedElementCount;
+    }
+
+    /**
+     * @return If any element is loaded, elements without a position are always loaded.
+     */
+    public boolean hasLoadedElements() {
+        return loadedElementCount > 0 || unpositionedElementCount > 0;
+    }
+
+    /**
+     * @return The dimensions that contain elements.
+     */
+    public int[] getDimensions() {
+        return elements.keys();
+    }
+
+    /**
+     * @param dimension A dimension.
+     * @return The keys of the chunks that contain elements in the given dimension.
+     */
+    public long[] getChunks(int dimension) {
+        TLongIntMap dimensionCounts = elements.get(dimension);
+        return dimensionCounts == null ? new long[0] : dimensionCounts.keys();
+    }
+
+    /**
+     * Remove all elements.
+     */
+    public void clear() {
+        elements.clear();
+        loadedElements.clear();
+        elementCount = 0;
+        loadedElementCount = 0;
+        unpositionedElementCount = 0;
+    }
+
+}
@@ -0,0 +1,144 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A timing wheel for scheduling the updates of network elements.
+ *
+ * Elements are stored in buckets by the tick at which they are due next,
+ * so that retrieving the elements for a tick only costs as much as the number of elements that are due.
+ * Elements that are due further away than the size of the wheel are kept in an overflow map,
+ * and are moved into the wheel once they come within range.
+ * Within each bucket, elements are ordered by their natural (priority) order.
+ *
+ * Elements that have been retrieved remain part of this wheel until they are rescheduled or removed.
+ *
+ * @author rubensworks
+ */
+public class NetworkElementTimingWheel {
+
+    public static final int WHEEL_SIZE = 128;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final TreeSet<INetworkElement>[] buckets;
+    private final TreeMap<Long, TreeSet<INetworkElement>> overflow = Maps.newTreeMap();
+    private final TreeMap<INetworkElement, Long> dueTicks = Maps.newTreeMap();
+    private long currentTick = 0;
+
+    @SuppressWarnings("unchecked")
+    public NetworkElementTimingWheel() {
+        this.buckets = new TreeSet[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.buckets[i] = Sets.newTreeSet();
+        }
+    }
+
+    /**
+     * @return The tick for which the elements will be retrieved next.
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @return The number of elements in this wheel.
+     */
+    public int size() {
+        return dueTicks.size();
+    }
+
+    /**
+     * @param element A network element.
+     * @return If the element is part of this wheel.
+     */
+    public boolean contains(INetworkElement element) {
+        return dueTicks.containsKey(element);
+    }
+
+    /**
+     * @param element A network element.
+     * @return The tick at which the element is or was due, or null if it is not part of this wheel.
+     */
+    @Nullable
+    public Long getDueTick(INetworkElement element) {
+        return dueTicks.get(element);
+    }
+
+    /**
+     * Schedule the given element at the given tick.
+     * If the element was already scheduled, it will be rescheduled.
+     * @param element A network element.
+     * @param dueTick The tick at which the element must be retrieved,
+     *                if this is in the past, it will be retrieved at the current tick.
+     */
+    public void add(INetworkElement element, long dueTick) {
+        unschedule(element);
+        dueTick = Math.max(dueTick, currentTick);
+        dueTicks.put(element, dueTick);
+        getBucket(dueTick, true).add(element);
+    }
+
+    /**
+     * Remove the given element from this wheel.
+     * @param element A network element.
+     * @return If the element was part of this wheel.
+     */
+    public boolean remove(INetworkElement element) {
+        unschedule(element);
+        return dueTicks.remove(element) != null;
+    }
+
+    /**
+     * Retrieve all elements that are due at the current tick, and move on to the next tick.
+     * @return The due elements, in their natural order.
+     */
+    public INetworkElement[] pollDue() {
+        TreeSet<INetworkElement> bucket = buckets[(int) (currentTick & WHEEL_MASK)];
+        INetworkElement[] elements = bucket.toArray(new INetworkElement[bucket.size()]);
+        bucket.clear();
+        currentTick++;
+
+        // Move the elements that came within range from the overflow map into the wheel.
+        Map.Entry<Long, TreeSet<INetworkElement>> entry;
+        while ((entry = overflow.firstEntry()) != null && entry.getKey() < currentTick + WHEEL_SIZE) {
+            overflow.remove(entry.getKey());
+            buckets[(int) (entry.getKey() & WHEEL_MASK)].addAll(entry.getValue());
+        }
+        return elements;
+    }
+
+    protected void unschedule(INetworkElement element) {
+        Long dueTick = dueTicks.get(element);
+        // Elements that were already retrieved are not present in a bucket anymore.
+        if (dueTick != null && dueTick >= currentTick) {
+            TreeSet<INetworkElement> bucket = getBucket(dueTick, false);
+            if (bucket != null) {
+                bucket.remove(element);
+                if (bucket.isEmpty() && dueTick >= currentTick + WHEEL_SIZE) {
+                    overflow.remove(dueTick);
+                }
+            }
+        }
+    }
+
+    @Nullable
+    protected TreeSet<INetworkElement> getBucket(long dueTick, boolean create) {
+        if (dueTick < currentTick + WHEEL_SIZE) {
+            return buckets[(int) (dueTick & WHEEL_MASK)];
+        }
+        TreeSet<INetworkElement> bucket = overflow.get(dueTick);
+        if (bucket == null && create) {
+            bucket = Sets.newTreeSet();
+            overflow.put(dueTick, bucket);
+        }
+        return bucket;
+    }
+
+}
@@ -0,0 +1,169 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.cyclopscore.helper.TileHelpers;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.INetworkCarrier;
+import org.cyclops.integrateddynamics.api.path.IPathElement;
+import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
+import org.cyclops.integrateddynamics.capability.network.NetworkCarrierConfig;
+import org.cyclops.integrateddynamics.capability.path.PathElementConfig;
+import org.cyclops.integrateddynamics.capability.path.SidedPathElement;
+import org.cyclops.integrateddynamics.core.NetworkLoader;
+import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
+import org.cyclops.integrateddynamics.core.path.Cluster;
+import org.cyclops.integrateddynamics.core.path.PathFinder;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Incrementally maintains the topology of networks when connections between path elements are added or removed.
+ *
+ * Instead of rebuilding all affected networks from scratch,
+ * only the path elements that actually change network are moved.
+ * When this is not possible, for example because one of the involved networks has not been loaded yet,
+ * this falls back to {@link NetworkHelpers#initNetwork(World, BlockPos, EnumFacing)},
+ * which first loads the pending networks of the involved path elements.
+ *
+ * @author rubensworks
+ */
+public final class NetworkTopology {
+
+    /**
+     * Update the networks after the path element at the given position was connected to its neighbours.
+     * All networks that are reachable from this path element will be merged into the largest one.
+     * @param world The world.
+     * @param pos The position.
+     * @param side The side.
+     * @return The network the path element is part of.
+     * Can be null if the position did not have a {@link IPathElement} capability.
+     */
+    public static @Nullable INetwork onPathElementConnected(World world, BlockPos pos, @Nullable EnumFacing side) {
+        if (!GeneralConfig.incrementalNetworkTopology) {
+            return NetworkHelpers.initNetwork(world, pos, side);
+        }
+        IPathElement pathElement = TileHelpers.getCapability(world, pos, side, PathElementConfig.CAPABILITY);
+        if (pathElement == null) {
+            return null;
+        }
+        ISidedPathElement head = SidedPathElement.of(pathElement, side);
+
+        // Collect all networks the head and its neighbours are part of.
+        INetworkCarrier headCarrier = TileHelpers.getCapability(world, pos, side, NetworkCarrierConfig.CAPABILITY);
+        Network headNetwork = null;
+        if (headCarrier != null && headCarrier.getNetwork() != null) {
+            headNetwork = getMaintainableNetwork(head);
+            if (headNetwork == null) {
+                return NetworkHelpers.initNetwork(world, pos, side);
+            }
+        }
+        Set<Network> networks = Sets.newIdentityHashSet();
+        if (headNetwork != null) {
+            networks.add(headNetwork);
+        }
+        for (ISidedPathElement neighbour : pathElement.getReachableElements()) {
+            Network network = getMaintainableNetwork(neighbour);
+            if (network == null) {
+                return NetworkHelpers.initNetwork(world, pos, side);
+            }
+            networks.add(network);
+        }
+        if (networks.isEmpty()) {
+            return NetworkHelpers.initNetwork(world, pos, side);
+        }
+
+        // Move everything into the largest network.
+        Network target = null;
+        for (Network network : networks) {
+            if (target == null || network.getCablesCount() > target.getCablesCount()) {
+                target = network;
+            }
+        }
+        List<ISidedPathElement> addedPathElements = Lists.newArrayList();
+        if (headNetwork != target) {
+            addedPathElements.add(head);
+        }
+        for (Network network : networks) {
+            if (network != target) {
+                addedPathElements.addAll(network.getBaseCluster());
+            }
+        }
+        if (!addedPathElements.isEmpty()) {
+            target.addPathElements(addedPathElements);
+        }
+        return target;
+    }
+
+    /**
+     * Update the networks after the connections between the given path elements were removed,
+     * for example because the path element in between them was removed.
+     * The heads that are not connected anymore will be split off into new networks.
+     * @param heads The path elements that were connected via the removed connections.
+     */
+    public static void onPathElementsDisconnected(Collection<ISidedPathElement> heads) {
+        if (heads.isEmpty()) {
+            return;
+        }
+        Network network = GeneralConfig.incrementalNetworkTopology ? getCommonNetwork(heads) : null;
+        if (network == null) {
+            for (ISidedPathElement head : heads) {
+                DimPos position = head.getPathElement().getPosition();
+                NetworkHelpers.initNetwork(position.getWorld(), position.getBlockPos(), head.getSide());
+            }
+            return;
+        }
+
+        for (Cluster cluster : PathFinder.getDetachedClusters(Lists.newArrayList(heads))) {
+            NetworkLoader.getInstance().loadPendingNetworks(cluster);
+            Network.initiateNetworkSetup(cluster).initialize();
+        }
+    }
+
+    /**
+     * Get the network that contains all given path elements.
+     * @param pathElements Sided path elements.
+     * @return The common network, or null if they are not all present in the same maintainable network.
+     */
+    protected static @Nullable Network getCommonNetwork(Collection<ISidedPathElement> pathElements) {
+        Network commonNetwork = null;
+        for (ISidedPathElement pathElement : pathElements) {
+            Network network = getMaintainableNetwork(pathElement);
+            if (network == null || (commonNetwork != null && commonNetwork != network)) {
+                return null;
+            }
+            commonNetwork = network;
+        }
+        return commonNetwork;
+    }
+
+    /**
+     * Get the network of the given path element if that network can be incrementally modified.
+     * @param sidedPathElement A sided path element.
+     * @return The network, or null if it has no network,
+     *         or if its network has not been fully initialized, or has been killed.
+     */
+    protected static @Nullable Network getMaintainableNetwork(ISidedPathElement sidedPathElement) {
+        DimPos position = sidedPathElement.getPathElement().getPosition();
+        INetworkCarrier networkCarrier = TileHelpers.getCapability(position.getWorld(), position.getBlockPos(),
+                sidedPathElement.getSide(), NetworkCarrierConfig.CAPABILITY);
+        if (networkCarrier == null) {
+            return null;
+        }
+        INetwork network = networkCarrier.getNetwork();
+        if (!(network instanceof Network) || !network.isInitialized() || network.isKilled()
+                || !network.containsSidedPathElement(sidedPathElement)) {
+            return null;
+        }
+        return (Network) network;
+    }
+
+}
@@ -47,6 +47,7 @@ public class PartNetwork extends FullNetworkListenerAdapter implements IPartNetw
     private List<DimPos> variableContainerPositions = Lists.newArrayList();
     private Map<Integer, IVariableFacade> compositeVariableCache = null;
     private TIntObjectMap<IValue> lazyExpressionValueCache = new TIntObjectHashMap<>();
+    private int expressionVersion = 0;
     private TIntObjectMap<DimPos> proxyPositions = new TIntObjectHashMap<>();
 
     private volatile boolean partsChanged = false;
@@ -162,6 +163,16 @@ public class PartNetwork extends FullNetworkListenerAdapter implements IPartNetw
         lazyExpressionValueCache.remove(id);
     }
 
+    @Override
+    public int getExpressionVersion() {
+        return expressionVersion;
+    }
+
+    @Override
+    public void notifyVariableContentsUpdated() {
+        expressionVersion++;
+    }
+
     @Override
     public boolean addVariableContainer(DimPos dimPos) {
         compositeVariableCache = null;
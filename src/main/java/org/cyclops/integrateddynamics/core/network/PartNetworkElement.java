@@ -8,15 +8,18 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.IBlockAccess;
 import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.integrateddynamics.api.PartStateException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
 import org.cyclops.integrateddynamics.api.network.IChanneledNetwork;
 import org.cyclops.integrateddynamics.api.network.IEnergyConsumingNetworkElement;
 import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.api.network.INetworkElement;
 import org.cyclops.integrateddynamics.api.network.IPartNetwork;
 import org.cyclops.integrateddynamics.api.network.IPartNetworkElement;
+import org.cyclops.integrateddynamics.api.network.IPreparableNetworkElement;
 import org.cyclops.integrateddynamics.api.part.IPartContainer;
 import org.cyclops.integrateddynamics.api.part.IPartState;
 import org.cyclops.integrateddynamics.api.part.IPartType;
+import org.cyclops.integrateddynamics.api.part.IPartTypeActiveVariable;
 import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
 import org.cyclops.integrateddynamics.core.helper.PartHelpers;
@@ -31,7 +34,7 @@ import java.util.Objects;
  */
 @Data
 public class PartNetworkElement<P extends IPartType<P, S>, S extends IPartState<P>> extends NetworkElementBase
-        implements IPartNetworkElement<P, S>, IEnergyConsumingNetworkElement {
+        implements IPartNetworkElement<P, S>, IEnergyConsumingNetworkElement, IPreparableNetworkElement {
 
     private final P part;
     private final PartTarget target;
@@ -134,6 +137,20 @@ public class PartNetworkElement<P extends IPartType<P, S>, S extends IPartState<
         part.update(network, NetworkHelpers.getPartNetwork(network), getTarget(), getPartState());
     }
 
+    @Nullable
+    @Override
+    public IVariable<?> getPreparableVariable(INetwork network) {
+        if (getPart() instanceof IPartTypeActiveVariable && hasPartState()) {
+            IPartTypeActiveVariable partType = (IPartTypeActiveVariable) getPart();
+            IPartNetwork partNetwork = NetworkHelpers.getPartNetwork(network);
+            S state = getPartState();
+            if (partType.hasActiveVariable(partNetwork, getTarget(), state)) {
+                return partType.getActiveVariable(partNetwork, getTarget(), state);
+            }
+        }
+        return null;
+    }
+
     @Override
     public void beforeNetworkKill(INetwork network) {
         part.beforeNetworkKill(network, NetworkHelpers.getPartNetwork(network), target, getPartState());
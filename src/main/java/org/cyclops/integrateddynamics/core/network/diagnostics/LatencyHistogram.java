@@ -0,0 +1,238 @@
+package org.cyclops.integrateddynamics.core.network.diagnostics;
+
+/**
+ * A latency histogram with rolling windows of one second, one minute and ten minutes.
+ *
+ * Durations are counted in buckets by their power of two in nanoseconds,
+ * so that recording a duration only requires a few primitive array operations.
+ * The last minute is stored per second, and the last ten minutes are stored per ten seconds,
+ * all in preallocated primitive arrays.
+ *
+ * @author rubensworks
+ */
+public class LatencyHistogram {
+
+    /**
+     * The number of buckets, bucket i contains the durations in the range [2^(i-1), 2^i) nanoseconds.
+     * The last bucket also contains all larger durations.
+     */
+    public static final int BUCKETS = 40;
+    /**
+     * The number of slots in a ring, for both the minute and ten minute windows.
+     */
+    public static final int SLOTS = 60;
+    /**
+     * The number of seconds that are combined into a single slot of the ten minute window.
+     */
+    public static final int SECONDS_PER_TEN_MINUTE_SLOT = 10;
+
+    private final int[] currentCounts = new int[BUCKETS];
+    private long currentNanos = 0;
+
+    private final int[] minuteCounts = new int[SLOTS * BUCKETS];
+    private final long[] minuteNanos = new long[SLOTS];
+
+    private final int[] tenSecondCounts = new int[BUCKETS];
+    private long tenSecondNanos = 0;
+    private final int[] tenMinuteCounts = new int[SLOTS * BUCKETS];
+    private final long[] tenMinuteNanos = new long[SLOTS];
+
+    private long seconds = 0;
+
+    /**
+     * @param nanos A duration in nanoseconds.
+     * @return The bucket for the given duration.
+     */
+    public static int getBucket(long nanos) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+    }
+
+    /**
+     * @param bucket A bucket.
+     * @return The exclusive upper bound of the durations in the given bucket in nanoseconds.
+     */
+    public static long getBucketUpperBound(int bucket) {
+        return 1L << bucket;
+    }
+
+    /**
+     * Record a duration in the current second.
+     * @param nanos A duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        currentCounts[getBucket(nanos)]++;
+        currentNanos += nanos;
+    }
+
+    /**
+     * Finish the current second, and move its data into the rolling windows.
+     */
+    public void rollSecond() {
+        int slot = (int) (seconds % SLOTS);
+        System.arraycopy(currentCounts, 0, minuteCounts, slot * BUCKETS, BUCKETS);
+        minuteNanos[slot] = currentNanos;
+        for (int i = 0; i < BUCKETS; i++) {
+            tenSecondCounts[i] += currentCounts[i];
+            currentCounts[i] = 0;
+        }
+        tenSecondNanos += currentNanos;
+        currentNanos = 0;
+        seconds++;
+
+        if (seconds % SECONDS_PER_TEN_MINUTE_SLOT == 0) {
+            int tenMinuteSlot = (int) ((seconds / SECONDS_PER_TEN_MINUTE_SLOT - 1) % SLOTS);
+            System.arraycopy(tenSecondCounts, 0, tenMinuteCounts, tenMinuteSlot * BUCKETS, BUCKETS);
+            tenMinuteNanos[tenMinuteSlot] = tenSecondNanos;
+            for (int i = 0; i < BUCKETS; i++) {
+                tenSecondCounts[i] = 0;
+            }
+            tenSecondNanos = 0;
+        }
+    }
+
+    /**
+     * @return The number of seconds that have been completed.
+     */
+    public long getSeconds() {
+        return seconds;
+    }
+
+    /**
+     * Get the aggregated data in the given window, only completed seconds are taken into account.
+     * @param window The window.
+     * @return A snapshot of the data.
+     */
+    public Snapshot getSnapshot(Window window) {
+        int[] counts = new int[BUCKETS];
+        long nanos = 0;
+        switch (window) {
+            case SECOND:
+                if (seconds > 0) {
+                    int slot = (int) ((seconds - 1) % SLOTS);
+                    addCounts(counts, minuteCounts, slot);
+                    nanos = minuteNanos[slot];
+                }
+                break;
+            case MINUTE:
+                for (int slot = 0; slot < SLOTS; slot++) {
+                    addCounts(counts, minuteCounts, slot);
+                    nanos += minuteNanos[slot];
+                }
+                break;
+            case TEN_MINUTES:
+                // The seconds of the unfinished ten second slot are included as well.
+                for (int slot = 0; slot < SLOTS; slot++) {
+                    addCounts(counts, tenMinuteCounts, slot);
+                    nanos += tenMinuteNanos[slot];
+                }
+                for (int i = 0; i < BUCKETS; i++) {
+                    counts[i] += tenSecondCounts[i];
+                }
+                nanos += tenSecondNanos;
+                break;
+        }
+        return new Snapshot(counts, nanos);
+    }
+
+    protected static void addCounts(int[] target, int[] ring, int slot) {
+        int offset = slot * BUCKETS;
+        for (int i = 0; i < BUCKETS; i++) {
+            target[i] += ring[offset + i];
+        }
+    }
+
+    /**
+     * The supported windows.
+     */
+    public static enum Window {
+        SECOND("1s"),
+        MINUTE("1m"),
+        TEN_MINUTES("10m");
+
+        private final String name;
+
+        Window(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @param name A window name, such as "1m".
+         * @return The corresponding window, or null.
+         */
+        public static Window getByName(String name) {
+            for (Window window : values()) {
+                if (window.getName().equals(name)) {
+                    return window;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The aggregated data of a histogram over a certain window.
+     */
+    public static class Snapshot {
+
+        private final int[] counts;
+        private final long count;
+        private final long nanos;
+
+        public Snapshot(int[] counts, long nanos) {
+            this.counts = counts;
+            long count = 0;
+            for (int bucketCount : counts) {
+                count += bucketCount;
+            }
+            this.count = count;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @return The number of recorded durations.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The sum of all recorded durations in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return The mean duration in nanoseconds.
+         */
+        public long getMeanNanos() {
+            return count == 0 ? 0 : nanos / count;
+        }
+
+        /**
+         * Estimate the given percentile.
+         * @param percentile A percentile between 0 and 1.
+         * @return The upper bound of the bucket that contains the percentile in nanoseconds, or 0 if empty.
+         */
+        public long getPercentileNanos(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long threshold = Math.max(1, (long) Math.ceil(count * percentile));
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= threshold) {
+                    return getBucketUpperBound(i);
+                }
+            }
+            return getBucketUpperBound(counts.length - 1);
+        }
+
+    }
+
+}
@@ -0,0 +1,243 @@
+package org.cyclops.integrateddynamics.core.network.diagnostics;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.cyclops.cyclopscore.helper.MinecraftHelpers;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.cyclops.integrateddynamics.api.network.IPartNetworkElement;
+import org.cyclops.integrateddynamics.api.part.IPartType;
+import org.cyclops.integrateddynamics.api.part.aspect.IAspect;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Keeps latency histograms of network element updates per part type, and of aspects.
+ *
+ * This is always active unless disabled in the config,
+ * so that the cause of lag spikes can be found after they happened.
+ * Recording a duration only costs a map lookup by identity and a few primitive array operations.
+ * All methods must be called from the server thread.
+ *
+ * @author rubensworks
+ */
+public final class NetworkProfiler {
+
+    private static NetworkProfiler INSTANCE;
+
+    private final Map<IPartType, LatencyHistogram> partTypes = Maps.newIdentityHashMap();
+    private final Map<IAspect, LatencyHistogram> aspects = Maps.newIdentityHashMap();
+    private final Map<Class<?>, LatencyHistogram> otherElements = Maps.newIdentityHashMap();
+    private int tick = 0;
+
+    private NetworkProfiler() {
+
+    }
+
+    public static NetworkProfiler getInstance() {
+        if(INSTANCE == null) {
+            INSTANCE = new NetworkProfiler();
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @return If durations should be recorded.
+     */
+    public static boolean isEnabled() {
+        return GeneralConfig.networkProfiler;
+    }
+
+    protected static <K> LatencyHistogram getHistogram(Map<K, LatencyHistogram> histograms, K key) {
+        LatencyHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            histograms.put(key, histogram);
+        }
+        return histogram;
+    }
+
+    /**
+     * Record the update duration of a network element.
+     * @param element The network element.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void recordElement(INetworkElement element, long nanos) {
+        if (element instanceof IPartNetworkElement) {
+            getHistogram(partTypes, ((IPartNetworkElement) element).getPart()).record(nanos);
+        } else {
+            getHistogram(otherElements, element.getClass()).record(nanos);
+        }
+    }
+
+    /**
+     * Record the duration of an aspect update or value calculation.
+     * @param aspect The aspect.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void recordAspect(IAspect aspect, long nanos) {
+        getHistogram(aspects, aspect).record(nanos);
+    }
+
+    /**
+     * Called at the end of each server tick.
+     */
+    public void onTick() {
+        if (++tick >= MinecraftHelpers.SECOND_IN_TICKS) {
+            tick = 0;
+            for (LatencyHistogram histogram : partTypes.values()) {
+                histogram.rollSecond();
+            }
+            for (LatencyHistogram histogram : aspects.values()) {
+                histogram.rollSecond();
+            }
+            for (LatencyHistogram histogram : otherElements.values()) {
+                histogram.rollSecond();
+            }
+        }
+    }
+
+    /**
+     * Remove all recorded data.
+     */
+    public void reset() {
+        partTypes.clear();
+        aspects.clear();
+        otherElements.clear();
+        tick = 0;
+    }
+
+    /**
+     * Get the entries for the given window, sorted by descending total duration.
+     * Entries without any recorded durations in the window are skipped.
+     * @param window The window.
+     * @param category The category to include, or null for all categories.
+     * @return The entries.
+     */
+    public List<Entry> getEntries(LatencyHistogram.Window window, Category category) {
+        List<Entry> entries = Lists.newArrayList();
+        if (category == null || category == Category.PART) {
+            for (Map.Entry<IPartType, LatencyHistogram> entry : partTypes.entrySet()) {
+                addEntry(entries, Category.PART, entry.getKey().getUnlocalizedName(), entry.getValue(), window);
+            }
+        }
+        if (category == null || category == Category.ASPECT) {
+            for (Map.Entry<IAspect, LatencyHistogram> entry : aspects.entrySet()) {
+                addEntry(entries, Category.ASPECT, entry.getKey().getUnlocalizedName(), entry.getValue(), window);
+            }
+        }
+        if (category == null || category == Category.ELEMENT) {
+            for (Map.Entry<Class<?>, LatencyHistogram> entry : otherElements.entrySet()) {
+                addEntry(entries, Category.ELEMENT, entry.getKey().getName(), entry.getValue(), window);
+            }
+        }
+        Collections.sort(entries, (a, b) -> Long.compare(b.getSnapshot().getTotalNanos(), a.getSnapshot().getTotalNanos()));
+        return entries;
+    }
+
+    protected void addEntry(List<Entry> entries, Category category, String name, LatencyHistogram histogram,
+                            LatencyHistogram.Window window) {
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot(window);
+        if (snapshot.getCount() > 0) {
+            entries.add(new Entry(category, name, window, snapshot));
+        }
+    }
+
+    /**
+     * Write the data of all windows to a CSV file.
+     * @param file The file to write to.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void dumpCsv(File file) throws IOException {
+        List<String> lines = Lists.newArrayList();
+        lines.add("category,name,window,count,total_ms,mean_us,p50_us,p90_us,p99_us");
+        for (LatencyHistogram.Window window : LatencyHistogram.Window.values()) {
+            for (Entry entry : getEntries(window, null)) {
+                LatencyHistogram.Snapshot snapshot = entry.getSnapshot();
+                lines.add(String.format(Locale.ROOT, "%s,%s,%s,%s,%.3f,%.3f,%.3f,%.3f,%.3f",
+                        entry.getCategory().getName(), entry.getName(), window.getName(),
+                        snapshot.getCount(),
+                        snapshot.getTotalNanos() / 1000000D,
+                        snapshot.getMeanNanos() / 1000D,
+                        snapshot.getPercentileNanos(0.5D) / 1000D,
+                        snapshot.getPercentileNanos(0.9D) / 1000D,
+                        snapshot.getPercentileNanos(0.99D) / 1000D));
+            }
+        }
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The categories of profiled entries.
+     */
+    public static enum Category {
+        PART("part"),
+        ASPECT("aspect"),
+        ELEMENT("element");
+
+        private final String name;
+
+        Category(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @param name A category name.
+         * @return The corresponding category, or null.
+         */
+        public static Category getByName(String name) {
+            for (Category category : values()) {
+                if (category.getName().equals(name)) {
+                    return category;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A profiled entry in a certain window.
+     */
+    public static class Entry {
+
+        private final Category category;
+        private final String name;
+        private final LatencyHistogram.Window window;
+        private final LatencyHistogram.Snapshot snapshot;
+
+        public Entry(Category category, String name, LatencyHistogram.Window window, LatencyHistogram.Snapshot snapshot) {
+            this.category = category;
+            this.name = name;
+            this.window = window;
+            this.snapshot = snapshot;
+        }
+
+        public Category getCategory() {
+            return category;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LatencyHistogram.Window getWindow() {
+            return window;
+        }
+
+        public LatencyHistogram.Snapshot getSnapshot() {
+            return snapshot;
+        }
+    }
+
+}
@@ -1,8 +1,9 @@
 package org.cyclops.integrateddynamics.core.network.event;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import net.minecraftforge.fml.common.eventhandler.EventBus;
-import org.cyclops.cyclopscore.helper.CollectionHelpers;
 import org.cyclops.integrateddynamics.api.network.IEventListenableNetworkElement;
 import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.api.network.INetworkElement;
@@ -10,9 +11,10 @@ import org.cyclops.integrateddynamics.api.network.event.ICancelableNetworkEvent;
 import org.cyclops.integrateddynamics.api.network.event.INetworkEvent;
 import org.cyclops.integrateddynamics.api.network.event.INetworkEventBus;
 
-import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * An event bus for {@link INetwork} events where
@@ -20,22 +22,41 @@ import java.util.Set;
  *
  * Partially based on Minecraft Forge's {@link EventBus} implementation.
  *
+ * Listeners are kept in a dispatch table per event type.
+ * Each table caches its listeners as arrays, which are only rebuilt when listeners were (un)registered,
+ * so that posting an event does not require any locking or allocation.
+ *
  * @author rubensworks
  */
 public class NetworkEventBus implements INetworkEventBus {
 
-    private final Map<Class<? extends INetworkEvent>, Set<IEventListenableNetworkElement<?>>> listeners = Collections.synchronizedMap(Maps.<Class<? extends INetworkEvent>, Set<IEventListenableNetworkElement<?>>>newHashMap());
+    private static final LongAdder POSTED_EVENTS = new LongAdder();
+    private static final LongAdder INVOKED_LISTENERS = new LongAdder();
+    private static long lastTickPostedEvents = 0;
+    private static long lastTickInvokedListeners = 0;
+
+    private final Map<Class<? extends INetworkEvent>, DispatchTable> listeners = Maps.newConcurrentMap();
+    private final List<INetworkEvent> batchedEvents = Lists.newArrayList();
+    private int batchDepth = 0;
+
+    protected DispatchTable getDispatchTable(Class<? extends INetworkEvent> eventType) {
+        DispatchTable dispatchTable = this.listeners.get(eventType);
+        if (dispatchTable == null) {
+            dispatchTable = this.listeners.computeIfAbsent(eventType, DispatchTable::new);
+        }
+        return dispatchTable;
+    }
 
     @Override
     public void register(IEventListenableNetworkElement<?> target, Class<? extends INetworkEvent> eventType) {
-        CollectionHelpers.addToMapSet(this.listeners, eventType, target);
+        getDispatchTable(eventType).add(target);
     }
 
     @Override
     public void unregister(IEventListenableNetworkElement<?> target, Class<? extends INetworkEvent> eventType) {
-        Set<IEventListenableNetworkElement<?>> listeners = this.listeners.get(eventType);
-        if(listeners != null) {
-            listeners.remove(target);
+        DispatchTable dispatchTable = this.listeners.get(eventType);
+        if(dispatchTable != null) {
+            dispatchTable.remove(target);
         }
     }
 
@@ -48,18 +69,160 @@ public class NetworkEventBus implements INetworkEventBus {
 
     @Override
     public void post(INetworkEvent event) {
-        Set<IEventListenableNetworkElement<?>> listeners = this.listeners.get(event.getClass());
-        if(listeners != null) {
-            for (IEventListenableNetworkElement listener : listeners) {
-                listener.getNetworkEventListener().onEvent(event, listener);
+        POSTED_EVENTS.increment();
+        if (batchDepth > 0) {
+            batchedEvents.add(event);
+        } else {
+            DispatchTable dispatchTable = this.listeners.get(event.getClass());
+            if (dispatchTable != null) {
+                dispatch(event, dispatchTable.getListeners());
+                dispatch(event, dispatchTable.getCoalescingListeners());
             }
         }
     }
 
     @Override
     public boolean postCancelable(ICancelableNetworkEvent event) {
-        post(event);
+        // Cancelable events are never batched, as their result is needed immediately.
+        POSTED_EVENTS.increment();
+        DispatchTable dispatchTable = this.listeners.get(event.getClass());
+        if (dispatchTable != null) {
+            dispatch(event, dispatchTable.getListeners());
+            dispatch(event, dispatchTable.getCoalescingListeners());
+        }
         return !event.isCanceled();
     }
 
+    @Override
+    public void startBatch() {
+        batchDepth++;
+    }
+
+    @Override
+    public void endBatch() {
+        if (batchDepth <= 0) {
+            throw new IllegalStateException("Tried to end a network event batch that was not started.");
+        }
+        if (--batchDepth == 0 && !batchedEvents.isEmpty()) {
+            INetworkEvent[] events = batchedEvents.toArray(new INetworkEvent[batchedEvents.size()]);
+            batchedEvents.clear();
+
+            // Coalescing listeners only receive the last event of each type.
+            Map<Class<? extends INetworkEvent>, Integer> lastEvents = Maps.newIdentityHashMap();
+            for (int i = 0; i < events.length; i++) {
+                lastEvents.put(events[i].getClass(), i);
+            }
+            for (int i = 0; i < events.length; i++) {
+                INetworkEvent event = events[i];
+                DispatchTable dispatchTable = this.listeners.get(event.getClass());
+                if (dispatchTable != null) {
+                    dispatch(event, dispatchTable.getListeners());
+                    if (lastEvents.get(event.getClass()) == i) {
+                        dispatch(event, dispatchTable.getCoalescingListeners());
+                    }
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void dispatch(INetworkEvent event, IEventListenableNetworkElement[] listeners) {
+        INVOKED_LISTENERS.add(listeners.length);
+        for (IEventListenableNetworkElement listener : listeners) {
+            listener.getNetworkEventListener().onEvent(event, listener);
+        }
+    }
+
+    /**
+     * Store the event counters of the last tick and reset them.
+     * This should be called once at the end of each tick.
+     */
+    public static void onTickEnd() {
+        lastTickPostedEvents = POSTED_EVENTS.sumThenReset();
+        lastTickInvokedListeners = INVOKED_LISTENERS.sumThenReset();
+    }
+
+    /**
+     * @return The number of network events that were posted in the last tick, over all networks.
+     */
+    public static long getLastTickPostedEvents() {
+        return lastTickPostedEvents;
+    }
+
+    /**
+     * @return The number of network event listener invocations in the last tick, over all networks.
+     */
+    public static long getLastTickInvokedListeners() {
+        return lastTickInvokedListeners;
+    }
+
+    /**
+     * The listeners for a single event type.
+     * Modifications are synchronized, while the listener arrays can be read without locking.
+     */
+    protected static class DispatchTable {
+
+        private static final IEventListenableNetworkElement[] EMPTY = new IEventListenableNetworkElement[0];
+
+        private final Class<? extends INetworkEvent> eventType;
+        private final Set<IEventListenableNetworkElement<?>> listenerSet = Sets.newLinkedHashSet();
+        private volatile IEventListenableNetworkElement[] listeners = EMPTY;
+        private volatile IEventListenableNetworkElement[] coalescingListeners = EMPTY;
+        private volatile boolean dirty = false;
+
+        public DispatchTable(Class<? extends INetworkEvent> eventType) {
+            this.eventType = eventType;
+        }
+
+        public synchronized void add(IEventListenableNetworkElement<?> listener) {
+            if (listenerSet.add(listener)) {
+                dirty = true;
+            }
+        }
+
+        public synchronized void remove(IEventListenableNetworkElement<?> listener) {
+            if (listenerSet.remove(listener)) {
+                dirty = true;
+            }
+        }
+
+        protected synchronized void rebuild() {
+            if (dirty) {
+                List<IEventListenableNetworkElement<?>> regular = Lists.newArrayListWithCapacity(listenerSet.size());
+                List<IEventListenableNetworkElement<?>> coalescing = Lists.newArrayList();
+                for (IEventListenableNetworkElement<?> listener : listenerSet) {
+                    if (listener.getNetworkEventListener().isCoalescable(eventType)) {
+                        coalescing.add(listener);
+                    } else {
+                        regular.add(listener);
+                    }
+                }
+                this.listeners = regular.toArray(new IEventListenableNetworkElement[regular.size()]);
+                this.coalescingListeners = coalescing.toArray(new IEventListenableNetworkElement[coalescing.size()]);
+                dirty = false;
+            }
+        }
+
+        /**
+         * @return The listeners that must receive all events.
+         */
+        public IEventListenableNetworkElement[] getListeners() {
+            if (dirty) {
+                rebuild();
+            }
+            return listeners;
+        }
+
+        /**
+         * @return The listeners that only need to receive the last event of a batch.
+         */
+        public IEventListenableNetworkElement[] getCoalescingListeners() {
+            if (dirty) {
+                rebuild();
+            }
+            return coalescingListeners;
+        }
+
+    }
+
 }
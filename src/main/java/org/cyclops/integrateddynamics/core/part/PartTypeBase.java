@@ -250,6 +250,12 @@ public abstract class PartTypeBase<P extends IPartType<P, S>, S extends IPartSta
         }
     }
 
+    @Override
+    public boolean isCoalescable(Class<? extends INetworkEvent> eventType) {
+        IEventAction action = networkEventActions.get(eventType);
+        return action != null && action.isCoalescable();
+    }
+
     @Override
     public boolean forceLightTransparency(S state) {
         return false;
@@ -259,6 +265,13 @@ public abstract class PartTypeBase<P extends IPartType<P, S>, S extends IPartSta
 
         public void onAction(INetwork network, PartTarget target, S state, E event);
 
+        /**
+         * @return If this action only needs to be called for the last of multiple batched events.
+         */
+        default public boolean isCoalescable() {
+            return false;
+        }
+
     }
 
 }
@@ -14,6 +14,7 @@ import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.api.part.aspect.IAspectRead;
 import org.cyclops.integrateddynamics.api.part.aspect.IAspectVariable;
 import org.cyclops.integrateddynamics.api.part.aspect.property.IAspectProperties;
+import org.cyclops.integrateddynamics.core.network.diagnostics.NetworkProfiler;
 
 /**
  * Variable for a specific aspect from a part that calculates its target value only maximum once per ticking interval.
@@ -49,7 +50,13 @@ public abstract class LazyAspectVariable<V extends IValue> extends VariableAdapt
     @Override
     public V getValue() throws EvaluationException {
         if(value == null) {
-            this.value = getValueLazy();
+            if (NetworkProfiler.isEnabled()) {
+                long startTime = System.nanoTime();
+                this.value = getValueLazy();
+                NetworkProfiler.getInstance().recordAspect(getAspect(), System.nanoTime() - startTime);
+            } else {
+                this.value = getValueLazy();
+            }
         }
         return this.value;
     }
@@ -71,6 +71,11 @@ public abstract class PartTypePanelVariableDriven<P extends PartTypePanelVariabl
                 IPartNetwork partNetwork = NetworkHelpers.getPartNetwork(network);
                 onVariableContentsUpdated(partNetwork, target, state);
             }
+
+            @Override
+            public boolean isCoalescable() {
+                return true;
+            }
         });
         actions.put(NetworkElementAddEvent.Post.class, new IEventAction<P, S, NetworkElementAddEvent.Post>() {
             @Override
@@ -78,6 +83,11 @@ public abstract class PartTypePanelVariableDriven<P extends PartTypePanelVariabl
                 IPartNetwork partNetwork = NetworkHelpers.getPartNetwork(network);
                 onVariableContentsUpdated(partNetwork, target, state);
             }
+
+            @Override
+            public boolean isCoalescable() {
+                return true;
+            }
         });
         return actions;
     }
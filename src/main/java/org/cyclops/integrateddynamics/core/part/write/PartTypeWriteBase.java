@@ -30,6 +30,7 @@ import org.cyclops.integrateddynamics.core.block.IgnoredBlock;
 import org.cyclops.integrateddynamics.core.block.IgnoredBlockStatus;
 import org.cyclops.integrateddynamics.core.helper.L10NValues;
 import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
+import org.cyclops.integrateddynamics.core.network.diagnostics.NetworkProfiler;
 import org.cyclops.integrateddynamics.core.network.event.NetworkElementAddEvent;
 import org.cyclops.integrateddynamics.core.network.event.VariableContentsUpdatedEvent;
 import org.cyclops.integrateddynamics.core.part.PartTypeAspects;
@@ -67,6 +68,11 @@ public abstract class PartTypeWriteBase<P extends IPartTypeWriter<P, S>, S exten
                 IPartNetwork partNetwork = NetworkHelpers.getPartNetwork(network);
                 onVariableContentsUpdated(partNetwork, target, state);
             }
+
+            @Override
+            public boolean isCoalescable() {
+                return true;
+            }
         });
         actions.put(NetworkElementAddEvent.Post.class, new IEventAction<P, S, NetworkElementAddEvent.Post>() {
             @Override
@@ -74,6 +80,11 @@ public abstract class PartTypeWriteBase<P extends IPartTypeWriter<P, S>, S exten
                 IPartNetwork partNetwork = NetworkHelpers.getPartNetwork(network);
                 onVariableContentsUpdated(partNetwork, target, state);
             }
+
+            @Override
+            public boolean isCoalescable() {
+                return true;
+            }
         });
         return actions;
     }
@@ -93,7 +104,13 @@ public abstract class PartTypeWriteBase<P extends IPartTypeWriter<P, S>, S exten
         super.update(network, partNetwork, target, state);
         IAspect aspect = getActiveAspect(target, state);
         if (aspect != null) {
-            aspect.update(partNetwork, this, target, state);
+            if (NetworkProfiler.isEnabled()) {
+                long startTime = System.nanoTime();
+                aspect.update(partNetwork, this, target, state);
+                NetworkProfiler.getInstance().recordAspect(aspect, System.nanoTime() - startTime);
+            } else {
+                aspect.update(partNetwork, this, target, state);
+            }
         }
     }
 
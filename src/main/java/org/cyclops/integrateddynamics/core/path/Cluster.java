@@ -23,6 +23,7 @@ import org.cyclops.integrateddynamics.capability.path.SidedPathElement;
 import java.util.Collection;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.ObjIntConsumer;
 
 /**
  * A cluster for a collection of path elements.
@@ -92,4 +93,18 @@ public class Cluster implements Collection<ISidedPathElement>, INBTSerializable
             }
         }
     }
+
+    /**
+     * Read the positions of all path elements in the given NBT tag of a cluster,
+     * without loading the path elements themselves.
+     * @param tag The NBT tag of a cluster.
+     * @param consumer A consumer for each position and its dimension id.
+     */
+    public static void readPositions(NBTTagCompound tag, ObjIntConsumer<BlockPos> consumer) {
+        NBTTagList list = tag.getTagList("list", MinecraftHelpers.NBTTag_Types.NBTTagCompound.ordinal());
+        for(int i = 0; i < list.tagCount(); i++) {
+            NBTTagCompound elementTag = list.getCompoundTagAt(i);
+            consumer.accept(BlockPos.fromLong(elementTag.getLong("pos")), elementTag.getInteger("dimension"));
+        }
+    }
 }
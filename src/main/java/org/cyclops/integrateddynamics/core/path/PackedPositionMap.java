@@ -0,0 +1,85 @@
+package org.cyclops.integrateddynamics.core.path;
+
+import gnu.trove.impl.Constants;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import net.minecraft.util.math.BlockPos;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+
+/**
+ * A map from positions to primitive integers that does not allocate objects per entry.
+ * Block positions are packed into longs using {@link BlockPos#toLong()},
+ * and are stored in an open addressing hash map per dimension.
+ * @author rubensworks
+ */
+public class PackedPositionMap {
+
+    public static final int NO_ENTRY = -1;
+
+    private final TIntObjectMap<TLongIntMap> dimensions = new TIntObjectHashMap<>();
+    private final int initialCapacity;
+    private int lastDimension;
+    private TLongIntMap lastPositions = null;
+
+    public PackedPositionMap(int initialCapacity) {
+        this.initialCapacity = initialCapacity;
+    }
+
+    public PackedPositionMap() {
+        this(Constants.DEFAULT_CAPACITY);
+    }
+
+    protected TLongIntMap getPositions(int dimension, boolean create) {
+        // Most clusters are within a single dimension, so avoid the dimension lookup in that case.
+        if (lastPositions != null && lastDimension == dimension) {
+            return lastPositions;
+        }
+        TLongIntMap positions = dimensions.get(dimension);
+        if (positions == null) {
+            if (!create) {
+                return null;
+            }
+            positions = new TLongIntHashMap(initialCapacity, Constants.DEFAULT_LOAD_FACTOR, 0, NO_ENTRY);
+            dimensions.put(dimension, positions);
+        }
+        lastDimension = dimension;
+        lastPositions = positions;
+        return positions;
+    }
+
+    /**
+     * @param position A position.
+     * @return The value for the given position, or {@link #NO_ENTRY} if it is not present.
+     */
+    public int get(DimPos position) {
+        TLongIntMap positions = getPositions(position.getDimensionId(), false);
+        return positions == null ? NO_ENTRY : positions.get(position.getBlockPos().toLong());
+    }
+
+    /**
+     * @param position A position.
+     * @return If the given position is present.
+     */
+    public boolean contains(DimPos position) {
+        return get(position) != NO_ENTRY;
+    }
+
+    /**
+     * Set the value for the given position if it was not present yet.
+     * @param position A position.
+     * @param value A value, this can not be {@link #NO_ENTRY}.
+     * @return If the value was set.
+     */
+    public boolean putIfAbsent(DimPos position, int value) {
+        TLongIntMap positions = getPositions(position.getDimensionId(), true);
+        long key = position.getBlockPos().toLong();
+        if (positions.containsKey(key)) {
+            return false;
+        }
+        positions.put(key, value);
+        return true;
+    }
+
+}
@@ -1,11 +1,14 @@
 package org.cyclops.integrateddynamics.core.path;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.integrateddynamics.api.path.IPathElement;
 import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
 
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
 
 /**
@@ -14,35 +17,154 @@ import java.util.TreeSet;
  */
 public final class PathFinder {
 
-    protected static TreeSet<ISidedPathElement> getConnectedElements(ISidedPathElement head, Set<DimPos> visitedPositions) {
-        TreeSet<ISidedPathElement> elements = Sets.newTreeSet();
+    /**
+     * Find all elements that are connected to the given head.
+     * This uses a breadth-first search without recursion,
+     * where the resulting list also acts as the work queue.
+     * @param head The element to start from.
+     * @return All connected elements, including the head.
+     */
+    protected static TreeSet<ISidedPathElement> getConnectedElements(ISidedPathElement head) {
+        List<ISidedPathElement> elements = Lists.newArrayList();
+        PackedPositionMap visitedPositions = new PackedPositionMap();
 
-        // Make sure to add our head
-        if(!visitedPositions.contains(head.getPathElement().getPosition())) {
-            elements.add(head);
-            visitedPositions.add(head.getPathElement().getPosition());
+        visitedPositions.putIfAbsent(head.getPathElement().getPosition(), 0);
+        elements.add(head);
+        for (int i = 0; i < elements.size(); i++) {
+            for (ISidedPathElement neighbour : elements.get(i).getPathElement().getReachableElements()) {
+                if (visitedPositions.putIfAbsent(neighbour.getPathElement().getPosition(), 0)) {
+                    elements.add(neighbour);
+                }
+            }
+        }
+
+        return Sets.newTreeSet(elements);
+    }
+
+    public static Cluster getConnectedCluster(ISidedPathElement head) {
+        return new Cluster(getConnectedElements(head));
+    }
+
+    /**
+     * Find the clusters that have become detached from each other
+     * after the connection between the given heads was broken.
+     *
+     * A search is started from each head, and all searches are advanced in lockstep.
+     * Once a search reaches an element that was visited by another search, both are merged,
+     * as their heads are still connected.
+     * Once a search is exhausted, it has found a detached cluster.
+     * The process stops when at most one search is still running,
+     * so the remaining (and usually largest) part of the network is never fully traversed.
+     *
+     * @param heads The path elements that were adjacent to the broken connection.
+     * @return The detached clusters, this will be empty if all heads are still connected.
+     *         The part of the network that was not fully explored is never included.
+     */
+    public static List<Cluster> getDetachedClusters(List<ISidedPathElement> heads) {
+        int count = heads.size();
+        if (count <= 1) {
+            return Lists.newArrayList();
+        }
+        int[] groups = new int[count];
+        int[] queueHeads = new int[count];
+        List<List<ISidedPathElement>> visitedElements = Lists.newArrayListWithCapacity(count);
+        PackedPositionMap visitedPositions = new PackedPositionMap();
+
+        // The visited elements of each search also act as its work queue, starting at the queue head index.
+        for (int i = 0; i < count; i++) {
+            groups[i] = i;
+            visitedElements.add(Lists.<ISidedPathElement>newArrayList());
+            ISidedPathElement head = heads.get(i);
+            if (visitedPositions.putIfAbsent(head.getPathElement().getPosition(), i)) {
+                visitedElements.get(i).add(head);
+            } else {
+                mergeGroups(groups, i, visitedPositions.get(head.getPathElement().getPosition()));
+            }
+        }
+
+        boolean[] activeGroups = new boolean[count];
+        int activeGroupCount = countActiveGroups(groups, queueHeads, visitedElements, activeGroups);
+        while (activeGroupCount > 1) {
+            for (int i = 0; i < count; i++) {
+                List<ISidedPathElement> elements = visitedElements.get(i);
+                if (queueHeads[i] < elements.size()) {
+                    ISidedPathElement element = elements.get(queueHeads[i]++);
+                    for (ISidedPathElement neighbour : element.getPathElement().getReachableElements()) {
+                        DimPos position = neighbour.getPathElement().getPosition();
+                        if (visitedPositions.putIfAbsent(position, i)) {
+                            elements.add(neighbour);
+                        } else {
+                            mergeGroups(groups, i, visitedPositions.get(position));
+                        }
+                    }
+                }
+            }
+            activeGroupCount = countActiveGroups(groups, queueHeads, visitedElements, activeGroups);
         }
 
-        // Add neighbours that haven't been checked yet.
-        for(ISidedPathElement neighbour : head.getPathElement().getReachableElements()) {
-            if(!visitedPositions.contains(neighbour.getPathElement().getPosition())) {
-                elements.add(neighbour);
-                visitedPositions.add(neighbour.getPathElement().getPosition());
+        // Collect the elements of all exhausted groups.
+        Map<Integer, TreeSet<ISidedPathElement>> detachedElements = Maps.newTreeMap();
+        for (int i = 0; i < count; i++) {
+            int group = getGroup(groups, i);
+            if (!activeGroups[group]) {
+                TreeSet<ISidedPathElement> elements = detachedElements.get(group);
+                if (elements == null) {
+                    elements = Sets.newTreeSet();
+                    detachedElements.put(group, elements);
+                }
+                elements.addAll(visitedElements.get(i));
             }
         }
 
-        // Loop over the added neighbours to recursively check their neighbours.
-        Set<ISidedPathElement> neighbourElements = Sets.newHashSet();
-        for(ISidedPathElement addedElement : elements) {
-            neighbourElements.addAll(getConnectedElements(addedElement, visitedPositions));
+        // If all groups were exhausted at the same time, the largest one is kept as remaining part.
+        if (activeGroupCount == 0) {
+            Integer largestGroup = null;
+            for (Map.Entry<Integer, TreeSet<ISidedPathElement>> entry : detachedElements.entrySet()) {
+                if (largestGroup == null || entry.getValue().size() > detachedElements.get(largestGroup).size()) {
+                    largestGroup = entry.getKey();
+                }
+            }
+            detachedElements.remove(largestGroup);
         }
-        elements.addAll(neighbourElements);
 
-        return elements;
+        List<Cluster> clusters = Lists.newArrayListWithCapacity(detachedElements.size());
+        for (TreeSet<ISidedPathElement> elements : detachedElements.values()) {
+            clusters.add(new Cluster(elements));
+        }
+        return clusters;
     }
 
-    public static Cluster getConnectedCluster(ISidedPathElement head) {
-        return new Cluster(getConnectedElements(head, Sets.<DimPos>newTreeSet()));
+    protected static int getGroup(int[] groups, int search) {
+        while (groups[search] != search) {
+            search = groups[search];
+        }
+        return search;
+    }
+
+    protected static void mergeGroups(int[] groups, int searchA, int searchB) {
+        int groupA = getGroup(groups, searchA);
+        int groupB = getGroup(groups, searchB);
+        if (groupA != groupB) {
+            groups[Math.max(groupA, groupB)] = Math.min(groupA, groupB);
+        }
+    }
+
+    protected static int countActiveGroups(int[] groups, int[] queueHeads, List<List<ISidedPathElement>> visitedElements,
+                                           boolean[] activeGroups) {
+        int count = 0;
+        for (int i = 0; i < groups.length; i++) {
+            activeGroups[i] = false;
+        }
+        for (int i = 0; i < groups.length; i++) {
+            if (queueHeads[i] < visitedElements.get(i).size()) {
+                int group = getGroup(groups, i);
+                if (!activeGroups[group]) {
+                    activeGroups[group] = true;
+                    count++;
+                }
+            }
+        }
+        return count;
     }
 
 }
@@ -1,20 +1,43 @@
 package org.cyclops.integrateddynamics.core.persist.world;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import gnu.trove.map.TIntObjectMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
+import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.cyclopscore.helper.MinecraftHelpers;
 import org.cyclops.cyclopscore.init.ModBase;
 import org.cyclops.cyclopscore.persist.nbt.NBTPersist;
 import org.cyclops.cyclopscore.persist.world.WorldStorage;
 import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
 import org.cyclops.integrateddynamics.core.network.Network;
+import org.cyclops.integrateddynamics.core.network.NetworkChunkIndex;
 
+import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * World NBT storage for all active networks.
+ *
+ * Next to the persisted network set, this keeps a copy-on-write snapshot array of all networks
+ * that is only recreated when a network is added or removed,
+ * so that the networks can be iterated each tick without any allocations.
+ * It also keeps an index from path element positions to their network,
+ * together with the reverse index, so that the positions of a removed network can be dropped without a full scan.
+ *
+ * Networks without any loaded elements can be put to sleep,
+ * after which they are excluded from the awake snapshot until one of their chunks is loaded again.
+ *
  * @author rubensworks
  */
 public class NetworkWorldStorage extends WorldStorage {
@@ -24,6 +47,16 @@ public class NetworkWorldStorage extends WorldStorage {
     @NBTPersist
     private Set<INetwork> networks = Sets.newHashSet();
 
+    private volatile INetwork[] networkSnapshot = new INetwork[0];
+    private volatile Set<INetwork> networkSnapshotSet = Collections.emptySet();
+    private volatile int networkSnapshotVersion = 0;
+    private final Map<DimPos, INetwork> pathElementNetworks = Maps.newHashMap();
+    private final Map<INetwork, Set<DimPos>> networkPathElements = Maps.newIdentityHashMap();
+    private volatile INetwork[] awakeNetworkSnapshot = new INetwork[0];
+    private final Map<INetwork, SleepingNetwork> sleepingNetworks = Maps.newIdentityHashMap();
+    private final TIntObjectMap<TLongObjectMap<List<INetwork>>> sleepingNetworkChunks = new TIntObjectHashMap<>();
+    private volatile int sleepingNetworkCount = 0;
+
     private NetworkWorldStorage(ModBase mod) {
         super(mod);
     }
@@ -54,11 +87,18 @@ public class NetworkWorldStorage extends WorldStorage {
         } else {
             super.readGeneratedFieldsFromNBT(tag);
         }
+        onNetworksChanged();
     }
 
     @Override
-    public void reset() {
+    public synchronized void reset() {
         networks.clear();
+        pathElementNetworks.clear();
+        networkPathElements.clear();
+        sleepingNetworks.clear();
+        sleepingNetworkChunks.clear();
+        sleepingNetworkCount = 0;
+        onNetworksChanged();
     }
 
     @Override
@@ -71,7 +111,9 @@ public class NetworkWorldStorage extends WorldStorage {
      * @param network The network.
      */
     public synchronized void addNewNetwork(INetwork network) {
-        networks.add(network);
+        if (networks.add(network)) {
+            onNetworksChanged();
+        }
     }
 
     /**
@@ -80,14 +122,239 @@ public class NetworkWorldStorage extends WorldStorage {
      * @param network The network.
      */
     public synchronized void removeInvalidatedNetwork(INetwork network) {
-        networks.remove(network);
+        wakeNetwork(network);
+        if (networks.remove(network)) {
+            onNetworksChanged();
+        }
+        Set<DimPos> positions = networkPathElements.remove(network);
+        if (positions != null) {
+            for (DimPos position : positions) {
+                if (pathElementNetworks.get(position) == network) {
+                    pathElementNetworks.remove(position);
+                }
+            }
+        }
+    }
+
+    /**
+     * Recreate the network snapshots, must be called after each change to the network set.
+     */
+    protected synchronized void onNetworksChanged() {
+        networkSnapshot = networks.toArray(new INetwork[networks.size()]);
+        networkSnapshotSet = Collections.unmodifiableSet(Sets.newHashSet(networks));
+        networkSnapshotVersion++;
+        onSleepingNetworksChanged();
+    }
+
+    protected synchronized void onSleepingNetworksChanged() {
+        if (sleepingNetworks.isEmpty()) {
+            awakeNetworkSnapshot = networkSnapshot;
+        } else {
+            List<INetwork> awakeNetworks = Lists.newArrayListWithCapacity(networkSnapshot.length);
+            for (INetwork network : networkSnapshot) {
+                if (!sleepingNetworks.containsKey(network)) {
+                    awakeNetworks.add(network);
+                }
+            }
+            awakeNetworkSnapshot = awakeNetworks.toArray(new INetwork[awakeNetworks.size()]);
+        }
+        sleepingNetworkCount = sleepingNetworks.size();
     }
 
     /**
      * @return A thread-safe copy of the current network set.
+     *         This copy is shared until the network set changes, so it must not be modified.
+     */
+    public Set<INetwork> getNetworks() {
+        return networkSnapshotSet;
+    }
+
+    /**
+     * Get a snapshot of the current networks.
+     * The same array is returned until a network is added or removed,
+     * so this is safe to call each tick, and the returned array must never be modified.
+     * @return The current networks.
+     */
+    public INetwork[] getNetworkSnapshot() {
+        return networkSnapshot;
+    }
+
+    /**
+     * Get a snapshot of the networks that are not sleeping, which are the ones that need to be updated.
+     * Just like {@link #getNetworkSnapshot()}, the returned array must never be modified.
+     * @return The current networks that are not sleeping.
+     */
+    public INetwork[] getAwakeNetworkSnapshot() {
+        return awakeNetworkSnapshot;
+    }
+
+    /**
+     * @return The number of sleeping networks.
+     */
+    public int getSleepingNetworkCount() {
+        return sleepingNetworkCount;
+    }
+
+    /**
+     * @param network A network.
+     * @return If the network is sleeping.
+     */
+    public synchronized boolean isSleeping(INetwork network) {
+        return sleepingNetworks.containsKey(network);
+    }
+
+    /**
+     * Put the given network to sleep, until one of the given chunks is loaded or the network is woken up.
+     * @param network The network.
+     * @param chunkIndex The chunks in which the network has elements.
+     */
+    public synchronized void sleepNetwork(INetwork network, NetworkChunkIndex chunkIndex) {
+        if (!networks.contains(network) || sleepingNetworks.containsKey(network)) {
+            return;
+        }
+        int[] dimensions = chunkIndex.getDimensions();
+        long[][] chunks = new long[dimensions.length][];
+        for (int i = 0; i < dimensions.length; i++) {
+            chunks[i] = chunkIndex.getChunks(dimensions[i]);
+            TLongObjectMap<List<INetwork>> dimensionChunks = sleepingNetworkChunks.get(dimensions[i]);
+            if (dimensionChunks == null) {
+                dimensionChunks = new TLongObjectHashMap<>();
+                sleepingNetworkChunks.put(dimensions[i], dimensionChunks);
+            }
+            for (long chunk : chunks[i]) {
+                List<INetwork> chunkNetworks = dimensionChunks.get(chunk);
+                if (chunkNetworks == null) {
+                    chunkNetworks = Lists.newArrayListWithCapacity(1);
+                    dimensionChunks.put(chunk, chunkNetworks);
+                }
+                chunkNetworks.add(network);
+            }
+        }
+        sleepingNetworks.put(network, new SleepingNetwork(dimensions, chunks));
+        onSleepingNetworksChanged();
+    }
+
+    /**
+     * Wake up the given network if it is sleeping.
+     * @param network The network.
      */
-    public synchronized Set<INetwork> getNetworks() {
-        return Collections.unmodifiableSet(Sets.newHashSet(networks));
+    public void wakeNetwork(INetwork network) {
+        if (sleepingNetworkCount > 0) {
+            synchronized (this) {
+                SleepingNetwork sleepingNetwork = sleepingNetworks.remove(network);
+                if (sleepingNetwork != null) {
+                    for (int i = 0; i < sleepingNetwork.dimensions.length; i++) {
+                        TLongObjectMap<List<INetwork>> dimensionChunks = sleepingNetworkChunks.get(sleepingNetwork.dimensions[i]);
+                        for (long chunk : sleepingNetwork.chunks[i]) {
+                            List<INetwork> chunkNetworks = dimensionChunks.get(chunk);
+                            chunkNetworks.remove(network);
+                            if (chunkNetworks.isEmpty()) {
+                                dimensionChunks.remove(chunk);
+                            }
+                        }
+                        if (dimensionChunks.isEmpty()) {
+                            sleepingNetworkChunks.remove(sleepingNetwork.dimensions[i]);
+                        }
+                    }
+                    onSleepingNetworksChanged();
+                }
+            }
+        }
+    }
+
+    /**
+     * Wake up all sleeping networks that have elements in the given chunk.
+     * @param dimension The dimension of the chunk.
+     * @param chunkKey The chunk key, as determined by {@link NetworkChunkIndex#getChunkKey(int, int)}.
+     */
+    public void wakeNetworks(int dimension, long chunkKey) {
+        if (sleepingNetworkCount > 0) {
+            synchronized (this) {
+                TLongObjectMap<List<INetwork>> dimensionChunks = sleepingNetworkChunks.get(dimension);
+                List<INetwork> chunkNetworks = dimensionChunks == null ? null : dimensionChunks.get(chunkKey);
+                if (chunkNetworks != null) {
+                    for (INetwork network : Lists.newArrayList(chunkNetworks)) {
+                        wakeNetwork(network);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Wake up all sleeping networks.
+     */
+    public synchronized void wakeAllNetworks() {
+        if (sleepingNetworkCount > 0) {
+            sleepingNetworks.clear();
+            sleepingNetworkChunks.clear();
+            onSleepingNetworksChanged();
+        }
+    }
+
+    /**
+     * @return A number that changes each time the network set changes.
+     */
+    public int getNetworkSnapshotVersion() {
+        return networkSnapshotVersion;
+    }
+
+    /**
+     * Index the given path elements as being part of the given network.
+     * @param network The network.
+     * @param pathElements The path elements that were added to the network.
+     */
+    public synchronized void onPathElementsAdded(INetwork network, Collection<ISidedPathElement> pathElements) {
+        Set<DimPos> positions = networkPathElements.get(network);
+        if (positions == null) {
+            positions = Sets.newHashSet();
+            networkPathElements.put(network, positions);
+        }
+        for (ISidedPathElement pathElement : pathElements) {
+            DimPos position = pathElement.getPathElement().getPosition();
+            INetwork previousNetwork = pathElementNetworks.put(position, network);
+            if (previousNetwork != null && previousNetwork != network) {
+                removeNetworkPathElement(previousNetwork, position);
+            }
+            positions.add(position);
+        }
+    }
+
+    /**
+     * Remove the given path element from the index if it was indexed for the given network.
+     * @param network The network.
+     * @param pathElement The path element that was removed from the network.
+     */
+    public synchronized void onPathElementRemoved(INetwork network, ISidedPathElement pathElement) {
+        DimPos position = pathElement.getPathElement().getPosition();
+        if (pathElementNetworks.get(position) == network) {
+            pathElementNetworks.remove(position);
+            removeNetworkPathElement(network, position);
+        }
+    }
+
+    protected void removeNetworkPathElement(INetwork network, DimPos position) {
+        Set<DimPos> positions = networkPathElements.get(network);
+        if (positions != null) {
+            positions.remove(position);
+            if (positions.isEmpty()) {
+                networkPathElements.remove(network);
+            }
+        }
+    }
+
+    /**
+     * Find the network that contains the given path element.
+     * @param pathElement A path element.
+     * @return The network containing the path element, or null if no network contains it.
+     */
+    @Nullable
+    public synchronized INetwork getNetwork(ISidedPathElement pathElement) {
+        INetwork network = pathElementNetworks.get(pathElement.getPathElement().getPosition());
+        if (network != null && network.containsSidedPathElement(pathElement)) {
+            return network;
+        }
+        return null;
     }
 
     @Override
@@ -104,4 +371,15 @@ public class NetworkWorldStorage extends WorldStorage {
         }
     }
 
+    private static class SleepingNetwork {
+
+        private final int[] dimensions;
+        private final long[][] chunks;
+
+        public SleepingNetwork(int[] dimensions, long[][] chunks) {
+            this.dimensions = dimensions;
+            this.chunks = chunks;
+        }
+    }
+
 }
@@ -93,7 +93,7 @@ public abstract class TileActiveVariableBase<E> extends TileCableConnectableInve
             }
         }
         if(sendVariablesUpdateEvent && partNetwork != null && lastVariabledId != variableId) {
-            network.getEventBus().post(new VariableContentsUpdatedEvent(network));
+            NetworkHelpers.postVariableContentsUpdated(network);
         }
         sendUpdate();
     }
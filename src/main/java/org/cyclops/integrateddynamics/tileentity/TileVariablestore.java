@@ -113,7 +113,7 @@ public class TileVariablestore extends TileCableConnectableInventory
         if (sendVariablesUpdateEvent) {
             INetwork network = getNetwork();
             if (network != null) {
-                network.getEventBus().post(new VariableContentsUpdatedEvent(network));
+                NetworkHelpers.postVariableContentsUpdated(network);
             }
         }
     }
@@ -0,0 +1,289 @@
+package org.cyclops.integrateddynamics.core.evaluate.expression;
+
+import com.google.common.collect.Maps;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.expression.ILazyExpressionValueCache;
+import org.cyclops.integrateddynamics.api.evaluate.expression.VariableAdapter;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueCastMappings;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeBoolean;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeOperator;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeString;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.cyclops.integrateddynamics.core.evaluate.variable.Variable;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link CompiledExpression}.
+ * @author rubensworks
+ */
+public class TestCompiledExpression {
+
+    private ValueCache cache;
+    private CountingVariable<ValueTypeInteger.ValueInteger> x;
+    private CountingVariable<ValueTypeInteger.ValueInteger> y;
+
+    @Before
+    public void before() {
+        ValueCastMappings.load();
+        cache = new ValueCache();
+        x = new CountingVariable<>(ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(2));
+        y = new CountingVariable<>(ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(3));
+    }
+
+    protected static int getInteger(IValue value) {
+        return ((ValueTypeInteger.ValueInteger) value).getRawValue();
+    }
+
+    @Test
+    public void testSharedExpressions() throws EvaluationException {
+        LazyExpression a = new LazyExpression(1, Operators.ARITHMETIC_ADDITION, new IVariable[]{x, y}, cache);
+        LazyExpression b = new LazyExpression(2, Operators.ARITHMETIC_ADDITION, new IVariable[]{x, y}, cache);
+        LazyExpression c = new LazyExpression(3, Operators.ARITHMETIC_MULTIPLICATION, new IVariable[]{a, b}, cache);
+
+        CompiledExpression compiled = c.getCompiledExpression();
+        assertThat(compiled.getRegisterCount(), is(2));
+        assertThat(compiled.getInputVariableCount(), is(2));
+        assertThat(getInteger(c.getValue()), is(25));
+        assertThat(x.getFetched(), is(1));
+        assertThat(y.getFetched(), is(1));
+        assertThat(getInteger(cache.getValue(2)), is(5));
+    }
+
+    @Test
+    public void testSharedBetweenRoots() throws EvaluationException {
+        LazyExpression a = new LazyExpression(1, Operators.ARITHMETIC_ADDITION, new IVariable[]{x, y}, cache);
+        LazyExpression b = new LazyExpression(2, Operators.ARITHMETIC_MULTIPLICATION, new IVariable[]{a, y}, cache);
+        LazyExpression c = new LazyExpression(3, Operators.ARITHMETIC_ADDITION, new IVariable[]{x, y}, cache);
+        LazyExpression d = new LazyExpression(4, Operators.ARITHMETIC_SUBTRACTION, new IVariable[]{c, y}, cache);
+        assertThat(getInteger(b.getValue()), is(15));
+        assertThat(getInteger(d.getValue()), is(2));
+
+        CompiledExpression compiled = b.getCompiledExpression();
+        assertThat(d.getCompiledExpression(), sameInstance(compiled));
+        assertThat(compiled.getRegisterCount(), is(3));
+        assertThat("x + y is evaluated once for both roots", compiled.getEvaluations(), is(3L));
+        assertThat(x.getFetched(), is(1));
+
+        x.setValue(ValueTypeInteger.ValueInteger.of(7));
+        x.invalidate();
+        assertThat(cache.hasValue(2), is(false));
+        assertThat(cache.hasValue(4), is(false));
+        assertThat(getInteger(d.getValue()), is(7));
+        assertThat(getInteger(b.getValue()), is(30));
+        assertThat(compiled.getEvaluations(), is(6L));
+    }
+
+    @Test
+    public void testConstantFolding() throws EvaluationException {
+        LazyExpression a = new LazyExpression(1, Operators.ARITHMETIC_ADDITION, new IVariable[]{
+                new Variable<>(ValueTypeInteger.ValueInteger.of(10)),
+                new Variable<>(ValueTypeInteger.ValueInteger.of(20))}, cache);
+        LazyExpression b = new LazyExpression(2, Operators.ARITHMETIC_MULTIPLICATION, new IVariable[]{a, x}, cache);
+
+        CompiledExpression compiled = b.getCompiledExpression();
+        assertThat(compiled.getRegisterCount(), is(2));
+        assertThat(compiled.getConstantRegisterCount(), is(1));
+        assertThat(getInteger(b.getValue()), is(60));
+    }
+
+    @Test
+    public void testInvalidation() throws EvaluationException {
+        LazyExpression a = new LazyExpression(1, Operators.ARITHMETIC_ADDITION, new IVariable[]{x, y}, cache);
+        LazyExpression b = new LazyExpression(2, Operators.ARITHMETIC_MULTIPLICATION, new IVariable[]{a, y}, cache);
+        assertThat(getInteger(b.getValue()), is(15));
+
+        x.setValue(ValueTypeInteger.ValueInteger.of(7));
+        x.invalidate();
+        assertThat(cache.hasValue(1), is(false));
+        assertThat(cache.hasValue(2), is(false));
+        assertThat(getInteger(b.getValue()), is(30));
+        assertThat(x.getFetched(), is(2));
+    }
+
+    @Test
+    public void testUnchangedInput() throws EvaluationException {
+        CountingVariable<ValueTypeInteger.ValueInteger> z = new CountingVariable<>(ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(4));
+        LazyExpression a = new LazyExpression(1, Operators.ARITHMETIC_ADDITION, new IVariable[]{x, y}, cache);
+        LazyExpression b = new LazyExpression(2, Operators.ARITHMETIC_MULTIPLICATION, new IVariable[]{a, z}, cache);
+        assertThat(getInteger(b.getValue()), is(20));
+        assertThat(b.getCompiledExpression().getEvaluations(), is(2L));
+
+        x.setValue(ValueTypeInteger.ValueInteger.of(3));
+        y.setValue(ValueTypeInteger.ValueInteger.of(2));
+        x.invalidate();
+        y.invalidate();
+        assertThat(getInteger(b.getValue()), is(20));
+        assertThat(b.getCompiledExpression().getEvaluations(), is(3L));
+
+        z.invalidate();
+        assertThat(getInteger(b.getValue()), is(20));
+        assertThat(b.getCompiledExpression().getEvaluations(), is(3L));
+        assertThat(z.getFetched(), is(2));
+    }
+
+    @Test
+    public void testShortCircuit() throws EvaluationException {
+        CountingVariable<ValueTypeBoolean.ValueBoolean> f = new CountingVariable<>(ValueTypes.BOOLEAN, ValueTypeBoolean.ValueBoolean.of(false));
+        CountingVariable<ValueTypeBoolean.ValueBoolean> t = new CountingVariable<>(ValueTypes.BOOLEAN, ValueTypeBoolean.ValueBoolean.of(true));
+        LazyExpression a = new LazyExpression(1, Operators.LOGICAL_AND, new IVariable[]{f, t}, cache);
+        assertThat(((ValueTypeBoolean.ValueBoolean) a.getValue()).getRawValue(), is(false));
+        assertThat(t.getFetched(), is(0));
+    }
+
+    @Test
+    public void testReplacedExpression() throws EvaluationException {
+        testReplacedExpression(true);
+        before();
+        testReplacedExpression(false);
+    }
+
+    protected void testReplacedExpression(boolean compileExpressions) throws EvaluationException {
+        boolean compileExpressionsOld = GeneralConfig.compileExpressions;
+        GeneralConfig.compileExpressions = compileExpressions;
+        try {
+            LazyExpression stale = new LazyExpression(1, Operators.ARITHMETIC_ADDITION, new IVariable[]{x, y}, cache);
+            assertThat(getInteger(stale.getValue()), is(5));
+
+            // After an error or a network change, a new expression is created with the same id.
+            LazyExpression live = new LazyExpression(1, Operators.ARITHMETIC_ADDITION, new IVariable[]{x, y}, cache);
+            LazyExpression dependent = new LazyExpression(2, Operators.ARITHMETIC_MULTIPLICATION, new IVariable[]{live, y}, cache);
+            assertThat(getInteger(dependent.getValue()), is(15));
+
+            // The stale expression removes the shared value before the live expression is invalidated.
+            stale.invalidate();
+            assertThat(cache.hasValue(1), is(false));
+            x.setValue(ValueTypeInteger.ValueInteger.of(7));
+            x.invalidate();
+            assertThat(cache.hasValue(2), is(false));
+            assertThat(getInteger(dependent.getValue()), is(30));
+        } finally {
+            GeneralConfig.compileExpressions = compileExpressionsOld;
+        }
+    }
+
+    @Test
+    public void testRecreatedAfterError() {
+        CountingVariable<ValueTypeInteger.ValueInteger> zero = new CountingVariable<>(ValueTypes.INTEGER, ValueTypeInteger.ValueInteger.of(0));
+        CompiledExpression compiled = null;
+        for (int i = 0; i < 100; i++) {
+            // Like a variable facade, recreate the expression with the same id after each error.
+            LazyExpression a = new LazyExpression(1, Operators.ARITHMETIC_DIVISION, new IVariable[]{x, zero}, cache);
+            try {
+                a.getValue();
+                throw new AssertionError("The division by zero should have failed.");
+            } catch (EvaluationException e) {
+                assertThat(a.hasErrored(), is(true));
+            }
+            compiled = a.getCompiledExpression();
+            assertThat("the previous expression with the same id is replaced", compiled.getExpressionCount(), is(1));
+            assertThat(compiled.getDependentExpressionCount(), is(2));
+        }
+        assertThat(compiled.getRegisterCount(), is(1));
+    }
+
+    @Test
+    public void testPrepareParallel() throws EvaluationException {
+        LazyExpression a = new LazyExpression(1, Operators.ARITHMETIC_ADDITION, new IVariable[]{x, y}, cache);
+        LazyExpression b = new LazyExpression(2, Operators.ARITHMETIC_MULTIPLICATION, new IVariable[]{a, y}, cache);
+        CompiledExpression compiled = b.getCompiledExpression();
+        assertThat(compiled.prepareParallel(b), is(true));
+        assertThat("the input is read while preparing", x.getFetched(), is(1));
+        assertThat(getInteger(b.getValue()), is(15));
+        assertThat(x.getFetched(), is(1));
+        assertThat(y.getFetched(), is(1));
+
+        CountingVariable<ValueTypeString.ValueString> name = new CountingVariable<>(ValueTypes.STRING, ValueTypeString.ValueString.of("a"));
+        LazyExpression impure = new LazyExpression(3, Operators.NAMED_NAME, new IVariable[]{name}, cache);
+        assertThat("impure operators are not evaluated in parallel", compiled.prepareParallel(impure), is(false));
+
+        CountingVariable<ValueTypeOperator.ValueOperator> operator = new CountingVariable<>(ValueTypes.OPERATOR, ValueTypeOperator.ValueOperator.of(Operators.NAMED_NAME));
+        LazyExpression applied = new LazyExpression(4, Operators.OPERATOR_APPLY, new IVariable[]{operator, name}, cache);
+        assertThat("impure operator values are not evaluated in parallel", compiled.prepareParallel(applied), is(false));
+    }
+
+    @Test
+    public void testVersion() throws EvaluationException {
+        LazyExpression a = new LazyExpression(1, Operators.ARITHMETIC_ADDITION, new IVariable[]{x, y}, cache);
+        CompiledExpression compiled = a.getCompiledExpression();
+        assertThat(a.getCompiledExpression(), sameInstance(compiled));
+        cache.version++;
+        assertThat(a.getCompiledExpression(), not(sameInstance(compiled)));
+    }
+
+    public static class ValueCache implements ILazyExpressionValueCache {
+
+        private final Map<Integer, IValue> values = Maps.newHashMap();
+        private int version = 0;
+
+        @Override
+        public void setValue(int id, IValue value) {
+            values.put(id, value);
+        }
+
+        @Override
+        public boolean hasValue(int id) {
+            return values.containsKey(id);
+        }
+
+        @Override
+        public IValue getValue(int id) {
+            return values.get(id);
+        }
+
+        @Override
+        public void removeValue(int id) {
+            values.remove(id);
+        }
+
+        @Override
+        public int getExpressionVersion() {
+            return version;
+        }
+    }
+
+    public static class CountingVariable<V extends IValue> extends VariableAdapter<V> {
+
+        private final IValueType<V> type;
+        private V value;
+        private int fetched = 0;
+
+        public CountingVariable(IValueType<V> type, V value) {
+            this.type = type;
+            this.value = value;
+        }
+
+        @Override
+        public IValueType<V> getType() {
+            return type;
+        }
+
+        @Override
+        public V getValue() throws EvaluationException {
+            fetched++;
+            return value;
+        }
+
+        public void setValue(V value) {
+            this.value = value;
+        }
+
+        public int getFetched() {
+            return fetched;
+        }
+    }
+
+}
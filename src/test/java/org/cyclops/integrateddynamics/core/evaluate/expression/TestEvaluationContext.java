@@ -0,0 +1,119 @@
+package org.cyclops.integrateddynamics.core.evaluate.expression;
+
+import com.google.common.collect.Lists;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableList;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableOperator;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueCastMappings;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeList;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyFactories;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeOperator;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link EvaluationContext}.
+ * @author rubensworks
+ */
+public class TestEvaluationContext {
+
+    private int maxApplications;
+    private int maxDuration;
+    private int operatorCacheCapacity;
+    private TestCompiledExpression.ValueCache cache;
+    private DummyVariableList list;
+
+    @Before
+    public void before() {
+        ValueCastMappings.load();
+        ValueTypeListProxyFactories.load();
+        maxApplications = GeneralConfig.evaluationMaxApplications;
+        maxDuration = GeneralConfig.evaluationMaxDuration;
+        operatorCacheCapacity = GeneralConfig.operatorCacheCapacity;
+        GeneralConfig.evaluationMaxDuration = 0;
+        // Cached applications would not be counted.
+        GeneralConfig.operatorCacheCapacity = 0;
+        EvaluationCosts.getInstance().reset();
+        cache = new TestCompiledExpression.ValueCache();
+        List<ValueTypeInteger.ValueInteger> integers = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            integers.add(ValueTypeInteger.ValueInteger.of(i));
+        }
+        list = new DummyVariableList(ValueTypeList.ValueList.ofList(ValueTypes.INTEGER, integers));
+    }
+
+    @After
+    public void after() {
+        GeneralConfig.evaluationMaxApplications = maxApplications;
+        GeneralConfig.evaluationMaxDuration = maxDuration;
+        GeneralConfig.operatorCacheCapacity = operatorCacheCapacity;
+    }
+
+    protected LazyExpression createReduce(int id) {
+        return new LazyExpression(id, Operators.OPERATOR_REDUCE, new IVariable[]{
+                new DummyVariableOperator(ValueTypeOperator.ValueOperator.of(Operators.ARITHMETIC_ADDITION)), list,
+                new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(0))}, cache);
+    }
+
+    @Test
+    public void testCosts() throws EvaluationException {
+        GeneralConfig.evaluationMaxApplications = 0;
+        LazyExpression reduce = createReduce(1);
+        LazyExpression increment = new LazyExpression(2, Operators.INTEGER_INCREMENT, new IVariable[]{reduce}, cache);
+        assertThat(((ValueTypeInteger.ValueInteger) increment.getValue()).getRawValue(), is(4951));
+        assertThat(EvaluationContext.get(), nullValue());
+
+        EvaluationCosts.Entry entry = EvaluationCosts.getInstance().get(2);
+        assertThat(entry, notNullValue());
+        assertThat(entry.getEvaluations(), is(1L));
+        assertThat(entry.getAborts(), is(0L));
+        // One application for the increment, one for the reduce and one for each element.
+        assertThat(entry.getLastApplications(), is(102L));
+        assertThat("nested expressions are counted in their parent", EvaluationCosts.getInstance().get(1), nullValue());
+    }
+
+    @Test
+    public void testApplicationBudget() throws EvaluationException {
+        GeneralConfig.evaluationMaxApplications = 50;
+        LazyExpression reduce = createReduce(3);
+        try {
+            reduce.getValue();
+            throw new AssertionError("The evaluation should have been aborted.");
+        } catch (EvaluationException e) {
+            // The evaluation was aborted.
+        }
+        assertThat(reduce.hasErrored(), is(true));
+        assertThat(EvaluationContext.get(), nullValue());
+        assertThat(EvaluationCosts.getInstance().get(3).getAborts(), is(1L));
+
+        GeneralConfig.evaluationMaxApplications = 200;
+        assertThat(((ValueTypeInteger.ValueInteger) createReduce(4).getValue()).getRawValue(), is(4950));
+    }
+
+    @Test
+    public void testCostsBounded() {
+        EvaluationCosts costs = EvaluationCosts.getInstance();
+        for (int id = 0; id < EvaluationCosts.CAPACITY * 2; id++) {
+            costs.record(id, 1, 1, false);
+        }
+        assertThat("costs of at most the capacity are kept", costs.getSize() <= EvaluationCosts.CAPACITY, is(true));
+        assertThat("the costs of the last evaluated variable are kept", costs.get(EvaluationCosts.CAPACITY * 2 - 1), notNullValue());
+        costs.reset();
+        assertThat(costs.getSize(), is(0L));
+    }
+
+}
@@ -0,0 +1,99 @@
+package org.cyclops.integrateddynamics.core.evaluate.operator;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyFactories;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.cyclops.integrateddynamics.core.evaluate.variable.Variable;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for the serialization of operators in {@link OperatorRegistry}.
+ * @author rubensworks
+ */
+public class TestOperatorSerialization {
+
+    @BeforeClass
+    public static void beforeClass() {
+        ValueTypeListProxyFactories.load();
+    }
+
+    protected static int evaluate(IOperator operator, int input) throws EvaluationException {
+        return ((ValueTypeInteger.ValueInteger) operator.evaluate(new IVariable[]{
+                new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(input))})).getRawValue();
+    }
+
+    protected static IOperator createPipe() {
+        IOperator add3 = new CurriedOperator(Operators.ARITHMETIC_ADDITION, new Variable<>(ValueTypeInteger.ValueInteger.of(3)));
+        return CombinedOperator.Pipe.asOperator(Operators.INTEGER_INCREMENT, add3);
+    }
+
+    @Test
+    public void testNamed() throws EvaluationException {
+        String serialized = Operators.REGISTRY.serialize(Operators.INTEGER_INCREMENT);
+        assertThat(serialized, is(Operators.INTEGER_INCREMENT.getUniqueName()));
+        assertThat(Operators.REGISTRY.deserialize(serialized), sameInstance(Operators.INTEGER_INCREMENT));
+        assertThat(Operators.REGISTRY.deserializeNbt(Operators.REGISTRY.serializeNbt(Operators.INTEGER_INCREMENT)),
+                sameInstance(Operators.INTEGER_INCREMENT));
+    }
+
+    @Test
+    public void testString() throws EvaluationException {
+        String serialized = Operators.REGISTRY.serialize(createPipe());
+        IOperator deserialized = Operators.REGISTRY.deserialize(serialized);
+        assertThat("(++ .:. +3)(1) = 5", evaluate(deserialized, 1), is(5));
+        assertThat("equal serialized operators are interned", Operators.REGISTRY.deserialize(serialized), sameInstance(deserialized));
+        assertThat("serialization is stable", Operators.REGISTRY.serialize(deserialized), is(serialized));
+    }
+
+    @Test
+    public void testNbt() throws EvaluationException {
+        NBTTagCompound tag = (NBTTagCompound) Operators.REGISTRY.serializeNbt(createPipe());
+        assertThat(tag.getString("serializer"), is("combined.pipe"));
+        NBTTagCompound curried = ((NBTTagCompound) tag.getTag("value")).getTagList("operators", 10).getCompoundTagAt(1);
+        assertThat(curried.getString("serializer"), is("curry"));
+        assertThat("nested values are native tags", ((NBTTagCompound) curried.getTag("value"))
+                .getTagList("values", 10).getCompoundTagAt(0).getTag("value"), instanceOf(NBTTagInt.class));
+
+        IOperator deserialized = Operators.REGISTRY.deserializeNbt(tag);
+        assertThat("(++ .:. +3)(1) = 5", evaluate(deserialized, 1), is(5));
+        assertThat("equal serialized operators are interned", Operators.REGISTRY.deserializeNbt(tag.copy()), sameInstance(deserialized));
+        assertThat("string tags are deserialized as strings", evaluate(Operators.REGISTRY.deserializeNbt(
+                new NBTTagString(Operators.REGISTRY.serialize(createPipe()))), 1), is(5));
+    }
+
+    @Test
+    public void testOldString() throws EvaluationException {
+        // The serialized form before values and nested operators were stored as native tags.
+        NBTTagCompound valueTag = new NBTTagCompound();
+        valueTag.setString("valueType", ValueTypes.INTEGER.getUnlocalizedName());
+        valueTag.setString("value", "3");
+        NBTTagList values = new NBTTagList();
+        values.appendTag(valueTag);
+        NBTTagCompound curried = new NBTTagCompound();
+        curried.setTag("values", values);
+        curried.setString("baseOperator", Operators.ARITHMETIC_ADDITION.getUniqueName());
+        NBTTagList operators = new NBTTagList();
+        operators.appendTag(new NBTTagString(Operators.INTEGER_INCREMENT.getUniqueName()));
+        operators.appendTag(new NBTTagString("curry:" + curried));
+        NBTTagCompound pipe = new NBTTagCompound();
+        pipe.setTag("operators", operators);
+
+        IOperator deserialized = Operators.REGISTRY.deserialize("combined.pipe:" + pipe);
+        assertThat("(++ .:. +3)(1) = 5", evaluate(deserialized, 1), is(5));
+    }
+
+}
@@ -0,0 +1,202 @@
+package org.cyclops.integrateddynamics.core.evaluate.operator;
+
+import com.google.common.collect.Lists;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableList;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableOperator;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueObjectTypeItemStack;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeBoolean;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeList;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyBase;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyFactories;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyMaterialized;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeOperator;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link ParallelListEvaluator}.
+ * @author rubensworks
+ */
+public class TestParallelListEvaluator {
+
+    private static final int LENGTH = 5000;
+
+    private int threshold;
+    private DummyVariableList lintegers;
+    private DummyVariableList lbooleans;
+
+    @BeforeClass
+    public static void beforeClass() {
+        Bootstrap.register();
+        ValueTypeListProxyFactories.load();
+    }
+
+    @Before
+    public void before() {
+        threshold = GeneralConfig.parallelListThreshold;
+        GeneralConfig.parallelListThreshold = 100;
+        List<ValueTypeInteger.ValueInteger> integers = Lists.newArrayList();
+        List<ValueTypeBoolean.ValueBoolean> booleans = Lists.newArrayList();
+        for (int i = 0; i < LENGTH; i++) {
+            integers.add(ValueTypeInteger.ValueInteger.of(i));
+            booleans.add(ValueTypeBoolean.ValueBoolean.of(i % 3 == 0));
+        }
+        lintegers = new DummyVariableList(ValueTypeList.ValueList.ofList(ValueTypes.INTEGER, integers));
+        lbooleans = new DummyVariableList(ValueTypeList.ValueList.ofList(ValueTypes.BOOLEAN, booleans));
+    }
+
+    @After
+    public void after() {
+        GeneralConfig.parallelListThreshold = threshold;
+    }
+
+    @Test
+    public void testCanParallelize() throws EvaluationException {
+        IValueTypeListProxy list = lintegers.getValue().getRawValue();
+        assertThat(ParallelListEvaluator.canParallelize(Operators.INTEGER_INCREMENT, list), is(true));
+        assertThat(ParallelListEvaluator.canParallelize(Operators.OBJECT_ITEMSTACK_CANBURN, list), is(false));
+        assertThat(ParallelListEvaluator.canParallelizeReduce(Operators.ARITHMETIC_ADDITION, list,
+                ValueTypeInteger.ValueInteger.of(0)), is(true));
+        assertThat(ParallelListEvaluator.canParallelizeReduce(Operators.ARITHMETIC_SUBTRACTION, list,
+                ValueTypeInteger.ValueInteger.of(0)), is(false));
+
+        GeneralConfig.parallelListThreshold = LENGTH + 1;
+        assertThat(ParallelListEvaluator.canParallelize(Operators.INTEGER_INCREMENT, list), is(false));
+        GeneralConfig.parallelListThreshold = 0;
+        assertThat(ParallelListEvaluator.canParallelize(Operators.INTEGER_INCREMENT, list), is(false));
+    }
+
+    @Test
+    public void testCanParallelizeNested() throws EvaluationException {
+        IValue appended = Operators.LIST_APPEND.evaluate(new IVariable[]{lintegers, new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(0))});
+        assertThat("immutable lazy lists are parallelized", ParallelListEvaluator.canParallelize(Operators.INTEGER_INCREMENT,
+                ((ValueTypeList.ValueList) appended).getRawValue()), is(true));
+
+        List<ValueTypeList.ValueList> immutableLists = Lists.newArrayList();
+        List<ValueTypeList.ValueList> mutableLists = Lists.newArrayList();
+        for (int i = 0; i < LENGTH; i++) {
+            immutableLists.add(lintegers.getValue());
+            mutableLists.add(lintegers.getValue());
+        }
+        mutableLists.set(LENGTH - 1, (ValueTypeList.ValueList) Operators.LIST_UNIQ.evaluate(new IVariable[]{lintegers}));
+        assertThat("lists of immutable lists are parallelized", ParallelListEvaluator.canParallelize(Operators.LIST_LENGTH,
+                ValueTypeList.ValueList.ofList(ValueTypes.LIST, immutableLists).getRawValue()), is(true));
+        assertThat("lists containing a list that is not immutable are not parallelized", ParallelListEvaluator.canParallelize(Operators.LIST_LENGTH,
+                ValueTypeList.ValueList.ofList(ValueTypes.LIST, mutableLists).getRawValue()), is(false));
+    }
+
+    @Test
+    public void testItemStacks() throws EvaluationException {
+        List<ItemStack> itemStacks = Lists.newArrayList();
+        for (int i = 0; i < LENGTH; i++) {
+            itemStacks.add(new ItemStack(Items.APPLE, i % 64 + 1));
+        }
+        ValueTypeListProxyInventory list = new ValueTypeListProxyInventory(itemStacks);
+        assertThat("pure item stack operators are parallelized", ParallelListEvaluator.canParallelize(Operators.OBJECT_ITEMSTACK_SIZE, list), is(true));
+        assertThat(ParallelListEvaluator.canParallelize(Operators.OBJECT_ITEMSTACK_CANBURN, list), is(false));
+
+        IValue[] values = ParallelListEvaluator.toArray(list);
+        itemStacks.get(0).setCount(10);
+        assertThat("inventory stacks are copied", ((ValueObjectTypeItemStack.ValueItemStack) values[0]).getRawValue().getCount(), is(1));
+
+        IValue res = Operators.OPERATOR_MAP.evaluate(new IVariable[]{
+                new DummyVariableOperator(ValueTypeOperator.ValueOperator.of(Operators.OBJECT_ITEMSTACK_SIZE)),
+                new DummyVariableList(ValueTypeList.ValueList.ofFactory(list))});
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> sizes = ((ValueTypeList.ValueList) res).getRawValue();
+        assertThat(sizes, instanceOf(ValueTypeListProxyMaterialized.class));
+        assertThat(sizes.get(0).getRawValue(), is(10));
+        for (int i = 1; i < LENGTH; i++) {
+            assertThat(sizes.get(i).getRawValue(), is(i % 64 + 1));
+        }
+    }
+
+    @Test
+    public void testMap() throws EvaluationException {
+        IValue res = Operators.OPERATOR_MAP.evaluate(new IVariable[]{
+                new DummyVariableOperator(ValueTypeOperator.ValueOperator.of(Operators.INTEGER_INCREMENT)), lintegers});
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> list = ((ValueTypeList.ValueList) res).getRawValue();
+        assertThat(list, instanceOf(ValueTypeListProxyMaterialized.class));
+        assertThat(list.getLength(), is(LENGTH));
+        for (int i = 0; i < LENGTH; i++) {
+            assertThat(list.get(i).getRawValue(), is(i + 1));
+        }
+    }
+
+    @Test
+    public void testFilter() throws EvaluationException {
+        IValue res = Operators.OPERATOR_FILTER.evaluate(new IVariable[]{
+                new DummyVariableOperator(ValueTypeOperator.ValueOperator.of(Operators.LOGICAL_NOT)), lbooleans});
+        IValueTypeListProxy<ValueTypeBoolean, ValueTypeBoolean.ValueBoolean> list = ((ValueTypeList.ValueList) res).getRawValue();
+        assertThat(list.getLength(), is(LENGTH - (LENGTH + 2) / 3));
+        for (ValueTypeBoolean.ValueBoolean value : list) {
+            assertThat(value.getRawValue(), is(false));
+        }
+    }
+
+    @Test
+    public void testCountPredicate() throws EvaluationException {
+        IValue res = Operators.LIST_COUNT_PREDICATE.evaluate(new IVariable[]{lbooleans,
+                new DummyVariableOperator(ValueTypeOperator.ValueOperator.of(Operators.LOGICAL_NOT))});
+        assertThat(((ValueTypeInteger.ValueInteger) res).getRawValue(), is(LENGTH - (LENGTH + 2) / 3));
+    }
+
+    @Test
+    public void testReduce() throws EvaluationException {
+        IValue res = Operators.OPERATOR_REDUCE.evaluate(new IVariable[]{
+                new DummyVariableOperator(ValueTypeOperator.ValueOperator.of(Operators.ARITHMETIC_ADDITION)), lintegers,
+                new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(10))});
+        assertThat(((ValueTypeInteger.ValueInteger) res).getRawValue(), is(10 + LENGTH * (LENGTH - 1) / 2));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testReduceError() throws EvaluationException {
+        IValue[] values = new IValue[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            values[i] = ValueTypeInteger.ValueInteger.of(LENGTH - i - 1);
+        }
+        ParallelListEvaluator.reduce(Operators.ARITHMETIC_DIVISION, values, ValueTypeInteger.ValueInteger.of(1));
+    }
+
+    /**
+     * A list that is not immutable and that returns its item stacks without copying them, like an inventory list.
+     */
+    private static class ValueTypeListProxyInventory extends ValueTypeListProxyBase<ValueObjectTypeItemStack, ValueObjectTypeItemStack.ValueItemStack> {
+
+        private final List<ItemStack> itemStacks;
+
+        public ValueTypeListProxyInventory(List<ItemStack> itemStacks) {
+            super("test_inventory", ValueTypes.OBJECT_ITEMSTACK);
+            this.itemStacks = itemStacks;
+        }
+
+        @Override
+        public int getLength() {
+            return itemStacks.size();
+        }
+
+        @Override
+        public ValueObjectTypeItemStack.ValueItemStack get(int index) {
+            return ValueObjectTypeItemStack.ValueItemStack.of(itemStacks.get(index));
+        }
+    }
+
+}
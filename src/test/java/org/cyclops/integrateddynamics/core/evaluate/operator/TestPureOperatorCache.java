@@ -0,0 +1,196 @@
+package org.cyclops.integrateddynamics.core.evaluate.operator;
+
+import com.google.common.collect.Lists;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import org.cyclops.integrateddynamics.GeneralConfig;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableItemStack;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableList;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableOperator;
+import org.cyclops.integrateddynamics.core.evaluate.variable.DummyVariableString;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueObjectTypeItemStack;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeList;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyAppend;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyFactories;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeOperator;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeString;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link PureOperatorCache}.
+ * @author rubensworks
+ */
+public class TestPureOperatorCache {
+
+    private int capacity;
+
+    @BeforeClass
+    public static void beforeClass() {
+        Bootstrap.register();
+        ValueTypeListProxyFactories.load();
+    }
+
+    @Before
+    public void before() {
+        capacity = GeneralConfig.operatorCacheCapacity;
+        GeneralConfig.operatorCacheCapacity = 10000;
+        PureOperatorCache.getInstance().clear();
+    }
+
+    @After
+    public void after() {
+        GeneralConfig.operatorCacheCapacity = capacity;
+        PureOperatorCache.getInstance().clear();
+    }
+
+    @Test
+    public void testPurity() {
+        assertThat(Operators.STRING_CONCAT.isPure(), is(true));
+        assertThat(Operators.LIST_LENGTH.isPure(), is(true));
+        assertThat(Operators.OPERATOR_MAP.isPure(), is(true));
+        assertThat(Operators.NAMED_NAME.isPure(), is(false));
+        assertThat(Operators.OBJECT_ITEMSTACK_SIZE.isPure(), is(true));
+        assertThat(Operators.OBJECT_ITEMSTACK_CANBURN.isPure(), is(false));
+        assertThat(Operators.OBJECT_ITEMSTACK_STOREDFE.isPure(), is(false));
+        assertThat(Operators.OBJECT_ENTITY_HEALTH.isPure(), is(false));
+    }
+
+    @Test
+    public void testHits() throws EvaluationException {
+        PureOperatorCache cache = PureOperatorCache.getInstance();
+        DummyVariableString a = new DummyVariableString(ValueTypeString.ValueString.of("hello "));
+        DummyVariableString b = new DummyVariableString(ValueTypeString.ValueString.of("world"));
+        IValue res1 = Operators.STRING_CONCAT.evaluate(new IVariable[]{a, b});
+        assertThat(cache.getMisses(), is(1L));
+        assertThat(cache.getHits(), is(0L));
+
+        DummyVariableString c = new DummyVariableString(ValueTypeString.ValueString.of("hello "));
+        IValue res2 = Operators.STRING_CONCAT.evaluate(new IVariable[]{c, b});
+        assertThat(res2, sameInstance(res1));
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getSize(), is(1));
+        assertThat(cache.getHitRate(), is(0.5D));
+
+        IValue res3 = Operators.STRING_CONCAT.evaluate(new IVariable[]{b, a});
+        assertThat(((ValueTypeString.ValueString) res3).getRawValue(), is("worldhello "));
+        assertThat(cache.getMisses(), is(2L));
+    }
+
+    @Test
+    public void testValueInput() throws EvaluationException {
+        PureOperatorCache cache = PureOperatorCache.getInstance();
+        IValue[] input = new IValue[]{ValueTypeString.ValueString.of("hello "), ValueTypeString.ValueString.of("world")};
+        IValue res1 = Operators.STRING_CONCAT.evaluate(input);
+        assertThat(((ValueTypeString.ValueString) res1).getRawValue(), is("hello world"));
+
+        // The input array can be reused, as it is not retained by the cache.
+        input[0] = ValueTypeString.ValueString.of("hello ");
+        IValue res2 = Operators.STRING_CONCAT.evaluate(input);
+        assertThat(res2, sameInstance(res1));
+        assertThat(cache.getHits(), is(1L));
+
+        DummyVariableString a = new DummyVariableString(ValueTypeString.ValueString.of("hello "));
+        DummyVariableString b = new DummyVariableString(ValueTypeString.ValueString.of("world"));
+        assertThat("values and variables share cache entries",
+                Operators.STRING_CONCAT.evaluate(new IVariable[]{a, b}), sameInstance(res1));
+
+        try {
+            Operators.STRING_CONCAT.evaluate(ValueTypeString.ValueString.of("a"), ValueTypeInteger.ValueInteger.of(1));
+            throw new AssertionError("The value types should have been invalid.");
+        } catch (EvaluationException e) {
+            // The second value is not a string.
+        }
+    }
+
+    @Test
+    public void testNotExpensive() throws EvaluationException {
+        DummyVariableInteger a = new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(1));
+        Operators.ARITHMETIC_ADDITION.evaluate(new IVariable[]{a, a});
+        assertThat(PureOperatorCache.getInstance().getMisses(), is(0L));
+        assertThat(PureOperatorCache.getInstance().getSize(), is(0));
+    }
+
+    @Test
+    public void testEviction() throws EvaluationException {
+        GeneralConfig.operatorCacheCapacity = 4;
+        PureOperatorCache cache = PureOperatorCache.getInstance();
+        DummyVariableString a = new DummyVariableString(ValueTypeString.ValueString.of("a"));
+        DummyVariableString b = new DummyVariableString(ValueTypeString.ValueString.of("b"));
+        DummyVariableString c = new DummyVariableString(ValueTypeString.ValueString.of("c"));
+        Operators.STRING_LENGTH.evaluate(new IVariable[]{a});
+        Operators.STRING_LENGTH.evaluate(new IVariable[]{b});
+        assertThat(cache.getWeight(), is(4L));
+        Operators.STRING_LENGTH.evaluate(new IVariable[]{a});
+        Operators.STRING_LENGTH.evaluate(new IVariable[]{c});
+        assertThat(cache.getEvictions(), is(1L));
+        assertThat(cache.getSize(), is(2));
+
+        // b was the least recently used
+        Operators.STRING_LENGTH.evaluate(new IVariable[]{a});
+        assertThat(cache.getHits(), is(2L));
+        Operators.STRING_LENGTH.evaluate(new IVariable[]{b});
+        assertThat(cache.getHits(), is(2L));
+    }
+
+    @Test
+    public void testItemStackPredicate() throws EvaluationException {
+        PureOperatorCache cache = PureOperatorCache.getInstance();
+        List<ValueObjectTypeItemStack.ValueItemStack> itemStacks = Lists.newArrayList();
+        for (int i = 0; i < 10; i++) {
+            itemStacks.add(ValueObjectTypeItemStack.ValueItemStack.of(new ItemStack(Items.APPLE, 3)));
+        }
+        IValue filtered = Operators.OPERATOR_FILTER.evaluate(new IVariable[]{
+                new DummyVariableOperator(ValueTypeOperator.ValueOperator.of(Operators.OBJECT_ITEMSTACK_ISSTACKABLE)),
+                new DummyVariableList(ValueTypeList.ValueList.ofList(ValueTypes.OBJECT_ITEMSTACK, itemStacks))});
+        assertThat(((ValueTypeList.ValueList) filtered).getRawValue().getLength(), is(10));
+        assertThat("the predicate is evaluated once for identical item stacks", cache.getMisses(), is(1L));
+        assertThat(cache.getHits(), is(9L));
+
+        // The cache key does not change with the item stack.
+        ItemStack itemStack = itemStacks.get(0).getRawValue();
+        itemStack.setCount(1);
+        Operators.OBJECT_ITEMSTACK_ISSTACKABLE.evaluate(new IVariable[]{new DummyVariableItemStack(itemStacks.get(0))});
+        assertThat(cache.getMisses(), is(2L));
+        Operators.OBJECT_ITEMSTACK_ISSTACKABLE.evaluate(new IVariable[]{new DummyVariableItemStack(
+                ValueObjectTypeItemStack.ValueItemStack.of(new ItemStack(Items.APPLE, 3)))});
+        assertThat(cache.getHits(), is(10L));
+    }
+
+    @Test
+    public void testWorldDependent() {
+        assertThat(OperatorBase.isWorldDependent(ValueTypes.STRING), is(false));
+        assertThat(OperatorBase.isWorldDependent(ValueTypes.LIST), is(false));
+        assertThat(OperatorBase.isWorldDependent(ValueTypes.OBJECT_ITEMSTACK), is(false));
+        assertThat(OperatorBase.isWorldDependent(ValueTypes.OBJECT_FLUIDSTACK), is(false));
+        assertThat(OperatorBase.isWorldDependent(ValueTypes.OBJECT_BLOCK), is(false));
+        assertThat(OperatorBase.isWorldDependent(ValueTypes.OBJECT_ENTITY), is(true));
+    }
+
+    @Test
+    public void testCacheable() {
+        assertThat(PureOperatorCache.isCacheable(ValueTypeString.ValueString.of("a")), is(true));
+        assertThat(PureOperatorCache.isCacheable(ValueTypeList.ValueList.ofAll(
+                ValueTypeInteger.ValueInteger.of(1))), is(true));
+        assertThat(PureOperatorCache.isCacheable(ValueTypeList.ValueList.ofFactory(new ValueTypeListProxyAppend<>(
+                ValueTypeList.ValueList.ofAll(ValueTypeInteger.ValueInteger.of(1)).getRawValue(), ValueTypeInteger.ValueInteger.of(2)))), is(true));
+        assertThat(PureOperatorCache.isCacheable(ValueTypeOperator.ValueOperator.of(Operators.STRING_LENGTH)), is(true));
+        assertThat(PureOperatorCache.isCacheable(ValueTypeOperator.ValueOperator.of(Operators.NAMED_NAME)), is(false));
+    }
+
+}
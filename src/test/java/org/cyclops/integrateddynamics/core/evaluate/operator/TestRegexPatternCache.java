@@ -0,0 +1,57 @@
+package org.cyclops.integrateddynamics.core.evaluate.operator;
+
+import com.google.common.collect.Lists;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link RegexPatternCache}.
+ * @author rubensworks
+ */
+public class TestRegexPatternCache {
+
+    @Before
+    public void before() {
+        RegexPatternCache.getInstance().clear();
+    }
+
+    @Test
+    public void testGetPattern() throws EvaluationException {
+        RegexPatternCache cache = RegexPatternCache.getInstance();
+        assertThat(cache.getPattern("a+b"), sameInstance(cache.getPattern("a+b")));
+        assertThat(cache.getSize(), is(1));
+        assertThat(cache.getPattern("a+b").matcher("aab").matches(), is(true));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testGetPatternInvalid() throws EvaluationException {
+        RegexPatternCache.getInstance().getPattern("[.+");
+    }
+
+    @Test
+    public void testIsLiteral() {
+        assertThat(RegexPatternCache.isLiteral("abc def"), is(true));
+        assertThat(RegexPatternCache.isLiteral("minecraft:stone"), is(true));
+        assertThat(RegexPatternCache.isLiteral(""), is(false));
+        assertThat(RegexPatternCache.isLiteral("a.c"), is(false));
+        assertThat(RegexPatternCache.isLiteral("\\s"), is(false));
+        assertThat(RegexPatternCache.isLiteral("a{2}"), is(false));
+    }
+
+    @Test
+    public void testSplitLiteral() {
+        assertThat(RegexPatternCache.splitLiteral("a, b, c", ", "), is(Lists.newArrayList("a", "b", "c")));
+        assertThat(RegexPatternCache.splitLiteral("abc", ","), is(Lists.newArrayList("abc")));
+        assertThat(RegexPatternCache.splitLiteral("", ","), is(Lists.newArrayList("")));
+        assertThat(RegexPatternCache.splitLiteral(",,", ","), is(Collections.<String>emptyList()));
+        assertThat(RegexPatternCache.splitLiteral(",a,,", ","), is(Lists.newArrayList("", "a")));
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.operator.IOperator;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IVariable;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Benchmark for the time and allocation of evaluating arithmetic and relational operators,
+ * comparing the primitive operator functions with the generic number category functions.
+ * Run the main method manually, this is not executed as part of the tests.
+ * @author rubensworks
+ */
+public class BenchmarkArithmeticOperators {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 10;
+    private static final int VALUES = 10000;
+
+    public static void main(String[] args) throws EvaluationException {
+        ValueCastMappings.load();
+        IVariable[][] integers = new IVariable[VALUES][];
+        IVariable[][] doubles = new IVariable[VALUES][];
+        for (int i = 0; i < VALUES; i++) {
+            integers[i] = new IVariable[]{
+                    new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(i % 100)),
+                    new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(i % 10 + 1))
+            };
+            doubles[i] = new IVariable[]{
+                    new DummyVariableDouble(ValueTypeDouble.ValueDouble.of(i % 100)),
+                    new DummyVariableDouble(ValueTypeDouble.ValueDouble.of(i % 10 + 1))
+            };
+        }
+        for (IOperator operator : new IOperator[]{Operators.ARITHMETIC_ADDITION, Operators.ARITHMETIC_MULTIPLICATION,
+                Operators.ARITHMETIC_DIVISION, Operators.RELATIONAL_LT}) {
+            benchmark(operator.getOperatorName() + " integer", input -> operator.evaluate(input), integers);
+            benchmark(operator.getOperatorName() + " double", input -> operator.evaluate(input), doubles);
+        }
+        benchmark("addition integer (number category)",
+                input -> ValueTypes.CATEGORY_NUMBER.add(input[0], input[1]), integers);
+        benchmark("addition double (number category)",
+                input -> ValueTypes.CATEGORY_NUMBER.add(input[0], input[1]), doubles);
+    }
+
+    protected static void benchmark(String name, IEvaluator evaluator, IVariable[][] inputs) throws EvaluationException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            run(evaluator, inputs);
+        }
+        long startBytes = getAllocatedBytes();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run(evaluator, inputs);
+        }
+        long duration = (System.nanoTime() - startTime) / ITERATIONS;
+        long bytes = (getAllocatedBytes() - startBytes) / ITERATIONS;
+        System.out.println(String.format("%s of %d values: %.3f ms, %d bytes allocated per evaluation",
+                name, inputs.length, duration / 1000000D, bytes / inputs.length));
+    }
+
+    protected static void run(IEvaluator evaluator, IVariable[][] inputs) throws EvaluationException {
+        for (IVariable[] input : inputs) {
+            evaluator.evaluate(input);
+        }
+    }
+
+    protected static long getAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    public static interface IEvaluator {
+        public void evaluate(IVariable[] input) throws EvaluationException;
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+import com.google.common.collect.Lists;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTSizeTracker;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagString;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Benchmark for the round-trip time and stored size of values,
+ * comparing the string serialization with the NBT serialization.
+ * Run the main method manually, this is not executed as part of the tests.
+ * @author rubensworks
+ */
+public class BenchmarkValueSerialization {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 20;
+    private static final int VALUES = 10000;
+
+    public static void main(String[] args) throws IOException {
+        ValueTypeListProxyFactories.load();
+
+        List<ValueTypeInteger.ValueInteger> integers = Lists.newArrayList();
+        List<ValueTypeDouble.ValueDouble> doubles = Lists.newArrayList();
+        List<ValueTypeString.ValueString> strings = Lists.newArrayList();
+        List<ValueTypeNbt.ValueNbt> tags = Lists.newArrayList();
+        for (int i = 0; i < VALUES; i++) {
+            integers.add(ValueTypeInteger.ValueInteger.of(i));
+            doubles.add(ValueTypeDouble.ValueDouble.of(i / 7D));
+            strings.add(ValueTypeString.ValueString.of("value;" + i));
+            NBTTagCompound tag = new NBTTagCompound();
+            tag.setInteger("id", i);
+            tag.setString("name", "value" + i);
+            tags.add(ValueTypeNbt.ValueNbt.of(tag));
+        }
+        List<ValueTypeList.ValueList> nested = Lists.newArrayList();
+        for (int i = 0; i < VALUES / 100; i++) {
+            nested.add(ValueTypeList.ValueList.ofList(ValueTypes.INTEGER, integers.subList(i * 100, (i + 1) * 100)));
+        }
+
+        benchmark("integer list", ValueTypeList.ValueList.ofList(ValueTypes.INTEGER, integers));
+        benchmark("double list", ValueTypeList.ValueList.ofList(ValueTypes.DOUBLE, doubles));
+        benchmark("string list", ValueTypeList.ValueList.ofList(ValueTypes.STRING, strings));
+        benchmark("nbt list", ValueTypeList.ValueList.ofList(ValueTypes.NBT, tags));
+        benchmark("nested integer list", ValueTypeList.ValueList.ofList(ValueTypes.LIST, nested));
+    }
+
+    protected static void benchmark(String name, IValue value) throws IOException {
+        benchmark(name + " (string)", value, v -> new NBTTagString(v.getType().serialize(v)),
+                (type, tag) -> type.deserialize(((NBTTagString) tag).getString()));
+        benchmark(name + " (nbt)", value, v -> v.getType().serializeNbt(v),
+                (type, tag) -> type.deserializeNbt(tag));
+    }
+
+    protected static void benchmark(String name, IValue value, ISerializer serializer, IDeserializer deserializer) throws IOException {
+        int size = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            size = roundTrip(value, serializer, deserializer);
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            roundTrip(value, serializer, deserializer);
+        }
+        long duration = (System.nanoTime() - startTime) / ITERATIONS;
+        System.out.println(String.format("%s: %.3f ms per round trip, %d bytes", name, duration / 1000000D, size));
+    }
+
+    /**
+     * Serialize the value, write it to bytes, read it back and deserialize it.
+     * @return The number of written bytes.
+     */
+    protected static int roundTrip(IValue value, ISerializer serializer, IDeserializer deserializer) throws IOException {
+        NBTTagCompound tag = new NBTTagCompound();
+        tag.setTag("value", serializer.serialize(value));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CompressedStreamTools.write(tag, new DataOutputStream(bytes));
+        NBTTagCompound read = CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                NBTSizeTracker.INFINITE);
+        IValue deserialized = deserializer.deserialize(value.getType(), read.getTag("value"));
+        if (!value.equals(deserialized)) {
+            throw new IllegalStateException("The deserialized value does not equal the original value.");
+        }
+        return bytes.size();
+    }
+
+    public static interface ISerializer {
+        public NBTBase serialize(IValue value);
+    }
+
+    public static interface IDeserializer {
+        public IValue deserialize(IValueType type, NBTBase tag);
+    }
+
+}
@@ -0,0 +1,17 @@
+package org.cyclops.integrateddynamics.core.evaluate.variable;
+
+/**
+ * Dummy item stack variable.
+ * @author rubensworks
+ */
+public class DummyVariableItemStack extends DummyVariable<ValueObjectTypeItemStack.ValueItemStack> {
+
+    public DummyVariableItemStack(ValueObjectTypeItemStack.ValueItemStack value) {
+        super(ValueTypes.OBJECT_ITEMSTACK, value);
+    }
+
+    public DummyVariableItemStack() {
+        super(ValueTypes.OBJECT_ITEMSTACK);
+    }
+
+}
@@ -362,6 +362,11 @@ public class TestArithmeticOperators {
         Operators.ARITHMETIC_DIVISION.evaluate(new IVariable[]{i10, i0});
     }
 
+    @Test(expected = EvaluationException.class)
+    public void testArithmeticDivideByZeroDouble() throws EvaluationException {
+        Operators.ARITHMETIC_DIVISION.evaluate(new IVariable[]{d10, d0});
+    }
+
     @Test(expected = EvaluationException.class)
     public void testInvalidInputSizeDivideLarge() throws EvaluationException {
         Operators.ARITHMETIC_DIVISION.evaluate(new IVariable[]{i0, i0, i0});
@@ -1,5 +1,7 @@
 package org.cyclops.integrateddynamics.core.evaluate.variable;
 
+import com.google.common.collect.Lists;
+import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
@@ -9,8 +11,14 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -522,6 +530,25 @@ public class TestListOperators {
         assertThat("lazybuilt([0, 1, 2], 3).size = 3", list.getLength(), is(Integer.MAX_VALUE));
     }
 
+    @Test
+    public void testListLazyBuiltLarge() throws EvaluationException {
+        IValue res1 = Operators.LIST_LAZYBUILT.evaluate(new IVariable[]{i3, oIntegerIncrement});
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> list = ((ValueTypeList.ValueList) res1).getRawValue();
+
+        assertThat("lazybuilt(3, ++)[50000] = 50003", list.get(50000).getRawValue(), is(50003));
+        assertThat("lazybuilt(3, ++)[300] = 303", list.get(300).getRawValue(), is(303));
+        assertThat("lazybuilt(3, ++)[-1] = null", list.get(-1), nullValue());
+
+        IValue res2 = Operators.LIST_SLICE.evaluate(new IVariable[]{new DummyVariableList((ValueTypeList.ValueList) res1),
+                new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(60000)),
+                new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(60010))});
+        int i = 60003;
+        for (IValue value : ((ValueTypeList.ValueList) res2).getRawValue()) {
+            assertThat("slice(lazybuilt(3, ++), 60000, 60010) is sequential", ((ValueTypeInteger.ValueInteger) value).getRawValue(), is(i++));
+        }
+        assertThat("slice(lazybuilt(3, ++), 60000, 60010).size = 10", i, is(60013));
+    }
+
     @Test(expected = EvaluationException.class)
     public void testInvalidInputSizeLazyBuiltInvalidType() throws EvaluationException {
         Operators.LIST_LAZYBUILT.evaluate(new IVariable[]{i3, oRelationalEquals});
@@ -768,4 +795,221 @@ public class TestListOperators {
         Operators.LIST_SLICE.evaluate(new IVariable[]{DUMMY_VARIABLE, DUMMY_VARIABLE, DUMMY_VARIABLE});
     }
 
+    /**
+     * ----------------------------------- SORT -----------------------------------
+     */
+
+    @Test
+    public void testListSort() throws EvaluationException {
+        DummyVariableOperator oRelationalLt = new DummyVariableOperator(ValueTypeOperator.ValueOperator.of(Operators.RELATIONAL_LT));
+        IValue res1 = Operators.LIST_SORT.evaluate(new IVariable[]{lintegers_rev_dup, oRelationalLt});
+        assertThat("result is a list", res1, instanceOf(ValueTypeList.ValueList.class));
+        assertThat("sort([3, 2, 1, 0, 2, 1, 0, 1, 0, 0], <) = [0, 0, 0, 0, 1, 1, 1, 2, 2, 3]", res1,
+                is(ValueTypeList.ValueList.ofAll(i0.getValue(), i0.getValue(), i0.getValue(), i0.getValue(),
+                        i1.getValue(), i1.getValue(), i1.getValue(), i2.getValue(), i2.getValue(), i3.getValue())));
+
+        DummyVariableOperator oRelationalGt = new DummyVariableOperator(ValueTypeOperator.ValueOperator.of(Operators.RELATIONAL_GT));
+        IValue res2 = Operators.LIST_SORT.evaluate(new IVariable[]{lintegers, oRelationalGt});
+        assertThat("sort([0, 1, 2, 3], >) = [3, 2, 1, 0]", res2,
+                is(ValueTypeList.ValueList.ofAll(i3.getValue(), i2.getValue(), i1.getValue(), i0.getValue())));
+
+        IValue res3 = Operators.LIST_SORT.evaluate(new IVariable[]{lempty, oRelationalLt});
+        assertThat("sort([], <) = []", ((ValueTypeList.ValueList) res3).getRawValue().getLength(), is(0));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testListSortInfinite() throws EvaluationException {
+        DummyVariableList lnaturals = new DummyVariableList((ValueTypeList.ValueList)
+                Operators.LIST_LAZYBUILT.evaluate(new IVariable[]{i0, oIntegerIncrement}));
+        Operators.LIST_SORT.evaluate(new IVariable[]{lnaturals, oRelationalEquals});
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testInvalidInputTypeSort() throws EvaluationException {
+        Operators.LIST_SORT.evaluate(new IVariable[]{DUMMY_VARIABLE, DUMMY_VARIABLE});
+    }
+
+    /**
+     * ----------------------------------- GROUP_BY -----------------------------------
+     */
+
+    @Test
+    public void testListGroupBy() throws EvaluationException {
+        DummyVariableOperator largerThanOne = new DummyVariableOperator((ValueTypeOperator.ValueOperator)
+                Operators.OPERATOR_APPLY.evaluate(new IVariable[]{
+                        new DummyVariableOperator(ValueTypeOperator.ValueOperator.of(Operators.RELATIONAL_LT)), i1}));
+        IValue res1 = Operators.LIST_GROUP_BY.evaluate(new IVariable[]{lintegers_dup, largerThanOne});
+        assertThat("result is a list", res1, instanceOf(ValueTypeList.ValueList.class));
+        IValueTypeListProxy<ValueTypeList, ValueTypeList.ValueList> list = ((ValueTypeList.ValueList) res1).getRawValue();
+        assertThat("groupBy([0, 1, 2, 3, 1, 2, 3, 2, 3, 3], >1).size = 2", list.getLength(), is(2));
+        assertThat("groupBy([0, 1, 2, 3, 1, 2, 3, 2, 3, 3], >1)[0] = [0, 1, 1]", list.get(0),
+                is(ValueTypeList.ValueList.ofAll(i0.getValue(), i1.getValue(), i1.getValue())));
+        assertThat("groupBy([0, 1, 2, 3, 1, 2, 3, 2, 3, 3], >1)[1] = [2, 3, 2, 3, 2, 3, 3]", list.get(1),
+                is(ValueTypeList.ValueList.ofAll(i2.getValue(), i3.getValue(), i2.getValue(), i3.getValue(),
+                        i2.getValue(), i3.getValue(), i3.getValue())));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testInvalidInputTypeGroupBy() throws EvaluationException {
+        Operators.LIST_GROUP_BY.evaluate(new IVariable[]{DUMMY_VARIABLE, DUMMY_VARIABLE});
+    }
+
+    /**
+     * ----------------------------------- INDEX -----------------------------------
+     */
+
+    @Test
+    public void testListIndex() throws EvaluationException {
+        ValueTypeList.ValueList value = lintegers_dup.getValue();
+        ValueTypeListIndex index = value.getIndex();
+        assertThat("index is cached", value.getIndex(), sameInstance(index));
+        assertThat("index([0, 1, 2, 3, 1, 2, 3, 2, 3, 3]) contains 2", index.contains(i2.getValue()), is(true));
+        assertThat("index([0, 1, 2, 3, 1, 2, 3, 2, 3, 3]) does not contain 4", index.contains(i4.getValue()), is(false));
+        assertThat("index([0, 1, 2, 3, 1, 2, 3, 2, 3, 3]) counts 3 four times", index.getCount(i3.getValue()), is(4));
+        assertThat("index([0, 1, 2, 3, 1, 2, 3, 2, 3, 3]) counts 4 zero times", index.getCount(i4.getValue()), is(0));
+        assertThat("index([0, 1, 2, 3, 1, 2, 3, 2, 3, 3]) has 4 distinct values", index.getValues().size(), is(4));
+
+        ValueTypeList.ValueList uniq = (ValueTypeList.ValueList) Operators.LIST_UNIQ.evaluate(new IVariable[]{lintegers_dup});
+        ValueTypeListIndex uniqIndex = uniq.getIndex();
+        assertThat("index of a list that is not immutable is not cached", uniq.getIndex(), not(sameInstance(uniqIndex)));
+        assertThat("index(uniq([0, 1, 2, 3, 1, 2, 3, 2, 3, 3])) counts 3 once", uniqIndex.getCount(i3.getValue()), is(1));
+    }
+
+    /**
+     * ----------------------------------- VECTOR -----------------------------------
+     */
+
+    @Test
+    public void testListAppendFlattened() throws EvaluationException {
+        IValue list = lempty.getValue();
+        for (int i = 0; i < 1000; i++) {
+            list = Operators.LIST_APPEND.evaluate(new IVariable[]{new DummyVariableList((ValueTypeList.ValueList) list),
+                    new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(i))});
+        }
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> proxy = ((ValueTypeList.ValueList) list).getRawValue();
+        assertThat("append chains are flattened", proxy, instanceOf(ValueTypeListProxyVector.class));
+        assertThat("append(...).size = 1000", proxy.getLength(), is(1000));
+        for (int i = 0; i < 1000; i++) {
+            assertThat("append(...)[" + i + "] = " + i, proxy.get(i).getRawValue(), is(i));
+        }
+        int i = 0;
+        for (ValueTypeInteger.ValueInteger value : proxy) {
+            assertThat("iterated append(...)[" + i + "] = " + i, value.getRawValue(), is(i++));
+        }
+        assertThat("iterated append(...).size = 1000", i, is(1000));
+    }
+
+    @Test
+    public void testListTailAppendFlattened() throws EvaluationException {
+        IValue list = lintegers.getValue();
+        for (int i = 4; i < 1000; i++) {
+            list = Operators.LIST_APPEND.evaluate(new IVariable[]{new DummyVariableList((ValueTypeList.ValueList) list),
+                    new DummyVariableInteger(ValueTypeInteger.ValueInteger.of(i))});
+            list = Operators.LIST_TAIL.evaluate(new IVariable[]{new DummyVariableList((ValueTypeList.ValueList) list)});
+            assertThat("tail(append(...)) chains do not exceed the maximum depth",
+                    ValueTypeListProxyVector.getDepth(((ValueTypeList.ValueList) list).getRawValue()) <= GeneralConfig.listProxyMaxDepth, is(true));
+        }
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> proxy = ((ValueTypeList.ValueList) list).getRawValue();
+        assertThat("tail(append(...)) chains are flattened", proxy, instanceOf(ValueTypeListProxyVector.class));
+        assertThat("tail(append(...)).size = 4", proxy.getLength(), is(4));
+        for (int i = 0; i < 4; i++) {
+            assertThat("tail(append(...))[" + i + "] = " + (996 + i), proxy.get(i).getRawValue(), is(996 + i));
+        }
+    }
+
+    @Test
+    public void testListVector() throws EvaluationException {
+        List<ValueTypeInteger.ValueInteger> expected = Lists.newArrayList();
+        ValueTypeListProxyVector<ValueTypeInteger, ValueTypeInteger.ValueInteger> vector = ValueTypeListProxyVector.of(
+                new ValueTypeListProxyMaterialized<>(ValueTypes.INTEGER, Collections.<ValueTypeInteger.ValueInteger>emptyList()));
+        for (int i = 0; i < 500; i++) {
+            ValueTypeInteger.ValueInteger value = ValueTypeInteger.ValueInteger.of(i);
+            expected.add(value);
+            vector = vector.append(value);
+            if (i % 100 == 0) {
+                vector = vector.concat(vector);
+                expected.addAll(Lists.newArrayList(expected));
+            }
+        }
+        assertThat("vector.size", vector.getLength(), is(expected.size()));
+        assertThat("vector equals the expected list", Lists.newArrayList(vector), is(expected));
+        for (int i = 0; i < expected.size(); i += 7) {
+            assertThat("vector[" + i + "]", vector.get(i), is(expected.get(i)));
+        }
+        for (int from = 0; from < expected.size(); from += 997) {
+            int to = Math.min(expected.size(), from + 1500);
+            assertThat("vector.slice(" + from + ", " + to + ")", Lists.newArrayList(vector.slice(from, to)),
+                    is(expected.subList(from, to)));
+        }
+        assertThat("vector[-1] = null", vector.get(-1), nullValue());
+        assertThat("vector[size] = null", vector.get(expected.size()), nullValue());
+    }
+
+    @Test
+    public void testListVectorOperators() throws EvaluationException {
+        DummyVariableList lvector = new DummyVariableList(ValueTypeList.ValueList.ofFactory(
+                ValueTypeListProxyVector.of(lintegers.getValue().getRawValue())));
+        IValue res1 = Operators.LIST_CONCAT.evaluate(new IVariable[]{lvector, lintegers_012});
+        assertThat("concat(vector, list) is a vector", ((ValueTypeList.ValueList) res1).getRawValue(), instanceOf(ValueTypeListProxyVector.class));
+        assertThat("concat([0, 1, 2, 3], [0, 1, 2]) = [0, 1, 2, 3, 0, 1, 2]", res1, is(ValueTypeList.ValueList.ofAll(
+                i0.getValue(), i1.getValue(), i2.getValue(), i3.getValue(), i0.getValue(), i1.getValue(), i2.getValue())));
+
+        IValue res2 = Operators.LIST_TAIL.evaluate(new IVariable[]{lvector});
+        assertThat("tail([0, 1, 2, 3]) = [1, 2, 3]", res2, is(ValueTypeList.ValueList.ofAll(i1.getValue(), i2.getValue(), i3.getValue())));
+
+        IValue res3 = Operators.LIST_SLICE.evaluate(new IVariable[]{lvector, i1, i3});
+        assertThat("slice([0, 1, 2, 3], 1, 3) = [1, 2]", res3, is(ValueTypeList.ValueList.ofAll(i1.getValue(), i2.getValue())));
+
+        IValue res4 = Operators.LIST_SLICE.evaluate(new IVariable[]{lvector, i2, i5});
+        assertThat("slice([0, 1, 2, 3], 2, 5) = [2, 3]", res4, is(ValueTypeList.ValueList.ofAll(i2.getValue(), i3.getValue())));
+    }
+
+    /**
+     * ----------------------------------- PIPELINE -----------------------------------
+     */
+
+    @Test
+    public void testListPipelineInfinite() throws EvaluationException {
+        DummyVariableList lnaturals = new DummyVariableList((ValueTypeList.ValueList)
+                Operators.LIST_LAZYBUILT.evaluate(new IVariable[]{i0, oIntegerIncrement}));
+        DummyVariableOperator greaterThanThree = new DummyVariableOperator((ValueTypeOperator.ValueOperator)
+                Operators.OPERATOR_APPLY.evaluate(new IVariable[]{
+                        new DummyVariableOperator(ValueTypeOperator.ValueOperator.of(Operators.RELATIONAL_LT)), i3}));
+        IValue res1 = Operators.OPERATOR_FILTER.evaluate(new IVariable[]{greaterThanThree, lnaturals});
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> list1 = ((ValueTypeList.ValueList) res1).getRawValue();
+        assertThat("filter(>3, lazybuilt(0, ++)) is infinite", list1.isInfinite(), is(true));
+
+        IValue res2 = Operators.LIST_HEAD.evaluate(new IVariable[]{new DummyVariableList((ValueTypeList.ValueList) res1)});
+        assertThat("head(filter(>3, lazybuilt(0, ++))) = 4", ((ValueTypeInteger.ValueInteger) res2).getRawValue(), is(4));
+
+        IValue res3 = Operators.LIST_SLICE.evaluate(new IVariable[]{new DummyVariableList((ValueTypeList.ValueList) res1), i1, i3});
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> list3 = ((ValueTypeList.ValueList) res3).getRawValue();
+        assertThat("slice(filter(>3, lazybuilt(0, ++)), 1, 3) is finite", list3.isInfinite(), is(false));
+        assertThat("slice(filter(>3, lazybuilt(0, ++)), 1, 3).size = 2", list3.getLength(), is(2));
+        assertThat("slice(filter(>3, lazybuilt(0, ++)), 1, 3)[0] = 5", list3.get(0).getRawValue(), is(5));
+        assertThat("slice(filter(>3, lazybuilt(0, ++)), 1, 3)[1] = 6", list3.get(1).getRawValue(), is(6));
+
+        IValue res4 = Operators.LIST_CONTAINS.evaluate(new IVariable[]{new DummyVariableList((ValueTypeList.ValueList) res1), i4});
+        assertThat("contains(filter(>3, lazybuilt(0, ++)), 4) = true", ((ValueTypeBoolean.ValueBoolean) res4).getRawValue(), is(true));
+    }
+
+    @Test
+    public void testListPipelineFused() throws EvaluationException {
+        IValue res1 = Operators.LIST_UNIQ.evaluate(new IVariable[]{lintegers_dup});
+        IValue res2 = Operators.LIST_TAIL.evaluate(new IVariable[]{new DummyVariableList((ValueTypeList.ValueList) res1)});
+        IValue res3 = Operators.OPERATOR_MAP.evaluate(new IVariable[]{oIntegerIncrement, new DummyVariableList((ValueTypeList.ValueList) res2)});
+        IValueTypeListProxy<ValueTypeInteger, ValueTypeInteger.ValueInteger> list = ((ValueTypeList.ValueList) res3).getRawValue();
+        assertThat("map(++, tail(uniq(...))) is a pipeline", list, instanceOf(ValueTypeListProxyPipeline.class));
+        assertThat("map(++, tail(uniq([0, 1, 2, 3, 1, 2, 3, 2, 3, 3]))).size = 3", list.getLength(), is(3));
+        assertThat("map(++, tail(uniq([0, 1, 2, 3, 1, 2, 3, 2, 3, 3])))[0] = 2", list.get(0).getRawValue(), is(2));
+        assertThat("map(++, tail(uniq([0, 1, 2, 3, 1, 2, 3, 2, 3, 3])))[2] = 4", list.get(2).getRawValue(), is(4));
+        assertThat("map(++, tail(uniq([0, 1, 2, 3, 1, 2, 3, 2, 3, 3]))) == [2, 3, 4]", res3,
+                is(ValueTypeList.ValueList.ofAll(i2.getValue(), i3.getValue(), i4.getValue())));
+
+        IValue res4 = Operators.LIST_EMPTY.evaluate(new IVariable[]{new DummyVariableList((ValueTypeList.ValueList) res3)});
+        assertThat("empty(map(++, tail(uniq(...)))) = false", ((ValueTypeBoolean.ValueBoolean) res4).getRawValue(), is(false));
+        IValue res5 = Operators.LIST_CONTAINS.evaluate(new IVariable[]{new DummyVariableList((ValueTypeList.ValueList) res3), i3});
+        assertThat("contains(map(++, tail(uniq(...))), 3) = true", ((ValueTypeBoolean.ValueBoolean) res5).getRawValue(), is(true));
+    }
+
 }
@@ -90,6 +90,17 @@ public class TestStringOperators {
         assertThat("abc + abc = abcabc", ((ValueTypeString.ValueString) res1).getRawValue(), is("abcabc"));
     }
 
+    @Test
+    public void testStringConcatChained() throws EvaluationException {
+        IValue res = ValueTypeString.ValueString.of("");
+        for (int i = 0; i < 10000; i++) {
+            res = Operators.STRING_CONCAT.evaluate(new IVariable[]{new DummyVariableString((ValueTypeString.ValueString) res), sabc});
+        }
+        assertThat("length is 30000", ((ValueTypeString.ValueString) res).getLength(), is(30000));
+        assertThat("ends with abc", ((ValueTypeString.ValueString) res).getRawValue().endsWith("abcabc"), is(true));
+        assertThat("length is 30000", ((ValueTypeString.ValueString) res).getRawValue().length(), is(30000));
+    }
+
     @Test(expected = EvaluationException.class)
     public void testInvalidInputSizConcatLarge() throws EvaluationException {
         Operators.STRING_CONCAT.evaluate(new IVariable[]{sabc, sabc, sabc});
@@ -388,6 +399,24 @@ public class TestStringOperators {
         assertThat("split_on_regex('hello world', ' ').size = 2", list.getLength(), is(2));
     }
 
+    @Test
+    public void testStringSplitOnRegexLiteral() throws EvaluationException {
+        DummyVariableString scomma = new DummyVariableString(ValueTypeString.ValueString.of(","));
+        DummyVariableString slist = new DummyVariableString(ValueTypeString.ValueString.of(",a,,b,,"));
+        IValue res1 = Operators.STRING_SPLIT_ON_REGEX.evaluate(new IVariable[]{scomma, slist});
+        IValueTypeListProxy<ValueTypeString, ValueTypeString.ValueString> list = ((ValueTypeList.ValueList) res1).getRawValue();
+        assertThat("split_on_regex(',a,,b,,', ',').size = 4", list.getLength(), is(4));
+        assertThat("split_on_regex(',a,,b,,', ',')[0] = ''", list.get(0).getRawValue(), is(""));
+        assertThat("split_on_regex(',a,,b,,', ',')[1] = a", list.get(1).getRawValue(), is("a"));
+        assertThat("split_on_regex(',a,,b,,', ',')[2] = ''", list.get(2).getRawValue(), is(""));
+        assertThat("split_on_regex(',a,,b,,', ',')[3] = b", list.get(3).getRawValue(), is("b"));
+
+        IValue res2 = Operators.STRING_SPLIT_ON_REGEX.evaluate(new IVariable[]{scomma, sabc});
+        IValueTypeListProxy<ValueTypeString, ValueTypeString.ValueString> list2 = ((ValueTypeList.ValueList) res2).getRawValue();
+        assertThat("split_on_regex('abc', ',') = [abc]", list2.get(0).getRawValue(), is("abc"));
+        assertThat("split_on_regex('abc', ',').size = 1", list2.getLength(), is(1));
+    }
+
     @Test(expected = EvaluationException.class)
     public void testInvalidPatternSplitOnRegex() throws EvaluationException {
         DummyVariableString sbroken = new DummyVariableString(ValueTypeString.ValueString.of("[.+"));
@@ -622,6 +651,16 @@ public class TestStringOperators {
         assertThat("hello world replace (complex regex, '') = ''", ((ValueTypeString.ValueString)res3).getRawValue(), is(""));
     }
 
+    @Test
+    public void testStringReplaceRegexLiteral() throws EvaluationException {
+        DummyVariableString sxy = new DummyVariableString(ValueTypeString.ValueString.of("xy"));
+        DummyVariableString sdollar = new DummyVariableString(ValueTypeString.ValueString.of("$0!"));
+        IValue res1 = Operators.STRING_REPLACE_REGEX.evaluate(new IVariable[]{sl, sxy, shelloWorld});
+        assertThat("hello world replace (l, 'xy') = 'hexyxyo worxyd'", ((ValueTypeString.ValueString)res1).getRawValue(), is("hexyxyo worxyd"));
+        IValue res2 = Operators.STRING_REPLACE_REGEX.evaluate(new IVariable[]{sl, sdollar, shelloWorld});
+        assertThat("hello world replace (l, '$0!') = 'hel!l!o worl!d'", ((ValueTypeString.ValueString)res2).getRawValue(), is("hel!l!o worl!d"));
+    }
+
     @Test(expected = EvaluationException.class)
     public void testInvalidPatternReplaceRegex() throws EvaluationException {
         Operators.STRING_REPLACE_REGEX.evaluate(new IVariable[]{sbrokenRegex, i0, sabc});
@@ -1,8 +1,17 @@
 package org.cyclops.integrateddynamics.core.evaluate.variable;
 
+import com.google.common.collect.Lists;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagByte;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagString;
+import org.cyclops.integrateddynamics.GeneralConfig;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.cyclops.integrateddynamics.api.evaluate.variable.IValue;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueType;
+import org.cyclops.integrateddynamics.core.evaluate.operator.Operators;
 import org.hamcrest.CoreMatchers;
 import org.junit.Test;
 
@@ -83,6 +92,16 @@ public class TestVariables {
         assertThat("deserializing 0.1 returns 0.1", d0.getType().deserialize("0.1"), is(d0.getValue()));
     }
 
+    @Test
+    public void testNumberValueCache() {
+        assertThat("small integers are shared", ValueTypeInteger.ValueInteger.of(10) == ValueTypeInteger.ValueInteger.of(10), is(true));
+        assertThat("large integers are equal", ValueTypeInteger.ValueInteger.of(100000), is(ValueTypeInteger.ValueInteger.of(100000)));
+        assertThat("small longs are shared", ValueTypeLong.ValueLong.of(-10) == ValueTypeLong.ValueLong.of(-10), is(true));
+        assertThat("whole doubles are shared", ValueTypeDouble.ValueDouble.of(10) == ValueTypeDouble.ValueDouble.of(10), is(true));
+        assertThat("fractional doubles are kept", ValueTypeDouble.ValueDouble.of(10.1).getRawValue(), is(10.1));
+        assertThat("negative zero is kept", 1 / ValueTypeDouble.ValueDouble.of(-0D).getRawValue(), is(Double.NEGATIVE_INFINITY));
+    }
+
     @Test
     public void testStringType() {
         DummyVariableString s0 = new DummyVariableString(ValueTypeString.ValueString.of("0"));
@@ -139,6 +158,49 @@ public class TestVariables {
                 l2_2.getType().deserialize(l2_2.getType().serialize(l2_2.getValue())), is(l2_2.getValue()));
     }
 
+    @Test
+    public void testListHashAndEquality() throws EvaluationException {
+        ValueTypeListProxyFactories.load();
+        ValueTypeInteger.ValueInteger i0 = ValueTypeInteger.ValueInteger.of(0);
+        ValueTypeInteger.ValueInteger i1 = ValueTypeInteger.ValueInteger.of(1);
+        ValueTypeInteger.ValueInteger i2 = ValueTypeInteger.ValueInteger.of(2);
+
+        ValueTypeListProxyMaterialized<ValueTypeInteger, ValueTypeInteger.ValueInteger> l01 =
+                new ValueTypeListProxyMaterialized<>(ValueTypes.INTEGER, Lists.newArrayList(i0, i1));
+        ValueTypeListProxyMaterialized<ValueTypeInteger, ValueTypeInteger.ValueInteger> l012 =
+                new ValueTypeListProxyMaterialized<>(ValueTypes.INTEGER, Lists.newArrayList(i0, i1, i2));
+        ValueTypeListProxyMaterialized<ValueTypeInteger, ValueTypeInteger.ValueInteger> l2 =
+                new ValueTypeListProxyMaterialized<>(ValueTypes.INTEGER, Lists.newArrayList(i2));
+        ValueTypeListProxyAppend<ValueTypeInteger, ValueTypeInteger.ValueInteger> append =
+                new ValueTypeListProxyAppend<>(l01, i2);
+        ValueTypeListProxyConcat<ValueTypeInteger, ValueTypeInteger.ValueInteger> concat =
+                new ValueTypeListProxyConcat<>(l01, l2);
+        ValueTypeListProxyVector<ValueTypeInteger, ValueTypeInteger.ValueInteger> vector =
+                ValueTypeListProxyVector.of(l01).append(i2);
+
+        assertThat("materialized lists are immutable", l012.isImmutable(), is(true));
+        assertThat("appended immutable lists are immutable", append.isImmutable(), is(true));
+        assertThat("concatenated immutable lists are immutable", concat.isImmutable(), is(true));
+        assertThat("vectors are immutable", vector.isImmutable(), is(true));
+        assertThat("infinite lists are not immutable", new ValueTypeListProxyLazyBuilt<>(i0,
+                Operators.INTEGER_INCREMENT).isImmutable(), is(false));
+
+        assertThat("incremental append hash equals the materialized hash", append.hashCode(), is(l012.hashCode()));
+        assertThat("incremental concat hash equals the materialized hash", concat.hashCode(), is(l012.hashCode()));
+        assertThat("vector hash equals the materialized hash", vector.hashCode(), is(l012.hashCode()));
+        assertThat("append equals materialized", append.equals(l012), is(true));
+        assertThat("materialized equals concat", l012.equals(concat), is(true));
+        assertThat("vector equals append", vector.equals(append), is(true));
+        assertThat("different lengths are not equal", l01.equals(l012), is(false));
+        assertThat("different elements are not equal", new ValueTypeListProxyAppend<>(l01, i1).equals(l012), is(false));
+
+        ValueTypeList.ValueList value = ValueTypeList.ValueList.ofFactory(l012);
+        assertThat("materializing a materialized list keeps the instance",
+                ValueTypes.LIST.materialize(value) == value, is(true));
+        assertThat("materializing an appended list copies it",
+                ValueTypes.LIST.materialize(ValueTypeList.ValueList.ofFactory(append)), CoreMatchers.<IValue>is(value));
+    }
+
     @Test
     public void testNbtType() {
         DummyVariableNbt snull = new DummyVariableNbt(ValueTypeNbt.ValueNbt.of(null));
@@ -158,4 +220,59 @@ public class TestVariables {
         assertThat("deserializing tag returns tag", stag.getType().deserialize("{abc:1b}"), is(stag.getValue()));
     }
 
+    @Test
+    public void testNbtSerialization() throws EvaluationException {
+        ValueTypeListProxyFactories.load();
+        ValueTypeInteger.ValueInteger i10 = ValueTypeInteger.ValueInteger.of(10);
+        ValueTypeDouble.ValueDouble d10 = ValueTypeDouble.ValueDouble.of(10.1);
+        ValueTypeBoolean.ValueBoolean bTrue = ValueTypeBoolean.ValueBoolean.of(true);
+        ValueTypeString.ValueString s10 = ValueTypeString.ValueString.of("10");
+
+        assertThat("serializing 10 returns an int tag", ValueTypes.INTEGER.serializeNbt(i10), CoreMatchers.<NBTBase>is(new NBTTagInt(10)));
+        assertThat("serializing 10.1 returns a double tag", ValueTypes.DOUBLE.serializeNbt(d10), CoreMatchers.<NBTBase>is(new NBTTagDouble(10.1)));
+        assertThat("serializing true returns a byte tag", ValueTypes.BOOLEAN.serializeNbt(bTrue), CoreMatchers.<NBTBase>is(new NBTTagByte((byte) 1)));
+        assertThat("serializing 10 returns a string tag", ValueTypes.STRING.serializeNbt(s10), CoreMatchers.<NBTBase>is(new NBTTagString("10")));
+
+        assertThat("deserializing an int tag returns 10", ValueTypes.INTEGER.deserializeNbt(new NBTTagInt(10)), is(i10));
+        assertThat("deserializing a double tag returns 10.1", ValueTypes.DOUBLE.deserializeNbt(new NBTTagDouble(10.1)), is(d10));
+        assertThat("deserializing a byte tag returns true", ValueTypes.BOOLEAN.deserializeNbt(new NBTTagByte((byte) 1)), is(bTrue));
+        assertThat("deserializing an old string tag returns 10", ValueTypes.INTEGER.deserializeNbt(new NBTTagString("10")), is(i10));
+        assertThat("deserializing an old string tag returns true", ValueTypes.BOOLEAN.deserializeNbt(new NBTTagString("true")), is(bTrue));
+
+        ValueTypeList.ValueList l2_2 = ValueTypeList.ValueList.ofAll(
+                ValueTypeList.ValueList.ofAll(ValueTypeString.ValueString.of("a"), ValueTypeString.ValueString.of("b")),
+                ValueTypeList.ValueList.ofAll(ValueTypeString.ValueString.of("c"), ValueTypeString.ValueString.of("d"))
+        );
+        assertThat("deserializing nested list",
+                ValueTypes.LIST.deserializeNbt(ValueTypes.LIST.serializeNbt(l2_2)), is(l2_2));
+        assertThat("deserializing an old nested list string",
+                ValueTypes.LIST.deserializeNbt(new NBTTagString(ValueTypes.LIST.serialize(l2_2))), is(l2_2));
+
+        ValueTypeList.ValueList lAppend = ValueTypeList.ValueList.ofFactory(new ValueTypeListProxyAppend<>(
+                ValueTypeList.ValueList.ofAll(i10, i10).getRawValue(), ValueTypeInteger.ValueInteger.of(11)));
+        ValueTypeList.ValueList lAppendDeserialized = ValueTypes.LIST.deserializeNbt(ValueTypes.LIST.serializeNbt(lAppend));
+        assertThat("deserialized appended list has length three", lAppendDeserialized.getRawValue().getLength(), is(3));
+        assertThat("deserialized appended list ends with 11", lAppendDeserialized.getRawValue().get(2), CoreMatchers.<IValue>is(ValueTypeInteger.ValueInteger.of(11)));
+
+        NBTTagCompound tag = ValueHelpers.serialize(l2_2);
+        assertThat("serialized value has the current version", tag.getInteger("version"), is(ValueHelpers.SERIALIZATION_VERSION));
+        assertThat("deserializing a serialized value", ValueHelpers.deserialize(tag), CoreMatchers.<IValue>is(l2_2));
+        NBTTagCompound oldTag = new NBTTagCompound();
+        oldTag.setString("valueType", ValueTypes.INTEGER.getUnlocalizedName());
+        oldTag.setString("value", "10");
+        assertThat("deserializing an old serialized value", ValueHelpers.deserialize(oldTag), CoreMatchers.<IValue>is(i10));
+    }
+
+    @Test
+    public void testNbtSerializationTooLong() {
+        NBTTagCompound small = new NBTTagCompound();
+        small.setIntArray("values", new int[10]);
+        NBTTagCompound large = new NBTTagCompound();
+        large.setIntArray("values", new int[GeneralConfig.maxValueByteSize]);
+        assertThat("serializing a small NBT value keeps the tag",
+                ValueHelpers.serializeRawNbt(ValueTypeNbt.ValueNbt.of(small)), CoreMatchers.<NBTBase>is(small));
+        assertThat("serializing a large NBT value is too long",
+                ValueHelpers.serializeRawNbt(ValueTypeNbt.ValueNbt.of(large)), CoreMatchers.<NBTBase>is(new NBTTagString("TOO LONG")));
+    }
+
 }
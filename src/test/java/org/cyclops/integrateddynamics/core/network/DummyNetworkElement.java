@@ -0,0 +1,133 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import net.minecraft.block.Block;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.IBlockAccess;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * A dummy network element with a given id and priority.
+ * @author rubensworks
+ */
+public class DummyNetworkElement implements INetworkElement {
+
+    private final int id;
+    private final int updateInterval;
+    private int priority;
+
+    public DummyNetworkElement(int id, int updateInterval, int priority) {
+        this.id = id;
+        this.updateInterval = updateInterval;
+        this.priority = priority;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public int getUpdateInterval() {
+        return updateInterval;
+    }
+
+    @Override
+    public boolean isUpdate() {
+        return true;
+    }
+
+    @Override
+    public void update(INetwork network) {
+
+    }
+
+    @Override
+    public void beforeNetworkKill(INetwork network) {
+
+    }
+
+    @Override
+    public void afterNetworkAlive(INetwork network) {
+
+    }
+
+    @Override
+    public void afterNetworkReAlive(INetwork network) {
+
+    }
+
+    @Override
+    public void addDrops(List<ItemStack> itemStacks, boolean dropMainElement, boolean saveState) {
+
+    }
+
+    @Override
+    public boolean onNetworkAddition(INetwork network) {
+        return true;
+    }
+
+    @Override
+    public void onNetworkRemoval(INetwork network) {
+
+    }
+
+    @Override
+    public void onPreRemoved(INetwork network) {
+
+    }
+
+    @Override
+    public void onPostRemoved(INetwork network) {
+
+    }
+
+    @Override
+    public void onNeighborBlockChange(@Nullable INetwork network, IBlockAccess world, Block neighborBlock) {
+
+    }
+
+    @Override
+    public void setPriorityAndChannel(INetwork network, int priority, int channel) {
+        this.priority = priority;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+
+    @Override
+    public int getChannel() {
+        return 0;
+    }
+
+    @Override
+    public void invalidate(INetwork network) {
+
+    }
+
+    @Override
+    public boolean canRevalidate(INetwork network) {
+        return true;
+    }
+
+    @Override
+    public void revalidate(INetwork network) {
+
+    }
+
+    @Override
+    public int compareTo(INetworkElement o) {
+        DummyNetworkElement other = (DummyNetworkElement) o;
+        int compPriority = -Integer.compare(getPriority(), other.getPriority());
+        return compPriority == 0 ? Integer.compare(getId(), other.getId()) : compPriority;
+    }
+
+    @Override
+    public String toString() {
+        return "Dummy " + id;
+    }
+}
@@ -0,0 +1,97 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link NetworkChunkIndex}.
+ * @author rubensworks
+ */
+public class TestNetworkChunkIndex {
+
+    private static final long CHUNK_A = NetworkChunkIndex.getChunkKey(0, 0);
+    private static final long CHUNK_B = NetworkChunkIndex.getChunkKey(-3, 7);
+
+    private NetworkChunkIndex index;
+
+    @Before
+    public void beforeEach() {
+        index = new NetworkChunkIndex();
+    }
+
+    @Test
+    public void testChunkKey() {
+        assertThat(NetworkChunkIndex.getChunkX(CHUNK_B), is(-3));
+        assertThat(NetworkChunkIndex.getChunkZ(CHUNK_B), is(7));
+        assertThat(NetworkChunkIndex.getChunkX(NetworkChunkIndex.getChunkKey(Integer.MIN_VALUE, -1)), is(Integer.MIN_VALUE));
+        assertThat(NetworkChunkIndex.getChunkZ(NetworkChunkIndex.getChunkKey(Integer.MIN_VALUE, -1)), is(-1));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertThat(index.getElementCount(), is(0));
+        assertThat(index.hasLoadedElements(), is(false));
+        assertThat(index.getDimensions().length, is(0));
+        assertThat(index.getChunks(0).length, is(0));
+    }
+
+    @Test
+    public void testAddRemove() {
+        index.add(0, CHUNK_A, true);
+        index.add(0, CHUNK_A, false);
+        index.add(1, CHUNK_B, true);
+        assertThat(index.getElementCount(), is(3));
+        assertThat(index.getLoadedElementCount(), is(2));
+        assertThat(index.getElements(0, CHUNK_A), is(2));
+        assertThat(index.getLoadedElements(0, CHUNK_A), is(1));
+        assertThat(index.getElements(1, CHUNK_B), is(1));
+        assertThat(index.getElements(0, CHUNK_B), is(0));
+
+        index.remove(0, CHUNK_A, true);
+        index.remove(1, CHUNK_B, true);
+        assertThat(index.getElementCount(), is(1));
+        assertThat(index.getLoadedElementCount(), is(0));
+        assertThat(index.hasLoadedElements(), is(false));
+        assertThat(index.getDimensions().length, is(1));
+        assertThat(index.getChunks(0).length, is(1));
+        assertThat(index.getChunks(1).length, is(0));
+    }
+
+    @Test
+    public void testSetLoaded() {
+        index.add(0, CHUNK_A, true);
+        index.add(0, CHUNK_B, true);
+        index.setLoaded(0, CHUNK_A, false);
+        assertThat(index.hasLoadedElements(), is(true));
+        index.setLoaded(0, CHUNK_B, false);
+        assertThat(index.hasLoadedElements(), is(false));
+        assertThat(index.getLoadedElements(0, CHUNK_A), is(0));
+        assertThat(index.getElements(0, CHUNK_A), is(1));
+        index.setLoaded(0, CHUNK_B, true);
+        assertThat(index.hasLoadedElements(), is(true));
+        assertThat(index.getLoadedElements(0, CHUNK_B), is(1));
+    }
+
+    @Test
+    public void testUnpositioned() {
+        index.add(0, CHUNK_A, false);
+        index.addUnpositioned();
+        assertThat(index.hasLoadedElements(), is(true));
+        index.removeUnpositioned();
+        assertThat(index.hasLoadedElements(), is(false));
+    }
+
+    @Test
+    public void testClear() {
+        index.add(0, CHUNK_A, true);
+        index.addUnpositioned();
+        index.clear();
+        assertThat(index.getElementCount(), is(0));
+        assertThat(index.hasLoadedElements(), is(false));
+        assertThat(index.getElements(0, CHUNK_A), is(0));
+    }
+
+}
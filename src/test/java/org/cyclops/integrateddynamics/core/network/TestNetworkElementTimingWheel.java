@@ -0,0 +1,107 @@
+package org.cyclops.integrateddynamics.core.network;
+
+import org.cyclops.integrateddynamics.api.network.INetworkElement;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the timing wheel for network elements.
+ * @author rubensworks
+ */
+public class TestNetworkElementTimingWheel {
+
+    private NetworkElementTimingWheel wheel;
+    private DummyNetworkElement e0;
+    private DummyNetworkElement e1;
+    private DummyNetworkElement e2;
+
+    @Before
+    public void before() {
+        wheel = new NetworkElementTimingWheel();
+        e0 = new DummyNetworkElement(0, 1, 0);
+        e1 = new DummyNetworkElement(1, 1, 10);
+        e2 = new DummyNetworkElement(2, 1, 0);
+    }
+
+    @Test
+    public void testEmpty() {
+        assertThat("an empty wheel has no due elements", wheel.pollDue().length, is(0));
+        assertThat("polling moves to the next tick", wheel.getCurrentTick(), is(1L));
+    }
+
+    @Test
+    public void testPriorityOrder() {
+        wheel.add(e0, 0);
+        wheel.add(e2, 0);
+        wheel.add(e1, 0);
+        INetworkElement[] due = wheel.pollDue();
+        assertThat("all elements are due", due.length, is(3));
+        assertThat("the highest priority comes first", due[0], is((INetworkElement) e1));
+        assertThat("equal priorities are ordered", due[1], is((INetworkElement) e0));
+        assertThat("equal priorities are ordered", due[2], is((INetworkElement) e2));
+    }
+
+    @Test
+    public void testInterval() {
+        wheel.add(e0, 0);
+        wheel.add(e1, 3);
+        assertThat("e0 is due at tick 0", wheel.pollDue().length, is(1));
+        wheel.add(e0, 20);
+        assertThat("nothing is due at tick 1", wheel.pollDue().length, is(0));
+        assertThat("nothing is due at tick 2", wheel.pollDue().length, is(0));
+        assertThat("e1 is due at tick 3", wheel.pollDue()[0], is((INetworkElement) e1));
+        assertThat("retrieved elements remain part of the wheel", wheel.contains(e1), is(true));
+        assertThat("the wheel size is retained", wheel.size(), is(2));
+        for (int tick = 4; tick < 20; tick++) {
+            assertThat("nothing is due", wheel.pollDue().length, is(0));
+        }
+        assertThat("e0 is due at tick 20", wheel.pollDue()[0], is((INetworkElement) e0));
+    }
+
+    @Test
+    public void testOverflow() {
+        long dueTick = NetworkElementTimingWheel.WHEEL_SIZE * 3 + 5;
+        wheel.add(e0, dueTick);
+        wheel.add(e1, 5);
+        for (long tick = 0; tick < dueTick; tick++) {
+            int expected = tick == 5 ? 1 : 0;
+            assertThat("only e1 is due at tick 5", wheel.pollDue().length, is(expected));
+        }
+        assertThat("e0 is due after the overflow", wheel.pollDue()[0], is((INetworkElement) e0));
+    }
+
+    @Test
+    public void testPastDueTick() {
+        wheel.pollDue();
+        wheel.pollDue();
+        wheel.add(e0, 0);
+        assertThat("past due ticks are scheduled at the current tick", wheel.getDueTick(e0), is(2L));
+        assertThat("e0 is due", wheel.pollDue().length, is(1));
+    }
+
+    @Test
+    public void testRemove() {
+        wheel.add(e0, 2);
+        wheel.add(e1, NetworkElementTimingWheel.WHEEL_SIZE * 2);
+        assertThat("e0 can be removed", wheel.remove(e0), is(true));
+        assertThat("e1 can be removed from the overflow", wheel.remove(e1), is(true));
+        assertThat("e0 can not be removed twice", wheel.remove(e0), is(false));
+        assertThat("the wheel is empty", wheel.size(), is(0));
+        for (int tick = 0; tick < NetworkElementTimingWheel.WHEEL_SIZE * 3; tick++) {
+            assertThat("nothing is due", wheel.pollDue().length, is(0));
+        }
+    }
+
+    @Test
+    public void testReschedule() {
+        wheel.add(e0, 1);
+        wheel.add(e0, 2);
+        assertThat("nothing is due at tick 0", wheel.pollDue().length, is(0));
+        assertThat("rescheduled elements are not due at their old tick", wheel.pollDue().length, is(0));
+        assertThat("rescheduled elements are due at their new tick", wheel.pollDue().length, is(1));
+    }
+
+}
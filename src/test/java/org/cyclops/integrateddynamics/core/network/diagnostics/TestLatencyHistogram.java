@@ -0,0 +1,107 @@
+package org.cyclops.integrateddynamics.core.network.diagnostics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ * @author rubensworks
+ */
+public class TestLatencyHistogram {
+
+    private LatencyHistogram histogram;
+
+    @Before
+    public void beforeEach() {
+        histogram = new LatencyHistogram();
+    }
+
+    protected void rollSeconds(int seconds) {
+        for (int i = 0; i < seconds; i++) {
+            histogram.rollSecond();
+        }
+    }
+
+    @Test
+    public void testBuckets() {
+        assertThat(LatencyHistogram.getBucket(0), is(0));
+        assertThat(LatencyHistogram.getBucket(1), is(1));
+        assertThat(LatencyHistogram.getBucket(2), is(2));
+        assertThat(LatencyHistogram.getBucket(3), is(2));
+        assertThat(LatencyHistogram.getBucket(4), is(3));
+        assertThat(LatencyHistogram.getBucket(Long.MAX_VALUE), is(LatencyHistogram.BUCKETS - 1));
+        assertThat(LatencyHistogram.getBucketUpperBound(LatencyHistogram.getBucket(1000)) > 1000, is(true));
+    }
+
+    @Test
+    public void testEmpty() {
+        for (LatencyHistogram.Window window : LatencyHistogram.Window.values()) {
+            LatencyHistogram.Snapshot snapshot = histogram.getSnapshot(window);
+            assertThat(snapshot.getCount(), is(0L));
+            assertThat(snapshot.getTotalNanos(), is(0L));
+            assertThat(snapshot.getMeanNanos(), is(0L));
+            assertThat(snapshot.getPercentileNanos(0.99D), is(0L));
+        }
+    }
+
+    @Test
+    public void testUnfinishedSecond() {
+        histogram.record(100);
+        assertThat(histogram.getSnapshot(LatencyHistogram.Window.SECOND).getCount(), is(0L));
+        assertThat(histogram.getSnapshot(LatencyHistogram.Window.MINUTE).getCount(), is(0L));
+        assertThat(histogram.getSnapshot(LatencyHistogram.Window.TEN_MINUTES).getCount(), is(0L));
+    }
+
+    @Test
+    public void testSecond() {
+        histogram.record(100);
+        histogram.record(300);
+        rollSeconds(1);
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot(LatencyHistogram.Window.SECOND);
+        assertThat(snapshot.getCount(), is(2L));
+        assertThat(snapshot.getTotalNanos(), is(400L));
+        assertThat(snapshot.getMeanNanos(), is(200L));
+
+        rollSeconds(1);
+        assertThat(histogram.getSnapshot(LatencyHistogram.Window.SECOND).getCount(), is(0L));
+        assertThat(histogram.getSnapshot(LatencyHistogram.Window.MINUTE).getCount(), is(2L));
+    }
+
+    @Test
+    public void testMinuteExpires() {
+        histogram.record(100);
+        rollSeconds(59);
+        histogram.record(100);
+        rollSeconds(1);
+        assertThat(histogram.getSnapshot(LatencyHistogram.Window.MINUTE).getCount(), is(2L));
+        rollSeconds(1);
+        assertThat(histogram.getSnapshot(LatencyHistogram.Window.MINUTE).getCount(), is(1L));
+        assertThat(histogram.getSnapshot(LatencyHistogram.Window.TEN_MINUTES).getCount(), is(2L));
+    }
+
+    @Test
+    public void testTenMinutesExpires() {
+        histogram.record(100);
+        rollSeconds(LatencyHistogram.SLOTS * LatencyHistogram.SECONDS_PER_TEN_MINUTE_SLOT);
+        assertThat(histogram.getSnapshot(LatencyHistogram.Window.TEN_MINUTES).getCount(), is(1L));
+        rollSeconds(LatencyHistogram.SECONDS_PER_TEN_MINUTE_SLOT);
+        assertThat(histogram.getSnapshot(LatencyHistogram.Window.TEN_MINUTES).getCount(), is(0L));
+    }
+
+    @Test
+    public void testPercentiles() {
+        for (int i = 0; i < 99; i++) {
+            histogram.record(10);
+        }
+        histogram.record(1000000);
+        rollSeconds(1);
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot(LatencyHistogram.Window.SECOND);
+        assertThat(snapshot.getPercentileNanos(0.5D), is(16L));
+        assertThat(snapshot.getPercentileNanos(0.99D), is(16L));
+        assertThat(snapshot.getPercentileNanos(1D), is(1048576L));
+    }
+
+}
@@ -0,0 +1,145 @@
+package org.cyclops.integrateddynamics.core.network.event;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.cyclops.integrateddynamics.api.network.IEventListenableNetworkElement;
+import org.cyclops.integrateddynamics.api.network.INetworkEventListener;
+import org.cyclops.integrateddynamics.api.network.event.INetworkEvent;
+import org.cyclops.integrateddynamics.core.network.DummyNetworkElement;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link NetworkEventBus}.
+ * @author rubensworks
+ */
+public class TestNetworkEventBus {
+
+    private NetworkEventBus bus;
+    private ListeningElement regular;
+    private ListeningElement coalescing;
+
+    @Before
+    public void beforeEach() {
+        bus = new NetworkEventBus();
+        regular = new ListeningElement(0, false);
+        coalescing = new ListeningElement(1, true);
+        bus.register(regular, NetworkEvent.class);
+        bus.register(coalescing, NetworkEvent.class);
+    }
+
+    @Test
+    public void testPost() {
+        NetworkEvent event = new NetworkEvent(null);
+        bus.post(event);
+        assertThat(regular.events, is(Lists.<INetworkEvent>newArrayList(event)));
+        assertThat(coalescing.events, is(Lists.<INetworkEvent>newArrayList(event)));
+    }
+
+    @Test
+    public void testPostOtherType() {
+        bus.post(new VariableContentsUpdatedEvent(null));
+        assertThat(regular.events.size(), is(0));
+        assertThat(coalescing.events.size(), is(0));
+    }
+
+    @Test
+    public void testRegisterTwice() {
+        bus.register(regular, NetworkEvent.class);
+        bus.post(new NetworkEvent(null));
+        assertThat(regular.events.size(), is(1));
+    }
+
+    @Test
+    public void testUnregister() {
+        bus.post(new NetworkEvent(null));
+        bus.unregister(regular);
+        bus.post(new NetworkEvent(null));
+        assertThat(regular.events.size(), is(1));
+        assertThat(coalescing.events.size(), is(2));
+    }
+
+    @Test
+    public void testBatch() {
+        NetworkEvent event1 = new NetworkEvent(null);
+        NetworkEvent event2 = new NetworkEvent(null);
+        bus.startBatch();
+        bus.post(event1);
+        bus.post(event2);
+        assertThat(regular.events.size(), is(0));
+        assertThat(coalescing.events.size(), is(0));
+        bus.endBatch();
+        assertThat(regular.events, is(Lists.<INetworkEvent>newArrayList(event1, event2)));
+        assertThat(coalescing.events, is(Lists.<INetworkEvent>newArrayList(event2)));
+    }
+
+    @Test
+    public void testBatchNested() {
+        bus.startBatch();
+        bus.startBatch();
+        bus.post(new NetworkEvent(null));
+        bus.endBatch();
+        assertThat(regular.events.size(), is(0));
+        bus.endBatch();
+        assertThat(regular.events.size(), is(1));
+    }
+
+    @Test
+    public void testBatchLateRegistration() {
+        ListeningElement late = new ListeningElement(2, false);
+        bus.startBatch();
+        bus.post(new NetworkEvent(null));
+        bus.register(late, NetworkEvent.class);
+        bus.endBatch();
+        assertThat(late.events.size(), is(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndBatchWithoutStart() {
+        bus.endBatch();
+    }
+
+    public static class ListeningElement extends DummyNetworkElement
+            implements IEventListenableNetworkElement<ListeningElement>, INetworkEventListener<ListeningElement> {
+
+        private final boolean coalescable;
+        private final List<INetworkEvent> events = Lists.newArrayList();
+
+        public ListeningElement(int id, boolean coalescable) {
+            super(id, 1, 0);
+            this.coalescable = coalescable;
+        }
+
+        @Override
+        public ListeningElement getNetworkEventListener() {
+            return this;
+        }
+
+        @Override
+        public boolean hasEventSubscriptions() {
+            return true;
+        }
+
+        @Override
+        public Set<Class<? extends INetworkEvent>> getSubscribedEvents() {
+            return Sets.<Class<? extends INetworkEvent>>newHashSet(NetworkEvent.class);
+        }
+
+        @Override
+        public void onEvent(INetworkEvent event, ListeningElement networkElement) {
+            events.add(event);
+        }
+
+        @Override
+        public boolean isCoalescable(Class<? extends INetworkEvent> eventType) {
+            return coalescable;
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package org.cyclops.integrateddynamics.core.path;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Benchmark for the time and allocation of constructing clusters of different sizes.
+ * Run the main method manually, this is not executed as part of the tests.
+ * @author rubensworks
+ */
+public class BenchmarkPathFinder {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 10;
+
+    public static void main(String[] args) {
+        for (int size : new int[]{1000, 10000, 100000}) {
+            benchmark("line", size, DummyPathElement.line(size));
+            int gridSize = (int) Math.sqrt(size);
+            benchmark("grid", gridSize * gridSize, DummyPathElement.grid(gridSize));
+        }
+    }
+
+    protected static void benchmark(String name, int size, DummyPathElement[] elements) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            PathFinder.getConnectedCluster(elements[0].sided());
+        }
+        long startBytes = getAllocatedBytes();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            PathFinder.getConnectedCluster(elements[0].sided());
+        }
+        long duration = (System.nanoTime() - startTime) / ITERATIONS;
+        long bytes = (getAllocatedBytes() - startBytes) / ITERATIONS;
+        System.out.println(String.format("%s of %d elements: %.3f ms, %d KiB allocated",
+                name, size, duration / 1000000D, bytes / 1024));
+    }
+
+    protected static long getAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
@@ -0,0 +1,101 @@
+package org.cyclops.integrateddynamics.core.path;
+
+import com.google.common.collect.Sets;
+import net.minecraft.util.math.BlockPos;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.api.path.IPathElement;
+import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
+import org.cyclops.integrateddynamics.capability.path.SidedPathElement;
+
+import java.util.Set;
+
+/**
+ * A dummy path element with manually defined connections.
+ * @author rubensworks
+ */
+public class DummyPathElement implements IPathElement {
+
+    private final DimPos position;
+    private final Set<ISidedPathElement> reachableElements = Sets.newHashSet();
+
+    public DummyPathElement(int x, int y, int z) {
+        this.position = DimPos.of(0, new BlockPos(x, y, z));
+    }
+
+    public void connect(DummyPathElement element) {
+        this.reachableElements.add(SidedPathElement.of(element, null));
+        element.reachableElements.add(SidedPathElement.of(this, null));
+    }
+
+    public void disconnect(DummyPathElement element) {
+        this.reachableElements.remove(SidedPathElement.of(element, null));
+        element.reachableElements.remove(SidedPathElement.of(this, null));
+    }
+
+    public ISidedPathElement sided() {
+        return SidedPathElement.of(this, null);
+    }
+
+    @Override
+    public DimPos getPosition() {
+        return position;
+    }
+
+    @Override
+    public Set<ISidedPathElement> getReachableElements() {
+        return reachableElements;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof IPathElement && compareTo((IPathElement) o) == 0;
+    }
+
+    @Override
+    public int compareTo(IPathElement o) {
+        return getPosition().compareTo(o.getPosition());
+    }
+
+    @Override
+    public int hashCode() {
+        return getPosition().hashCode();
+    }
+
+    /**
+     * Create a straight line of connected elements.
+     * @param length The number of elements.
+     * @return The elements.
+     */
+    public static DummyPathElement[] line(int length) {
+        DummyPathElement[] elements = new DummyPathElement[length];
+        for (int i = 0; i < length; i++) {
+            elements[i] = new DummyPathElement(i, 0, 0);
+            if (i > 0) {
+                elements[i].connect(elements[i - 1]);
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Create a square grid of connected elements.
+     * @param size The number of elements along each side.
+     * @return The elements.
+     */
+    public static DummyPathElement[] grid(int size) {
+        DummyPathElement[] elements = new DummyPathElement[size * size];
+        for (int x = 0; x < size; x++) {
+            for (int z = 0; z < size; z++) {
+                DummyPathElement element = new DummyPathElement(x, 0, z);
+                elements[x * size + z] = element;
+                if (x > 0) {
+                    element.connect(elements[(x - 1) * size + z]);
+                }
+                if (z > 0) {
+                    element.connect(elements[x * size + z - 1]);
+                }
+            }
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,84 @@
+package org.cyclops.integrateddynamics.core.path;
+
+import com.google.common.collect.Lists;
+import org.cyclops.integrateddynamics.api.path.ISidedPathElement;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test the path finder.
+ * @author rubensworks
+ */
+public class TestPathFinder {
+
+    @Test
+    public void testConnectedClusterSingle() {
+        DummyPathElement element = new DummyPathElement(0, 0, 0);
+        Cluster cluster = PathFinder.getConnectedCluster(element.sided());
+        assertThat("a single element forms a cluster", cluster.size(), is(1));
+        assertThat("the cluster contains the head", cluster.contains(element.sided()), is(true));
+    }
+
+    @Test
+    public void testConnectedClusterLine() {
+        DummyPathElement[] elements = DummyPathElement.line(100000);
+        Cluster cluster = PathFinder.getConnectedCluster(elements[50000].sided());
+        assertThat("a long line does not overflow the stack", cluster.size(), is(100000));
+        assertThat("the cluster contains the first element", cluster.contains(elements[0].sided()), is(true));
+        assertThat("the cluster contains the last element", cluster.contains(elements[99999].sided()), is(true));
+    }
+
+    @Test
+    public void testConnectedClusterGrid() {
+        DummyPathElement[] elements = DummyPathElement.grid(10);
+        Cluster cluster = PathFinder.getConnectedCluster(elements[0].sided());
+        assertThat("a grid is fully connected", cluster.size(), is(100));
+    }
+
+    @Test
+    public void testDetachedClustersStillConnected() {
+        DummyPathElement[] elements = DummyPathElement.grid(10);
+        // Remove the connection between (0, 0) and (0, 1), which are still connected via (1, 0) and (1, 1).
+        elements[0].disconnect(elements[1]);
+        List<Cluster> clusters = PathFinder.getDetachedClusters(Lists.newArrayList(elements[0].sided(), elements[1].sided()));
+        assertThat("connected heads produce no detached clusters", clusters.size(), is(0));
+    }
+
+    @Test
+    public void testDetachedClustersSplit() {
+        DummyPathElement[] elements = DummyPathElement.line(100);
+        elements[10].disconnect(elements[11]);
+        List<Cluster> clusters = PathFinder.getDetachedClusters(Lists.newArrayList(elements[10].sided(), elements[11].sided()));
+        assertThat("a split line produces one detached cluster", clusters.size(), is(1));
+        assertThat("the smallest part is detached", clusters.get(0).size(), is(11));
+        assertThat("the detached part contains the start", clusters.get(0).contains(elements[0].sided()), is(true));
+    }
+
+    @Test
+    public void testDetachedClustersRemovedCenter() {
+        // A star of four lines around a removed center element.
+        DummyPathElement[] left = DummyPathElement.line(5);
+        DummyPathElement right = new DummyPathElement(10, 0, 0);
+        DummyPathElement up = new DummyPathElement(0, 10, 0);
+        DummyPathElement down = new DummyPathElement(0, 0, 10);
+        up.connect(down);
+        List<ISidedPathElement> heads = Lists.newArrayList(left[4].sided(), right.sided(), up.sided(), down.sided());
+        List<Cluster> clusters = PathFinder.getDetachedClusters(heads);
+        assertThat("all but the largest part are detached", clusters.size(), is(2));
+        for (Cluster cluster : clusters) {
+            assertThat("the largest part is not detached", cluster.contains(left[0].sided()), is(false));
+        }
+    }
+
+    @Test
+    public void testDetachedClustersSingleHead() {
+        DummyPathElement[] elements = DummyPathElement.line(10);
+        List<Cluster> clusters = PathFinder.getDetachedClusters(Lists.newArrayList(elements[0].sided()));
+        assertThat("a single head can not be detached", clusters.size(), is(0));
+    }
+
+}